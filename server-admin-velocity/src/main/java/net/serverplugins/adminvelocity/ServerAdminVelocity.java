@@ -15,6 +15,7 @@ import java.nio.file.Path;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import net.serverplugins.adminvelocity.alts.AltDetector;
 import net.serverplugins.adminvelocity.commands.*;
 import net.serverplugins.adminvelocity.database.AdminDatabase;
@@ -22,6 +23,7 @@ import net.serverplugins.adminvelocity.database.AltTable;
 import net.serverplugins.adminvelocity.database.PunishmentTable;
 import net.serverplugins.adminvelocity.listeners.ChatListener;
 import net.serverplugins.adminvelocity.listeners.ConnectionListener;
+import net.serverplugins.adminvelocity.punishment.ActivePunishmentIndex;
 import net.serverplugins.adminvelocity.punishment.PunishmentEnforcer;
 import net.serverplugins.adminvelocity.redis.AdminRedisClient;
 import net.serverplugins.adminvelocity.staffchat.StaffChatRouter;
@@ -35,6 +37,9 @@ import org.slf4j.Logger;
         authors = {"ServerPlugins"})
 public class ServerAdminVelocity {
 
+    // Catches up on anything the Redis channel missed, e.g. while it was disconnected
+    private static final long PUNISHMENT_INDEX_REFRESH_MINUTES = 5;
+
     private final ProxyServer server;
     private final Logger logger;
     private final Path dataDirectory;
@@ -42,6 +47,7 @@ public class ServerAdminVelocity {
     private AdminVelocityConfig config;
     private AdminDatabase database;
     private AdminRedisClient redisClient;
+    private ActivePunishmentIndex punishmentIndex;
     private PunishmentEnforcer punishmentEnforcer;
     private AltDetector altDetector;
     private StaffChatRouter staffChatRouter;
@@ -151,7 +157,7 @@ public class ServerAdminVelocity {
             return;
         }
 
-        redisClient = new AdminRedisClient(server, logger);
+        redisClient = new AdminRedisClient(this, server, logger);
         redisClient.connect(
                 config.getRedisHost(), config.getRedisPort(), config.getRedisPassword());
 
@@ -204,13 +210,32 @@ public class ServerAdminVelocity {
         PunishmentTable punishmentTable = new PunishmentTable(database, logger);
         AltTable altTable = new AltTable(database, logger);
 
-        punishmentEnforcer = new PunishmentEnforcer(server, logger, punishmentTable, redisClient);
+        // Logins are checked against the database until the first load finishes
+        punishmentIndex = new ActivePunishmentIndex(punishmentTable, logger);
+        punishmentIndex.reload();
+        server.getScheduler()
+                .buildTask(this, punishmentIndex::reload)
+                .delay(PUNISHMENT_INDEX_REFRESH_MINUTES, TimeUnit.MINUTES)
+                .repeat(PUNISHMENT_INDEX_REFRESH_MINUTES, TimeUnit.MINUTES)
+                .schedule();
+        // Without a live punishment subscription, bans issued on backend servers only reach the
+        // index on reload, so logins keep asking the database until Redis is subscribed and again
+        // once the subscriber stops
+        if (redisClient != null) {
+            redisClient.onPunishment(punishmentIndex::handleMessage);
+            redisClient.onSubscriptionChange(punishmentIndex::setReceivingUpdates);
+        }
+
+        punishmentEnforcer =
+                new PunishmentEnforcer(
+                        server, logger, punishmentTable, redisClient, punishmentIndex);
         altDetector =
                 new AltDetector(
                         server,
                         logger,
                         altTable,
                         punishmentTable,
+                        punishmentIndex,
                         config.getMaxAccountsPerIp(),
                         config.isNotifyStaffOfAlts());
 
@@ -233,15 +258,10 @@ public class ServerAdminVelocity {
         server.getEventManager().register(this, connectionListener);
 
         if (config.isStaffChatEnabled()) {
-            PunishmentTable punishmentTable = new PunishmentTable(database, logger);
             chatListener =
                     new ChatListener(
-                            logger, punishmentTable, staffChatRouter, config.isStaffChatEnabled());
+                            logger, punishmentIndex, staffChatRouter, config.isStaffChatEnabled());
             server.getEventManager().register(this, chatListener);
-
-            // Load mutes for online players on startup
-            server.getAllPlayers()
-                    .forEach(player -> chatListener.loadMuteOnJoin(player.getUniqueId()));
         }
 
         logger.info("Event listeners registered successfully");
@@ -325,6 +345,10 @@ public class ServerAdminVelocity {
         return redisClient;
     }
 
+    public ActivePunishmentIndex getPunishmentIndex() {
+        return punishmentIndex;
+    }
+
     public PunishmentEnforcer getPunishmentEnforcer() {
         return punishmentEnforcer;
     }
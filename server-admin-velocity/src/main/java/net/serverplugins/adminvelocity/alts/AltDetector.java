@@ -6,13 +6,14 @@ import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import net.serverplugins.adminvelocity.database.AltTable;
 import net.serverplugins.adminvelocity.database.PunishmentTable;
 import net.serverplugins.adminvelocity.messaging.VelocityTextUtil;
-import net.serverplugins.adminvelocity.punishment.VelocityPunishment;
+import net.serverplugins.adminvelocity.punishment.ActivePunishmentIndex;
 import org.slf4j.Logger;
 
 /** Alt detection and tracking for Velocity proxy. */
@@ -22,6 +23,7 @@ public class AltDetector {
     private final Logger logger;
     private final AltTable altTable;
     private final PunishmentTable punishmentTable;
+    private final ActivePunishmentIndex punishmentIndex;
     private final int maxAccountsPerIp;
     private final boolean notifyStaff;
 
@@ -30,12 +32,14 @@ public class AltDetector {
             Logger logger,
             AltTable altTable,
             PunishmentTable punishmentTable,
+            ActivePunishmentIndex punishmentIndex,
             int maxAccountsPerIp,
             boolean notifyStaff) {
         this.server = server;
         this.logger = logger;
         this.altTable = altTable;
         this.punishmentTable = punishmentTable;
+        this.punishmentIndex = punishmentIndex;
         this.maxAccountsPerIp = maxAccountsPerIp;
         this.notifyStaff = notifyStaff;
     }
@@ -149,7 +153,8 @@ public class AltDetector {
     }
 
     /**
-     * Checks if any alt accounts have active bans.
+     * Checks if any alt accounts have active bans, from the punishment index or, while it is not
+     * current, with one query for all of them.
      *
      * @param altMap Map of UUID to username
      * @param excludeUuid UUID to exclude (current player)
@@ -157,23 +162,13 @@ public class AltDetector {
      */
     private CompletableFuture<Boolean> checkForBannedAlts(
             Map<UUID, String> altMap, UUID excludeUuid) {
-        CompletableFuture<?>[] futures =
-                altMap.entrySet().stream()
-                        .filter(entry -> !entry.getKey().equals(excludeUuid))
-                        .map(entry -> punishmentTable.getActiveBan(entry.getKey()))
-                        .toArray(CompletableFuture[]::new);
-
-        return CompletableFuture.allOf(futures)
-                .thenApply(
-                        v -> {
-                            for (CompletableFuture<?> future : futures) {
-                                VelocityPunishment ban = (VelocityPunishment) future.join();
-                                if (ban != null && !ban.isExpired()) {
-                                    return true;
-                                }
-                            }
-                            return false;
-                        });
+        List<UUID> alts =
+                altMap.keySet().stream().filter(uuid -> !uuid.equals(excludeUuid)).toList();
+
+        if (punishmentIndex.isCurrent()) {
+            return CompletableFuture.completedFuture(punishmentIndex.isAnyBanned(alts));
+        }
+        return punishmentTable.getBannedPlayers(alts).thenApply(banned -> !banned.isEmpty());
     }
 
     /**
@@ -4,7 +4,11 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import net.serverplugins.adminvelocity.punishment.VelocityPunishment;
@@ -110,6 +114,73 @@ public class PunishmentTable {
                 });
     }
 
+    /**
+     * Gets every active ban and mute on the network, oldest first.
+     *
+     * @return a CompletableFuture containing the list of active bans and mutes
+     */
+    public CompletableFuture<List<VelocityPunishment>> getAllActiveBansAndMutes() {
+        return database.executeAsync(
+                conn -> {
+                    List<VelocityPunishment> punishments = new ArrayList<>();
+                    String sql =
+                            "SELECT * FROM server_punishments WHERE type IN (?, ?) AND active = 1 "
+                                    + "AND (expires_at IS NULL OR expires_at > ?) "
+                                    + "ORDER BY issued_at";
+                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                        stmt.setString(1, VelocityPunishmentType.BAN.name());
+                        stmt.setString(2, VelocityPunishmentType.MUTE.name());
+                        stmt.setLong(3, System.currentTimeMillis());
+
+                        try (ResultSet rs = stmt.executeQuery()) {
+                            while (rs.next()) {
+                                punishments.add(mapResultSet(rs));
+                            }
+                        }
+                    }
+                    return punishments;
+                });
+    }
+
+    /**
+     * Gets which of several players have an active ban, in a single query.
+     *
+     * @param playerUuids the players to check
+     * @return a CompletableFuture containing the UUIDs of the banned players
+     */
+    public CompletableFuture<Set<UUID>> getBannedPlayers(Collection<UUID> playerUuids) {
+        if (playerUuids.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptySet());
+        }
+        return database.executeAsync(
+                conn -> {
+                    Set<UUID> banned = new HashSet<>();
+                    String placeholders =
+                            String.join(", ", Collections.nCopies(playerUuids.size(), "?"));
+                    String sql =
+                            "SELECT DISTINCT target_uuid FROM server_punishments WHERE type = ? "
+                                    + "AND active = 1 AND (expires_at IS NULL OR expires_at > ?) "
+                                    + "AND target_uuid IN ("
+                                    + placeholders
+                                    + ")";
+                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                        stmt.setString(1, VelocityPunishmentType.BAN.name());
+                        stmt.setLong(2, System.currentTimeMillis());
+                        int index = 3;
+                        for (UUID playerUuid : playerUuids) {
+                            stmt.setString(index++, playerUuid.toString());
+                        }
+
+                        try (ResultSet rs = stmt.executeQuery()) {
+                            while (rs.next()) {
+                                banned.add(UUID.fromString(rs.getString("target_uuid")));
+                            }
+                        }
+                    }
+                    return banned;
+                });
+    }
+
     /**
      * Gets punishment history for a player.
      *
@@ -7,8 +7,8 @@ import com.velocitypowered.api.proxy.Player;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import net.serverplugins.adminvelocity.database.PunishmentTable;
 import net.serverplugins.adminvelocity.messaging.VelocityTextUtil;
+import net.serverplugins.adminvelocity.punishment.ActivePunishmentIndex;
 import net.serverplugins.adminvelocity.punishment.VelocityPunishment;
 import net.serverplugins.adminvelocity.staffchat.StaffChatRouter;
 import org.slf4j.Logger;
@@ -17,22 +17,20 @@ import org.slf4j.Logger;
 public class ChatListener {
 
     private final Logger logger;
-    private final PunishmentTable punishmentTable;
+    private final ActivePunishmentIndex punishmentIndex;
     private final StaffChatRouter staffChatRouter;
     private final boolean staffChatEnabled;
 
-    // Cache of muted players to avoid database lookups on every message
-    private final Map<UUID, VelocityPunishment> muteCache = new ConcurrentHashMap<>();
     // Track players in staff chat mode
     private final Map<UUID, Boolean> staffChatToggles = new ConcurrentHashMap<>();
 
     public ChatListener(
             Logger logger,
-            PunishmentTable punishmentTable,
+            ActivePunishmentIndex punishmentIndex,
             StaffChatRouter staffChatRouter,
             boolean staffChatEnabled) {
         this.logger = logger;
-        this.punishmentTable = punishmentTable;
+        this.punishmentIndex = punishmentIndex;
         this.staffChatRouter = staffChatRouter;
         this.staffChatEnabled = staffChatEnabled;
     }
@@ -59,44 +57,14 @@ public class ChatListener {
             return;
         }
 
-        // Check for active mute
-        VelocityPunishment mute = muteCache.get(player.getUniqueId());
+        // Check for active mute (the index drops mutes once they expire)
+        VelocityPunishment mute = punishmentIndex.getMute(player.getUniqueId());
         if (mute != null) {
-            if (mute.isExpired()) {
-                muteCache.remove(player.getUniqueId());
-            } else {
-                event.setResult(PlayerChatEvent.ChatResult.denied());
-                sendMutedMessage(player, mute);
-                return;
-            }
-        } else {
-            // Check database (async, but we need sync result for event cancellation)
-            // This is a limitation of Velocity's chat event - we rely on the cache
-            // Players will be added to cache on login or when a mute is applied
-        }
-    }
-
-    /**
-     * Adds a player to the mute cache.
-     *
-     * @param uuid Player UUID
-     * @param mute Mute punishment
-     */
-    public void cacheMute(UUID uuid, VelocityPunishment mute) {
-        if (mute != null && !mute.isExpired()) {
-            muteCache.put(uuid, mute);
+            event.setResult(PlayerChatEvent.ChatResult.denied());
+            sendMutedMessage(player, mute);
         }
     }
 
-    /**
-     * Removes a player from the mute cache.
-     *
-     * @param uuid Player UUID
-     */
-    public void removeMute(UUID uuid) {
-        muteCache.remove(uuid);
-    }
-
     /**
      * Toggles staff chat mode for a player.
      *
@@ -119,27 +87,6 @@ public class ChatListener {
         return staffChatToggles.getOrDefault(uuid, false);
     }
 
-    /**
-     * Loads active mutes from database on player join.
-     *
-     * @param uuid Player UUID
-     */
-    public void loadMuteOnJoin(UUID uuid) {
-        punishmentTable
-                .getActiveMute(uuid)
-                .thenAccept(
-                        mute -> {
-                            if (mute != null && !mute.isExpired()) {
-                                muteCache.put(uuid, mute);
-                            }
-                        })
-                .exceptionally(
-                        ex -> {
-                            logger.error("Error loading mute for {}: {}", uuid, ex.getMessage());
-                            return null;
-                        });
-    }
-
     private void sendMutedMessage(Player player, VelocityPunishment mute) {
         String duration =
                 mute.isPermanent() ? "permanently" : "for " + mute.getFormattedRemainingDuration();
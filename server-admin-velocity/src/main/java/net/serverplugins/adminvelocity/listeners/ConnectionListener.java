@@ -1,11 +1,14 @@
 package net.serverplugins.adminvelocity.listeners;
 
+import com.velocitypowered.api.event.EventTask;
 import com.velocitypowered.api.event.PostOrder;
 import com.velocitypowered.api.event.Subscribe;
 import com.velocitypowered.api.event.connection.DisconnectEvent;
 import com.velocitypowered.api.event.connection.LoginEvent;
 import com.velocitypowered.api.proxy.Player;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import net.kyori.adventure.text.Component;
 import net.serverplugins.adminvelocity.alts.AltDetector;
 import net.serverplugins.adminvelocity.messaging.VelocityTextUtil;
@@ -16,6 +19,8 @@ import org.slf4j.Logger;
 /** Handles player connection events for ban checking and alt detection. */
 public class ConnectionListener {
 
+    private static final long BAN_CHECK_TIMEOUT_SECONDS = 5;
+
     private final Logger logger;
     private final PunishmentEnforcer punishmentEnforcer;
     private final AltDetector altDetector;
@@ -38,31 +43,48 @@ public class ConnectionListener {
     /**
      * Checks for active bans and alt accounts on login.
      *
-     * <p>This runs synchronously on Velocity's event loop. We do a quick database check here - if
-     * it times out, we let them through (fail-open).
+     * <p>Once the punishment index is loaded the ban check is a map lookup and the login carries on
+     * without pausing. Before that, the login is paused with an {@link EventTask} until the
+     * database answers, so Velocity's event threads never block. If the check fails or takes
+     * longer than {@value #BAN_CHECK_TIMEOUT_SECONDS} seconds, we let them through (fail-open).
      */
     @Subscribe(order = PostOrder.EARLY)
-    public void onLogin(LoginEvent event) {
+    public EventTask onLogin(LoginEvent event) {
+        Player player = event.getPlayer();
+
+        CompletableFuture<Void> check =
+                punishmentEnforcer
+                        .checkBan(player.getUniqueId())
+                        .orTimeout(BAN_CHECK_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                        .handle(
+                                (ban, ex) -> {
+                                    completeLogin(event, ban, ex);
+                                    return null;
+                                });
+
+        // Already answered from the index, so there is nothing to wait for
+        return check.isDone() ? null : EventTask.resumeWhenComplete(check);
+    }
+
+    private void completeLogin(
+            LoginEvent event, Optional<VelocityPunishment> ban, Throwable error) {
         Player player = event.getPlayer();
 
-        // Check for active ban
-        try {
-            Optional<VelocityPunishment> ban =
-                    punishmentEnforcer.checkBan(player.getUniqueId()).get();
-            if (ban.isPresent()) {
-                VelocityPunishment punishment = ban.get();
-                Component banMessage = VelocityTextUtil.parse(formatBanDenial(punishment));
-                event.setResult(LoginEvent.ComponentResult.denied(banMessage));
-                logger.info(
-                        "Denied login for banned player: {} (reason: {})",
-                        player.getUsername(),
-                        punishment.getReason());
-                return;
-            }
-        } catch (Exception e) {
+        if (error != null) {
             logger.error(
-                    "Error checking ban status for {}: {}", player.getUsername(), e.getMessage());
+                    "Error checking ban status for {}: {}",
+                    player.getUsername(),
+                    error.getMessage());
             // Fail open - let them through
+        } else if (ban.isPresent()) {
+            VelocityPunishment punishment = ban.get();
+            Component banMessage = VelocityTextUtil.parse(formatBanDenial(punishment));
+            event.setResult(LoginEvent.ComponentResult.denied(banMessage));
+            logger.info(
+                    "Denied login for banned player: {} (reason: {})",
+                    player.getUsername(),
+                    punishment.getReason());
+            return;
         }
 
         // Check for alts (non-blocking, happens after login)
@@ -0,0 +1,277 @@
+package net.serverplugins.adminvelocity.punishment;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import net.serverplugins.adminvelocity.database.PunishmentTable;
+import org.slf4j.Logger;
+
+/**
+ * In-memory index of active bans and mutes, so logins, alt checks and chat never wait on the
+ * database.
+ *
+ * <p>The index is loaded at startup and reloaded periodically as a safety net. Between reloads
+ * it is kept current by {@link PunishmentEnforcer} for punishments issued on the proxy and by
+ * PUNISHMENT_CREATED / PUNISHMENT_PARDONED messages on {@link
+ * net.serverplugins.adminvelocity.redis.AdminRedisClient#CHANNEL_PUNISHMENT} for those issued on
+ * backend servers. Without that channel a backend ban would only show up at the next reload, so
+ * until the first load succeeds, and whenever backend updates are not being received, {@link
+ * #isCurrent()} is false and login and alt checks should ask the database instead.
+ */
+public class ActivePunishmentIndex {
+
+    private final PunishmentTable punishmentTable;
+    private final Logger logger;
+
+    private final Entries bans = new Entries();
+    private final Entries mutes = new Entries();
+    private volatile boolean loaded;
+    private volatile boolean receivingUpdates;
+
+    public ActivePunishmentIndex(PunishmentTable punishmentTable, Logger logger) {
+        this.punishmentTable = punishmentTable;
+        this.logger = logger;
+    }
+
+    /**
+     * Reloads all active bans and mutes from the database. Punishments issued or pardoned while
+     * the query runs are kept as they are.
+     *
+     * @return a CompletableFuture that completes when the reload is done or has failed
+     */
+    public CompletableFuture<Void> reload() {
+        long startedAt = System.currentTimeMillis();
+        return punishmentTable
+                .getAllActiveBansAndMutes()
+                .thenAccept(
+                        active -> {
+                            Map<UUID, VelocityPunishment> freshBans = new HashMap<>();
+                            Map<UUID, VelocityPunishment> freshMutes = new HashMap<>();
+                            for (VelocityPunishment punishment : active) {
+                                // Oldest first, so the latest punishment per player wins
+                                if (punishment.getType() == VelocityPunishmentType.BAN) {
+                                    freshBans.put(punishment.getTargetUuid(), punishment);
+                                } else if (punishment.getType() == VelocityPunishmentType.MUTE) {
+                                    freshMutes.put(punishment.getTargetUuid(), punishment);
+                                }
+                            }
+                            bans.replace(freshBans, startedAt);
+                            mutes.replace(freshMutes, startedAt);
+
+                            if (!loaded) {
+                                loaded = true;
+                                logger.info(
+                                        "Loaded {} active bans and {} active mutes",
+                                        bans.active.size(),
+                                        mutes.active.size());
+                            }
+                        })
+                .exceptionally(
+                        ex -> {
+                            logger.error("Failed to load active punishments: {}", ex.getMessage());
+                            return null;
+                        });
+    }
+
+    /**
+     * Checks if the index has been loaded and can be trusted.
+     *
+     * @return true once the first load has succeeded
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Sets whether punishments issued on backend servers reach {@link #handleMessage(JsonObject)},
+     * i.e. whether the punishment Redis channel is subscribed.
+     *
+     * @param receivingUpdates true if backend punishments are applied as they happen
+     */
+    public void setReceivingUpdates(boolean receivingUpdates) {
+        this.receivingUpdates = receivingUpdates;
+    }
+
+    /**
+     * Checks if the index can replace the database for ban checks: it has loaded and backend
+     * punishments reach it as they happen.
+     *
+     * @return true if a ban issued anywhere is already in the index
+     */
+    public boolean isCurrent() {
+        return loaded && receivingUpdates;
+    }
+
+    /**
+     * Gets a player's active ban.
+     *
+     * @param uuid Player UUID
+     * @return the ban, or null if the player is not banned
+     */
+    public VelocityPunishment getBan(UUID uuid) {
+        return bans.get(uuid);
+    }
+
+    /**
+     * Gets a player's active mute.
+     *
+     * @param uuid Player UUID
+     * @return the mute, or null if the player is not muted
+     */
+    public VelocityPunishment getMute(UUID uuid) {
+        return mutes.get(uuid);
+    }
+
+    /**
+     * Checks if any of several players has an active ban.
+     *
+     * @param uuids Player UUIDs
+     * @return true if at least one of them is banned
+     */
+    public boolean isAnyBanned(Collection<UUID> uuids) {
+        for (UUID uuid : uuids) {
+            if (bans.get(uuid) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Records a new ban or mute. Other punishment types are ignored.
+     *
+     * @param punishment the punishment
+     */
+    public void add(VelocityPunishment punishment) {
+        Entries entries = entriesFor(punishment.getType());
+        if (entries != null && punishment.isActive() && !punishment.isExpired()) {
+            entries.active.put(punishment.getTargetUuid(), punishment);
+        }
+    }
+
+    /**
+     * Records that a player's bans or mutes were pardoned.
+     *
+     * @param uuid Player UUID
+     * @param type BAN or MUTE; other types are ignored
+     */
+    public void remove(UUID uuid, VelocityPunishmentType type) {
+        Entries entries = entriesFor(type);
+        if (entries != null) {
+            entries.pardonedAt.put(uuid, System.currentTimeMillis());
+            entries.active.remove(uuid);
+        }
+    }
+
+    /**
+     * Applies a message from the punishment Redis channel.
+     *
+     * @param json the message
+     */
+    public void handleMessage(JsonObject json) {
+        VelocityPunishmentType type =
+                VelocityPunishmentType.fromString(getString(json, "punishmentType"));
+        String targetUuid = getString(json, "targetUuid");
+        if (entriesFor(type) == null || targetUuid == null) {
+            return;
+        }
+
+        UUID target;
+        try {
+            target = UUID.fromString(targetUuid);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid UUID in punishment message: {}", targetUuid);
+            return;
+        }
+
+        String action = getString(json, "type");
+        if ("PUNISHMENT_CREATED".equals(action)) {
+            add(fromMessage(json, target, type));
+        } else if ("PUNISHMENT_PARDONED".equals(action)) {
+            remove(target, type);
+        }
+    }
+
+    private VelocityPunishment fromMessage(
+            JsonObject json, UUID target, VelocityPunishmentType type) {
+        VelocityPunishment punishment = new VelocityPunishment();
+        punishment.setTargetUuid(target);
+        punishment.setType(type);
+        punishment.setTargetName(getString(json, "targetName"));
+        punishment.setStaffName(getString(json, "staffName"));
+        punishment.setReason(getString(json, "reason"));
+        punishment.setSourceServer(getString(json, "server"));
+        if (json.has("id")) {
+            punishment.setId(json.get("id").getAsInt());
+        }
+        if (json.has("timestamp")) {
+            punishment.setCreatedAt(json.get("timestamp").getAsLong());
+        }
+
+        // Backend servers send 0 rather than leaving the field out for permanent punishments
+        boolean permanent = json.has("permanent") && json.get("permanent").getAsBoolean();
+        long expiresAt = json.has("expiresAt") ? json.get("expiresAt").getAsLong() : 0;
+        punishment.setExpiresAt(permanent || expiresAt <= 0 ? null : expiresAt);
+        punishment.setPermanent(punishment.getExpiresAt() == null);
+        return punishment;
+    }
+
+    private Entries entriesFor(VelocityPunishmentType type) {
+        if (type == VelocityPunishmentType.BAN) {
+            return bans;
+        }
+        if (type == VelocityPunishmentType.MUTE) {
+            return mutes;
+        }
+        return null;
+    }
+
+    private static String getString(JsonObject json, String key) {
+        JsonElement element = json.get(key);
+        return element == null || element.isJsonNull() ? null : element.getAsString();
+    }
+
+    /** Active punishments of one type, one per player. */
+    private static final class Entries {
+
+        private final Map<UUID, VelocityPunishment> active = new ConcurrentHashMap<>();
+
+        // When each player was last pardoned, so a reload that started before the pardon
+        // doesn't bring the punishment back
+        private final Map<UUID, Long> pardonedAt = new ConcurrentHashMap<>();
+
+        VelocityPunishment get(UUID uuid) {
+            VelocityPunishment punishment = active.get(uuid);
+            if (punishment != null && punishment.isExpired()) {
+                active.remove(uuid, punishment);
+                return null;
+            }
+            return punishment;
+        }
+
+        void replace(Map<UUID, VelocityPunishment> fresh, long startedAt) {
+            // Entries added after the query started are newer than what it returned
+            active.values()
+                    .removeIf(
+                            punishment ->
+                                    punishment.getCreatedAt() < startedAt
+                                            && !fresh.containsKey(punishment.getTargetUuid()));
+            for (Map.Entry<UUID, VelocityPunishment> entry : fresh.entrySet()) {
+                Long pardoned = pardonedAt.get(entry.getKey());
+                if (pardoned == null || pardoned < startedAt) {
+                    active.merge(entry.getKey(), entry.getValue(), Entries::newer);
+                }
+            }
+            pardonedAt.values().removeIf(pardoned -> pardoned < startedAt);
+        }
+
+        private static VelocityPunishment newer(VelocityPunishment a, VelocityPunishment b) {
+            return b.getCreatedAt() >= a.getCreatedAt() ? b : a;
+        }
+    }
+}
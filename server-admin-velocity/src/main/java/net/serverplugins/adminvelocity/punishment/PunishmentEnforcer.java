@@ -20,25 +20,35 @@ public class PunishmentEnforcer {
     private final Logger logger;
     private final PunishmentTable punishmentTable;
     private final AdminRedisClient redisClient;
+    private final ActivePunishmentIndex punishmentIndex;
 
     public PunishmentEnforcer(
             ProxyServer server,
             Logger logger,
             PunishmentTable punishmentTable,
-            AdminRedisClient redisClient) {
+            AdminRedisClient redisClient,
+            ActivePunishmentIndex punishmentIndex) {
         this.server = server;
         this.logger = logger;
         this.punishmentTable = punishmentTable;
         this.redisClient = redisClient;
+        this.punishmentIndex = punishmentIndex;
     }
 
     /**
      * Checks if a player has an active ban.
      *
+     * <p>Once the punishment index is loaded and receives backend punishments, the returned future
+     * is already complete. Otherwise the check goes to the database.
+     *
      * @param uuid Player UUID
      * @return CompletableFuture with Optional punishment
      */
     public CompletableFuture<Optional<VelocityPunishment>> checkBan(UUID uuid) {
+        if (punishmentIndex.isCurrent()) {
+            return CompletableFuture.completedFuture(
+                    Optional.ofNullable(punishmentIndex.getBan(uuid)));
+        }
         return punishmentTable
                 .getActiveBan(uuid)
                 .thenApply(
@@ -91,6 +101,7 @@ public class PunishmentEnforcer {
                 .thenApply(
                         id -> {
                             punishment.setId(id);
+                            punishmentIndex.add(punishment);
 
                             // Publish to Redis
                             JsonObject json = new JsonObject();
@@ -132,6 +143,8 @@ public class PunishmentEnforcer {
                 .thenApply(
                         success -> {
                             if (success) {
+                                punishmentIndex.remove(targetUuid, VelocityPunishmentType.BAN);
+
                                 // Publish to Redis
                                 JsonObject json = new JsonObject();
                                 json.addProperty("type", "PUNISHMENT_PARDONED");
@@ -174,6 +187,7 @@ public class PunishmentEnforcer {
                 .thenApply(
                         id -> {
                             punishment.setId(id);
+                            punishmentIndex.add(punishment);
 
                             // Publish to Redis (for Bukkit servers to sync)
                             JsonObject json = new JsonObject();
@@ -219,6 +233,8 @@ public class PunishmentEnforcer {
                 .thenApply(
                         success -> {
                             if (success) {
+                                punishmentIndex.remove(targetUuid, VelocityPunishmentType.MUTE);
+
                                 // Publish to Redis
                                 JsonObject json = new JsonObject();
                                 json.addProperty("type", "PUNISHMENT_PARDONED");
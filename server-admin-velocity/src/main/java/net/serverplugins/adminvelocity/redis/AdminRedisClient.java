@@ -20,6 +20,7 @@ public class AdminRedisClient {
     public static final String CHANNEL_VANISH_SYNC = "server:admin:vanishSync";
     public static final String CHANNEL_SERVER_CONTROL = "server:admin:servercontrol";
 
+    private final Object plugin;
     private final ProxyServer server;
     private final Logger logger;
     private final Gson gson = new Gson();
@@ -34,8 +35,21 @@ public class AdminRedisClient {
     private Consumer<JsonObject> kickHandler;
     private Consumer<JsonObject> muteSyncHandler;
     private Consumer<JsonObject> vanishSyncHandler;
+    private Consumer<Boolean> subscriptionHandler;
 
-    public AdminRedisClient(ProxyServer server, Logger logger) {
+    // Whether the punishment channel is subscribed right now
+    private boolean subscribed;
+
+    /**
+     * Creates a client. Incoming messages are handed to their handlers as tasks owned by {@code
+     * plugin}, since Velocity's scheduler only accepts registered plugin instances.
+     *
+     * @param plugin The plugin instance
+     * @param server The proxy server
+     * @param logger The logger
+     */
+    public AdminRedisClient(Object plugin, ProxyServer server, Logger logger) {
+        this.plugin = plugin;
         this.server = server;
         this.logger = logger;
     }
@@ -111,6 +125,8 @@ public class AdminRedisClient {
                                         CHANNEL_VANISH_SYNC);
                             } catch (Exception e) {
                                 logger.error("Redis subscriber thread error: {}", e.getMessage());
+                            } finally {
+                                setSubscribed(false);
                             }
                         },
                         "AdminRedis-Subscriber");
@@ -162,6 +178,31 @@ public class AdminRedisClient {
         this.vanishSyncHandler = handler;
     }
 
+    /**
+     * Registers a handler told whether punishment messages are being received: true once the
+     * punishment channel is subscribed, false when the subscriber stops or fails. It is called
+     * right away with the current state, then on the subscriber thread on every change.
+     */
+    public synchronized void onSubscriptionChange(Consumer<Boolean> handler) {
+        this.subscriptionHandler = handler;
+        handler.accept(subscribed);
+    }
+
+    /** Checks if the punishment channel is subscribed. */
+    public synchronized boolean isSubscribed() {
+        return subscribed;
+    }
+
+    private synchronized void setSubscribed(boolean subscribed) {
+        if (this.subscribed == subscribed) {
+            return;
+        }
+        this.subscribed = subscribed;
+        if (subscriptionHandler != null) {
+            subscriptionHandler.accept(subscribed);
+        }
+    }
+
     // ========== PUBLISHING METHODS ==========
 
     /**
@@ -205,9 +246,7 @@ public class AdminRedisClient {
                     case CHANNEL_PUNISHMENT:
                         if (punishmentHandler != null) {
                             server.getScheduler()
-                                    .buildTask(
-                                            AdminRedisClient.this,
-                                            () -> punishmentHandler.accept(json))
+                                    .buildTask(plugin, () -> punishmentHandler.accept(json))
                                     .schedule();
                         }
                         break;
@@ -215,9 +254,7 @@ public class AdminRedisClient {
                     case CHANNEL_STAFFCHAT:
                         if (staffChatHandler != null) {
                             server.getScheduler()
-                                    .buildTask(
-                                            AdminRedisClient.this,
-                                            () -> staffChatHandler.accept(json))
+                                    .buildTask(plugin, () -> staffChatHandler.accept(json))
                                     .schedule();
                         }
                         break;
@@ -225,8 +262,7 @@ public class AdminRedisClient {
                     case CHANNEL_KICK:
                         if (kickHandler != null) {
                             server.getScheduler()
-                                    .buildTask(
-                                            AdminRedisClient.this, () -> kickHandler.accept(json))
+                                    .buildTask(plugin, () -> kickHandler.accept(json))
                                     .schedule();
                         }
                         break;
@@ -234,9 +270,7 @@ public class AdminRedisClient {
                     case CHANNEL_MUTE_SYNC:
                         if (muteSyncHandler != null) {
                             server.getScheduler()
-                                    .buildTask(
-                                            AdminRedisClient.this,
-                                            () -> muteSyncHandler.accept(json))
+                                    .buildTask(plugin, () -> muteSyncHandler.accept(json))
                                     .schedule();
                         }
                         break;
@@ -244,9 +278,7 @@ public class AdminRedisClient {
                     case CHANNEL_VANISH_SYNC:
                         if (vanishSyncHandler != null) {
                             server.getScheduler()
-                                    .buildTask(
-                                            AdminRedisClient.this,
-                                            () -> vanishSyncHandler.accept(json))
+                                    .buildTask(plugin, () -> vanishSyncHandler.accept(json))
                                     .schedule();
                         }
                         break;
@@ -262,11 +294,17 @@ public class AdminRedisClient {
         @Override
         public void onSubscribe(String channel, int subscribedChannels) {
             logger.info("Subscribed to Redis channel: {}", channel);
+            if (CHANNEL_PUNISHMENT.equals(channel)) {
+                setSubscribed(true);
+            }
         }
 
         @Override
         public void onUnsubscribe(String channel, int subscribedChannels) {
             logger.info("Unsubscribed from Redis channel: {}", channel);
+            if (CHANNEL_PUNISHMENT.equals(channel)) {
+                setSubscribed(false);
+            }
         }
     }
 }
@@ -0,0 +1,210 @@
+package net.serverplugins.adminvelocity.punishment;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import net.serverplugins.adminvelocity.AdminVelocityConfig;
+import net.serverplugins.adminvelocity.database.AdminDatabase;
+import net.serverplugins.adminvelocity.database.PunishmentTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Simulates a reconnect storm against a local MariaDB: a burst of simultaneous logins, each
+ * checking its own ban and those of a few alts, on a small pool standing in for Velocity's event
+ * threads. Compares the old gate (a blocking query per login and one per alt) with the
+ * index-backed one. Not a unit test, so surefire does not pick it up; run it from an IDE or with
+ * {@code java -cp target/classes:target/test-classes:<dependencies>}.
+ *
+ * <pre>
+ * LoginGateLoadHarness &lt;dataDirectory&gt; [logins=500] [altsPerLogin=4] [eventThreads=cores]
+ * </pre>
+ *
+ * <p>The data directory holds the plugin's config.properties with the database settings. The
+ * harness inserts bans for one player in twenty with source_server 'loadtest' and deletes them
+ * again when it is done. Point it at a test database, not production.
+ */
+public final class LoginGateLoadHarness {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger("LoginGateLoadHarness");
+    private static final String SOURCE = "loadtest";
+
+    private LoginGateLoadHarness() {}
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println(
+                    "Usage: LoginGateLoadHarness <dataDirectory> [logins] [altsPerLogin]"
+                            + " [eventThreads]");
+            System.exit(1);
+        }
+        int logins = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        int altsPerLogin = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        int eventThreads =
+                args.length > 3
+                        ? Integer.parseInt(args[3])
+                        : Runtime.getRuntime().availableProcessors();
+
+        AdminVelocityConfig config = new AdminVelocityConfig(Path.of(args[0]), LOGGER);
+        config.load();
+        AdminDatabase database = new AdminDatabase(LOGGER);
+        database.connect(config);
+        PunishmentTable table = new PunishmentTable(database, LOGGER);
+
+        List<UUID> players = new ArrayList<>();
+        for (int i = 0; i < logins * (altsPerLogin + 1); i++) {
+            players.add(UUID.randomUUID());
+        }
+        int seeded = seedBans(table, players);
+
+        try {
+            System.out.printf(
+                    "%d simultaneous logins, %d alts each, %d event threads, %d seeded bans%n",
+                    logins, altsPerLogin, eventThreads, seeded);
+
+            List<List<UUID>> alts = new ArrayList<>();
+            for (int i = 0; i < logins; i++) {
+                int from = logins + i * altsPerLogin;
+                alts.add(players.subList(from, from + altsPerLogin));
+            }
+
+            run(
+                    "blocking",
+                    logins,
+                    eventThreads,
+                    i -> {
+                        // What onLogin used to do: wait for the ban query on the event thread,
+                        // then check the alts with a query each
+                        boolean banned = table.getActiveBan(players.get(i)).join() != null;
+                        List<CompletableFuture<VelocityPunishment>> altBans =
+                                alts.get(i).stream().map(table::getActiveBan).toList();
+                        return CompletableFuture.allOf(altBans.toArray(CompletableFuture[]::new))
+                                .thenApply(
+                                        v ->
+                                                banned
+                                                        || altBans.stream()
+                                                                .anyMatch(f -> f.join() != null));
+                    });
+
+            ActivePunishmentIndex index = new ActivePunishmentIndex(table, LOGGER);
+            long loadStart = System.nanoTime();
+            index.reload().join();
+            System.out.printf("index: loaded in %.1f ms%n", (System.nanoTime() - loadStart) / 1e6);
+            PunishmentEnforcer enforcer = new PunishmentEnforcer(null, LOGGER, table, null, index);
+
+            run(
+                    "index",
+                    logins,
+                    eventThreads,
+                    i -> {
+                        boolean banned = enforcer.checkBan(players.get(i)).join().isPresent();
+                        return CompletableFuture.completedFuture(
+                                banned || index.isAnyBanned(alts.get(i)));
+                    });
+
+            // The fallback used before the index has loaded
+            run(
+                    "batched alts",
+                    logins,
+                    eventThreads,
+                    i ->
+                            table.getBannedPlayers(alts.get(i))
+                                    .thenApply(banned -> !banned.isEmpty()));
+        } finally {
+            deleteSeededBans(database);
+            database.close();
+        }
+    }
+
+    /**
+     * Start every login at once and wait for all of them. Each login runs on the event pool;
+     * checks that return an incomplete future free their thread while they wait, as an {@code
+     * EventTask} does.
+     */
+    private static void run(
+            String name,
+            int logins,
+            int eventThreads,
+            Function<Integer, CompletableFuture<Boolean>> login)
+            throws InterruptedException {
+        ExecutorService eventPool = Executors.newFixedThreadPool(eventThreads);
+        long[] latencies = new long[logins];
+        AtomicInteger denied = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(logins);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < logins; i++) {
+            int player = i;
+            eventPool.execute(
+                    () ->
+                            // Through thenCompose, so a check that throws counts as failed
+                            CompletableFuture.completedFuture(player)
+                                    .thenCompose(login)
+                                    .whenComplete(
+                                            (banned, ex) -> {
+                                                latencies[player] = System.nanoTime() - start;
+                                                if (ex != null) {
+                                                    failed.incrementAndGet();
+                                                } else if (banned) {
+                                                    denied.incrementAndGet();
+                                                }
+                                                done.countDown();
+                                            }));
+        }
+        done.await(5, TimeUnit.MINUTES);
+        long wall = System.nanoTime() - start;
+        eventPool.shutdown();
+
+        Arrays.sort(latencies);
+        System.out.printf(
+                "%s: all done in %.1f ms, p50 %.1f ms, p99 %.1f ms, max %.1f ms,"
+                        + " %d denied, %d failed%n",
+                name,
+                wall / 1e6,
+                latencies[logins / 2] / 1e6,
+                latencies[Math.min(logins - 1, logins * 99 / 100)] / 1e6,
+                latencies[logins - 1] / 1e6,
+                denied.get(),
+                failed.get());
+    }
+
+    private static int seedBans(PunishmentTable table, List<UUID> players) {
+        List<CompletableFuture<Integer>> inserts = new ArrayList<>();
+        for (int i = 0; i < players.size(); i += 20) {
+            inserts.add(
+                    table.createPunishment(
+                            VelocityPunishment.builder()
+                                    .targetUuid(players.get(i))
+                                    .targetName("loadtest" + i)
+                                    .staffName("loadtest")
+                                    .type(VelocityPunishmentType.BAN)
+                                    .reason("Login gate load test")
+                                    .sourceServer(SOURCE)
+                                    .build()));
+        }
+        CompletableFuture.allOf(inserts.toArray(CompletableFuture[]::new)).join();
+        return inserts.size();
+    }
+
+    private static void deleteSeededBans(AdminDatabase database) throws Exception {
+        try (Connection conn = database.getConnection();
+                PreparedStatement stmt =
+                        conn.prepareStatement(
+                                "DELETE FROM server_punishments WHERE source_server = ?")) {
+            stmt.setString(1, SOURCE);
+            System.out.printf("Deleted %d seeded bans%n", stmt.executeUpdate());
+        }
+    }
+}
@@ -28,6 +28,7 @@ import net.serverplugins.admin.listeners.AdminPlayerListener;
 import net.serverplugins.admin.listeners.VanishInteractionListener;
 import net.serverplugins.admin.listeners.VanishListener;
 import net.serverplugins.admin.listeners.XrayBlockListener;
+import net.serverplugins.admin.listeners.XrayVisionListener;
 import net.serverplugins.admin.punishment.CategoryManager;
 import net.serverplugins.admin.punishment.PunishmentManager;
 import net.serverplugins.admin.punishment.PunishmentRepository;
@@ -230,6 +231,13 @@ public class ServerAdmin extends JavaPlugin {
             getServer().getPluginManager().registerEvents(new XrayBlockListener(this), this);
         }
 
+        if (xrayVisionManager != null) {
+            getServer()
+                    .getPluginManager()
+                    .registerEvents(
+                            new XrayVisionListener(xrayVisionManager.getOreIndex()), this);
+        }
+
         if (punishmentManager != null) {
             getServer().getPluginManager().registerEvents(new PunishmentListener(this), this);
         }
@@ -36,6 +36,11 @@ public class XrayVisionCommand implements CommandExecutor {
             return true;
         }
 
+        if (args.length > 0 && args[0].equalsIgnoreCase("debug")) {
+            plugin.getXrayVisionManager().sendDebug(player);
+            return true;
+        }
+
         plugin.getXrayVisionManager().toggle(player);
         return true;
     }
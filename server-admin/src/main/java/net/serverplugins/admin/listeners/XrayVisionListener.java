@@ -0,0 +1,67 @@
+package net.serverplugins.admin.listeners;
+
+import net.serverplugins.admin.xrayvision.OreIndex;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+
+/** Keeps the shared xray vision ore index in step with block changes. */
+public class XrayVisionListener implements Listener {
+
+    private final OreIndex oreIndex;
+
+    public XrayVisionListener(OreIndex oreIndex) {
+        this.oreIndex = oreIndex;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        removeOre(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        if (oreIndex.isEmpty()) return;
+        Block block = event.getBlock();
+        oreIndex.update(
+                block.getWorld().getUID(),
+                block.getX(),
+                block.getY(),
+                block.getZ(),
+                block.getType());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent event) {
+        for (Block block : event.blockList()) {
+            removeOre(block);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        for (Block block : event.blockList()) {
+            removeOre(block);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        if (oreIndex.isEmpty()) return;
+        oreIndex.unloadChunk(
+                event.getWorld().getUID(), event.getChunk().getX(), event.getChunk().getZ());
+    }
+
+    private void removeOre(Block block) {
+        if (oreIndex.isEmpty()) return;
+        oreIndex.update(
+                block.getWorld().getUID(), block.getX(), block.getY(), block.getZ(), Material.AIR);
+    }
+}
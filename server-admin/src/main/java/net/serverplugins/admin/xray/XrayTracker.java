@@ -1,55 +1,93 @@
 package net.serverplugins.admin.xray;
 
-import java.util.LinkedList;
-import java.util.Queue;
 import java.util.UUID;
 import org.bukkit.Material;
 
+/**
+ * Mining history of one player inside the x-ray time window.
+ *
+ * <p>Events live in a ring buffer of packed longs (timestamp plus flags), and the counters the
+ * score needs are kept up to date as events enter and leave it. Recording and scoring are O(1)
+ * and allocate nothing once the buffer has grown to the player's mining rate. Breaks are recorded
+ * on the main thread while pruning runs on the async cleanup task, so access is synchronized.
+ */
 public class XrayTracker {
 
+    private static final int INITIAL_CAPACITY = 64;
+
+    private static final long STONE = 1L;
+    private static final long UNEXPOSED = 1L << 1;
+    private static final long RARE = 1L << 2;
+    private static final int FLAG_BITS = 3;
+
     private final UUID playerId;
-    private final Queue<MiningEvent> recentEvents;
+    private long[] events;
+    private int head;
+    private int size;
     private int totalStone;
     private int totalOres;
     private int unexposedOres;
+    private int rareOres;
 
     public XrayTracker(UUID playerId) {
         this.playerId = playerId;
-        this.recentEvents = new LinkedList<>();
+        this.events = new long[INITIAL_CAPACITY];
         this.totalStone = 0;
         this.totalOres = 0;
         this.unexposedOres = 0;
+        this.rareOres = 0;
     }
 
-    public void recordMine(Material block, boolean wasExposed, long timestamp) {
-        MiningEvent event = new MiningEvent(block, wasExposed, timestamp);
-        recentEvents.add(event);
-
+    public synchronized void recordMine(Material block, boolean wasExposed, long timestamp) {
+        long flags = 0;
         if (isStoneBlock(block)) {
+            flags |= STONE;
             totalStone++;
         } else {
             totalOres++;
             if (!wasExposed) {
+                flags |= UNEXPOSED;
                 unexposedOres++;
             }
         }
+        if (isRareOre(block)) {
+            flags |= RARE;
+            rareOres++;
+        }
+
+        if (size == events.length) {
+            grow();
+        }
+        events[(head + size) % events.length] = (timestamp << FLAG_BITS) | flags;
+        size++;
     }
 
-    public void pruneOldEvents(long cutoffTime) {
-        while (!recentEvents.isEmpty() && recentEvents.peek().timestamp() < cutoffTime) {
-            MiningEvent removed = recentEvents.poll();
-            if (isStoneBlock(removed.block())) {
+    public synchronized void pruneOldEvents(long cutoffTime) {
+        while (size > 0 && (events[head] >> FLAG_BITS) < cutoffTime) {
+            long removed = events[head];
+            head = (head + 1) % events.length;
+            size--;
+
+            if ((removed & STONE) != 0) {
                 totalStone--;
             } else {
                 totalOres--;
-                if (!removed.wasExposed()) {
+                if ((removed & UNEXPOSED) != 0) {
                     unexposedOres--;
                 }
             }
+            if ((removed & RARE) != 0) {
+                rareOres--;
+            }
+        }
+
+        // Give memory back once a burst of mining has aged out
+        if (events.length > INITIAL_CAPACITY && size < events.length / 4) {
+            resize(Math.max(INITIAL_CAPACITY, events.length / 2));
         }
     }
 
-    public int calculateSuspicion() {
+    public synchronized int calculateSuspicion() {
         if (totalOres == 0) return 0;
 
         int suspicion = 0;
@@ -77,7 +115,6 @@ public class XrayTracker {
         }
 
         // Factor 3: Rapid diamond/debris finding
-        int rareOres = countRareOres();
         if (rareOres >= 5) {
             suspicion += 30;
         } else if (rareOres >= 3) {
@@ -87,16 +124,23 @@ public class XrayTracker {
         return Math.min(100, suspicion);
     }
 
-    private int countRareOres() {
-        int count = 0;
-        for (MiningEvent event : recentEvents) {
-            if (event.block() == Material.DIAMOND_ORE
-                    || event.block() == Material.DEEPSLATE_DIAMOND_ORE
-                    || event.block() == Material.ANCIENT_DEBRIS) {
-                count++;
-            }
-        }
-        return count;
+    private void grow() {
+        resize(events.length * 2);
+    }
+
+    private void resize(int capacity) {
+        long[] resized = new long[capacity];
+        int firstPart = Math.min(size, events.length - head);
+        System.arraycopy(events, head, resized, 0, firstPart);
+        System.arraycopy(events, 0, resized, firstPart, size - firstPart);
+        events = resized;
+        head = 0;
+    }
+
+    private boolean isRareOre(Material material) {
+        return material == Material.DIAMOND_ORE
+                || material == Material.DEEPSLATE_DIAMOND_ORE
+                || material == Material.ANCIENT_DEBRIS;
     }
 
     private boolean isStoneBlock(Material material) {
@@ -122,21 +166,23 @@ public class XrayTracker {
         return playerId;
     }
 
-    public int getTotalStone() {
+    public synchronized int getTotalStone() {
         return totalStone;
     }
 
-    public int getTotalOres() {
+    public synchronized int getTotalOres() {
         return totalOres;
     }
 
-    public int getUnexposedOres() {
+    public synchronized int getUnexposedOres() {
         return unexposedOres;
     }
 
-    public int getRecentEventCount() {
-        return recentEvents.size();
+    public synchronized int getRareOres() {
+        return rareOres;
     }
 
-    public record MiningEvent(Material block, boolean wasExposed, long timestamp) {}
+    public synchronized int getRecentEventCount() {
+        return size;
+    }
 }
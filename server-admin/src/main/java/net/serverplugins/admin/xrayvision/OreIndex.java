@@ -0,0 +1,352 @@
+package net.serverplugins.admin.xrayvision;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.block.data.Lightable;
+
+/**
+ * Positions of target ores per chunk, shared by every x-ray vision session. A chunk is indexed
+ * once from a snapshot, off the main thread, and then kept current by block events, so a scan
+ * tick only has to walk the cached positions around the viewer.
+ *
+ * <p>Each chunk's entry is an immutable array set that is swapped whole on change, so async
+ * readers never see a half-applied update. Block changes made while a chunk is being indexed are
+ * buffered on its {@link PendingScan} and replayed onto the scan result before it is stored, and
+ * a scan whose chunk was unloaded or cleared in the meantime is dropped.
+ */
+public class OreIndex {
+
+    /** Re-snapshot indexed chunks this often, to catch changes made without block events. */
+    static final long REFRESH_MILLIS = 60_000L;
+
+    private final Set<Material> targetOres;
+    private final BlockData[] paletteProbes;
+    private final Map<UUID, Map<Long, ChunkOres>> worlds = new ConcurrentHashMap<>();
+    private final Map<ChunkRef, PendingScan> pending = new ConcurrentHashMap<>();
+
+    private final AtomicLong chunksIndexed = new AtomicLong();
+    private final AtomicLong chunksSkipped = new AtomicLong();
+    private final AtomicLong indexNanos = new AtomicLong();
+
+    public OreIndex(Set<Material> targetOres) {
+        this.targetOres = targetOres;
+        this.paletteProbes =
+                targetOres.stream()
+                        .filter(Material::isBlock)
+                        .flatMap(
+                                material -> {
+                                    BlockData data = material.createBlockData();
+                                    // Lit redstone ore is a separate palette entry
+                                    if (data instanceof Lightable) {
+                                        Lightable lit = (Lightable) data.clone();
+                                        lit.setLit(!((Lightable) data).isLit());
+                                        return Stream.of(data, lit);
+                                    }
+                                    return Stream.of(data);
+                                })
+                        .toArray(BlockData[]::new);
+    }
+
+    public boolean isTarget(Material material) {
+        return targetOres.contains(material);
+    }
+
+    /** Whether the chunk needs a snapshot: never indexed, or indexed too long ago. */
+    public boolean needsIndex(UUID worldId, int chunkX, int chunkZ, long now) {
+        Map<Long, ChunkOres> chunks = worlds.get(worldId);
+        ChunkOres ores = chunks != null ? chunks.get(chunkKey(chunkX, chunkZ)) : null;
+        if (ores != null && now - ores.indexedAt < REFRESH_MILLIS) {
+            return false;
+        }
+        return !pending.containsKey(new ChunkRef(worldId, chunkKey(chunkX, chunkZ)));
+    }
+
+    /**
+     * Claim the chunk for indexing, before its snapshot is taken; null if another session already
+     * took it. The returned scan must be passed to {@link #index}.
+     */
+    PendingScan markPending(UUID worldId, int chunkX, int chunkZ) {
+        ChunkRef ref = new ChunkRef(worldId, chunkKey(chunkX, chunkZ));
+        PendingScan scan = new PendingScan(ref);
+        return pending.putIfAbsent(ref, scan) == null ? scan : null;
+    }
+
+    /**
+     * Build the chunk's entry from a snapshot covering the world's full height, taken after the
+     * chunk was marked pending. Safe to call off the main thread.
+     */
+    void index(PendingScan scan, ChunkSnapshot snapshot, int minY, int maxY) {
+        long start = System.nanoTime();
+        try {
+            ChunkOres ores = scan(snapshot, minY, maxY);
+            synchronized (scan) {
+                // Unloaded or cleared while scanning
+                if (scan.cancelled) {
+                    return;
+                }
+                for (Map.Entry<Integer, Material> change : scan.changes.entrySet()) {
+                    ores = ores.with(change.getKey(), change.getValue());
+                }
+                worlds.computeIfAbsent(scan.ref.worldId(), w -> new ConcurrentHashMap<>())
+                        .put(scan.ref.chunkKey(), ores);
+                scan.done = true;
+            }
+        } finally {
+            pending.remove(scan.ref, scan);
+            indexNanos.addAndGet(System.nanoTime() - start);
+            chunksIndexed.incrementAndGet();
+        }
+    }
+
+    private ChunkOres scan(ChunkSnapshot snapshot, int minY, int maxY) {
+        long now = System.currentTimeMillis();
+
+        // The palette tells whether any target ore is in the chunk at all
+        boolean anyOre = false;
+        for (BlockData probe : paletteProbes) {
+            if (snapshot.contains(probe)) {
+                anyOre = true;
+                break;
+            }
+        }
+        if (!anyOre) {
+            chunksSkipped.incrementAndGet();
+            return new ChunkOres(new int[0], new Material[0], now);
+        }
+
+        int[] positions = new int[16];
+        Material[] types = new Material[16];
+        int count = 0;
+        for (int sectionY = minY >> 4; sectionY <= (maxY - 1) >> 4; sectionY++) {
+            // Section indexes count up from the bottom of the world
+            if (snapshot.isSectionEmpty(sectionY - (minY >> 4))) {
+                continue;
+            }
+            int fromY = Math.max(minY, sectionY << 4);
+            int toY = Math.min(maxY, (sectionY + 1) << 4);
+            for (int y = fromY; y < toY; y++) {
+                for (int x = 0; x < 16; x++) {
+                    for (int z = 0; z < 16; z++) {
+                        Material type = snapshot.getBlockType(x, y, z);
+                        if (targetOres.contains(type)) {
+                            if (count == positions.length) {
+                                positions = Arrays.copyOf(positions, count * 2);
+                                types = Arrays.copyOf(types, count * 2);
+                            }
+                            positions[count] = pack(x, y, z);
+                            types[count] = type;
+                            count++;
+                        }
+                    }
+                }
+            }
+        }
+        return new ChunkOres(Arrays.copyOf(positions, count), Arrays.copyOf(types, count), now);
+    }
+
+    /** A block changed; keep the chunk's entry in step if it is indexed. */
+    public void update(UUID worldId, int x, int y, int z, Material type) {
+        long key = chunkKey(x >> 4, z >> 4);
+        int packed = pack(x & 15, y, z & 15);
+        Material ore = isTarget(type) ? type : null;
+
+        // Buffer first: once the scan is done its result is already stored and updated below
+        PendingScan scan = pending.get(new ChunkRef(worldId, key));
+        if (scan != null) {
+            synchronized (scan) {
+                if (!scan.done) {
+                    scan.changes.put(packed, ore);
+                }
+            }
+        }
+
+        Map<Long, ChunkOres> chunks = worlds.get(worldId);
+        if (chunks == null) {
+            return;
+        }
+        chunks.computeIfPresent(key, (k, ores) -> ores.with(packed, ore));
+    }
+
+    public void unloadChunk(UUID worldId, int chunkX, int chunkZ) {
+        long key = chunkKey(chunkX, chunkZ);
+        cancel(pending.remove(new ChunkRef(worldId, key)));
+        Map<Long, ChunkOres> chunks = worlds.get(worldId);
+        if (chunks != null) {
+            chunks.remove(key);
+        }
+    }
+
+    public void clear() {
+        for (PendingScan scan : pending.values()) {
+            cancel(scan);
+        }
+        pending.clear();
+        worlds.clear();
+    }
+
+    private static void cancel(PendingScan scan) {
+        if (scan != null) {
+            synchronized (scan) {
+                scan.cancelled = true;
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return worlds.isEmpty() && pending.isEmpty();
+    }
+
+    /**
+     * Visit the indexed ores in the cube of {@code radius} around a block, stopping once the
+     * visitor returns false.
+     */
+    public void query(UUID worldId, int cx, int cy, int cz, int radius, OreVisitor visitor) {
+        Map<Long, ChunkOres> chunks = worlds.get(worldId);
+        if (chunks == null) {
+            return;
+        }
+        for (int chunkX = (cx - radius) >> 4; chunkX <= (cx + radius) >> 4; chunkX++) {
+            for (int chunkZ = (cz - radius) >> 4; chunkZ <= (cz + radius) >> 4; chunkZ++) {
+                ChunkOres ores = chunks.get(chunkKey(chunkX, chunkZ));
+                if (ores == null) {
+                    continue;
+                }
+                for (int i = 0; i < ores.positions.length; i++) {
+                    int packed = ores.positions[i];
+                    int x = (chunkX << 4) + unpackX(packed);
+                    int y = unpackY(packed);
+                    int z = (chunkZ << 4) + unpackZ(packed);
+                    if (Math.abs(x - cx) > radius
+                            || Math.abs(y - cy) > radius
+                            || Math.abs(z - cz) > radius) {
+                        continue;
+                    }
+                    if (!visitor.visit(x, y, z, ores.types[i])) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    public int getIndexedChunkCount() {
+        return worlds.values().stream().mapToInt(Map::size).sum();
+    }
+
+    public int getCachedOreCount() {
+        return worlds.values().stream()
+                .flatMap(chunks -> chunks.values().stream())
+                .mapToInt(ores -> ores.positions.length)
+                .sum();
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public long getChunksIndexed() {
+        return chunksIndexed.get();
+    }
+
+    public long getChunksSkipped() {
+        return chunksSkipped.get();
+    }
+
+    public double getAverageIndexMillis() {
+        long count = chunksIndexed.get();
+        return count == 0 ? 0 : indexNanos.get() / 1_000_000.0 / count;
+    }
+
+    @FunctionalInterface
+    public interface OreVisitor {
+        boolean visit(int x, int y, int z, Material type);
+    }
+
+    // Local x and z in the low byte, y (which may be negative) above it
+    private static int pack(int x, int y, int z) {
+        return (y << 8) | (x << 4) | z;
+    }
+
+    private static int unpackX(int packed) {
+        return (packed >> 4) & 15;
+    }
+
+    private static int unpackY(int packed) {
+        return packed >> 8;
+    }
+
+    private static int unpackZ(int packed) {
+        return packed & 15;
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private record ChunkRef(UUID worldId, long chunkKey) {}
+
+    /** A chunk being indexed, with the block changes made since it was marked pending. */
+    static final class PendingScan {
+        private final ChunkRef ref;
+        // Packed position -> new ore type, or null once it is no longer an ore; guarded by this
+        private final Map<Integer, Material> changes = new HashMap<>();
+        private boolean done;
+        private boolean cancelled;
+
+        private PendingScan(ChunkRef ref) {
+            this.ref = ref;
+        }
+    }
+
+    private static final class ChunkOres {
+        private final int[] positions;
+        private final Material[] types;
+        private final long indexedAt;
+
+        ChunkOres(int[] positions, Material[] types, long indexedAt) {
+            this.positions = positions;
+            this.types = types;
+            this.indexedAt = indexedAt;
+        }
+
+        /** Copy with the ore at {@code packed} set to {@code type}, or removed if null. */
+        ChunkOres with(int packed, Material type) {
+            for (int i = 0; i < positions.length; i++) {
+                if (positions[i] == packed) {
+                    if (type == types[i]) {
+                        return this;
+                    }
+                    if (type != null) {
+                        Material[] changed = types.clone();
+                        changed[i] = type;
+                        return new ChunkOres(positions, changed, indexedAt);
+                    }
+                    int[] fewerPositions = new int[positions.length - 1];
+                    Material[] fewerTypes = new Material[types.length - 1];
+                    System.arraycopy(positions, 0, fewerPositions, 0, i);
+                    System.arraycopy(positions, i + 1, fewerPositions, i, positions.length - i - 1);
+                    System.arraycopy(types, 0, fewerTypes, 0, i);
+                    System.arraycopy(types, i + 1, fewerTypes, i, types.length - i - 1);
+                    return new ChunkOres(fewerPositions, fewerTypes, indexedAt);
+                }
+            }
+            if (type == null) {
+                return this;
+            }
+            int[] morePositions = Arrays.copyOf(positions, positions.length + 1);
+            Material[] moreTypes = Arrays.copyOf(types, types.length + 1);
+            morePositions[positions.length] = packed;
+            moreTypes[types.length] = type;
+            return new ChunkOres(morePositions, moreTypes, indexedAt);
+        }
+    }
+}
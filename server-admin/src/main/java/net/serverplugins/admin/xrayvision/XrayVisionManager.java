@@ -24,6 +24,7 @@ public class XrayVisionManager {
     private final Map<UUID, XrayVisionSession> sessions;
     private final ProtocolManager protocolManager;
     private final AtomicInteger entityIdCounter;
+    private final OreIndex oreIndex;
 
     private static final int SCAN_RADIUS = 32;
     private static final int UPDATE_INTERVAL_TICKS = 40; // 2 seconds
@@ -44,6 +45,7 @@ public class XrayVisionManager {
         if (this.targetOres.isEmpty()) {
             initDefaultOres();
         }
+        this.oreIndex = new OreIndex(targetOres);
     }
 
     private void initDefaultOres() {
@@ -97,6 +99,7 @@ public class XrayVisionManager {
         if (session == null) return;
 
         session.cancelTask();
+        releaseIndexIfIdle();
 
         // Remove all marker entities
         removeAllMarkers(player, session);
@@ -137,14 +140,7 @@ public class XrayVisionManager {
                                         session.cancelTask();
                                         return;
                                     }
-
-                                    // Run block scanning async
-                                    Bukkit.getScheduler()
-                                            .runTaskAsynchronously(
-                                                    plugin,
-                                                    () -> {
-                                                        scanAndUpdate(player, session);
-                                                    });
+                                    scanAndUpdate(player, session);
                                 },
                                 0L,
                                 UPDATE_INTERVAL_TICKS);
@@ -153,151 +149,86 @@ public class XrayVisionManager {
     }
 
     private void scanAndUpdate(Player player, XrayVisionSession session) {
+        long start = System.nanoTime();
         Location center = player.getLocation();
         World world = center.getWorld();
         if (world == null) return;
 
-        Set<Location> newOreLocations = new HashSet<>();
-        Map<Location, OreType> oreTypes = new HashMap<>();
-
-        // Calculate chunk boundaries (4 chunk radius around player)
-        int centerChunkX = center.getBlockX() >> 4;
-        int centerChunkZ = center.getBlockZ() >> 4;
-        int chunkRadius = 4; // ~64 block radius
-
-        int minY = Math.max(world.getMinHeight(), center.getBlockY() - SCAN_RADIUS);
-        int maxY = Math.min(world.getMaxHeight(), center.getBlockY() + SCAN_RADIUS);
+        UUID worldId = world.getUID();
+        int centerX = center.getBlockX();
+        int centerY = center.getBlockY();
+        int centerZ = center.getBlockZ();
 
-        // Collect ChunkSnapshots for nearby loaded chunks
-        Map<String, ChunkSnapshot> snapshots = new HashMap<>();
-        for (int chunkX = centerChunkX - chunkRadius;
-                chunkX <= centerChunkX + chunkRadius;
+        // Chunks in range that were never indexed (or are due a refresh) get snapshotted here and
+        // indexed async; they show up from the next scan on
+        long now = System.currentTimeMillis();
+        for (int chunkX = (centerX - SCAN_RADIUS) >> 4;
+                chunkX <= (centerX + SCAN_RADIUS) >> 4;
                 chunkX++) {
-            for (int chunkZ = centerChunkZ - chunkRadius;
-                    chunkZ <= centerChunkZ + chunkRadius;
+            for (int chunkZ = (centerZ - SCAN_RADIUS) >> 4;
+                    chunkZ <= (centerZ + SCAN_RADIUS) >> 4;
                     chunkZ++) {
-                final int finalChunkX = chunkX;
-                final int finalChunkZ = chunkZ;
-
-                // Get chunk snapshot on main thread synchronously
-                try {
-                    ChunkSnapshot snapshot =
-                            Bukkit.getScheduler()
-                                    .callSyncMethod(
-                                            plugin,
-                                            () -> {
-                                                if (world.isChunkLoaded(finalChunkX, finalChunkZ)) {
-                                                    return world.getChunkAt(
-                                                                    finalChunkX, finalChunkZ)
-                                                            .getChunkSnapshot(false, false, false);
-                                                }
-                                                return null;
-                                            })
-                                    .get();
-
-                    if (snapshot != null) {
-                        snapshots.put(finalChunkX + "," + finalChunkZ, snapshot);
-                    }
-                } catch (Exception e) {
-                    // Skip this chunk if we can't get snapshot
+                if (!oreIndex.needsIndex(worldId, chunkX, chunkZ, now)
+                        || !world.isChunkLoaded(chunkX, chunkZ)) {
+                    continue;
+                }
+                OreIndex.PendingScan scan = oreIndex.markPending(worldId, chunkX, chunkZ);
+                if (scan == null) {
                     continue;
                 }
+                ChunkSnapshot snapshot =
+                        world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(false, false, false);
+                int minY = world.getMinHeight();
+                int maxY = world.getMaxHeight();
+                Bukkit.getScheduler()
+                        .runTaskAsynchronously(
+                                plugin, () -> oreIndex.index(scan, snapshot, minY, maxY));
             }
         }
 
-        // Scan using ChunkSnapshots (thread-safe, no main thread access)
-        int oresFound = 0;
-        outerLoop:
-        for (Map.Entry<String, ChunkSnapshot> entry : snapshots.entrySet()) {
-            String[] coords = entry.getKey().split(",");
-            int chunkX = Integer.parseInt(coords[0]);
-            int chunkZ = Integer.parseInt(coords[1]);
-            ChunkSnapshot snapshot = entry.getValue();
-
-            int chunkWorldX = chunkX << 4;
-            int chunkWorldZ = chunkZ << 4;
-
-            // Scan each block in the chunk within Y range
-            for (int x = 0; x < 16; x++) {
-                int worldX = chunkWorldX + x;
-
-                // Check if this X coordinate is within player radius
-                if (Math.abs(worldX - center.getBlockX()) > SCAN_RADIUS) continue;
-
-                for (int z = 0; z < 16; z++) {
-                    int worldZ = chunkWorldZ + z;
-
-                    // Check if this Z coordinate is within player radius
-                    if (Math.abs(worldZ - center.getBlockZ()) > SCAN_RADIUS) continue;
-
-                    for (int y = minY; y <= maxY; y++) {
-                        // Check if this Y coordinate is within player radius
-                        if (Math.abs(y - center.getBlockY()) > SCAN_RADIUS) continue;
-
-                        // Use ChunkSnapshot to get block type (thread-safe)
-                        Material type = snapshot.getBlockType(x, y, z);
-
-                        if (targetOres.contains(type)) {
-                            Location loc = new Location(world, worldX, y, worldZ);
-                            newOreLocations.add(loc);
-                            OreType oreType = OreType.fromMaterial(type);
-                            if (oreType != null) {
-                                oreTypes.put(loc, oreType);
-                            }
-
-                            // Break out early if we hit max markers
-                            oresFound++;
-                            if (oresFound >= MAX_ORES_PER_SCAN) {
-                                break outerLoop;
-                            }
-                        }
+        Map<Location, OreType> oreTypes = new HashMap<>();
+        oreIndex.query(
+                worldId,
+                centerX,
+                centerY,
+                centerZ,
+                SCAN_RADIUS,
+                (x, y, z, type) -> {
+                    OreType oreType = OreType.fromMaterial(type);
+                    if (oreType != null) {
+                        oreTypes.put(new Location(world, x, y, z), oreType);
                     }
-                }
+                    return oreTypes.size() < MAX_ORES_PER_SCAN;
+                });
+
+        Map<Location, OreMarker> markers = session.getActiveMarkers();
+
+        // Remove old markers
+        Iterator<Map.Entry<Location, OreMarker>> iterator = markers.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Location, OreMarker> entry = iterator.next();
+            if (!oreTypes.containsKey(entry.getKey())) {
+                iterator.remove();
+                sendDestroyPacket(player, entry.getValue().getEntityId());
             }
         }
 
-        // Calculate diff - snapshot the keys to avoid ConcurrentModificationException
-        // since this runs async while main thread may modify the map
-        Set<Location> currentMarkerKeys = Set.copyOf(session.getActiveMarkers().keySet());
-
-        Set<Location> toRemove = new HashSet<>(currentMarkerKeys);
-        toRemove.removeAll(newOreLocations);
-
-        Set<Location> toAdd = new HashSet<>(newOreLocations);
-        toAdd.removeAll(currentMarkerKeys);
-
-        // Apply changes on main thread
-        Bukkit.getScheduler()
-                .runTask(
-                        plugin,
-                        () -> {
-                            if (!player.isOnline() || !sessions.containsKey(player.getUniqueId())) {
-                                return;
-                            }
-
-                            // Remove old markers
-                            for (Location loc : toRemove) {
-                                OreMarker marker = session.getActiveMarkers().remove(loc);
-                                if (marker != null) {
-                                    sendDestroyPacket(player, marker.getEntityId());
-                                }
-                            }
-
-                            // Add new markers
-                            for (Location loc : toAdd) {
-                                OreType oreType = oreTypes.get(loc);
-                                if (oreType != null) {
-                                    int entityId = entityIdCounter.getAndDecrement();
-                                    UUID entityUuid = UUID.randomUUID();
-                                    OreMarker marker =
-                                            new OreMarker(entityId, entityUuid, loc, oreType);
-                                    session.getActiveMarkers().put(loc, marker);
-
-                                    sendSpawnPacket(player, marker);
-                                    addToTeam(player, marker);
-                                }
-                            }
-                        });
+        // Add new markers
+        for (Map.Entry<Location, OreType> entry : oreTypes.entrySet()) {
+            Location loc = entry.getKey();
+            if (markers.containsKey(loc)) {
+                continue;
+            }
+            int entityId = entityIdCounter.getAndDecrement();
+            UUID entityUuid = UUID.randomUUID();
+            OreMarker marker = new OreMarker(entityId, entityUuid, loc, entry.getValue());
+            markers.put(loc, marker);
+
+            sendSpawnPacket(player, marker);
+            addToTeam(player, marker);
+        }
+
+        session.recordScan(System.nanoTime() - start);
     }
 
     private void sendSpawnPacket(Player player, OreMarker marker) {
@@ -427,9 +358,64 @@ public class XrayVisionManager {
         XrayVisionSession session = sessions.remove(player.getUniqueId());
         if (session != null) {
             session.cancelTask();
+            releaseIndexIfIdle();
         }
     }
 
+    /** The index only earns its memory while someone is looking; drop it with the last session. */
+    private void releaseIndexIfIdle() {
+        if (sessions.isEmpty()) {
+            oreIndex.clear();
+        }
+    }
+
+    public void sendDebug(Player player) {
+        TextUtil.send(player, "<gold>=== Xray Vision Debug ===");
+
+        XrayVisionSession session = sessions.get(player.getUniqueId());
+        if (session != null && session.getScanCount() > 0) {
+            TextUtil.send(
+                    player,
+                    "<gray>Last scan: <white>"
+                            + String.format("%.3f ms", session.getLastScanNanos() / 1_000_000.0)
+                            + " <gray>| Avg: <white>"
+                            + String.format(
+                                    "%.3f ms",
+                                    session.getTotalScanNanos()
+                                            / 1_000_000.0
+                                            / session.getScanCount())
+                            + " <gray>over <white>"
+                            + session.getScanCount()
+                            + " <gray>scans");
+            TextUtil.send(
+                    player, "<gray>Active markers: <white>" + session.getActiveMarkers().size());
+        } else {
+            TextUtil.send(player, "<gray>No scans yet for your session.");
+        }
+
+        TextUtil.send(
+                player,
+                "<gray>Indexed chunks: <white>"
+                        + oreIndex.getIndexedChunkCount()
+                        + " <gray>| Cached ores: <white>"
+                        + oreIndex.getCachedOreCount()
+                        + " <gray>| Pending: <white>"
+                        + oreIndex.getPendingCount());
+        TextUtil.send(
+                player,
+                "<gray>Chunk builds: <white>"
+                        + oreIndex.getChunksIndexed()
+                        + " <gray>(<white>"
+                        + oreIndex.getChunksSkipped()
+                        + " <gray>skipped by palette) | Avg build: <white>"
+                        + String.format("%.3f ms", oreIndex.getAverageIndexMillis()));
+        TextUtil.send(player, "<gray>Active sessions: <white>" + sessions.size());
+    }
+
+    public OreIndex getOreIndex() {
+        return oreIndex;
+    }
+
     public void shutdown() {
         for (UUID uuid : new HashSet<>(sessions.keySet())) {
             Player player = Bukkit.getPlayer(uuid);
@@ -442,5 +428,6 @@ public class XrayVisionManager {
                 }
             }
         }
+        oreIndex.clear();
     }
 }
@@ -11,6 +11,9 @@ public class XrayVisionSession {
     private final UUID playerId;
     private final Map<Location, OreMarker> activeMarkers;
     private int taskId = -1;
+    private long lastScanNanos;
+    private long totalScanNanos;
+    private int scanCount;
 
     public XrayVisionSession(UUID playerId) {
         this.playerId = playerId;
@@ -37,6 +40,24 @@ public class XrayVisionSession {
         return taskId != -1;
     }
 
+    public void recordScan(long nanos) {
+        lastScanNanos = nanos;
+        totalScanNanos += nanos;
+        scanCount++;
+    }
+
+    public long getLastScanNanos() {
+        return lastScanNanos;
+    }
+
+    public long getTotalScanNanos() {
+        return totalScanNanos;
+    }
+
+    public int getScanCount() {
+        return scanCount;
+    }
+
     public void cancelTask() {
         if (taskId != -1) {
             Bukkit.getScheduler().cancelTask(taskId);
@@ -0,0 +1,188 @@
+package net.serverplugins.admin.xray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.Random;
+import java.util.UUID;
+import org.bukkit.Material;
+import org.junit.jupiter.api.Test;
+
+class XrayTrackerTest {
+
+    private static final Material[] BLOCKS = {
+        Material.STONE,
+        Material.DEEPSLATE,
+        Material.NETHERRACK,
+        Material.COAL_ORE,
+        Material.IRON_ORE,
+        Material.GOLD_ORE,
+        Material.DIAMOND_ORE,
+        Material.DEEPSLATE_DIAMOND_ORE,
+        Material.ANCIENT_DEBRIS,
+        Material.EMERALD_ORE
+    };
+
+    @Test
+    void testEmptyTrackerHasNoSuspicion() {
+        XrayTracker tracker = new XrayTracker(UUID.randomUUID());
+
+        assertEquals(0, tracker.calculateSuspicion());
+        assertEquals(0, tracker.getRecentEventCount());
+    }
+
+    @Test
+    void testUnexposedDiamondsScoreHigh() {
+        XrayTracker tracker = new XrayTracker(UUID.randomUUID());
+        for (int i = 0; i < 10; i++) {
+            tracker.recordMine(Material.STONE, true, i);
+        }
+        for (int i = 0; i < 5; i++) {
+            tracker.recordMine(Material.DIAMOND_ORE, false, 10 + i);
+        }
+
+        assertEquals(100, tracker.calculateSuspicion());
+        assertEquals(5, tracker.getRareOres());
+
+        tracker.pruneOldEvents(12);
+        assertEquals(3, tracker.getTotalOres());
+        assertEquals(0, tracker.getTotalStone());
+        assertEquals(15, tracker.calculateSuspicion());
+    }
+
+    @Test
+    void testPruneKeepsOutOfOrderTail() {
+        XrayTracker tracker = new XrayTracker(UUID.randomUUID());
+        tracker.recordMine(Material.DIAMOND_ORE, false, 100);
+        tracker.recordMine(Material.DIAMOND_ORE, false, 50);
+
+        // Pruning stops at the first event inside the window, like a queue
+        tracker.pruneOldEvents(80);
+        assertEquals(2, tracker.getRecentEventCount());
+        tracker.pruneOldEvents(120);
+        assertEquals(0, tracker.getRecentEventCount());
+    }
+
+    @Test
+    void testMatchesQueueImplementation() {
+        Random random = new Random(7);
+        for (int round = 0; round < 50; round++) {
+            XrayTracker tracker = new XrayTracker(UUID.randomUUID());
+            QueueTracker reference = new QueueTracker();
+            long now = 0;
+
+            for (int step = 0; step < 2000; step++) {
+                now += random.nextInt(400);
+                if (random.nextInt(50) == 0) {
+                    long cutoff = now - random.nextInt(20_000);
+                    tracker.pruneOldEvents(cutoff);
+                    reference.pruneOldEvents(cutoff);
+                } else {
+                    Material block = BLOCKS[random.nextInt(BLOCKS.length)];
+                    boolean exposed = random.nextBoolean();
+                    tracker.recordMine(block, exposed, now);
+                    reference.recordMine(block, exposed, now);
+                }
+
+                assertEquals(reference.calculateSuspicion(), tracker.calculateSuspicion());
+                assertEquals(reference.totalOres, tracker.getTotalOres());
+                assertEquals(reference.totalStone, tracker.getTotalStone());
+                assertEquals(reference.unexposedOres, tracker.getUnexposedOres());
+                assertEquals(reference.events.size(), tracker.getRecentEventCount());
+            }
+        }
+    }
+
+    /** The tracker as it was before the ring buffer, walking a queue of events to score. */
+    private static final class QueueTracker {
+
+        private final Queue<MiningEvent> events = new LinkedList<>();
+        private int totalStone;
+        private int totalOres;
+        private int unexposedOres;
+
+        void recordMine(Material block, boolean wasExposed, long timestamp) {
+            events.add(new MiningEvent(block, wasExposed, timestamp));
+            if (isStoneBlock(block)) {
+                totalStone++;
+            } else {
+                totalOres++;
+                if (!wasExposed) {
+                    unexposedOres++;
+                }
+            }
+        }
+
+        void pruneOldEvents(long cutoffTime) {
+            while (!events.isEmpty() && events.peek().timestamp() < cutoffTime) {
+                MiningEvent removed = events.poll();
+                if (isStoneBlock(removed.block())) {
+                    totalStone--;
+                } else {
+                    totalOres--;
+                    if (!removed.wasExposed()) {
+                        unexposedOres--;
+                    }
+                }
+            }
+        }
+
+        int calculateSuspicion() {
+            if (totalOres == 0) return 0;
+
+            int suspicion = 0;
+            if (totalStone + totalOres > 10) {
+                double oreRatio = (double) totalOres / (totalStone + totalOres);
+                if (oreRatio > 0.10) {
+                    suspicion += 30;
+                } else if (oreRatio > 0.05) {
+                    suspicion += 15;
+                }
+            }
+            if (totalOres > 3) {
+                double unexposedRatio = (double) unexposedOres / totalOres;
+                if (unexposedRatio > 0.5) {
+                    suspicion += 40;
+                } else if (unexposedRatio > 0.25) {
+                    suspicion += 20;
+                }
+            }
+            int rareOres = 0;
+            for (MiningEvent event : events) {
+                if (event.block() == Material.DIAMOND_ORE
+                        || event.block() == Material.DEEPSLATE_DIAMOND_ORE
+                        || event.block() == Material.ANCIENT_DEBRIS) {
+                    rareOres++;
+                }
+            }
+            if (rareOres >= 5) {
+                suspicion += 30;
+            } else if (rareOres >= 3) {
+                suspicion += 15;
+            }
+            return Math.min(100, suspicion);
+        }
+
+        private boolean isStoneBlock(Material material) {
+            return switch (material) {
+                case STONE,
+                                DEEPSLATE,
+                                GRANITE,
+                                DIORITE,
+                                ANDESITE,
+                                TUFF,
+                                CALCITE,
+                                COBBLESTONE,
+                                COBBLED_DEEPSLATE,
+                                NETHERRACK,
+                                BLACKSTONE,
+                                BASALT ->
+                        true;
+                default -> false;
+            };
+        }
+
+        private record MiningEvent(Material block, boolean wasExposed, long timestamp) {}
+    }
+}
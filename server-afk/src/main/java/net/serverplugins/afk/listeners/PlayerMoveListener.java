@@ -62,8 +62,15 @@ public class PlayerMoveListener implements Listener {
         PlayerTracker tracker = plugin.getPlayerTracker();
         int yForgiveness = plugin.getAfkConfig().getYAxisForgiveness();
 
-        Optional<AfkZone> zoneAtLocation = zoneManager.getZoneAt(to);
         Optional<PlayerAfkSession> currentSession = tracker.getSessionOptional(player);
+        AfkZone sessionZone = currentSession.map(PlayerAfkSession::getCurrentZone).orElse(null);
+
+        // Moving around inside the session's zone costs one bounds check; anything else goes
+        // through the index, which keeps the session's zone where zones overlap
+        Optional<AfkZone> zoneAtLocation =
+                sessionZone != null && sessionZone.isEnabled() && sessionZone.contains(to)
+                        ? Optional.of(sessionZone)
+                        : zoneManager.getZoneAt(to, sessionZone);
 
         // Case 1: Player is in a session and still in the same zone
         if (currentSession.isPresent() && zoneAtLocation.isPresent()) {
@@ -0,0 +1,127 @@
+package net.serverplugins.afk.managers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.serverplugins.afk.models.AfkZone;
+
+/**
+ * Immutable per-world lookup of enabled AFK zones, bucketed by the chunks each zone covers. A
+ * point lookup hashes one chunk and checks only the zones overlapping it. Zones spanning more
+ * than {@link #MAX_BUCKETED_CHUNKS} chunks are kept in a per-world list that every lookup checks,
+ * so one huge zone cannot blow up the table.
+ *
+ * <p>Within a bucket zones are ordered by id, so where zones overlap the oldest one wins.
+ */
+public final class ZoneIndex {
+
+    static final int MAX_BUCKETED_CHUNKS = 4096;
+
+    private static final ZoneIndex EMPTY = new ZoneIndex(Map.of());
+
+    private final Map<String, WorldZones> worlds;
+
+    private ZoneIndex(Map<String, WorldZones> worlds) {
+        this.worlds = worlds;
+    }
+
+    public static ZoneIndex empty() {
+        return EMPTY;
+    }
+
+    public static ZoneIndex build(Collection<AfkZone> zones) {
+        List<AfkZone> sorted = new ArrayList<>();
+        for (AfkZone zone : zones) {
+            if (zone.isEnabled() && zone.getWorldName() != null) {
+                sorted.add(zone);
+            }
+        }
+        if (sorted.isEmpty()) {
+            return EMPTY;
+        }
+        sorted.sort(Comparator.comparingInt(AfkZone::getId));
+
+        Map<String, WorldZones> worlds = new HashMap<>();
+        for (AfkZone zone : sorted) {
+            WorldZones world = worlds.computeIfAbsent(zone.getWorldName(), w -> new WorldZones());
+            int minChunkX = zone.getMinX() >> 4;
+            int maxChunkX = zone.getMaxX() >> 4;
+            int minChunkZ = zone.getMinZ() >> 4;
+            int maxChunkZ = zone.getMaxZ() >> 4;
+            long chunks = (long) (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1);
+            if (chunks > MAX_BUCKETED_CHUNKS) {
+                world.large.add(zone);
+                continue;
+            }
+            for (int cx = minChunkX; cx <= maxChunkX; cx++) {
+                for (int cz = minChunkZ; cz <= maxChunkZ; cz++) {
+                    world.buckets
+                            .computeIfAbsent(chunkKey(cx, cz), k -> new ArrayList<>())
+                            .add(zone);
+                }
+            }
+        }
+        return new ZoneIndex(worlds);
+    }
+
+    /**
+     * The zone containing the block, preferring {@code preferredZoneId} when it is one of several
+     * overlapping zones there. Staying in a zone that overlaps another is then not an exit.
+     */
+    public AfkZone find(String worldName, int x, int y, int z, int preferredZoneId) {
+        WorldZones world = worlds.get(worldName);
+        if (world == null) {
+            return null;
+        }
+        AfkZone found = null;
+        List<AfkZone> bucket = world.buckets.get(chunkKey(x >> 4, z >> 4));
+        if (bucket != null) {
+            for (AfkZone zone : bucket) {
+                if (contains(zone, x, y, z)) {
+                    if (zone.getId() == preferredZoneId) {
+                        return zone;
+                    }
+                    if (found == null) {
+                        found = zone;
+                    }
+                }
+            }
+        }
+        for (AfkZone zone : world.large) {
+            if (contains(zone, x, y, z)) {
+                if (zone.getId() == preferredZoneId) {
+                    return zone;
+                }
+                if (found == null || zone.getId() < found.getId()) {
+                    found = zone;
+                }
+            }
+        }
+        return found;
+    }
+
+    public AfkZone find(String worldName, int x, int y, int z) {
+        return find(worldName, x, y, z, -1);
+    }
+
+    private static boolean contains(AfkZone zone, int x, int y, int z) {
+        return x >= zone.getMinX()
+                && x <= zone.getMaxX()
+                && y >= zone.getMinY()
+                && y <= zone.getMaxY()
+                && z >= zone.getMinZ()
+                && z <= zone.getMaxZ();
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private static final class WorldZones {
+        private final Map<Long, List<AfkZone>> buckets = new HashMap<>();
+        private final List<AfkZone> large = new ArrayList<>();
+    }
+}
@@ -15,6 +15,7 @@ public class ZoneManager {
     private final ServerAFK plugin;
     private final AfkRepository repository;
     private final ConcurrentHashMap<Integer, AfkZone> zoneCache;
+    private volatile ZoneIndex zoneIndex = ZoneIndex.empty();
 
     public ZoneManager(ServerAFK plugin, AfkRepository repository) {
         this.plugin = plugin;
@@ -29,6 +30,7 @@ public class ZoneManager {
         for (AfkZone zone : zones) {
             zoneCache.put(zone.getId(), zone);
         }
+        rebuildIndex();
         plugin.getLogger().info("Loaded " + zones.size() + " AFK zones");
     }
 
@@ -51,7 +53,27 @@ public class ZoneManager {
     }
 
     public Optional<AfkZone> getZoneAt(Location location) {
-        return getEnabledZones().stream().filter(z -> z.contains(location)).findFirst();
+        return getZoneAt(location, null);
+    }
+
+    /**
+     * The enabled zone at a location. Where zones overlap, {@code current} is kept as long as the
+     * location is still inside it, so walking through an overlap does not switch zones.
+     */
+    public Optional<AfkZone> getZoneAt(Location location, AfkZone current) {
+        if (location.getWorld() == null) return Optional.empty();
+        return Optional.ofNullable(
+                zoneIndex.find(
+                        location.getWorld().getName(),
+                        location.getBlockX(),
+                        location.getBlockY(),
+                        location.getBlockZ(),
+                        current != null ? current.getId() : -1));
+    }
+
+    /** Rebuild the spatial index after zones were added, removed, moved or toggled. */
+    private void rebuildIndex() {
+        zoneIndex = ZoneIndex.build(zoneCache.values());
     }
 
     public AfkZone createZone(String name, Location corner1, Location corner2) {
@@ -72,6 +94,7 @@ public class ZoneManager {
 
         zone = repository.createZone(zone);
         zoneCache.put(zone.getId(), zone);
+        rebuildIndex();
 
         return zone;
     }
@@ -79,6 +102,7 @@ public class ZoneManager {
     public void updateZone(AfkZone zone) {
         repository.updateZone(zone);
         zoneCache.put(zone.getId(), zone);
+        rebuildIndex();
     }
 
     public void deleteZone(AfkZone zone) {
@@ -98,6 +122,7 @@ public class ZoneManager {
         // Delete from database (will cascade delete rewards)
         repository.deleteZone(zone.getId());
         zoneCache.remove(zone.getId());
+        rebuildIndex();
     }
 
     public boolean zoneExists(String name) {
@@ -0,0 +1,62 @@
+package net.serverplugins.afk.managers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import net.serverplugins.afk.models.AfkZone;
+import org.junit.jupiter.api.Test;
+
+class ZoneIndexTest {
+
+    private static AfkZone zone(
+            int id, String world, int x1, int y1, int z1, int x2, int y2, int z2) {
+        AfkZone zone = new AfkZone("zone" + id, world, x1, y1, z1, x2, y2, z2);
+        zone.setId(id);
+        return zone;
+    }
+
+    @Test
+    void testFindsZoneContainingBlock() {
+        AfkZone spawn = zone(1, "world", -5, 60, -5, 5, 70, 5);
+        AfkZone far = zone(2, "world", 1000, 0, 1000, 1010, 10, 1010);
+        ZoneIndex index = ZoneIndex.build(List.of(spawn, far));
+
+        assertSame(spawn, index.find("world", 0, 64, 0));
+        assertSame(spawn, index.find("world", -5, 60, 5));
+        assertSame(far, index.find("world", 1005, 5, 1005));
+        assertNull(index.find("world", 6, 64, 0));
+        assertNull(index.find("world", 0, 71, 0));
+        assertNull(index.find("world_nether", 0, 64, 0));
+    }
+
+    @Test
+    void testSkipsDisabledZones() {
+        AfkZone zone = zone(1, "world", 0, 0, 0, 10, 10, 10);
+        zone.setEnabled(false);
+
+        assertNull(ZoneIndex.build(List.of(zone)).find("world", 5, 5, 5));
+    }
+
+    @Test
+    void testOverlappingZonesPreferCurrentThenOldest() {
+        AfkZone older = zone(1, "world", 0, 0, 0, 20, 10, 20);
+        AfkZone newer = zone(2, "world", 10, 0, 10, 30, 10, 30);
+        ZoneIndex index = ZoneIndex.build(List.of(newer, older));
+
+        assertSame(older, index.find("world", 15, 5, 15));
+        assertSame(newer, index.find("world", 15, 5, 15, newer.getId()));
+        assertSame(newer, index.find("world", 25, 5, 25, older.getId()));
+    }
+
+    @Test
+    void testLargeZonesAreFoundWithoutBucketing() {
+        int size = (ZoneIndex.MAX_BUCKETED_CHUNKS + 1) * 16;
+        AfkZone huge = zone(1, "world", 0, 0, 0, size, 255, 16);
+        AfkZone small = zone(2, "world", 100, 0, 0, 110, 10, 10);
+        ZoneIndex index = ZoneIndex.build(List.of(huge, small));
+
+        assertSame(huge, index.find("world", size - 1, 100, 8));
+        assertSame(huge, index.find("world", 105, 5, 5));
+        assertSame(small, index.find("world", 105, 5, 5, small.getId()));
+    }
+}
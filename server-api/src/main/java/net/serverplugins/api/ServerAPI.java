@@ -3,12 +3,16 @@ package net.serverplugins.api;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
+import net.serverplugins.api.commands.ServerApiCommand;
 import net.serverplugins.api.commands.ServerCommand;
 import net.serverplugins.api.configuration.ConfigManager;
 import net.serverplugins.api.configuration.parsers.Parser;
 import net.serverplugins.api.database.Database;
 import net.serverplugins.api.database.DatabaseType;
+import net.serverplugins.api.database.InstrumentedDatabase;
+import net.serverplugins.api.database.WriteBehindQueue;
 import net.serverplugins.api.database.impl.H2Database;
 import net.serverplugins.api.database.impl.MariaDBDatabase;
 import net.serverplugins.api.database.impl.SQLiteDatabase;
@@ -20,6 +24,8 @@ import net.serverplugins.api.gui.GuiListener;
 import net.serverplugins.api.gui.GuiManager;
 import net.serverplugins.api.permissions.PermissionProvider;
 import net.serverplugins.api.protection.SellGUIProtection;
+import net.serverplugins.api.utils.AsyncLaneListener;
+import net.serverplugins.api.utils.ManagedExecutor;
 import net.serverplugins.api.utils.PacketUtils;
 import org.bstats.bukkit.Metrics;
 import org.bukkit.Bukkit;
@@ -55,6 +61,7 @@ public final class ServerAPI extends JavaPlugin {
         configManager = new ConfigManager(this);
         saveDefaultConfig();
 
+        initializeExecutor();
         initializeDatabase();
         initializeGems();
 
@@ -104,12 +111,28 @@ public final class ServerAPI extends JavaPlugin {
         // Register transfer command (bypasses Velocity's /server intercept)
         getCommand("transfer").setExecutor(serverCmd);
         getCommand("transfer").setTabCompleter(serverCmd);
+        ServerApiCommand apiCmd = new ServerApiCommand(this);
+        getCommand("serverapi").setExecutor(apiCmd);
+        getCommand("serverapi").setTabCompleter(apiCmd);
 
         getLogger().info("ServerAPI enabled successfully!");
     }
 
     @Override
     public void onDisable() {
+        // Let buffered and queued async writes finish before the connection pool closes
+        WriteBehindQueue.closeAll();
+        ManagedExecutor executor = ManagedExecutor.getShared();
+        if (executor != null) {
+            int dropped =
+                    executor.shutdown(
+                            getConfig().getLong("async.drain-timeout-seconds", 10),
+                            TimeUnit.SECONDS);
+            if (dropped > 0) {
+                getLogger().warning("Dropped " + dropped + " queued async tasks on shutdown");
+            }
+            ManagedExecutor.setShared(null);
+        }
         if (database != null) {
             database.disconnect();
         }
@@ -119,6 +142,29 @@ public final class ServerAPI extends JavaPlugin {
         getLogger().info("ServerAPI disabled!");
     }
 
+    private void initializeExecutor() {
+        boolean virtualThreads =
+                !"PLATFORM".equalsIgnoreCase(getConfig().getString("async.threads", "VIRTUAL"));
+        ManagedExecutor executor =
+                new ManagedExecutor(
+                        virtualThreads,
+                        getConfig().getInt("async.platform-pool-size", 16),
+                        getConfig().getInt("async.lane-concurrency", 8),
+                        getConfig().getInt("async.lane-queue-size", 10000),
+                        getLogger());
+        ManagedExecutor.setShared(executor);
+        Bukkit.getPluginManager()
+                .registerEvents(
+                        new AsyncLaneListener(
+                                this, getConfig().getLong("async.drain-timeout-seconds", 10)),
+                        this);
+        getLogger()
+                .info(
+                        "Async executor started ("
+                                + (virtualThreads ? "virtual threads" : "platform pool")
+                                + ")");
+    }
+
     private void initializeDatabase() {
         String dbTypeString = getConfig().getString("database.type", "H2").toUpperCase();
         DatabaseType dbType;
@@ -161,6 +207,13 @@ public final class ServerAPI extends JavaPlugin {
                         String password = getConfig().getString("database.password", "");
                         int poolSize = getConfig().getInt("database.pool-size", 10);
                         long timeout = getConfig().getLong("database.connection-timeout", 30000);
+                        // No point running more async queries than there are connections
+                        ManagedExecutor.getShared()
+                                .lane(
+                                        getName(),
+                                        Database.ASYNC_LANE,
+                                        poolSize,
+                                        getConfig().getInt("async.lane-queue-size", 10000));
                         yield new MariaDBDatabase(
                                 host, port, dbName, username, password, poolSize, timeout);
                     }
@@ -173,6 +226,30 @@ public final class ServerAPI extends JavaPlugin {
             } catch (Exception e) {
                 getLogger().log(Level.SEVERE, "Failed to connect to database", e);
             }
+            if (getConfig().getBoolean("database.instrumentation.enabled", true)) {
+                instrumentDatabase();
+            }
+        }
+    }
+
+    private void instrumentDatabase() {
+        InstrumentedDatabase instrumented =
+                new InstrumentedDatabase(
+                        database,
+                        getLogger(),
+                        getConfig().getLong("database.instrumentation.slow-query-ms", 50),
+                        getConfig().getBoolean("database.instrumentation.trace-main-thread", true),
+                        Bukkit::isPrimaryThread);
+        database = instrumented;
+
+        long reportTicks =
+                getConfig().getLong("database.instrumentation.slow-query-report-minutes", 5)
+                        * 60
+                        * 20;
+        if (reportTicks > 0) {
+            Bukkit.getScheduler()
+                    .runTaskTimerAsynchronously(
+                            this, instrumented::logSlowQueries, reportTicks, reportTicks);
         }
     }
 
@@ -0,0 +1,156 @@
+package net.serverplugins.api.commands;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.serverplugins.api.ServerAPI;
+import net.serverplugins.api.database.Database;
+import net.serverplugins.api.database.InstrumentedDatabase;
+import net.serverplugins.api.utils.ManagedExecutor;
+import net.serverplugins.api.utils.MessageTemplate;
+import net.serverplugins.api.utils.TextUtil;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+
+/** Admin diagnostics: /sp dbstats [reset|count], /sp async, /sp templates */
+public class ServerApiCommand implements CommandExecutor, TabCompleter {
+
+    private static final String ADMIN_PERMISSION = "serverapi.admin";
+    private static final int DEFAULT_STATEMENT_COUNT = 10;
+    private final ServerAPI plugin;
+
+    public ServerApiCommand(ServerAPI plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (!sender.hasPermission(ADMIN_PERMISSION)) {
+            TextUtil.sendError(sender, "You don't have permission to use this command.");
+            return true;
+        }
+
+        if (args.length < 1) {
+            showUsage(sender, label);
+            return true;
+        }
+
+        switch (args[0].toLowerCase()) {
+            case "dbstats" -> handleDbStats(sender, args);
+            case "async" -> handleAsync(sender);
+            case "templates" -> TextUtil.send(sender, "<gray>" + MessageTemplate.getStats());
+            default -> showUsage(sender, label);
+        }
+        return true;
+    }
+
+    private void showUsage(CommandSender sender, String label) {
+        TextUtil.send(sender, "<gold>ServerAPI Commands:");
+        TextUtil.send(
+                sender,
+                "<yellow>/" + label + " dbstats [count|reset] <gray>- Database statement metrics");
+        TextUtil.send(sender, "<yellow>/" + label + " async <gray>- Async executor lane metrics");
+        TextUtil.send(
+                sender, "<yellow>/" + label + " templates <gray>- Message template cache metrics");
+    }
+
+    private void handleDbStats(CommandSender sender, String[] args) {
+        Database database = plugin.getDatabase();
+        if (!(database instanceof InstrumentedDatabase instrumented)) {
+            TextUtil.sendError(
+                    sender, "Database instrumentation is disabled (database.instrumentation).");
+            return;
+        }
+
+        int count = DEFAULT_STATEMENT_COUNT;
+        if (args.length >= 2) {
+            if (args[1].equalsIgnoreCase("reset")) {
+                instrumented.reset();
+                TextUtil.sendSuccess(sender, "Database metrics reset.");
+                return;
+            }
+            try {
+                count = Math.max(1, Integer.parseInt(args[1]));
+            } catch (NumberFormatException e) {
+                TextUtil.sendError(sender, "Invalid count: " + args[1]);
+                return;
+            }
+        }
+
+        List<InstrumentedDatabase.StatementStats> statements = instrumented.getStatementStats();
+        long since =
+                TimeUnit.MILLISECONDS.toMinutes(
+                        System.currentTimeMillis() - instrumented.getResetAt());
+        TextUtil.send(
+                sender,
+                String.format(
+                        "<gold>Database (%s) - %d statements over %dm, connection wait %.2fms avg"
+                                + " (%d acquires)",
+                        database.getType(),
+                        statements.size(),
+                        since,
+                        instrumented.getAverageConnectionWaitMillis(),
+                        instrumented.getConnectionAcquires()));
+
+        for (int i = 0; i < Math.min(count, statements.size()); i++) {
+            InstrumentedDatabase.StatementStats stats = statements.get(i);
+            long p95 = stats.getPercentileBoundMillis(0.95);
+            TextUtil.send(
+                    sender,
+                    String.format(
+                            "<yellow>%d. <white>%d calls <gray>| total %.0fms, avg %.2fms, p95 %s,"
+                                    + " max %.1fms | rows %d | wait %.2fms%s%s",
+                            i + 1,
+                            stats.getCalls(),
+                            stats.getTotalNanos() / 1_000_000.0,
+                            stats.getAverageMillis(),
+                            p95 < 0 ? "over 2500ms" : "under " + p95 + "ms",
+                            stats.getMaxMillis(),
+                            stats.getRows(),
+                            stats.getAverageConnectionWaitMillis(),
+                            stats.getErrors() > 0 ? " | <red>" + stats.getErrors() + " errors" : "",
+                            stats.getMainThreadCalls() > 0
+                                    ? " | <red>" + stats.getMainThreadCalls() + " on main thread"
+                                    : ""));
+            TextUtil.send(
+                    sender,
+                    "<dark_gray>   " + TextUtil.getMiniMessage().escapeTags(stats.getSql()));
+        }
+    }
+
+    private void handleAsync(CommandSender sender) {
+        ManagedExecutor executor = ManagedExecutor.getShared();
+        if (executor == null) {
+            TextUtil.sendError(sender, "Async executor is not running.");
+            return;
+        }
+        TextUtil.send(sender, "<gold>Async lanes:");
+        for (String line : executor.getStats()) {
+            TextUtil.send(sender, "<gray>" + line);
+        }
+    }
+
+    @Override
+    public List<String> onTabComplete(
+            CommandSender sender, Command command, String alias, String[] args) {
+        List<String> completions = new ArrayList<>();
+        if (!sender.hasPermission(ADMIN_PERMISSION)) {
+            return completions;
+        }
+
+        if (args.length == 1) {
+            for (String sub : List.of("dbstats", "async", "templates")) {
+                if (sub.startsWith(args[0].toLowerCase())) {
+                    completions.add(sub);
+                }
+            }
+        } else if (args.length == 2 && args[0].equalsIgnoreCase("dbstats")) {
+            if ("reset".startsWith(args[1].toLowerCase())) {
+                completions.add("reset");
+            }
+        }
+        return completions;
+    }
+}
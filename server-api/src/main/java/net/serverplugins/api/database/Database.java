@@ -4,11 +4,17 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 public interface Database {
 
+    /** ServerAPI's lane of the shared {@link net.serverplugins.api.utils.ManagedExecutor}. */
+    String ASYNC_LANE = "database";
+
     void connect() throws SQLException;
 
     void disconnect();
@@ -23,6 +29,49 @@ public interface Database {
 
     int[] executeBatch(String... queries) throws SQLException;
 
+    /**
+     * Execute one parameterized statement once per parameter set, as a single JDBC batch in one
+     * transaction. MariaDB rewrites this into multi-row statements ({@code
+     * rewriteBatchedStatements}).
+     *
+     * @return Update counts, one per parameter set
+     */
+    default int[] executeBatch(String query, List<Object[]> paramSets) throws SQLException {
+        return executeBatches(Map.of(query, paramSets)).get(0);
+    }
+
+    /**
+     * Execute several parameterized batches in one transaction, in map iteration order. Either
+     * every statement is committed or none is.
+     *
+     * @return Update counts per statement, in the same order
+     */
+    default List<int[]> executeBatches(Map<String, List<Object[]>> batches) throws SQLException {
+        try (Connection conn = getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                List<int[]> results = new ArrayList<>(batches.size());
+                for (Map.Entry<String, List<Object[]>> batch : batches.entrySet()) {
+                    try (PreparedStatement stmt = conn.prepareStatement(batch.getKey())) {
+                        for (Object[] params : batch.getValue()) {
+                            setParameters(stmt, params);
+                            stmt.addBatch();
+                        }
+                        results.add(stmt.executeBatch());
+                    }
+                }
+                conn.commit();
+                return results;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
     CompletableFuture<ResultSet> executeQueryAsync(String query, Object... params);
 
     CompletableFuture<Integer> executeUpdateAsync(String query, Object... params);
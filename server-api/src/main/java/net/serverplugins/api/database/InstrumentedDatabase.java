@@ -0,0 +1,575 @@
+package net.serverplugins.api.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import net.serverplugins.api.database.impl.ResultSetWrapper;
+import net.serverplugins.api.utils.AsyncExecutor;
+
+/**
+ * {@link Database} decorator that records per-statement metrics. Statements are grouped by
+ * normalized SQL (whitespace collapsed, literals and IN lists replaced with {@code ?}).
+ *
+ * <p>Per statement it tracks: - Call and error counts, total and max latency, and a latency
+ * histogram - Rows returned (queries, counted as they are read) or affected (updates and batches) -
+ * Time spent waiting for a pooled connection - Calls made on the primary (server) thread. The first
+ * such call of each statement, and one per minute after that, is logged with a stack trace
+ *
+ * <p>Calls slower than the slow-query threshold are counted per statement; {@link
+ * #logSlowQueries()} reports and resets them, and ServerAPI runs it periodically.
+ *
+ * <p>Query operations are re-implemented on top of {@link #getConnection()} instead of forwarded,
+ * so that connection wait time is attributable; connection management stays with the delegate.
+ */
+public class InstrumentedDatabase implements Database {
+
+    // Histogram bucket upper bounds in milliseconds; the last bucket is unbounded
+    private static final long[] BUCKET_BOUNDS_MS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500};
+    private static final long MAIN_THREAD_TRACE_INTERVAL_MS = 60_000;
+    private static final int NORMALIZED_CACHE_LIMIT = 10_000;
+    private static final int MAX_SQL_LENGTH = 120;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST =
+            Pattern.compile("(?i)\\bIN\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern VALUES_LIST =
+            Pattern.compile("(?i)\\bVALUES\\s*(\\([^()]*\\))(?:\\s*,\\s*\\([^()]*\\))+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Database delegate;
+    private final Logger logger;
+    private final long slowQueryNanos;
+    private final boolean traceMainThread;
+    private final BooleanSupplier primaryThread;
+
+    private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+    private final Map<String, String> normalized = new ConcurrentHashMap<>();
+    private final LongAdder connectionAcquires = new LongAdder();
+    private final LongAdder connectionWaitNanos = new LongAdder();
+    private volatile long resetAt = System.currentTimeMillis();
+
+    /**
+     * @param slowQueryMillis Calls at or above this latency count as slow
+     * @param traceMainThread Log a stack trace for blocking calls on the primary thread
+     * @param primaryThread Whether the current thread is the server thread (e.g. {@code
+     *     Bukkit::isPrimaryThread})
+     */
+    public InstrumentedDatabase(
+            Database delegate,
+            Logger logger,
+            long slowQueryMillis,
+            boolean traceMainThread,
+            BooleanSupplier primaryThread) {
+        this.delegate = delegate;
+        this.logger = logger;
+        this.slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryMillis);
+        this.traceMainThread = traceMainThread;
+        this.primaryThread = primaryThread;
+    }
+
+    /** The wrapped database, for implementation-specific methods. */
+    public Database getDelegate() {
+        return delegate;
+    }
+
+    /** Group SQL by shape: collapse whitespace and replace literals, IN lists and VALUES lists. */
+    static String normalize(String sql) {
+        String result = STRING_LITERAL.matcher(sql).replaceAll("?");
+        result = NUMBER_LITERAL.matcher(result).replaceAll("?");
+        result = WHITESPACE.matcher(result).replaceAll(" ").trim();
+        result = IN_LIST.matcher(result).replaceAll("IN (?)");
+        result = VALUES_LIST.matcher(result).replaceAll("VALUES $1");
+        return result;
+    }
+
+    private StatementStats stats(String sql) {
+        String key = normalized.get(sql);
+        if (key == null) {
+            key = normalize(sql);
+            // Dynamic SQL could grow this without bound; past the limit just normalize each time
+            if (normalized.size() < NORMALIZED_CACHE_LIMIT) {
+                normalized.put(sql, key);
+            }
+        }
+        return statements.computeIfAbsent(key, StatementStats::new);
+    }
+
+    /** Start a call: count it and flag it if it blocks the primary thread. */
+    private Call begin(String sql) {
+        StatementStats stats = stats(sql);
+        if (primaryThread.getAsBoolean()) {
+            stats.mainThreadCalls.increment();
+            long now = System.currentTimeMillis();
+            long last = stats.lastMainThreadTrace.get();
+            if (traceMainThread
+                    && now - last >= MAIN_THREAD_TRACE_INTERVAL_MS
+                    && stats.lastMainThreadTrace.compareAndSet(last, now)) {
+                logger.log(
+                        Level.WARNING,
+                        "Blocking database call on the main thread: " + stats.sql,
+                        new Throwable("Main thread database call"));
+            }
+        }
+        return new Call(stats, System.nanoTime());
+    }
+
+    private Connection acquire(Call call) throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = delegate.getConnection();
+        long wait = System.nanoTime() - start;
+        connectionAcquires.increment();
+        connectionWaitNanos.add(wait);
+        if (call != null) {
+            call.stats.connectionWaitNanos.add(wait);
+        }
+        return connection;
+    }
+
+    @Override
+    public void connect() throws SQLException {
+        delegate.connect();
+    }
+
+    @Override
+    public void disconnect() {
+        delegate.disconnect();
+    }
+
+    @Override
+    public boolean isConnected() {
+        return delegate.isConnected();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return acquire(null);
+    }
+
+    @Override
+    public ResultSet executeQuery(String query, Object... params) throws SQLException {
+        Call call = begin(query);
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        try {
+            conn = acquire(call);
+            stmt = conn.prepareStatement(query);
+            setParameters(stmt, params);
+            ResultSet rs = stmt.executeQuery();
+            call.end(0, false);
+            // Rows are counted as the caller reads them
+            return new CountingResultSet(
+                    new ResultSetWrapper.ConnectionAwareResultSet(rs, stmt, conn), call.stats);
+        } catch (SQLException | RuntimeException e) {
+            call.end(0, true);
+            closeQuietly(stmt);
+            closeQuietly(conn);
+            throw e;
+        }
+    }
+
+    @Override
+    public int executeUpdate(String query, Object... params) throws SQLException {
+        Call call = begin(query);
+        int rows = 0;
+        boolean failed = true;
+        try (Connection conn = acquire(call);
+                PreparedStatement stmt = conn.prepareStatement(query)) {
+            setParameters(stmt, params);
+            rows = stmt.executeUpdate();
+            failed = false;
+            return rows;
+        } finally {
+            call.end(rows, failed);
+        }
+    }
+
+    @Override
+    public int[] executeBatch(String... queries) throws SQLException {
+        Call call = begin(queries.length > 0 ? "BATCH " + queries[0] : "BATCH");
+        int rows = 0;
+        boolean failed = true;
+        try (Connection conn = acquire(call)) {
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                for (String query : queries) {
+                    stmt.addBatch(query);
+                }
+                int[] results = stmt.executeBatch();
+                conn.commit();
+                rows = sum(results);
+                failed = false;
+                return results;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } finally {
+            call.end(rows, failed);
+        }
+    }
+
+    @Override
+    public List<int[]> executeBatches(Map<String, List<Object[]>> batches) throws SQLException {
+        try (Connection conn = acquire(null)) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                List<int[]> results = new ArrayList<>(batches.size());
+                for (Map.Entry<String, List<Object[]>> batch : batches.entrySet()) {
+                    // Each statement of the transaction is recorded separately
+                    Call call = begin(batch.getKey());
+                    boolean failed = true;
+                    int rows = 0;
+                    try (PreparedStatement stmt = conn.prepareStatement(batch.getKey())) {
+                        for (Object[] params : batch.getValue()) {
+                            setParameters(stmt, params);
+                            stmt.addBatch();
+                        }
+                        int[] counts = stmt.executeBatch();
+                        results.add(counts);
+                        rows = sum(counts);
+                        failed = false;
+                    } finally {
+                        call.end(rows, failed);
+                    }
+                }
+                conn.commit();
+                return results;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    @Override
+    public CompletableFuture<ResultSet> executeQueryAsync(String query, Object... params) {
+        return AsyncExecutor.supplyAsync(
+                ASYNC_LANE,
+                () -> {
+                    try {
+                        return executeQuery(query, params);
+                    } catch (SQLException e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+    }
+
+    @Override
+    public CompletableFuture<Integer> executeUpdateAsync(String query, Object... params) {
+        return AsyncExecutor.supplyAsync(
+                ASYNC_LANE,
+                () -> {
+                    try {
+                        return executeUpdate(query, params);
+                    } catch (SQLException e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+    }
+
+    @Override
+    public void executeQueryWithConsumer(
+            String query, Consumer<ResultSet> consumer, Object... params) throws SQLException {
+        Call call = begin(query);
+        boolean failed = true;
+        try (Connection conn = acquire(call);
+                PreparedStatement stmt = conn.prepareStatement(query)) {
+            setParameters(stmt, params);
+            try (ResultSet rs = new CountingResultSet(stmt.executeQuery(), call.stats)) {
+                consumer.accept(rs);
+            }
+            failed = false;
+        } finally {
+            call.end(0, failed);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> executeQueryAsyncWithConsumer(
+            String query, Consumer<ResultSet> consumer, Object... params) {
+        return AsyncExecutor.runAsync(
+                ASYNC_LANE,
+                () -> {
+                    try {
+                        executeQueryWithConsumer(query, consumer, params);
+                    } catch (SQLException e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+    }
+
+    @Override
+    public <T> T query(String sql, ResultSetMapper<T> mapper, Object... params) {
+        Call call = begin(sql);
+        boolean failed = true;
+        try (Connection conn = acquire(call);
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            setParameters(stmt, params);
+            try (ResultSet rs = new CountingResultSet(stmt.executeQuery(), call.stats)) {
+                T result = mapper.map(rs);
+                failed = false;
+                return result;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Database query failed: " + sql, e);
+        } finally {
+            call.end(0, failed);
+        }
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String query) throws SQLException {
+        // The caller owns the statement, so only the preparation is visible here
+        Call call = begin(query);
+        boolean failed = true;
+        try {
+            PreparedStatement stmt = delegate.prepareStatement(query);
+            failed = false;
+            return stmt;
+        } finally {
+            call.end(0, failed);
+        }
+    }
+
+    @Override
+    public DatabaseType getType() {
+        return delegate.getType();
+    }
+
+    private static int sum(int[] counts) {
+        int total = 0;
+        for (int count : counts) {
+            // Drivers may report SUCCESS_NO_INFO (-2) for rewritten batches
+            if (count > 0) {
+                total += count;
+            }
+        }
+        return total;
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (Exception ignored) {
+                // Already failing
+            }
+        }
+    }
+
+    /** Clear all recorded metrics. */
+    public void reset() {
+        statements.clear();
+        connectionAcquires.reset();
+        connectionWaitNanos.reset();
+        resetAt = System.currentTimeMillis();
+    }
+
+    /** Time metrics were last reset (or recording started), in epoch millis. */
+    public long getResetAt() {
+        return resetAt;
+    }
+
+    /** Snapshot of per-statement metrics, ordered by total time spent, highest first. */
+    public List<StatementStats> getStatementStats() {
+        List<StatementStats> result = new ArrayList<>(statements.values());
+        result.sort(Comparator.comparingLong(StatementStats::getTotalNanos).reversed());
+        return result;
+    }
+
+    /** Average time to get a pooled connection, in milliseconds. */
+    public double getAverageConnectionWaitMillis() {
+        long acquires = connectionAcquires.sum();
+        return acquires == 0 ? 0 : connectionWaitNanos.sum() / 1_000_000.0 / acquires;
+    }
+
+    public long getConnectionAcquires() {
+        return connectionAcquires.sum();
+    }
+
+    /**
+     * Log every statement that had slow calls since the previous report, then start a new reporting
+     * interval.
+     */
+    public void logSlowQueries() {
+        for (StatementStats stats : getStatementStats()) {
+            long slow = stats.slowSinceReport.sumThenReset();
+            if (slow > 0) {
+                logger.warning(
+                        String.format(
+                                "Slow query: %d calls >= %dms (max %.1fms, avg %.2fms, %d on main"
+                                        + " thread) %s",
+                                slow,
+                                TimeUnit.NANOSECONDS.toMillis(slowQueryNanos),
+                                stats.getMaxMillis(),
+                                stats.getAverageMillis(),
+                                stats.getMainThreadCalls(),
+                                stats.getSql()));
+            }
+        }
+    }
+
+    /** An in-flight call. */
+    private final class Call {
+        private final StatementStats stats;
+        private final long start;
+
+        private Call(StatementStats stats, long start) {
+            this.stats = stats;
+            this.start = start;
+        }
+
+        void end(int rows, boolean failed) {
+            long elapsed = System.nanoTime() - start;
+            stats.record(elapsed, rows, failed);
+            if (elapsed >= slowQueryNanos) {
+                stats.slowSinceReport.increment();
+            }
+        }
+    }
+
+    /** Metrics for one normalized statement. */
+    public static final class StatementStats {
+        private final String sql;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder mainThreadCalls = new LongAdder();
+        private final LongAdder connectionWaitNanos = new LongAdder();
+        private final LongAdder slowSinceReport = new LongAdder();
+        private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MS.length + 1];
+        private final AtomicLong lastMainThreadTrace = new AtomicLong(Long.MIN_VALUE / 2);
+
+        private StatementStats(String sql) {
+            this.sql = sql;
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        private void record(long nanos, int rowCount, boolean failed) {
+            calls.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            rows.add(rowCount);
+            if (failed) {
+                errors.increment();
+            }
+            long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS_MS.length && millis >= BUCKET_BOUNDS_MS[bucket]) {
+                bucket++;
+            }
+            buckets[bucket].increment();
+        }
+
+        /** Normalized SQL, truncated for display. */
+        public String getSql() {
+            return sql.length() > MAX_SQL_LENGTH ? sql.substring(0, MAX_SQL_LENGTH) + "..." : sql;
+        }
+
+        public String getFullSql() {
+            return sql;
+        }
+
+        public long getCalls() {
+            return calls.sum();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        public double getAverageMillis() {
+            long count = calls.sum();
+            return count == 0 ? 0 : totalNanos.sum() / 1_000_000.0 / count;
+        }
+
+        public double getMaxMillis() {
+            return maxNanos.get() / 1_000_000.0;
+        }
+
+        /** Rows read (queries) or affected (updates) in total. */
+        public long getRows() {
+            return rows.sum();
+        }
+
+        public long getMainThreadCalls() {
+            return mainThreadCalls.sum();
+        }
+
+        public double getAverageConnectionWaitMillis() {
+            long count = calls.sum();
+            return count == 0 ? 0 : connectionWaitNanos.sum() / 1_000_000.0 / count;
+        }
+
+        /**
+         * Upper bound of the histogram bucket containing the given percentile, in milliseconds.
+         * Returns -1 if it falls in the unbounded top bucket.
+         */
+        public long getPercentileBoundMillis(double percentile) {
+            long total = 0;
+            long[] counts = new long[buckets.length];
+            for (int i = 0; i < buckets.length; i++) {
+                counts[i] = buckets[i].sum();
+                total += counts[i];
+            }
+            long target = (long) Math.ceil(total * percentile);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= target && total > 0) {
+                    return i < BUCKET_BOUNDS_MS.length ? BUCKET_BOUNDS_MS[i] : -1;
+                }
+            }
+            return 0;
+        }
+    }
+
+    /** Counts rows as the caller iterates. */
+    private static final class CountingResultSet extends ResultSetWrapper {
+        private final StatementStats stats;
+
+        private CountingResultSet(ResultSet delegate, StatementStats stats) {
+            super(delegate);
+            this.stats = stats;
+        }
+
+        @Override
+        public boolean next() throws SQLException {
+            boolean hasNext = super.next();
+            if (hasNext) {
+                stats.rows.increment();
+            }
+            return hasNext;
+        }
+    }
+}
@@ -0,0 +1,383 @@
+package net.serverplugins.api.database;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Write-behind buffer for single-row writes. Instead of one connection borrow and round-trip per
+ * {@code executeUpdate}, writes are queued per statement and flushed together as JDBC batches in a
+ * single transaction ({@link Database#executeBatches}).
+ *
+ * <p>Flushes happen: - Every {@code flushIntervalMillis} - As soon as {@code maxBatchSize} writes
+ * are pending - On {@link #flush()} (e.g. before a read that must see the writes) and {@link
+ * #close()}
+ *
+ * <p>{@link #upsert} coalesces by key: if a write with the same statement and key is still pending,
+ * it is replaced (last write wins). {@link #enqueue} always appends. Writes to the same statement
+ * keep their order; different statements are flushed in the order of their first pending write.
+ *
+ * <p>A failed flush is requeued and retried with the next one. On the {@value #MAX_ATTEMPTS}th
+ * failure in a row the rows are written one at a time instead, and only rows that still fail are
+ * logged and dropped. While the database is down, pending writes are capped at {@code maxPending}:
+ * past it the oldest are dropped (statement by statement, in flush order) and counted, so an outage
+ * cannot grow the backlog without limit. Plugins must {@link #close()} their queues in {@code
+ * onDisable}; as a safety net, ServerAPI closes any still-open queue before disconnecting its
+ * database.
+ *
+ * <p>All queues flush on one shared daemon thread, so the number of queues does not add threads.
+ * Flushes of different queues therefore run one after another.
+ */
+public class WriteBehindQueue implements AutoCloseable {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final Set<WriteBehindQueue> OPEN = ConcurrentHashMap.newKeySet();
+    // Guarded by WriteBehindQueue.class; created with the first queue, stopped by closeAll()
+    private static ScheduledExecutorService flusher;
+
+    private final Database database;
+    private final String name;
+    private final int maxBatchSize;
+    private final int maxPending;
+    private final Logger logger;
+    private final ScheduledExecutorService scheduler;
+    private final ScheduledFuture<?> flushTask;
+
+    // Statement -> (key or unique token) -> parameters. Guarded by this.
+    private Map<String, Map<Object, Object[]>> pending = new LinkedHashMap<>();
+    private int pendingCount;
+    // Serializes flushes so batches commit in order
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private int failedAttempts;
+    private boolean backlogFull;
+    private volatile boolean closed;
+
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * Create a queue that keeps at most ten batches pending.
+     *
+     * @param name Name used in logs and stats
+     * @param maxBatchSize Pending writes that trigger an immediate flush
+     * @param flushIntervalMillis Maximum time a write waits before being flushed
+     */
+    public WriteBehindQueue(
+            Database database,
+            String name,
+            int maxBatchSize,
+            long flushIntervalMillis,
+            Logger logger) {
+        this(database, name, maxBatchSize, maxBatchSize * 10, flushIntervalMillis, logger);
+    }
+
+    /**
+     * @param name Name used in logs and stats
+     * @param maxBatchSize Pending writes that trigger an immediate flush
+     * @param maxPending Pending writes kept while flushes fail; the oldest beyond it are dropped
+     * @param flushIntervalMillis Maximum time a write waits before being flushed
+     */
+    public WriteBehindQueue(
+            Database database,
+            String name,
+            int maxBatchSize,
+            int maxPending,
+            long flushIntervalMillis,
+            Logger logger) {
+        this.database = database;
+        this.name = name;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxPending = Math.max(1, maxPending);
+        this.logger = logger;
+        this.scheduler = flusher();
+        this.flushTask =
+                scheduler.scheduleWithFixedDelay(
+                        this::flushQuietly,
+                        flushIntervalMillis,
+                        flushIntervalMillis,
+                        TimeUnit.MILLISECONDS);
+        OPEN.add(this);
+    }
+
+    private static synchronized ScheduledExecutorService flusher() {
+        if (flusher == null) {
+            ScheduledThreadPoolExecutor executor =
+                    new ScheduledThreadPoolExecutor(
+                            1,
+                            Thread.ofPlatform().name("WriteBehind-flusher").daemon(true).factory());
+            // Closed queues should not leave their timers behind
+            executor.setRemoveOnCancelPolicy(true);
+            flusher = executor;
+        }
+        return flusher;
+    }
+
+    /**
+     * Close every queue that is still open, then stop the shared flush thread. Called by ServerAPI
+     * on disable.
+     */
+    public static void closeAll() {
+        for (WriteBehindQueue queue : List.copyOf(OPEN)) {
+            queue.close();
+        }
+        synchronized (WriteBehindQueue.class) {
+            if (flusher != null && OPEN.isEmpty()) {
+                flusher.shutdown();
+                flusher = null;
+            }
+        }
+    }
+
+    /** Queue a write. Never coalesced with other writes. */
+    public void enqueue(String sql, Object... params) {
+        add(sql, null, params);
+    }
+
+    /**
+     * Queue a write that replaces any pending write of the same statement with the same key. Use
+     * for upserts and updates where only the latest value matters.
+     *
+     * @param key Identity of the row, e.g. a UUID or claim ID
+     */
+    public void upsert(String sql, Object key, Object... params) {
+        add(sql, key, params);
+    }
+
+    private void add(String sql, Object key, Object[] params) {
+        if (closed) {
+            // Late write after shutdown - write through rather than lose it
+            try {
+                database.executeUpdate(sql, params);
+            } catch (SQLException e) {
+                log(Level.SEVERE, "Failed to write after close", e);
+            }
+            return;
+        }
+
+        int size;
+        synchronized (this) {
+            Map<Object, Object[]> statement =
+                    pending.computeIfAbsent(sql, k -> new LinkedHashMap<>());
+            if (key == null) {
+                statement.put(new Object(), params);
+                pendingCount++;
+            } else if (statement.remove(key) != null) {
+                // Re-insert at the end so it stays ordered after writes queued in between
+                statement.put(key, params);
+                coalesced.increment();
+            } else {
+                statement.put(key, params);
+                pendingCount++;
+            }
+            trimBacklog();
+            size = pendingCount;
+        }
+        queued.increment();
+
+        if (size >= maxBatchSize && flushScheduled.compareAndSet(false, true)) {
+            try {
+                scheduler.execute(this::flushQuietly);
+            } catch (RejectedExecutionException e) {
+                // Flush thread stopped by closeAll(); close() writes what is left
+                flushScheduled.set(false);
+            }
+        }
+    }
+
+    /** Drop the oldest pending writes beyond maxPending. Caller holds this. */
+    private void trimBacklog() {
+        int overflow = pendingCount - maxPending;
+        if (overflow <= 0) {
+            return;
+        }
+        Iterator<Map<Object, Object[]>> statements = pending.values().iterator();
+        while (overflow > 0 && statements.hasNext()) {
+            Map<Object, Object[]> statement = statements.next();
+            Iterator<Object[]> writes = statement.values().iterator();
+            while (overflow > 0 && writes.hasNext()) {
+                writes.next();
+                writes.remove();
+                overflow--;
+                pendingCount--;
+                dropped.increment();
+            }
+            if (statement.isEmpty()) {
+                statements.remove();
+            }
+        }
+        if (!backlogFull) {
+            backlogFull = true;
+            log(
+                    Level.WARNING,
+                    "Backlog reached "
+                            + maxPending
+                            + " writes, dropping the oldest until a flush succeeds",
+                    null);
+        }
+    }
+
+    /**
+     * Write everything pending now, on the calling thread. Blocks on the database like any other
+     * synchronous query.
+     *
+     * @throws SQLException If the batch failed and was requeued for the next flush
+     */
+    public void flush() throws SQLException {
+        flushLock.lock();
+        try {
+            flushScheduled.set(false);
+            Map<String, Map<Object, Object[]>> batch;
+            int count;
+            synchronized (this) {
+                if (pendingCount == 0) {
+                    return;
+                }
+                batch = pending;
+                count = pendingCount;
+                pending = new LinkedHashMap<>();
+                pendingCount = 0;
+            }
+
+            Map<String, List<Object[]>> statements = new LinkedHashMap<>();
+            for (Map.Entry<String, Map<Object, Object[]>> entry : batch.entrySet()) {
+                statements.put(entry.getKey(), new ArrayList<>(entry.getValue().values()));
+            }
+
+            try {
+                database.executeBatches(statements);
+                flushes.increment();
+                written.add(count);
+                failedAttempts = 0;
+                synchronized (this) {
+                    backlogFull = false;
+                }
+            } catch (SQLException | RuntimeException e) {
+                failures.increment();
+                if (++failedAttempts < MAX_ATTEMPTS) {
+                    requeue(batch);
+                    throw e instanceof SQLException sql ? sql : new SQLException(e);
+                }
+                // Last attempt: write rows one by one so a single bad row cannot sink the rest
+                failedAttempts = 0;
+                log(Level.WARNING, "Batch failed repeatedly, writing rows individually", e);
+                int failed = writeIndividually(statements);
+                written.add(count - failed);
+                dropped.add(failed);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /** Write rows without batching. Returns the number of rows that failed and were dropped. */
+    private int writeIndividually(Map<String, List<Object[]>> statements) {
+        int failed = 0;
+        for (Map.Entry<String, List<Object[]>> statement : statements.entrySet()) {
+            for (Object[] params : statement.getValue()) {
+                try {
+                    database.executeUpdate(statement.getKey(), params);
+                } catch (SQLException | RuntimeException e) {
+                    failed++;
+                    log(Level.SEVERE, "Dropping write: " + statement.getKey(), e);
+                }
+            }
+        }
+        return failed;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (SQLException e) {
+            log(Level.WARNING, "Flush failed, will retry", e);
+        }
+    }
+
+    /** Put a failed batch back in front of writes queued since, keeping newer keyed writes. */
+    private synchronized void requeue(Map<String, Map<Object, Object[]>> batch) {
+        for (Map.Entry<String, Map<Object, Object[]>> entry : pending.entrySet()) {
+            Map<Object, Object[]> statement =
+                    batch.computeIfAbsent(entry.getKey(), k -> new LinkedHashMap<>());
+            for (Map.Entry<Object, Object[]> write : entry.getValue().entrySet()) {
+                statement.remove(write.getKey());
+                statement.put(write.getKey(), write.getValue());
+            }
+        }
+        pending = batch;
+        pendingCount = 0;
+        for (Map<Object, Object[]> statement : batch.values()) {
+            pendingCount += statement.size();
+        }
+        trimBacklog();
+    }
+
+    /** Stop the flush timer and write everything still pending. Safe to call more than once. */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        OPEN.remove(this);
+        flushTask.cancel(false);
+
+        // Waits for a flush already running on the shared thread, then retries until written or
+        // dropped
+        for (int attempt = 0; attempt < MAX_ATTEMPTS && getPendingCount() > 0; attempt++) {
+            flushQuietly();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /** Writes waiting to be flushed. */
+    public synchronized int getPendingCount() {
+        return pendingCount;
+    }
+
+    /** Get queue metrics as a formatted string. */
+    public String getStats() {
+        long flushCount = flushes.sum();
+        return String.format(
+                "%s - pending: %d/%d, queued: %d, coalesced: %d, written: %d in %d flushes (avg"
+                        + " %.1f rows), failed flushes: %d, dropped: %d",
+                name,
+                getPendingCount(),
+                maxPending,
+                queued.sum(),
+                coalesced.sum(),
+                written.sum(),
+                flushCount,
+                flushCount == 0 ? 0.0 : (double) written.sum() / flushCount,
+                failures.sum(),
+                dropped.sum());
+    }
+
+    private void log(Level level, String message, Throwable e) {
+        if (logger != null) {
+            logger.log(level, "[WriteBehind " + name + "] " + message, e);
+        }
+    }
+}
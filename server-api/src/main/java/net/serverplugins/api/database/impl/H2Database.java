@@ -140,6 +140,7 @@ public class H2Database implements Database {
     @Override
     public CompletableFuture<ResultSet> executeQueryAsync(String query, Object... params) {
         return AsyncExecutor.supplyAsync(
+                ASYNC_LANE,
                 () -> {
                     try {
                         return executeQuery(query, params);
@@ -152,6 +153,7 @@ public class H2Database implements Database {
     @Override
     public CompletableFuture<Integer> executeUpdateAsync(String query, Object... params) {
         return AsyncExecutor.supplyAsync(
+                ASYNC_LANE,
                 () -> {
                     try {
                         return executeUpdate(query, params);
@@ -177,6 +179,7 @@ public class H2Database implements Database {
     public CompletableFuture<Void> executeQueryAsyncWithConsumer(
             String query, Consumer<ResultSet> consumer, Object... params) {
         return AsyncExecutor.runAsync(
+                ASYNC_LANE,
                 () -> {
                     try {
                         executeQueryWithConsumer(query, consumer, params);
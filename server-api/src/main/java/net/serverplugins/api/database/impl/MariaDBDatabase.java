@@ -151,6 +151,7 @@ public class MariaDBDatabase implements Database {
     @Override
     public CompletableFuture<ResultSet> executeQueryAsync(String query, Object... params) {
         return AsyncExecutor.supplyAsync(
+                ASYNC_LANE,
                 () -> {
                     try {
                         return executeQuery(query, params);
@@ -163,6 +164,7 @@ public class MariaDBDatabase implements Database {
     @Override
     public CompletableFuture<Integer> executeUpdateAsync(String query, Object... params) {
         return AsyncExecutor.supplyAsync(
+                ASYNC_LANE,
                 () -> {
                     try {
                         return executeUpdate(query, params);
@@ -188,6 +190,7 @@ public class MariaDBDatabase implements Database {
     public CompletableFuture<Void> executeQueryAsyncWithConsumer(
             String query, Consumer<ResultSet> consumer, Object... params) {
         return AsyncExecutor.runAsync(
+                ASYNC_LANE,
                 () -> {
                     try {
                         executeQueryWithConsumer(query, consumer, params);
@@ -227,6 +230,7 @@ public class MariaDBDatabase implements Database {
     public CompletableFuture<Integer> executeUpdateWithGeneratedKeyAsync(
             String query, Object... params) {
         return AsyncExecutor.supplyAsync(
+                ASYNC_LANE,
                 () -> {
                     try {
                         return executeUpdateWithGeneratedKey(query, params);
@@ -125,6 +125,7 @@ public class SQLiteDatabase implements Database {
     @Override
     public CompletableFuture<ResultSet> executeQueryAsync(String query, Object... params) {
         return AsyncExecutor.supplyAsync(
+                ASYNC_LANE,
                 () -> {
                     try {
                         return executeQuery(query, params);
@@ -137,6 +138,7 @@ public class SQLiteDatabase implements Database {
     @Override
     public CompletableFuture<Integer> executeUpdateAsync(String query, Object... params) {
         return AsyncExecutor.supplyAsync(
+                ASYNC_LANE,
                 () -> {
                     try {
                         return executeUpdate(query, params);
@@ -162,6 +164,7 @@ public class SQLiteDatabase implements Database {
     public CompletableFuture<Void> executeQueryAsyncWithConsumer(
             String query, Consumer<ResultSet> consumer, Object... params) {
         return AsyncExecutor.runAsync(
+                ASYNC_LANE,
                 () -> {
                     try {
                         executeQueryWithConsumer(query, consumer, params);
@@ -202,8 +202,7 @@ public enum CommonMessages {
      * @param placeholders Optional placeholders to replace in the message
      */
     public void send(CommandSender sender, Placeholder... placeholders) {
-        String message = Placeholder.replaceAll(defaultMessage, placeholders);
-        TextUtil.send(sender, message);
+        TextUtil.send(sender, TextUtil.parse(defaultMessage, placeholders));
     }
 
     /**
@@ -213,8 +212,7 @@ public enum CommonMessages {
      * @param placeholders Optional placeholders to replace in the message
      */
     public void send(Player player, Placeholder... placeholders) {
-        String message = Placeholder.replaceAll(defaultMessage, placeholders);
-        TextUtil.send(player, message);
+        TextUtil.send(player, TextUtil.parse(defaultMessage, placeholders));
     }
 
     /**
@@ -224,8 +222,7 @@ public enum CommonMessages {
      * @return The formatted Component
      */
     public Component toComponent(Placeholder... placeholders) {
-        String message = Placeholder.replaceAll(defaultMessage, placeholders);
-        return TextUtil.parse(message);
+        return TextUtil.parse(defaultMessage, placeholders);
     }
 
     /**
@@ -151,9 +151,7 @@ public class PluginMessenger {
      * @param placeholders Optional placeholders to replace
      */
     public void send(CommandSender sender, String messageKey, Placeholder... placeholders) {
-        String message = getMessage(messageKey);
-        message = Placeholder.replaceAll(message, placeholders);
-        TextUtil.send(sender, message);
+        TextUtil.send(sender, TextUtil.parse(getMessage(messageKey), placeholders));
     }
 
     /**
@@ -241,9 +239,7 @@ public class PluginMessenger {
      * @return The formatted Component
      */
     public Component getComponent(String messageKey, Placeholder... placeholders) {
-        String message = getMessage(messageKey);
-        message = Placeholder.replaceAll(message, placeholders);
-        return TextUtil.parse(message);
+        return TextUtil.parse(getMessage(messageKey), placeholders);
     }
 
     /**
@@ -254,9 +250,7 @@ public class PluginMessenger {
      * @return The formatted Component without prefix
      */
     public Component getRawComponent(String messageKey, Placeholder... placeholders) {
-        String message = getRawMessage(messageKey);
-        message = Placeholder.replaceAll(message, placeholders);
-        return TextUtil.parse(message);
+        return TextUtil.parse(getRawMessage(messageKey), placeholders);
     }
 
     /**
@@ -8,6 +8,7 @@ import net.serverplugins.api.handlers.PlaceholderHandler;
 import net.serverplugins.api.messages.Message;
 import net.serverplugins.api.messages.MessageType;
 import net.serverplugins.api.messages.utils.TextConverter;
+import net.serverplugins.api.utils.MessageTemplate;
 import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
@@ -34,7 +35,10 @@ public class ModernMessage implements Message {
     public ModernMessage(@Nonnull String message, boolean hasPlaceholders) {
         // Convert legacy formatting to modern MiniMessage
         String converted = TextConverter.legacyToModern(message);
-        this.message = MINI_MESSAGE.deserialize(converted).decoration(TextDecoration.ITALIC, false);
+        this.message =
+                MessageTemplate.ofMiniMessage(converted)
+                        .render()
+                        .decoration(TextDecoration.ITALIC, false);
         this.rawMessage = converted;
         this.hasPlaceholders = hasPlaceholders;
     }
@@ -112,7 +116,10 @@ public class ModernMessage implements Message {
         if (this.hasPlaceholders && player != null) {
             String processed = PlaceholderHandler.parse(player, this.rawMessage);
             String converted = TextConverter.legacyToModern(processed);
-            return MINI_MESSAGE.deserialize(converted).decoration(TextDecoration.ITALIC, false);
+            // PAPI output often repeats (same values between sends), so this is usually a cache hit
+            return MessageTemplate.ofMiniMessage(converted)
+                    .render()
+                    .decoration(TextDecoration.ITALIC, false);
         }
         return this.message;
     }
@@ -2,21 +2,63 @@ package net.serverplugins.api.utils;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Supplier;
 import net.serverplugins.api.ServerAPI;
 import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
 import org.bukkit.scheduler.BukkitScheduler;
 
+/**
+ * Static helpers for running work off and back on the main thread.
+ *
+ * <p>Async work runs on a lane of the shared {@link ManagedExecutor} (the {@value #DEFAULT_LANE}
+ * lane unless one is named), so it is bounded and measured. Lanes belong to a plugin; calls that do
+ * not pass one use ServerAPI's lanes. Before ServerAPI has enabled, it falls back to the Bukkit
+ * async scheduler. A full lane completes the returned future exceptionally with a {@link
+ * RejectedExecutionException} instead of queueing without limit.
+ */
 public class AsyncExecutor {
 
+    public static final String DEFAULT_LANE = "default";
+
     private static final BukkitScheduler SCHEDULER = Bukkit.getScheduler();
 
     public static CompletableFuture<Void> runAsync(Runnable runnable) {
-        return CompletableFuture.runAsync(runnable, getAsyncExecutor());
+        return runAsync(DEFAULT_LANE, runnable);
     }
 
     public static <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
-        return CompletableFuture.supplyAsync(supplier, getAsyncExecutor());
+        return supplyAsync(DEFAULT_LANE, supplier);
+    }
+
+    /** Run on a named lane of ServerAPI. */
+    public static CompletableFuture<Void> runAsync(String lane, Runnable runnable) {
+        return runAsync(ServerAPI.getInstance(), lane, runnable);
+    }
+
+    /** Supply on a named lane of ServerAPI. */
+    public static <T> CompletableFuture<T> supplyAsync(String lane, Supplier<T> supplier) {
+        return supplyAsync(ServerAPI.getInstance(), lane, supplier);
+    }
+
+    /** Run on a named lane of a plugin. */
+    public static CompletableFuture<Void> runAsync(Plugin plugin, String lane, Runnable runnable) {
+        try {
+            return CompletableFuture.runAsync(runnable, getAsyncExecutor(plugin, lane));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /** Supply on a named lane of a plugin. */
+    public static <T> CompletableFuture<T> supplyAsync(
+            Plugin plugin, String lane, Supplier<T> supplier) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, getAsyncExecutor(plugin, lane));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
     }
 
     public static CompletableFuture<Void> runSync(Runnable runnable) {
@@ -85,7 +127,20 @@ public class AsyncExecutor {
         return CompletableFuture.allOf(tasks);
     }
 
-    private static Executor getAsyncExecutor() {
-        return runnable -> SCHEDULER.runTaskAsynchronously(ServerAPI.getInstance(), runnable);
+    /** Executor for a named lane of ServerAPI. */
+    public static Executor getAsyncExecutor(String lane) {
+        return getAsyncExecutor(ServerAPI.getInstance(), lane);
+    }
+
+    /**
+     * Executor for a named lane of a plugin, or the Bukkit async scheduler if ServerAPI is not
+     * enabled.
+     */
+    public static Executor getAsyncExecutor(Plugin plugin, String lane) {
+        ManagedExecutor executor = ManagedExecutor.getShared();
+        if (executor != null) {
+            return executor.lane(plugin.getName(), lane);
+        }
+        return runnable -> SCHEDULER.runTaskAsynchronously(plugin, runnable);
     }
 }
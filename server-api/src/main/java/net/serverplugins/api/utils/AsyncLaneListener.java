@@ -0,0 +1,38 @@
+package net.serverplugins.api.utils;
+
+import java.util.concurrent.TimeUnit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Drains and forgets a plugin's {@link ManagedExecutor} lanes when it is disabled, so plugins that
+ * never drain their own still finish queued work, and a plugin enabled again gets fresh lanes
+ * instead of ones that reject everything. The registering plugin's own lanes are left to {@link
+ * ManagedExecutor#shutdown}.
+ */
+public class AsyncLaneListener implements Listener {
+
+    private final Plugin plugin;
+    private final long drainTimeoutSeconds;
+
+    public AsyncLaneListener(Plugin plugin, long drainTimeoutSeconds) {
+        this.plugin = plugin;
+        this.drainTimeoutSeconds = drainTimeoutSeconds;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPluginDisable(PluginDisableEvent event) {
+        ManagedExecutor executor = ManagedExecutor.getShared();
+        String owner = event.getPlugin().getName();
+        if (executor == null || event.getPlugin() == plugin || executor.getLanes(owner).isEmpty()) {
+            return;
+        }
+        int dropped = executor.drain(owner, drainTimeoutSeconds, TimeUnit.SECONDS);
+        if (dropped > 0) {
+            plugin.getLogger().warning("Dropped " + dropped + " queued async tasks of " + owner);
+        }
+    }
+}
@@ -0,0 +1,387 @@
+package net.serverplugins.api.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Shared async executor for all plugins, replacing per-call {@code runTaskAsynchronously}. Work is
+ * submitted to named {@link Lane}s (e.g. {@code "database"}, {@code "claim-upkeep"}) that share one
+ * backing thread source. Lanes belong to the plugin that asked for them: two plugins asking for a
+ * lane of the same name get separate lanes, with separate limits and metrics.
+ *
+ * <p>Each lane has: - A concurrency limit, so a burst in one lane cannot occupy every thread or
+ * database connection - A bounded queue. Submissions beyond it are rejected with {@link
+ * RejectedExecutionException} (backpressure) instead of growing memory or threads - Metrics: queue
+ * depth, active tasks, queue wait and run time, rejections and failures
+ *
+ * <p>The backing threads are either virtual threads (one per running task, the default) or a fixed
+ * pool of platform threads. Since lanes bound concurrency, either way the number of threads doing
+ * lane work is capped by the sum of lane limits.
+ *
+ * <p>Has no Bukkit dependency, so owners are plugin names. {@code ServerAPI} creates the shared
+ * instance on enable and drains it on disable; plugins should {@link #drain(String, long,
+ * TimeUnit)} their own lanes in {@code onDisable}, which also forgets them so a reload starts with
+ * fresh lanes.
+ */
+public final class ManagedExecutor {
+
+    private static volatile ManagedExecutor shared;
+
+    private final ExecutorService backing;
+    private final int defaultConcurrency;
+    private final int defaultQueueSize;
+    private final Logger logger;
+    private final Map<LaneKey, Lane> lanes = new ConcurrentHashMap<>();
+    private volatile boolean shutdown = false;
+
+    /**
+     * @param virtualThreads Run tasks on virtual threads; otherwise use a fixed platform pool
+     * @param platformThreads Size of the platform pool (ignored for virtual threads)
+     * @param defaultConcurrency Concurrency limit of lanes created without explicit limits
+     * @param defaultQueueSize Queue limit of lanes created without explicit limits
+     */
+    public ManagedExecutor(
+            boolean virtualThreads,
+            int platformThreads,
+            int defaultConcurrency,
+            int defaultQueueSize,
+            Logger logger) {
+        this.backing =
+                virtualThreads
+                        ? Executors.newThreadPerTaskExecutor(
+                                Thread.ofVirtual().name("ServerAPI-async-", 0).factory())
+                        : Executors.newFixedThreadPool(
+                                Math.max(1, platformThreads),
+                                Thread.ofPlatform()
+                                        .name("ServerAPI-async-", 0)
+                                        .daemon(true)
+                                        .factory());
+        this.defaultConcurrency = Math.max(1, defaultConcurrency);
+        this.defaultQueueSize = Math.max(1, defaultQueueSize);
+        this.logger = logger;
+    }
+
+    /** The shared executor, or null before ServerAPI has enabled / after it disabled. */
+    public static ManagedExecutor getShared() {
+        return shared;
+    }
+
+    /** Install the shared executor. Called by ServerAPI. */
+    public static void setShared(ManagedExecutor executor) {
+        shared = executor;
+    }
+
+    /** Get or create a lane of a plugin with the default limits. */
+    public Lane lane(String owner, String name) {
+        return lane(owner, name, defaultConcurrency, defaultQueueSize);
+    }
+
+    /**
+     * Get or create a lane of a plugin. Limits only apply when the lane is created; an existing
+     * lane is returned unchanged.
+     *
+     * @param owner Name of the plugin the lane belongs to
+     * @param maxConcurrency Tasks of this lane that may run at once
+     * @param maxQueued Tasks that may wait before submissions are rejected
+     */
+    public Lane lane(String owner, String name, int maxConcurrency, int maxQueued) {
+        return lanes.computeIfAbsent(
+                new LaneKey(owner, name),
+                key ->
+                        new Lane(
+                                key.owner(),
+                                key.name(),
+                                Math.max(1, maxConcurrency),
+                                Math.max(1, maxQueued)));
+    }
+
+    /** All lanes created so far. */
+    public Collection<Lane> getLanes() {
+        return List.copyOf(lanes.values());
+    }
+
+    /** All lanes of one plugin. */
+    public Collection<Lane> getLanes(String owner) {
+        List<Lane> owned = new ArrayList<>();
+        for (Lane lane : lanes.values()) {
+            if (lane.getOwner().equals(owner)) {
+                owned.add(lane);
+            }
+        }
+        return owned;
+    }
+
+    /**
+     * Drain every lane of one plugin and forget them, leaving other plugins' lanes running. A
+     * plugin that is enabled again gets new lanes.
+     *
+     * @return Number of tasks dropped because the timeout expired
+     */
+    public int drain(String owner, long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int dropped = 0;
+        for (Lane lane : getLanes(owner)) {
+            dropped += lane.drain(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            lanes.remove(new LaneKey(owner, lane.getName()), lane);
+        }
+        return dropped;
+    }
+
+    /**
+     * Stop accepting work, wait for queued and running tasks of every lane, then stop the backing
+     * threads.
+     *
+     * @return Number of tasks dropped because the timeout expired
+     */
+    public int shutdown(long timeout, TimeUnit unit) {
+        shutdown = true;
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int dropped = 0;
+        for (Lane lane : lanes.values()) {
+            dropped += lane.drain(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        }
+        backing.shutdown();
+        try {
+            if (!backing.awaitTermination(
+                    Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                backing.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            backing.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        return dropped;
+    }
+
+    /** One line per lane with its metrics. */
+    public List<String> getStats() {
+        List<String> stats = new ArrayList<>();
+        for (Lane lane : lanes.values()) {
+            stats.add(lane.getStats());
+        }
+        return stats;
+    }
+
+    /**
+     * A named queue with its own concurrency and queue limits. Tasks run in submission order, at
+     * most {@code maxConcurrency} at a time.
+     */
+    public final class Lane implements Executor {
+
+        private final String owner;
+        private final String name;
+        private final int maxConcurrency;
+        private final int maxQueued;
+        private final Queue<Task> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicInteger active = new AtomicInteger();
+        private volatile boolean draining = false;
+
+        private final LongAdder submitted = new LongAdder();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private final LongAdder runNanos = new LongAdder();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+        private final AtomicInteger peakQueued = new AtomicInteger();
+
+        private Lane(String owner, String name, int maxConcurrency, int maxQueued) {
+            this.owner = owner;
+            this.name = name;
+            this.maxConcurrency = maxConcurrency;
+            this.maxQueued = maxQueued;
+        }
+
+        /**
+         * Queue a task.
+         *
+         * @throws RejectedExecutionException If the lane's queue is full or it is draining
+         */
+        @Override
+        public void execute(Runnable command) {
+            if (draining || shutdown) {
+                rejected.increment();
+                throw new RejectedExecutionException("Lane " + label() + " is shutting down");
+            }
+            int depth = queued.incrementAndGet();
+            if (depth > maxQueued) {
+                queued.decrementAndGet();
+                rejected.increment();
+                throw new RejectedExecutionException(
+                        "Lane " + label() + " queue is full (" + maxQueued + " tasks)");
+            }
+            peakQueued.accumulateAndGet(depth, Math::max);
+            submitted.increment();
+            queue.add(new Task(command, System.nanoTime()));
+            dispatch();
+        }
+
+        /** Start queued tasks while there is free concurrency. */
+        private void dispatch() {
+            while (!queue.isEmpty()) {
+                int running = active.get();
+                if (running >= maxConcurrency) {
+                    return;
+                }
+                if (!active.compareAndSet(running, running + 1)) {
+                    continue;
+                }
+                Task task = queue.poll();
+                if (task == null) {
+                    // Another dispatcher took it; give the slot back and re-check
+                    active.decrementAndGet();
+                    continue;
+                }
+                queued.decrementAndGet();
+                try {
+                    backing.execute(() -> run(task));
+                } catch (RejectedExecutionException e) {
+                    // Backing executor shut down underneath us
+                    active.decrementAndGet();
+                    rejected.increment();
+                    return;
+                }
+            }
+        }
+
+        private void run(Task task) {
+            long start = System.nanoTime();
+            long wait = start - task.queuedAt();
+            waitNanos.add(wait);
+            maxWaitNanos.accumulateAndGet(wait, Math::max);
+            try {
+                task.runnable().run();
+                completed.increment();
+            } catch (Throwable t) {
+                failed.increment();
+                if (logger != null) {
+                    logger.log(Level.WARNING, "Uncaught exception in async lane " + label(), t);
+                }
+            } finally {
+                runNanos.add(System.nanoTime() - start);
+                active.decrementAndGet();
+                // Pick up work queued while this task held the last free slot
+                dispatch();
+            }
+        }
+
+        /**
+         * Stop accepting new tasks and wait for queued and running ones to finish. Tasks still
+         * queued at the timeout are discarded.
+         *
+         * @return Number of discarded tasks
+         */
+        public int drain(long timeout, TimeUnit unit) {
+            draining = true;
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            while ((queued.get() > 0 || active.get() > 0) && System.nanoTime() < deadline) {
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            int dropped = 0;
+            while (queue.poll() != null) {
+                queued.decrementAndGet();
+                dropped++;
+            }
+            if (dropped > 0 && logger != null) {
+                logger.warning(
+                        "Async lane " + label() + " dropped " + dropped + " queued tasks");
+            }
+            return dropped;
+        }
+
+        private String label() {
+            return owner + "/" + name;
+        }
+
+        /** Name of the plugin this lane belongs to. */
+        public String getOwner() {
+            return owner;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /** Tasks waiting to start. */
+        public int getQueueDepth() {
+            return queued.get();
+        }
+
+        /** Tasks currently running. */
+        public int getActiveCount() {
+            return active.get();
+        }
+
+        public long getSubmittedCount() {
+            return submitted.sum();
+        }
+
+        public long getCompletedCount() {
+            return completed.sum();
+        }
+
+        public long getFailedCount() {
+            return failed.sum();
+        }
+
+        public long getRejectedCount() {
+            return rejected.sum();
+        }
+
+        /** Average time tasks spent queued before starting, in milliseconds. */
+        public double getAverageWaitMillis() {
+            long finished = completed.sum() + failed.sum();
+            return finished == 0 ? 0 : waitNanos.sum() / 1_000_000.0 / finished;
+        }
+
+        /** Average task run time, in milliseconds. */
+        public double getAverageRunMillis() {
+            long finished = completed.sum() + failed.sum();
+            return finished == 0 ? 0 : runNanos.sum() / 1_000_000.0 / finished;
+        }
+
+        /** Get lane metrics as a formatted string. */
+        public String getStats() {
+            return String.format(
+                    "%s - queued: %d (peak %d/%d), active: %d/%d, done: %d, failed: %d,"
+                            + " rejected: %d, wait: %.2fms avg / %.2fms max, run: %.2fms avg",
+                    label(),
+                    queued.get(),
+                    peakQueued.get(),
+                    maxQueued,
+                    active.get(),
+                    maxConcurrency,
+                    completed.sum(),
+                    failed.sum(),
+                    rejected.sum(),
+                    getAverageWaitMillis(),
+                    maxWaitNanos.get() / 1_000_000.0,
+                    getAverageRunMillis());
+        }
+    }
+
+    private record LaneKey(String owner, String name) {}
+
+    private record Task(Runnable runnable, long queuedAt) {}
+}
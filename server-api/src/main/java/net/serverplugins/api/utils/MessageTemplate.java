@@ -0,0 +1,488 @@
+package net.serverplugins.api.utils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.serverplugins.api.messages.Placeholder;
+
+/**
+ * A message parsed once into a {@link Component} tree and cached, so repeated sends of the same
+ * text (GUI titles, lore, chat formats, configured messages) skip legacy conversion and MiniMessage
+ * parsing.
+ *
+ * <p>{@code {key}} and {@code %key%} tokens in the text become slots in a second parsed tree.
+ * {@link #render(Placeholder...)} fills them by substitution into that tree instead of replacing
+ * strings and re-parsing. Values without formatting characters are inserted as plain text and
+ * inherit the surrounding style, which matches string replacement. {@link #render()}, and a render
+ * where no placeholder matches a token, return the plain parse of the text unchanged. The template
+ * falls back to replace-then-parse (also cached) when substitution would not match:
+ *
+ * <ul>
+ *   <li>A value contains formatting ({@code <}, {@code &}, {@code §}, {@code \}) or another
+ *       placeholder
+ *   <li>A placeholder appears inside a tag, e.g. {@code <click:run_command:'/claim {name}'>}
+ *   <li>The text uses {@code <gradient>} or {@code <rainbow>}, whose colors depend on the length of
+ *       the filled text
+ *   <li>The text contains a character from the slot marker range (U+E000-U+E1FF), such as a
+ *       resource pack glyph, which would be mistaken for a slot
+ * </ul>
+ *
+ * <p>Templates are cached by source string in a bounded concurrent map with second-chance eviction,
+ * so dynamic text cannot grow it without limit and parses on different threads never wait on each
+ * other. Components are immutable, so cached trees are shared between threads.
+ */
+public final class MessageTemplate {
+
+    private static final MiniMessage MINI_MESSAGE = MiniMessage.miniMessage();
+    private static final int CACHE_SIZE = 4096;
+
+    // Slot markers are private-use characters: SLOT_START followed by SLOT_BASE + slot index.
+    // Resource pack glyphs use the same area, so text containing the range is never marked
+    private static final char SLOT_START = '\uE000';
+    private static final char SLOT_BASE = '\uE100';
+    private static final int MAX_SLOTS = 256;
+    private static final char SLOT_RANGE_END = (char) (SLOT_BASE + MAX_SLOTS - 1);
+    private static final Pattern PER_CHARACTER_TAG =
+            Pattern.compile("<(gradient|rainbow)\\b", Pattern.CASE_INSENSITIVE);
+
+    private static final TemplateCache LEGACY_CACHE =
+            new TemplateCache(
+                    source -> new MessageTemplate(source, legacyToMiniMessage(source), true));
+    private static final TemplateCache MINI_MESSAGE_CACHE =
+            new TemplateCache(source -> new MessageTemplate(source, source, false));
+
+    private final String source;
+    private final Component component;
+    // The text parsed as-is, with every token as literal text
+    private final Component literal;
+    // Token text per slot, e.g. "{amount}", and its key
+    private final String[] tokens;
+    private final String[] keys;
+    private final Set<String> keySet;
+    private final boolean replaceOnly;
+    private final TemplateCache cache;
+
+    private MessageTemplate(String source, String miniMessage, boolean legacy) {
+        this.source = source;
+        List<String> slotTokens = new ArrayList<>();
+        StringBuilder marked = new StringBuilder(miniMessage.length());
+        boolean tokenInTag = markSlots(miniMessage, marked, slotTokens);
+        // Gradients color per character, so a value's colors depend on its length
+        this.replaceOnly =
+                !slotTokens.isEmpty()
+                        && (tokenInTag
+                                || containsMarkerRange(miniMessage)
+                                || PER_CHARACTER_TAG.matcher(miniMessage).find());
+        this.tokens = slotTokens.toArray(new String[0]);
+        this.keys = new String[tokens.length];
+        for (int i = 0; i < tokens.length; i++) {
+            keys[i] = tokens[i].substring(1, tokens[i].length() - 1);
+        }
+        this.keySet = Set.copyOf(List.of(keys));
+        this.cache = legacy ? LEGACY_CACHE : MINI_MESSAGE_CACHE;
+        if (replaceOnly) {
+            // Markers would break tags or gradients; parse the text as-is and always fall back
+            this.component = MINI_MESSAGE.deserialize(miniMessage);
+            this.literal = component;
+        } else {
+            this.component = MINI_MESSAGE.deserialize(marked.toString());
+            // Filling the tokens back in splits their text nodes, so parse the text as-is as well
+            this.literal = tokens.length == 0 ? component : MINI_MESSAGE.deserialize(miniMessage);
+        }
+    }
+
+    /**
+     * Get the template for text using legacy ({@code &a}, {@code §a}, {@code &#RRGGBB}) and/or
+     * MiniMessage formatting, as accepted by {@link TextUtil#parse(String)}.
+     */
+    public static MessageTemplate of(String source) {
+        return LEGACY_CACHE.get(source == null ? "" : source);
+    }
+
+    /** Get the template for text that is already pure MiniMessage (no legacy conversion). */
+    public static MessageTemplate ofMiniMessage(String source) {
+        return MINI_MESSAGE_CACHE.get(source == null ? "" : source);
+    }
+
+    /** The parsed component, with placeholder tokens left as literal text. */
+    public Component render() {
+        return literal;
+    }
+
+    /** Render with placeholders filled. Unmatched tokens stay as literal text. */
+    public Component render(Placeholder... placeholders) {
+        if (placeholders == null || placeholders.length == 0) {
+            return render();
+        }
+        if (replaceOnly || !substitutable(placeholders)) {
+            return cache.get(Placeholder.replaceAll(source, placeholders)).render();
+        }
+        if (tokens.length == 0) {
+            return literal;
+        }
+
+        Component[] values = new Component[tokens.length];
+        boolean matched = false;
+        for (int i = 0; i < tokens.length; i++) {
+            // First placeholder with the key wins, as with sequential string replacement
+            for (Placeholder placeholder : placeholders) {
+                if (placeholder != null && placeholder.getKey().equals(keys[i])) {
+                    values[i] = Component.text(placeholder.getValue());
+                    matched = true;
+                    break;
+                }
+            }
+            if (values[i] == null) {
+                values[i] = Component.text(tokens[i]);
+            }
+        }
+        return matched ? fill(component, values) : literal;
+    }
+
+    /** Whether all placeholders can be filled into the tree with the same result as replacing. */
+    private boolean substitutable(Placeholder[] placeholders) {
+        for (Placeholder placeholder : placeholders) {
+            if (placeholder == null) {
+                continue;
+            }
+            if (hasFormatting(placeholder.getValue())) {
+                return false;
+            }
+            String key = placeholder.getKey();
+            // A key the scanner did not pick up as a slot but that string replacement would hit
+            if (!keySet.contains(key)
+                    && (source.contains("{" + key + "}") || source.contains("%" + key + "%"))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether a value holds anything the parse or a later placeholder would read: tags, legacy
+     * codes, escapes, or the start of a {@code {key}} or {@code %key%} placeholder.
+     */
+    private static boolean hasFormatting(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            switch (value.charAt(i)) {
+                case '<', '&', '§', '\\', '{', '%', SLOT_START -> {
+                    return true;
+                }
+                default -> {}
+            }
+        }
+        return false;
+    }
+
+    /** Whether the text contains a character that fill() could read as part of a slot marker. */
+    private static boolean containsMarkerRange(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= SLOT_START && c <= SLOT_RANGE_END) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Replace slot markers in text content with their values, rebuilding only changed nodes. */
+    private static Component fill(Component component, Component[] values) {
+        List<Component> children = component.children();
+        List<Component> filledChildren = null;
+        for (int i = 0; i < children.size(); i++) {
+            Component child = children.get(i);
+            Component filled = fill(child, values);
+            if (filled != child && filledChildren == null) {
+                filledChildren = new ArrayList<>(children.subList(0, i));
+            }
+            if (filledChildren != null) {
+                filledChildren.add(filled);
+            }
+        }
+
+        if (component instanceof TextComponent text && text.content().indexOf(SLOT_START) >= 0) {
+            List<Component> parts = new ArrayList<>();
+            String content = text.content();
+            int start = 0;
+            int marker;
+            while ((marker = content.indexOf(SLOT_START, start)) >= 0
+                    && marker + 1 < content.length()) {
+                if (marker > start) {
+                    parts.add(Component.text(content.substring(start, marker)));
+                }
+                parts.add(values[content.charAt(marker + 1) - SLOT_BASE]);
+                start = marker + 2;
+            }
+            if (start < content.length()) {
+                parts.add(Component.text(content.substring(start)));
+            }
+            parts.addAll(filledChildren != null ? filledChildren : children);
+            // Parts inherit the node's style as its children
+            return text.content("").children(parts);
+        }
+        return filledChildren != null ? component.children(filledChildren) : component;
+    }
+
+    /**
+     * Copy MiniMessage text to {@code out}, replacing placeholder tokens outside tags with slot
+     * markers and collecting the tokens.
+     *
+     * @return Whether a token appeared inside a tag; the markers are then not usable
+     */
+    private static boolean markSlots(String text, StringBuilder out, List<String> slotTokens) {
+        boolean inTag = false;
+        boolean tokenInTag = false;
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == '<') {
+                inTag = true;
+            } else if (c == '>') {
+                inTag = false;
+            } else if (c == '{' || c == '%') {
+                int end = tokenEnd(text, i, c == '{' ? '}' : '%');
+                if (end > 0) {
+                    String token = text.substring(i, end + 1);
+                    if (inTag || slotTokens.size() >= MAX_SLOTS) {
+                        tokenInTag = true;
+                        out.append(token);
+                    } else {
+                        out.append(SLOT_START).append((char) (SLOT_BASE + slotTokens.size()));
+                    }
+                    slotTokens.add(token);
+                    i = end + 1;
+                    continue;
+                }
+            }
+            out.append(c);
+            i++;
+        }
+        return tokenInTag;
+    }
+
+    /** Index of the closing character of a placeholder token starting at {@code start}, or -1. */
+    private static int tokenEnd(String text, int start, char close) {
+        for (int i = start + 1; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == close) {
+                return i > start + 1 ? i : -1;
+            }
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-' && c != '.' && c != ':') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Convert legacy formatting to MiniMessage tags in a single pass: - {@code &#RRGGBB} to {@code
+     * <#RRGGBB>} - {@code §} codes are treated like {@code &} codes - Runs of two or more {@code
+     * &k} become one scrambled character each (obfuscated filler) - {@code &0}-{@code &f}, {@code
+     * &k}-{@code &o} and {@code &r} (either case) to their named tags
+     */
+    public static String legacyToMiniMessage(String text) {
+        if (text == null || text.isEmpty()) {
+            return text;
+        }
+        if (text.indexOf('&') < 0 && text.indexOf('§') < 0) {
+            return text;
+        }
+
+        StringBuilder out = new StringBuilder(text.length() + 16);
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c != '&' && c != '§') {
+                out.append(c);
+                i++;
+                continue;
+            }
+            if (i + 1 >= length) {
+                out.append('&');
+                i++;
+                continue;
+            }
+
+            char code = text.charAt(i + 1);
+            if (code == '#' && c == '&' && isHexColor(text, i + 2)) {
+                out.append("<#").append(text, i + 2, i + 8).append('>');
+                i += 8;
+                continue;
+            }
+            if (code == 'k' || code == 'K') {
+                int run = 1;
+                int next = i + 2;
+                while (next + 1 < length
+                        && isCodeChar(text.charAt(next))
+                        && (text.charAt(next + 1) == 'k' || text.charAt(next + 1) == 'K')) {
+                    run++;
+                    next += 2;
+                }
+                if (run > 1) {
+                    out.append("<obfuscated>").append("|".repeat(run)).append("</obfuscated>");
+                    i = next;
+                    continue;
+                }
+            }
+
+            String tag = tagFor(code);
+            if (tag != null) {
+                out.append(tag);
+                i += 2;
+            } else {
+                // Not a code; a bare § is still normalized to &
+                out.append('&');
+                i++;
+            }
+        }
+        return out.toString();
+    }
+
+    private static boolean isCodeChar(char c) {
+        return c == '&' || c == '§';
+    }
+
+    private static boolean isHexColor(String text, int start) {
+        if (start + 6 > text.length()) {
+            return false;
+        }
+        for (int i = start; i < start + 6; i++) {
+            if (Character.digit(text.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String tagFor(char code) {
+        return switch (code) {
+            case '0' -> "<black>";
+            case '1' -> "<dark_blue>";
+            case '2' -> "<dark_green>";
+            case '3' -> "<dark_aqua>";
+            case '4' -> "<dark_red>";
+            case '5' -> "<dark_purple>";
+            case '6' -> "<gold>";
+            case '7' -> "<gray>";
+            case '8' -> "<dark_gray>";
+            case '9' -> "<blue>";
+            case 'a', 'A' -> "<green>";
+            case 'b', 'B' -> "<aqua>";
+            case 'c', 'C' -> "<red>";
+            case 'd', 'D' -> "<light_purple>";
+            case 'e', 'E' -> "<yellow>";
+            case 'f', 'F' -> "<white>";
+            case 'k', 'K' -> "<obfuscated>";
+            case 'l', 'L' -> "<bold>";
+            case 'm', 'M' -> "<strikethrough>";
+            case 'n', 'N' -> "<underlined>";
+            case 'o', 'O' -> "<italic>";
+            case 'r', 'R' -> "<reset>";
+            default -> null;
+        };
+    }
+
+    /** Drop all cached templates, e.g. after a config reload. */
+    public static void clearCache() {
+        LEGACY_CACHE.clear();
+        MINI_MESSAGE_CACHE.clear();
+    }
+
+    /** Get cache metrics as a formatted string. */
+    public static String getStats() {
+        return String.format(
+                "Message templates - legacy: %s, minimessage: %s",
+                LEGACY_CACHE.describe(), MINI_MESSAGE_CACHE.describe());
+    }
+
+    /**
+     * Bounded concurrent map of parsed templates. Lookups never lock and parsing happens outside
+     * the map. Once the map is over capacity, entries read since the last sweep get a second
+     * chance and the rest are evicted, which approximates LRU without ordering every read.
+     */
+    private static final class TemplateCache {
+        private final Function<String, MessageTemplate> compiler;
+        private final ConcurrentHashMap<String, Entry> templates = new ConcurrentHashMap<>(256);
+        private final AtomicBoolean evicting = new AtomicBoolean();
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        private TemplateCache(Function<String, MessageTemplate> compiler) {
+            this.compiler = compiler;
+        }
+
+        MessageTemplate get(String source) {
+            Entry entry = templates.get(source);
+            if (entry != null) {
+                if (!entry.referenced) {
+                    entry.referenced = true;
+                }
+                hits.increment();
+                return entry.template;
+            }
+            misses.increment();
+            Entry created = new Entry(compiler.apply(source));
+            Entry raced = templates.putIfAbsent(source, created);
+            if (raced != null) {
+                return raced.template;
+            }
+            if (templates.size() > CACHE_SIZE) {
+                evict();
+            }
+            return created.template;
+        }
+
+        /** Sweep until back within capacity. One thread sweeps at a time; others skip. */
+        private void evict() {
+            if (!evicting.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                while (templates.size() > CACHE_SIZE) {
+                    Iterator<Entry> it = templates.values().iterator();
+                    while (it.hasNext() && templates.size() > CACHE_SIZE) {
+                        Entry entry = it.next();
+                        if (entry.referenced) {
+                            entry.referenced = false;
+                        } else {
+                            it.remove();
+                        }
+                    }
+                }
+            } finally {
+                evicting.set(false);
+            }
+        }
+
+        void clear() {
+            templates.clear();
+        }
+
+        String describe() {
+            long total = hits.sum() + misses.sum();
+            return String.format(
+                    "%d/%d cached, %.1f%% hit rate",
+                    templates.size(), CACHE_SIZE, total == 0 ? 0.0 : hits.sum() * 100.0 / total);
+        }
+
+        /** A cached template and whether it was read since the last eviction sweep. */
+        private static final class Entry {
+            private final MessageTemplate template;
+            private volatile boolean referenced;
+
+            Entry(MessageTemplate template) {
+                this.template = template;
+            }
+        }
+    }
+}
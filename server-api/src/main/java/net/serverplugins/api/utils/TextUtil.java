@@ -2,12 +2,11 @@ package net.serverplugins.api.utils;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import net.serverplugins.api.messages.Placeholder;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
@@ -19,75 +18,22 @@ public class TextUtil {
     private static final LegacyComponentSerializer LEGACY_SECTION =
             LegacyComponentSerializer.legacySection();
 
+    /**
+     * Parse text with legacy ({@code &a}, {@code §a}, {@code &#RRGGBB}) and/or MiniMessage
+     * formatting. Parsed results are cached by text; see {@link MessageTemplate}.
+     */
     public static Component parse(String text) {
         if (text == null || text.isEmpty()) return Component.empty();
-        // Convert legacy color codes to MiniMessage format before parsing
-        text = convertLegacyToMiniMessage(text);
-        return MINI_MESSAGE.deserialize(text);
+        return MessageTemplate.of(text).render();
     }
 
-    /** Converts legacy color codes (&x, §x, &#RRGGBB) to MiniMessage format */
-    private static String convertLegacyToMiniMessage(String text) {
-        if (text == null || text.isEmpty()) {
-            return text;
-        }
-
-        // Convert &#RRGGBB to <#RRGGBB>
-        text = text.replaceAll("&#([A-Fa-f0-9]{6})", "<#$1>");
-
-        // Convert §x section symbol codes to &x so they get handled below
-        text = text.replace('§', '&');
-
-        // Handle consecutive &k used as obfuscated filler (e.g., §k§k§k§k → scrambled divider)
-        // Each &k becomes one scrambled character since &k is a format code with no visible content
-        Pattern consecutiveObf = Pattern.compile("(?i)(&k){2,}");
-        Matcher obfMatcher = consecutiveObf.matcher(text);
-        StringBuilder sb = new StringBuilder();
-        while (obfMatcher.find()) {
-            int count = obfMatcher.group().length() / 2;
-            obfMatcher.appendReplacement(sb, "<obfuscated>" + "|".repeat(count) + "</obfuscated>");
-        }
-        obfMatcher.appendTail(sb);
-        text = sb.toString();
-
-        // Convert legacy &x codes
-        text =
-                text.replace("&0", "<black>")
-                        .replace("&1", "<dark_blue>")
-                        .replace("&2", "<dark_green>")
-                        .replace("&3", "<dark_aqua>")
-                        .replace("&4", "<dark_red>")
-                        .replace("&5", "<dark_purple>")
-                        .replace("&6", "<gold>")
-                        .replace("&7", "<gray>")
-                        .replace("&8", "<dark_gray>")
-                        .replace("&9", "<blue>")
-                        .replace("&a", "<green>")
-                        .replace("&A", "<green>")
-                        .replace("&b", "<aqua>")
-                        .replace("&B", "<aqua>")
-                        .replace("&c", "<red>")
-                        .replace("&C", "<red>")
-                        .replace("&d", "<light_purple>")
-                        .replace("&D", "<light_purple>")
-                        .replace("&e", "<yellow>")
-                        .replace("&E", "<yellow>")
-                        .replace("&f", "<white>")
-                        .replace("&F", "<white>")
-                        .replace("&k", "<obfuscated>")
-                        .replace("&K", "<obfuscated>")
-                        .replace("&l", "<bold>")
-                        .replace("&L", "<bold>")
-                        .replace("&m", "<strikethrough>")
-                        .replace("&M", "<strikethrough>")
-                        .replace("&n", "<underlined>")
-                        .replace("&N", "<underlined>")
-                        .replace("&o", "<italic>")
-                        .replace("&O", "<italic>")
-                        .replace("&r", "<reset>")
-                        .replace("&R", "<reset>");
-
-        return text;
+    /**
+     * Parse text and fill {@code {key}} / {@code %key%} placeholders, reusing the cached parse of
+     * the template instead of re-parsing the replaced string.
+     */
+    public static Component parse(String text, Placeholder... placeholders) {
+        if (text == null || text.isEmpty()) return Component.empty();
+        return MessageTemplate.of(text).render(placeholders);
     }
 
     public static List<Component> parse(String... texts) {
@@ -0,0 +1,46 @@
+package net.serverplugins.api.benchmark;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Warmup and timing loop shared by the {@code *Benchmark} main classes in the test trees. Other
+ * modules get it through the server-api test-jar. Not a harness like JMH: there are no forks and
+ * no per-iteration statistics, so compare numbers only within one run.
+ */
+public final class Benchmarks {
+
+    private static final long WARMUP_NANOS = 1_000_000_000L;
+
+    private Benchmarks() {}
+
+    /**
+     * Warm up for a second, then call {@code run} repeatedly for {@code seconds} and print the mean
+     * time per operation. Each call must perform {@code opsPerRun} operations and return something
+     * derived from their results, which is folded into a sink so the JIT cannot drop the work.
+     *
+     * @param name label printed at the start of the line
+     * @param op name of one operation, e.g. "lookup" in "12.3 ns/lookup"
+     */
+    public static void report(
+            String name, int seconds, long opsPerRun, String op, IntSupplier run) {
+        long warmupEnd = System.nanoTime() + WARMUP_NANOS;
+        int sink = 0;
+        while (System.nanoTime() < warmupEnd) {
+            sink += run.getAsInt();
+        }
+
+        long start = System.nanoTime();
+        long end = start + seconds * 1_000_000_000L;
+        long runs = 0;
+        while (System.nanoTime() < end) {
+            sink += run.getAsInt();
+            runs++;
+        }
+        double nanos = (double) (System.nanoTime() - start) / (runs * opsPerRun);
+        String time =
+                nanos < 10_000
+                        ? String.format("%.1f ns", nanos)
+                        : String.format("%.2f us", nanos / 1000.0);
+        System.out.printf("%s: %s/%s over %d runs (%d)%n", name, time, op, runs, sink & 1);
+    }
+}
@@ -0,0 +1,152 @@
+package net.serverplugins.api.database;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+import net.serverplugins.api.database.impl.H2Database;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class InstrumentedDatabaseTest {
+
+    @TempDir Path tempDir;
+
+    private H2Database h2;
+    private InstrumentedDatabase database;
+    private final AtomicBoolean mainThread = new AtomicBoolean();
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        h2 = new H2Database(tempDir.toString(), "instrumented");
+        h2.connect();
+        h2.execute("CREATE TABLE players (name VARCHAR(16) PRIMARY KEY, level INT)");
+        Logger logger = Logger.getLogger("InstrumentedDatabaseTest");
+        logger.setUseParentHandlers(false);
+        database = new InstrumentedDatabase(h2, logger, 50, true, mainThread::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.disconnect();
+    }
+
+    private InstrumentedDatabase.StatementStats find(String prefix) {
+        return database.getStatementStats().stream()
+                .filter(stats -> stats.getFullSql().startsWith(prefix))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    @DisplayName("Should group statements that differ only in literals and whitespace")
+    void shouldNormalizeStatements() {
+        assertThat(
+                        InstrumentedDatabase.normalize(
+                                "SELECT *  FROM t\n WHERE id = 42 AND name = 'x'"))
+                .isEqualTo("SELECT * FROM t WHERE id = ? AND name = ?");
+        assertThat(InstrumentedDatabase.normalize("SELECT * FROM t WHERE id IN (?, ?, ?)"))
+                .isEqualTo(InstrumentedDatabase.normalize("SELECT * FROM t WHERE id IN (1,2)"));
+        assertThat(InstrumentedDatabase.normalize("INSERT INTO t VALUES (?, ?), (?, ?), (?, ?)"))
+                .isEqualTo("INSERT INTO t VALUES (?, ?)");
+        assertThat(InstrumentedDatabase.normalize("SELECT name FROM t2 WHERE a = 'it''s'"))
+                .isEqualTo("SELECT name FROM t2 WHERE a = ?");
+    }
+
+    @Test
+    @DisplayName("Should count calls, affected rows and rows read per statement")
+    void shouldRecordCallsAndRows() throws SQLException {
+        for (int i = 0; i < 5; i++) {
+            database.executeUpdate(
+                    "INSERT INTO players (name, level) VALUES (?, ?)", "player" + i, i);
+        }
+        database.executeUpdate("UPDATE players SET level = 10 WHERE level >= 3");
+
+        int count =
+                database.query(
+                        "SELECT name FROM players WHERE level < ?",
+                        rs -> {
+                            int n = 0;
+                            while (rs.next()) {
+                                n++;
+                            }
+                            return n;
+                        },
+                        100);
+        try (ResultSet rs = database.executeQuery("SELECT name FROM players WHERE level < 100")) {
+            while (rs.next()) {
+                // Drain
+            }
+        }
+
+        assertThat(count).isEqualTo(5);
+        InstrumentedDatabase.StatementStats insert = find("INSERT INTO players");
+        assertThat(insert.getCalls()).isEqualTo(5);
+        assertThat(insert.getRows()).isEqualTo(5);
+        assertThat(find("UPDATE players").getRows()).isEqualTo(2);
+
+        // Parameterized and literal forms of the same query share one entry
+        InstrumentedDatabase.StatementStats select = find("SELECT name FROM players");
+        assertThat(select.getCalls()).isEqualTo(2);
+        assertThat(select.getRows()).isEqualTo(10);
+        assertThat(database.getConnectionAcquires()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Should count errors and still propagate them")
+    void shouldRecordErrors() {
+        assertThatThrownBy(() -> database.executeUpdate("INSERT INTO missing VALUES (1)"))
+                .isInstanceOf(SQLException.class);
+
+        InstrumentedDatabase.StatementStats stats = find("INSERT INTO missing");
+        assertThat(stats.getCalls()).isEqualTo(1);
+        assertThat(stats.getErrors()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should flag calls made on the primary thread")
+    void shouldFlagMainThreadCalls() throws SQLException {
+        database.executeUpdate("INSERT INTO players (name, level) VALUES (?, ?)", "async", 1);
+        mainThread.set(true);
+        database.executeUpdate("INSERT INTO players (name, level) VALUES (?, ?)", "main", 1);
+        database.executeUpdate("INSERT INTO players (name, level) VALUES (?, ?)", "main2", 1);
+
+        InstrumentedDatabase.StatementStats stats = find("INSERT INTO players");
+        assertThat(stats.getCalls()).isEqualTo(3);
+        assertThat(stats.getMainThreadCalls()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should record each statement of a parameterized batch")
+    void shouldRecordBatches() throws SQLException {
+        database.executeBatches(
+                Map.of(
+                        "INSERT INTO players (name, level) VALUES (?, ?)",
+                        List.of(new Object[] {"a", 1}, new Object[] {"b", 2})));
+
+        InstrumentedDatabase.StatementStats stats = find("INSERT INTO players");
+        assertThat(stats.getCalls()).isEqualTo(1);
+        assertThat(stats.getRows()).isEqualTo(2);
+        assertThat(stats.getPercentileBoundMillis(0.95)).isNotZero();
+    }
+
+    @Test
+    @DisplayName("Reset should clear all metrics")
+    void shouldReset() throws SQLException {
+        database.executeUpdate("INSERT INTO players (name, level) VALUES (?, ?)", "a", 1);
+        assertThat(database.getStatementStats()).isNotEmpty();
+
+        database.reset();
+
+        assertThat(database.getStatementStats()).isEmpty();
+        assertThat(database.getConnectionAcquires()).isZero();
+    }
+}
@@ -0,0 +1,194 @@
+package net.serverplugins.api.database;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import net.serverplugins.api.database.impl.H2Database;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WriteBehindQueueTest {
+
+    private static final String INSERT = "INSERT INTO log_entries (player, message) VALUES (?, ?)";
+    private static final String UPSERT =
+            "MERGE INTO balances (player, amount) KEY (player) VALUES (?, ?)";
+
+    @TempDir Path tempDir;
+
+    private H2Database database;
+    private WriteBehindQueue queue;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = new H2Database(tempDir.toString(), "writebehind");
+        database.connect();
+        database.execute(
+                "CREATE TABLE log_entries (id INT AUTO_INCREMENT PRIMARY KEY, player VARCHAR(16),"
+                        + " message VARCHAR(64))");
+        database.execute("CREATE TABLE balances (player VARCHAR(16) PRIMARY KEY, amount INT)");
+        // Long interval so flushes only happen when the test asks for them
+        queue = new WriteBehindQueue(database, "test", 1000, 60_000, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        queue.close();
+        database.disconnect();
+    }
+
+    private int count(String table) {
+        return database.query(
+                "SELECT COUNT(*) FROM " + table,
+                rs -> {
+                    rs.next();
+                    return rs.getInt(1);
+                });
+    }
+
+    @Test
+    @DisplayName("Should hold writes until flushed")
+    void shouldBufferUntilFlush() throws SQLException {
+        for (int i = 0; i < 50; i++) {
+            queue.enqueue(INSERT, "player" + i, "message " + i);
+        }
+        assertThat(count("log_entries")).isZero();
+        assertThat(queue.getPendingCount()).isEqualTo(50);
+
+        queue.flush();
+
+        assertThat(count("log_entries")).isEqualTo(50);
+        assertThat(queue.getPendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep insertion order within a statement")
+    void shouldPreserveOrder() throws SQLException {
+        for (int i = 0; i < 10; i++) {
+            queue.enqueue(INSERT, "p", "m" + i);
+        }
+        queue.flush();
+
+        List<String> messages =
+                database.query(
+                        "SELECT message FROM log_entries ORDER BY id",
+                        rs -> {
+                            List<String> result = new ArrayList<>();
+                            while (rs.next()) {
+                                result.add(rs.getString(1));
+                            }
+                            return result;
+                        });
+        assertThat(messages)
+                .containsExactly("m0", "m1", "m2", "m3", "m4", "m5", "m6", "m7", "m8", "m9");
+    }
+
+    @Test
+    @DisplayName("Should coalesce upserts by key with last write winning")
+    void shouldCoalesceUpserts() throws SQLException {
+        queue.upsert(UPSERT, "alice", "alice", 1);
+        queue.upsert(UPSERT, "bob", "bob", 5);
+        queue.upsert(UPSERT, "alice", "alice", 2);
+        queue.upsert(UPSERT, "alice", "alice", 3);
+        assertThat(queue.getPendingCount()).isEqualTo(2);
+
+        queue.flush();
+
+        int alice =
+                database.query(
+                        "SELECT amount FROM balances WHERE player = ?",
+                        rs -> rs.next() ? rs.getInt(1) : -1,
+                        "alice");
+        assertThat(alice).isEqualTo(3);
+        assertThat(queue.getStats()).contains("coalesced: 2");
+    }
+
+    @Test
+    @DisplayName("Should flush pending writes on close")
+    void shouldFlushOnClose() {
+        queue.enqueue(INSERT, "p", "last words");
+        queue.close();
+
+        assertThat(count("log_entries")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should requeue failed batches and isolate bad rows")
+    void shouldIsolateBadRows() {
+        queue.enqueue(INSERT, "p", "good");
+        queue.enqueue(INSERT, "p", "x".repeat(200)); // Too long for the column
+        queue.enqueue(INSERT, "p", "also good");
+
+        assertThatThrownBy(queue::flush).isInstanceOf(SQLException.class);
+        assertThat(queue.getPendingCount()).isEqualTo(3);
+        assertThat(count("log_entries")).isZero();
+
+        // Third consecutive failure falls back to row-by-row writes
+        assertThatThrownBy(queue::flush).isInstanceOf(SQLException.class);
+        assertThatCode(queue::flush).doesNotThrowAnyException();
+
+        assertThat(count("log_entries")).isEqualTo(2);
+        assertThat(queue.getPendingCount()).isZero();
+        assertThat(queue.getStats()).contains("dropped: 1");
+    }
+
+    @Test
+    @DisplayName("Should drop the oldest writes once the backlog is full")
+    void shouldCapBacklog() throws SQLException {
+        queue.close();
+        queue = new WriteBehindQueue(database, "capped", 1000, 5, 60_000, null);
+        queue.enqueue(INSERT, "p", "good");
+        queue.enqueue(INSERT, "p", "x".repeat(200)); // Too long for the column
+        queue.enqueue(INSERT, "p", "also good");
+        assertThatThrownBy(queue::flush).isInstanceOf(SQLException.class);
+
+        // The failed batch is requeued in front; new writes push its oldest rows out
+        for (int i = 0; i < 4; i++) {
+            queue.enqueue(INSERT, "p", "m" + i);
+        }
+        assertThat(queue.getPendingCount()).isEqualTo(5);
+        assertThat(queue.getStats()).contains("pending: 5/5", "dropped: 2");
+
+        queue.flush();
+        assertThat(count("log_entries")).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should flush every queue on one shared thread")
+    void shouldShareFlushThread() throws SQLException {
+        WriteBehindQueue other = new WriteBehindQueue(database, "other", 1000, 60_000, null);
+        try {
+            long flushThreads =
+                    Thread.getAllStackTraces().keySet().stream()
+                            .filter(thread -> thread.getName().startsWith("WriteBehind"))
+                            .count();
+            assertThat(flushThreads).isEqualTo(1);
+
+            other.enqueue(INSERT, "p", "from other");
+            other.flush();
+            assertThat(count("log_entries")).isEqualTo(1);
+        } finally {
+            other.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should flush on its own once the batch size is reached")
+    void shouldFlushAtBatchSize() throws InterruptedException {
+        queue.close();
+        queue = new WriteBehindQueue(database, "small", 10, 60_000, null);
+        for (int i = 0; i < 10; i++) {
+            queue.enqueue(INSERT, "p", "m" + i);
+        }
+
+        for (int i = 0; i < 100 && count("log_entries") < 10; i++) {
+            Thread.sleep(20);
+        }
+        assertThat(count("log_entries")).isEqualTo(10);
+    }
+}
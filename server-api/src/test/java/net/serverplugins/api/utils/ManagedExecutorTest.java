@@ -0,0 +1,187 @@
+package net.serverplugins.api.utils;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ManagedExecutor Tests")
+class ManagedExecutorTest {
+
+    private static final String OWNER = "TestPlugin";
+
+    private ManagedExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ManagedExecutor(true, 0, 4, 100, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Lane should never run more tasks at once than its limit")
+    void shouldRespectConcurrencyLimit() throws Exception {
+        ManagedExecutor.Lane lane = executor.lane(OWNER, "limited", 3, 1000);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(
+                    CompletableFuture.runAsync(
+                            () -> {
+                                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                                try {
+                                    Thread.sleep(1);
+                                } catch (InterruptedException e) {
+                                    Thread.currentThread().interrupt();
+                                }
+                                running.decrementAndGet();
+                            },
+                            lane));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .get(10, TimeUnit.SECONDS);
+
+        assertThat(peak.get()).isLessThanOrEqualTo(3);
+        assertThat(lane.getCompletedCount()).isEqualTo(200);
+        assertThat(lane.getQueueDepth()).isZero();
+        assertThat(lane.getActiveCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Full lane should reject instead of queueing without limit")
+    void shouldRejectWhenQueueFull() throws Exception {
+        ManagedExecutor.Lane lane = executor.lane(OWNER, "tiny", 1, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        lane.execute(
+                () -> {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+        started.await(5, TimeUnit.SECONDS);
+
+        lane.execute(() -> {});
+        lane.execute(() -> {});
+        assertThatThrownBy(() -> lane.execute(() -> {}))
+                .isInstanceOf(RejectedExecutionException.class);
+        assertThat(lane.getRejectedCount()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(lane.drain(5, TimeUnit.SECONDS)).isZero();
+        assertThat(lane.getCompletedCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Lanes should be isolated from each other")
+    void shouldIsolateLanes() throws Exception {
+        ManagedExecutor.Lane busy = executor.lane(OWNER, "busy", 1, 10);
+        ManagedExecutor.Lane other = executor.lane(OWNER, "other");
+        CountDownLatch release = new CountDownLatch(1);
+        busy.execute(
+                () -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+
+        CompletableFuture<String> result = CompletableFuture.supplyAsync(() -> "done", other);
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Shutdown should run queued work and then reject new work")
+    void shouldDrainOnShutdown() {
+        ManagedExecutor.Lane lane = executor.lane(OWNER, "drain", 1, 100);
+        AtomicInteger ran = new AtomicInteger();
+        for (int i = 0; i < 20; i++) {
+            lane.execute(ran::incrementAndGet);
+        }
+
+        assertThat(executor.shutdown(5, TimeUnit.SECONDS)).isZero();
+        assertThat(ran.get()).isEqualTo(20);
+        assertThatThrownBy(() -> lane.execute(() -> {}))
+                .isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    @DisplayName("Failing tasks should be counted without stopping the lane")
+    void shouldCountFailures() throws Exception {
+        ManagedExecutor.Lane lane = executor.lane(OWNER, "failing", 1, 10);
+        lane.execute(
+                () -> {
+                    throw new IllegalStateException("boom");
+                });
+        CompletableFuture.runAsync(() -> {}, lane).get(5, TimeUnit.SECONDS);
+
+        assertThat(lane.getFailedCount()).isEqualTo(1);
+        assertThat(lane.getStats()).contains("TestPlugin/failing", "failed: 1");
+    }
+
+    @Test
+    @DisplayName("Plugins should get separate lanes for the same name")
+    void shouldKeyLanesByOwner() throws Exception {
+        ManagedExecutor.Lane mine = executor.lane(OWNER, "database", 1, 10);
+        ManagedExecutor.Lane theirs = executor.lane("OtherPlugin", "database", 2, 20);
+        CountDownLatch release = new CountDownLatch(1);
+        mine.execute(
+                () -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+
+        assertThat(theirs).isNotSameAs(mine);
+        assertThat(executor.lane(OWNER, "database")).isSameAs(mine);
+        assertThat(executor.getLanes("OtherPlugin")).containsExactly(theirs);
+        CompletableFuture<String> result = CompletableFuture.supplyAsync(() -> "done", theirs);
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Draining a plugin should only stop and forget its own lanes")
+    void shouldDrainOneOwner() throws Exception {
+        ManagedExecutor.Lane mine = executor.lane(OWNER, "writes", 1, 100);
+        ManagedExecutor.Lane theirs = executor.lane("OtherPlugin", "writes", 1, 100);
+        AtomicInteger ran = new AtomicInteger();
+        for (int i = 0; i < 20; i++) {
+            mine.execute(ran::incrementAndGet);
+        }
+
+        assertThat(executor.drain(OWNER, 5, TimeUnit.SECONDS)).isZero();
+        assertThat(ran.get()).isEqualTo(20);
+        assertThatThrownBy(() -> mine.execute(() -> {}))
+                .isInstanceOf(RejectedExecutionException.class);
+        assertThat(executor.getLanes(OWNER)).isEmpty();
+        CompletableFuture.runAsync(() -> {}, theirs).get(5, TimeUnit.SECONDS);
+
+        // Enabled again: a fresh lane that accepts work
+        ManagedExecutor.Lane again = executor.lane(OWNER, "writes");
+        assertThat(again).isNotSameAs(mine);
+        CompletableFuture.runAsync(() -> {}, again).get(5, TimeUnit.SECONDS);
+    }
+}
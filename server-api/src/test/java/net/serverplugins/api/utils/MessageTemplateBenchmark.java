@@ -0,0 +1,126 @@
+package net.serverplugins.api.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.serverplugins.api.benchmark.Benchmarks;
+import net.serverplugins.api.messages.ColorScheme;
+import net.serverplugins.api.messages.CommonMessages;
+import net.serverplugins.api.messages.Placeholder;
+
+/**
+ * Times {@link MessageTemplate} against the previous {@code TextUtil.parse} pipeline (placeholder
+ * replacement, a compiled {@code &k} pattern, a hex {@code replaceAll}, chained legacy {@code
+ * replace} calls and a fresh MiniMessage parse) over every {@link CommonMessages} default and a
+ * set of {@link ColorScheme} config strings. Not a unit test, so surefire does not pick it up; run
+ * it from an IDE or with {@code java -cp target/classes:target/test-classes} plus the test
+ * classpath.
+ *
+ * <pre>
+ * MessageTemplateBenchmark [seconds=5]
+ * </pre>
+ *
+ * <p>Each run renders every string once bare and once with placeholders, as GUIs and commands do
+ * between config reloads, so the template cache is warm after the first run.
+ */
+public final class MessageTemplateBenchmark {
+
+    private static final MiniMessage MINI_MESSAGE = MiniMessage.miniMessage();
+    private static final String[][] LEGACY_CODES = {
+        {"0", "black"},
+        {"1", "dark_blue"},
+        {"2", "dark_green"},
+        {"3", "dark_aqua"},
+        {"4", "dark_red"},
+        {"5", "dark_purple"},
+        {"6", "gold"},
+        {"7", "gray"},
+        {"8", "dark_gray"},
+        {"9", "blue"},
+        {"a", "green"},
+        {"b", "aqua"},
+        {"c", "red"},
+        {"d", "light_purple"},
+        {"e", "yellow"},
+        {"f", "white"},
+        {"k", "obfuscated"},
+        {"l", "bold"},
+        {"m", "strikethrough"},
+        {"n", "underlined"},
+        {"o", "italic"},
+        {"r", "reset"}
+    };
+
+    private static final Placeholder[] PLACEHOLDERS = {
+        Placeholder.of("player", "Steve"),
+        Placeholder.of("amount", 1250.75),
+        Placeholder.of("message", "Claim created!"),
+        Placeholder.of("time", "30 seconds"),
+        Placeholder.of("input", "abc")
+    };
+
+    public static void main(String[] args) {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+
+        List<String> texts = new ArrayList<>();
+        for (CommonMessages message : CommonMessages.values()) {
+            texts.add(message.getDefault());
+        }
+        texts.add("&8[&6Claims&8] &7You have &e{amount} &7coins");
+        texts.add("&#55FF55&lSUCCESS &r&7%player% joined");
+        texts.add(ColorScheme.EMPHASIS + "{player}" + ColorScheme.INFO + " paid you &a{amount}");
+        texts.add(ColorScheme.ERROR + ColorScheme.CROSS + " " + ColorScheme.INFO + "{message}");
+        texts.add(
+                ColorScheme.SUCCESS + ColorScheme.CHECKMARK + " " + ColorScheme.HIGHLIGHT + "Done");
+        texts.add("<hover:show_text:'Click to visit {player}'><aqua>{player}</hover>");
+        texts.add("&k&k&k&r &eRare drop: {message} &k&k&k");
+        String[] sources = texts.toArray(new String[0]);
+
+        System.out.printf("%d strings, rendered bare and with placeholders%n", sources.length);
+        // Each source string is rendered twice per run
+        int renders = sources.length * 2;
+        Benchmarks.report("template", seconds, renders, "render", () -> template(sources));
+        Benchmarks.report("legacy", seconds, renders, "render", () -> legacy(sources));
+        System.out.println(MessageTemplate.getStats());
+    }
+
+    private static int template(String[] sources) {
+        int sink = 0;
+        for (String source : sources) {
+            sink += TextUtil.parse(source).children().size();
+            sink += TextUtil.parse(source, PLACEHOLDERS).children().size();
+        }
+        return sink;
+    }
+
+    private static int legacy(String[] sources) {
+        int sink = 0;
+        for (String source : sources) {
+            sink += legacyParse(source).children().size();
+            sink += legacyParse(Placeholder.replaceAll(source, PLACEHOLDERS)).children().size();
+        }
+        return sink;
+    }
+
+    /** TextUtil.parse as it was before templates. */
+    private static Component legacyParse(String text) {
+        text = text.replaceAll("&#([A-Fa-f0-9]{6})", "<#$1>");
+        text = text.replace('§', '&');
+        Matcher obfMatcher = Pattern.compile("(?i)(&k){2,}").matcher(text);
+        StringBuilder sb = new StringBuilder();
+        while (obfMatcher.find()) {
+            int count = obfMatcher.group().length() / 2;
+            obfMatcher.appendReplacement(sb, "<obfuscated>" + "|".repeat(count) + "</obfuscated>");
+        }
+        obfMatcher.appendTail(sb);
+        text = sb.toString();
+        for (String[] code : LEGACY_CODES) {
+            text = text.replace("&" + code[0], "<" + code[1] + ">");
+            text = text.replace("&" + code[0].toUpperCase(), "<" + code[1] + ">");
+        }
+        return MINI_MESSAGE.deserialize(text);
+    }
+}
@@ -0,0 +1,170 @@
+package net.serverplugins.api.utils;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.serverplugins.api.messages.ColorScheme;
+import net.serverplugins.api.messages.CommonMessages;
+import net.serverplugins.api.messages.Placeholder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MessageTemplateTest {
+
+    private static final Placeholder[] SAMPLE_PLACEHOLDERS = {
+        Placeholder.of("usage", "/claim trust <player>"),
+        Placeholder.of("input", "abc"),
+        Placeholder.of("player", "Steve"),
+        Placeholder.of("message", "Claim created!"),
+        Placeholder.of("time", "30 seconds"),
+        Placeholder.of("amount", 1250.75)
+    };
+
+    /** The previous replace-then-parse pipeline, as the reference for equivalence. */
+    private static Component reference(String text, Placeholder... placeholders) {
+        text = Placeholder.replaceAll(text, placeholders);
+        text = text.replaceAll("&#([A-Fa-f0-9]{6})", "<#$1>");
+        text = text.replace('§', '&');
+        Matcher obfMatcher = Pattern.compile("(?i)(&k){2,}").matcher(text);
+        StringBuilder sb = new StringBuilder();
+        while (obfMatcher.find()) {
+            int count = obfMatcher.group().length() / 2;
+            obfMatcher.appendReplacement(sb, "<obfuscated>" + "|".repeat(count) + "</obfuscated>");
+        }
+        obfMatcher.appendTail(sb);
+        text = sb.toString();
+        String[][] codes = {
+            {"0", "black"},
+            {"1", "dark_blue"},
+            {"2", "dark_green"},
+            {"3", "dark_aqua"},
+            {"4", "dark_red"},
+            {"5", "dark_purple"},
+            {"6", "gold"},
+            {"7", "gray"},
+            {"8", "dark_gray"},
+            {"9", "blue"},
+            {"a", "green"},
+            {"b", "aqua"},
+            {"c", "red"},
+            {"d", "light_purple"},
+            {"e", "yellow"},
+            {"f", "white"},
+            {"k", "obfuscated"},
+            {"l", "bold"},
+            {"m", "strikethrough"},
+            {"n", "underlined"},
+            {"o", "italic"},
+            {"r", "reset"}
+        };
+        for (String[] code : codes) {
+            text = text.replace("&" + code[0], "<" + code[1] + ">");
+            text = text.replace("&" + code[0].toUpperCase(), "<" + code[1] + ">");
+        }
+        return MiniMessage.miniMessage().deserialize(text);
+    }
+
+    private static void assertEquivalent(String text, Placeholder... placeholders) {
+        assertThat(MessageTemplate.of(text).render(placeholders).compact())
+                .as(text)
+                .isEqualTo(reference(text, placeholders).compact());
+    }
+
+    @Test
+    @DisplayName("Should convert legacy codes in a single pass like the chained replacements")
+    void shouldConvertLegacyCodes() {
+        assertThat(MessageTemplate.legacyToMiniMessage("&aGreen &LBold §cRed"))
+                .isEqualTo("<green>Green <bold>Bold <red>Red");
+        assertThat(MessageTemplate.legacyToMiniMessage("&#FF8800Orange"))
+                .isEqualTo("<#FF8800>Orange");
+        assertThat(MessageTemplate.legacyToMiniMessage("&k&K§k---"))
+                .isEqualTo("<obfuscated>|||</obfuscated>---");
+        assertThat(MessageTemplate.legacyToMiniMessage("Tom & Jerry &z §"))
+                .isEqualTo("Tom & Jerry &z &");
+        assertThat(MessageTemplate.legacyToMiniMessage("<gold>No legacy"))
+                .isEqualTo("<gold>No legacy");
+    }
+
+    @Test
+    @DisplayName("Should render CommonMessages the same as replace-then-parse")
+    void shouldMatchReferenceForCommonMessages() {
+        for (CommonMessages message : CommonMessages.values()) {
+            assertEquivalent(message.getDefault());
+            assertEquivalent(message.getDefault(), SAMPLE_PLACEHOLDERS);
+        }
+    }
+
+    @Test
+    @DisplayName("Should render legacy and mixed config strings the same as replace-then-parse")
+    void shouldMatchReferenceForConfigStrings() {
+        String[] samples = {
+            "&8[&6Claims&8] &7You have &e{amount} &7coins",
+            "&#55FF55&lSUCCESS &r&7%player% joined",
+            ColorScheme.EMPHASIS + "{player}" + ColorScheme.INFO + " paid you " + "&a{amount}",
+            "<gradient:#FF0000:#00FF00>{player}</gradient> &7- &f{message}",
+            "<hover:show_text:'Click to visit {player}'><aqua>{player}</hover>",
+            "&k&k&k&r &eRare drop: {message} &k&k&k",
+            "100% complete for {player}",
+        };
+        for (String sample : samples) {
+            assertEquivalent(sample);
+            assertEquivalent(sample, SAMPLE_PLACEHOLDERS);
+        }
+    }
+
+    @Test
+    @DisplayName("Should fall back to string replacement for formatted values")
+    void shouldFallBackForFormattedValues() {
+        assertEquivalent("<gray>Status: {status} done", Placeholder.of("status", "<red>failed"));
+        assertEquivalent("&7{prefix}Name", Placeholder.of("prefix", "&c[Admin] "));
+    }
+
+    @Test
+    @DisplayName("Should let a later placeholder replace one inserted by an earlier value")
+    void shouldReplacePlaceholdersInsideValues() {
+        assertEquivalent(
+                "<gray>{sender}: {text}",
+                Placeholder.of("sender", "%player%"),
+                Placeholder.of("player", "Steve"));
+        assertEquivalent(
+                "<gray>Progress: {progress}", Placeholder.of("progress", "50% done, 100% soon"));
+    }
+
+    @Test
+    @DisplayName("Should leave unknown placeholders as literal text")
+    void shouldKeepUnknownPlaceholders() {
+        assertEquivalent("<gray>{known} and {unknown}", Placeholder.of("known", "yes"));
+    }
+
+    @Test
+    @DisplayName("Should return the plain parse when no placeholder is filled")
+    void shouldRenderUnfilledAsPlainParse() {
+        String[] texts = {"<gray>Hello {player}, you have %amount% coins", "&aBalance: {amount}"};
+        for (String text : texts) {
+            assertThat(MessageTemplate.of(text).render()).as(text).isEqualTo(reference(text));
+            assertThat(MessageTemplate.of(text).render(Placeholder.of("other", "x")))
+                    .as(text)
+                    .isEqualTo(reference(text));
+        }
+    }
+
+    @Test
+    @DisplayName("Should treat resource pack glyphs in the marker range as plain text")
+    void shouldKeepPrivateUseGlyphs() {
+        assertEquivalent("\uE000 <gray>{player} joined", Placeholder.of("player", "Steve"));
+        assertEquivalent("\uE71F\uE6C2 &7{message}", Placeholder.of("message", "hi"));
+        assertEquivalent("\uE001\uE1FF {amount} coins", Placeholder.of("amount", 5));
+    }
+
+    @Test
+    @DisplayName("Should reuse the cached parse for the same text")
+    void shouldCacheTemplates() {
+        String text = "<gold>Cached {player}";
+        assertThat(MessageTemplate.of(text)).isSameAs(MessageTemplate.of(text));
+        assertThat(MessageTemplate.of(text).render()).isSameAs(MessageTemplate.of(text).render());
+        assertThat(MessageTemplate.getStats()).contains("hit rate");
+    }
+}
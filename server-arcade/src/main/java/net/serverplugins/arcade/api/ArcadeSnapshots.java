@@ -0,0 +1,282 @@
+package net.serverplugins.arcade.api;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.ResultSet;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+import net.serverplugins.api.database.Database;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+/**
+ * In-memory copies of the leaderboards and recent big wins served by {@link ArcadeStatsAPI}.
+ *
+ * <p>Each refresh reads the top {@link #MAX_ROWS} rows of every leaderboard type and of recent
+ * wins into one immutable generation. Responses are serialized once per generation and limit, and
+ * carry an ETag derived from their bytes, so an unchanged rebuild keeps the same ETag. Requests
+ * never touch the database once the first generation exists.
+ *
+ * <p>Rebuilds happen from {@link #refreshIfNeeded()}, and only when {@link #markDirty()} was
+ * called since the last one or the generation is older than the maximum age.
+ */
+public class ArcadeSnapshots {
+
+    /** Rows kept per list; also the largest limit a request may ask for. */
+    static final int MAX_ROWS = 100;
+
+    static final List<String> LEADERBOARD_TYPES =
+            List.of("net_profit", "crash_mult", "biggest_win", "total_wagered");
+
+    /** A pre-serialized JSON body and its ETag. */
+    public record Response(byte[] body, String etag) {}
+
+    private final Database database;
+    private final Logger logger;
+    private final long maxAgeMillis;
+
+    private volatile Generation current;
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    private final Object refreshLock = new Object();
+
+    public ArcadeSnapshots(Database database, Logger logger, long maxAgeMillis) {
+        this.database = database;
+        this.logger = logger;
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    /** Note that the underlying tables changed, so the next refresh check rebuilds. */
+    public void markDirty() {
+        dirty.set(true);
+    }
+
+    /** Rebuild if something was written or the snapshot is too old; otherwise do nothing. */
+    public void refreshIfNeeded() {
+        Generation generation = current;
+        boolean stale =
+                generation == null
+                        || System.currentTimeMillis() - generation.builtAt >= maxAgeMillis;
+        if (dirty.get() || stale) {
+            try {
+                refresh();
+            } catch (Exception e) {
+                // Keep serving the previous generation
+                logger.warning("Failed to refresh arcade API snapshots: " + e.getMessage());
+            }
+        }
+    }
+
+    /** Rebuild every list from the database and publish them together. */
+    public void refresh() throws Exception {
+        synchronized (refreshLock) {
+            // Cleared first, so a write landing mid-build marks the next refresh
+            dirty.set(false);
+            try {
+                Map<String, List<JSONObject>> leaderboards = new HashMap<>();
+                for (String type : LEADERBOARD_TYPES) {
+                    leaderboards.put(type, queryLeaderboard(type));
+                }
+                current =
+                        new Generation(
+                                leaderboards, queryRecentWins(), System.currentTimeMillis());
+            } catch (Exception e) {
+                dirty.set(true);
+                throw e;
+            }
+        }
+    }
+
+    /** The top {@code limit} entries of a leaderboard; unknown types rank by net profit. */
+    public Response leaderboard(String type, int limit) throws Exception {
+        String key = LEADERBOARD_TYPES.contains(type) ? type : "net_profit";
+        Generation generation = ensureBuilt();
+        int rows = clampLimit(limit);
+        return generation.rendered.computeIfAbsent(
+                "leaderboard:" + key + ":" + rows,
+                k -> render(generation.leaderboards.get(key), rows));
+    }
+
+    /** The {@code limit} most recent big wins. */
+    public Response recentWins(int limit) throws Exception {
+        Generation generation = ensureBuilt();
+        int rows = clampLimit(limit);
+        return generation.rendered.computeIfAbsent(
+                "recent:" + rows, k -> render(generation.recentWins, rows));
+    }
+
+    /** Wrap a body that is built per request, such as a player's stats. */
+    public static Response response(String json) {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        return new Response(body, etag(body));
+    }
+
+    /** Whether an If-None-Match header value matches the ETag. */
+    public static boolean matchesETag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            // Weak comparison, as RFC 9110 asks for If-None-Match
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    long getBuiltAt() {
+        Generation generation = current;
+        return generation != null ? generation.builtAt : 0;
+    }
+
+    private Generation ensureBuilt() throws Exception {
+        Generation generation = current;
+        if (generation == null) {
+            synchronized (refreshLock) {
+                if (current == null) {
+                    refresh();
+                }
+                generation = current;
+            }
+        }
+        return generation;
+    }
+
+    private static int clampLimit(int limit) {
+        return Math.max(0, Math.min(limit, MAX_ROWS));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Response render(List<JSONObject> entries, int limit) {
+        JSONArray array = new JSONArray();
+        array.addAll(entries.subList(0, Math.min(limit, entries.size())));
+        return response(array.toJSONString());
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 12) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM ships SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<JSONObject> queryLeaderboard(String type) throws Exception {
+        List<JSONObject> entries = new ArrayList<>();
+        try (ResultSet rs = database.executeQuery(getLeaderboardSQL(type))) {
+            int rank = 1;
+            while (rs.next()) {
+                JSONObject entry = new JSONObject();
+                entry.put("rank", rank++);
+                entry.put("player_name", rs.getString("player_name"));
+                entry.put("player_uuid", rs.getString("player_uuid"));
+
+                switch (type) {
+                    case "net_profit":
+                        entry.put("value", rs.getLong("net_profit"));
+                        entry.put("label", "$" + formatNumber(rs.getLong("net_profit")));
+                        break;
+                    case "crash_mult":
+                        entry.put("value", rs.getDouble("crash_highest_mult"));
+                        entry.put(
+                                "label",
+                                String.format("%.2fx", rs.getDouble("crash_highest_mult")));
+                        break;
+                    case "biggest_win":
+                        int biggestWin =
+                                Math.max(
+                                        rs.getInt("crash_biggest_win"),
+                                        Math.max(
+                                                rs.getInt("lottery_biggest_win"),
+                                                rs.getInt("dice_biggest_win")));
+                        entry.put("value", biggestWin);
+                        entry.put("label", "$" + formatNumber(biggestWin));
+                        break;
+                    case "total_wagered":
+                        entry.put("value", rs.getLong("total_wagered"));
+                        entry.put("label", "$" + formatNumber(rs.getLong("total_wagered")));
+                        break;
+                }
+
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<JSONObject> queryRecentWins() throws Exception {
+        List<JSONObject> entries = new ArrayList<>();
+        try (ResultSet rs =
+                database.executeQuery(
+                        "SELECT h.*, s.player_name FROM server_arcade_history h "
+                                + "LEFT JOIN server_arcade_stats s ON h.player_uuid = s.player_uuid "
+                                + "WHERE h.won = TRUE AND h.payout > 10000 "
+                                + "ORDER BY h.timestamp DESC LIMIT "
+                                + MAX_ROWS)) {
+
+            while (rs.next()) {
+                JSONObject entry = new JSONObject();
+                entry.put("player_name", rs.getString("player_name"));
+                entry.put("game_type", rs.getString("game_type"));
+                entry.put("bet", rs.getInt("bet_amount"));
+                entry.put("payout", rs.getInt("payout"));
+                entry.put("multiplier", rs.getDouble("multiplier"));
+                entry.put("timestamp", rs.getLong("timestamp"));
+
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    /** Get SQL for leaderboard type. */
+    private static String getLeaderboardSQL(String type) {
+        String orderBy =
+                switch (type) {
+                    case "crash_mult" -> "crash_highest_mult DESC";
+                    case "biggest_win" ->
+                            "GREATEST(crash_biggest_win, lottery_biggest_win, dice_biggest_win) DESC";
+                    case "total_wagered" -> "total_wagered DESC";
+                    default -> "net_profit DESC";
+                };
+
+        return "SELECT * FROM server_arcade_stats ORDER BY " + orderBy + " LIMIT " + MAX_ROWS;
+    }
+
+    /** Format large numbers with K/M/B suffixes. */
+    private static String formatNumber(long num) {
+        if (num >= 1_000_000_000) return String.format("%.1fB", num / 1_000_000_000.0);
+        if (num >= 1_000_000) return String.format("%.1fM", num / 1_000_000.0);
+        if (num >= 1_000) return String.format("%.1fK", num / 1_000.0);
+        return String.valueOf(num);
+    }
+
+    private static final class Generation {
+        private final Map<String, List<JSONObject>> leaderboards;
+        private final List<JSONObject> recentWins;
+        private final long builtAt;
+
+        // Serialized bodies by list and limit, filled on first request
+        private final Map<String, Response> rendered = new ConcurrentHashMap<>();
+
+        Generation(
+                Map<String, List<JSONObject>> leaderboards,
+                List<JSONObject> recentWins,
+                long builtAt) {
+            this.leaderboards = leaderboards;
+            this.recentWins = recentWins;
+            this.builtAt = builtAt;
+        }
+    }
+}
@@ -1,7 +1,5 @@
 package net.serverplugins.arcade.api;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpServer;
@@ -9,13 +7,15 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
-import java.sql.ResultSet;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import net.serverplugins.api.database.Database;
 import net.serverplugins.arcade.ServerArcade;
 import net.serverplugins.arcade.statistics.StatisticsTracker;
-import org.json.simple.JSONArray;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
 import org.json.simple.JSONObject;
 
 /**
@@ -25,6 +25,10 @@ import org.json.simple.JSONObject;
  * /api/arcade/stats/{uuid} - Get player statistics GET /api/arcade/recent - Get recent big wins
  *
  * <p>Example: http://localhost:8080/api/arcade/leaderboard/net_profit
+ *
+ * <p>Leaderboards and recent wins are served from {@link ArcadeSnapshots}, rebuilt in the
+ * background after stat writes, with ETag / If-None-Match revalidation. Requests run on virtual
+ * threads, so a slow player stats lookup does not hold up other requests.
  */
 public class ArcadeStatsAPI {
 
@@ -32,6 +36,8 @@ public class ArcadeStatsAPI {
     private final Database database;
     private final StatisticsTracker tracker;
     private HttpServer server;
+    private ExecutorService executor;
+    private BukkitTask refreshTask;
     private final int port;
 
     // SECURITY: API key authentication
@@ -47,9 +53,9 @@ public class ArcadeStatsAPI {
     // SECURITY: Configurable CORS
     private final List<String> allowedOrigins;
 
-    // PERFORMANCE: Cache leaderboards to reduce database load
-    // Format: "type:limit" -> JSONArray
-    private final Cache<String, String> leaderboardCache;
+    // PERFORMANCE: Leaderboards and recent wins served from memory
+    private final ArcadeSnapshots snapshots;
+    private final int refreshSeconds;
 
     public ArcadeStatsAPI(ServerArcade plugin) {
         this.plugin = plugin;
@@ -100,29 +106,25 @@ public class ArcadeStatsAPI {
                     .warning("API rate limiting disabled - server may be vulnerable to abuse");
         }
 
-        // PERFORMANCE: Initialize leaderboard cache with configured expiration
+        // PERFORMANCE: Snapshots are checked every few seconds and rebuilt only after writes,
+        // or once they reach the leaderboard TTL (to pick up changes made outside the plugin)
         int leaderboardTtlMinutes =
-                plugin.getConfig().getInt("performance.cache.leaderboard_ttl_minutes", 5);
-        int maxEntries = plugin.getConfig().getInt("performance.cache.max_entries", 10000);
-        int cacheSize =
-                Math.min(
-                        100,
-                        maxEntries / 100); // Use 1% of max entries or 100, whichever is smaller
-
-        this.leaderboardCache =
-                Caffeine.newBuilder()
-                        .expireAfterWrite(
-                                leaderboardTtlMinutes, java.util.concurrent.TimeUnit.MINUTES)
-                        .maximumSize(cacheSize)
-                        .build();
+                Math.max(
+                        1,
+                        plugin.getConfig().getInt("performance.cache.leaderboard_ttl_minutes", 5));
+        this.refreshSeconds =
+                Math.max(1, plugin.getConfig().getInt("api.snapshot_refresh_seconds", 10));
+        this.snapshots =
+                new ArcadeSnapshots(
+                        database, plugin.getLogger(), leaderboardTtlMinutes * 60_000L);
 
         plugin.getLogger()
                 .info(
                         "API leaderboard cache initialized ("
+                                + refreshSeconds
+                                + "s refresh after writes, "
                                 + leaderboardTtlMinutes
-                                + "min TTL, "
-                                + cacheSize
-                                + " max entries)");
+                                + "min max age)");
     }
 
     /** Start the HTTP API server. */
@@ -168,9 +170,23 @@ public class ArcadeStatsAPI {
             server.createContext("/api/arcade/stats", new PlayerStatsHandler());
             server.createContext("/api/arcade/recent", new RecentWinsHandler());
 
-            server.setExecutor(null); // Use default executor
+            // One virtual thread per request, so a slow database call only blocks its own
+            executor = Executors.newVirtualThreadPerTaskExecutor();
+            server.setExecutor(executor);
             server.start();
 
+            // Writes mark the snapshots dirty; the refresh task rebuilds them off the main thread
+            if (tracker != null) {
+                tracker.setWriteListener(snapshots::markDirty);
+            }
+            refreshTask =
+                    Bukkit.getScheduler()
+                            .runTaskTimerAsynchronously(
+                                    plugin,
+                                    snapshots::refreshIfNeeded,
+                                    0L,
+                                    refreshSeconds * 20L);
+
             plugin.getLogger().info("Arcade Stats API started on port " + port);
         } catch (IOException e) {
             plugin.getLogger().severe("Failed to start API server: " + e.getMessage());
@@ -179,10 +195,21 @@ public class ArcadeStatsAPI {
 
     /** Stop the HTTP API server. */
     public void stop() {
+        if (refreshTask != null) {
+            refreshTask.cancel();
+            refreshTask = null;
+        }
+        if (tracker != null) {
+            tracker.setWriteListener(null);
+        }
         if (server != null) {
             server.stop(0);
             plugin.getLogger().info("Arcade Stats API stopped");
         }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
     }
 
     /**
@@ -192,7 +219,6 @@ public class ArcadeStatsAPI {
      */
     private class LeaderboardHandler implements HttpHandler {
         @Override
-        @SuppressWarnings("unchecked")
         public void handle(HttpExchange exchange) throws IOException {
             // SECURITY: Check authentication and rate limiting
             if (!checkAuth(exchange)) return;
@@ -213,66 +239,10 @@ public class ArcadeStatsAPI {
                 }
             }
 
-            // PERFORMANCE: Check cache first
-            String cacheKey = type + ":" + limit;
-            String cachedResult = leaderboardCache.getIfPresent(cacheKey);
-            if (cachedResult != null) {
-                logRequest(exchange, "SUCCESS (CACHED)");
-                sendJSON(exchange, 200, cachedResult);
-                return;
-            }
-
-            JSONArray leaderboard = new JSONArray();
-
             try {
-                String sql = getLeaderboardSQL(type, limit);
-                try (ResultSet rs = database.executeQuery(sql)) {
-
-                    int rank = 1;
-                    while (rs.next()) {
-                        JSONObject entry = new JSONObject();
-                        entry.put("rank", rank++);
-                        entry.put("player_name", rs.getString("player_name"));
-                        entry.put("player_uuid", rs.getString("player_uuid"));
-
-                        switch (type) {
-                            case "net_profit":
-                                entry.put("value", rs.getLong("net_profit"));
-                                entry.put("label", "$" + formatNumber(rs.getLong("net_profit")));
-                                break;
-                            case "crash_mult":
-                                entry.put("value", rs.getDouble("crash_highest_mult"));
-                                entry.put(
-                                        "label",
-                                        String.format("%.2fx", rs.getDouble("crash_highest_mult")));
-                                break;
-                            case "biggest_win":
-                                int biggestWin =
-                                        Math.max(
-                                                rs.getInt("crash_biggest_win"),
-                                                Math.max(
-                                                        rs.getInt("lottery_biggest_win"),
-                                                        rs.getInt("dice_biggest_win")));
-                                entry.put("value", biggestWin);
-                                entry.put("label", "$" + formatNumber(biggestWin));
-                                break;
-                            case "total_wagered":
-                                entry.put("value", rs.getLong("total_wagered"));
-                                entry.put("label", "$" + formatNumber(rs.getLong("total_wagered")));
-                                break;
-                        }
-
-                        leaderboard.add(entry);
-                    }
-                } // close ResultSet
-
-                // PERFORMANCE: Cache the result
-                String result = leaderboard.toJSONString();
-                leaderboardCache.put(cacheKey, result);
-
+                // PERFORMANCE: Served from the latest snapshot
+                sendCached(exchange, snapshots.leaderboard(type, limit));
                 logRequest(exchange, "SUCCESS");
-                sendJSON(exchange, 200, result);
-
             } catch (Exception e) {
                 plugin.getLogger().warning("API error: " + e.getMessage());
                 sendJSON(exchange, 500, "{\"error\":\"Internal server error\"}");
@@ -347,14 +317,13 @@ public class ArcadeStatsAPI {
             json.put("streaks", streaks);
 
             logRequest(exchange, "SUCCESS");
-            sendJSON(exchange, 200, json.toJSONString());
+            sendCached(exchange, ArcadeSnapshots.response(json.toJSONString()));
         }
     }
 
     /** Recent big wins endpoint handler. GET /api/arcade/recent?limit=20 */
     private class RecentWinsHandler implements HttpHandler {
         @Override
-        @SuppressWarnings("unchecked")
         public void handle(HttpExchange exchange) throws IOException {
             // SECURITY: Check authentication and rate limiting
             if (!checkAuth(exchange)) return;
@@ -370,31 +339,10 @@ public class ArcadeStatsAPI {
                 }
             }
 
-            JSONArray recent = new JSONArray();
-
-            try (ResultSet rs =
-                    database.executeQuery(
-                            "SELECT h.*, s.player_name FROM server_arcade_history h "
-                                    + "LEFT JOIN server_arcade_stats s ON h.player_uuid = s.player_uuid "
-                                    + "WHERE h.won = TRUE AND h.payout > 10000 "
-                                    + "ORDER BY h.timestamp DESC LIMIT "
-                                    + limit)) {
-
-                while (rs.next()) {
-                    JSONObject entry = new JSONObject();
-                    entry.put("player_name", rs.getString("player_name"));
-                    entry.put("game_type", rs.getString("game_type"));
-                    entry.put("bet", rs.getInt("bet_amount"));
-                    entry.put("payout", rs.getInt("payout"));
-                    entry.put("multiplier", rs.getDouble("multiplier"));
-                    entry.put("timestamp", rs.getLong("timestamp"));
-
-                    recent.add(entry);
-                }
-
+            try {
+                // PERFORMANCE: Served from the latest snapshot
+                sendCached(exchange, snapshots.recentWins(limit));
                 logRequest(exchange, "SUCCESS");
-                sendJSON(exchange, 200, recent.toJSONString());
-
             } catch (Exception e) {
                 plugin.getLogger().warning("API error: " + e.getMessage());
                 sendJSON(exchange, 500, "{\"error\":\"Internal server error\"}");
@@ -402,20 +350,6 @@ public class ArcadeStatsAPI {
         }
     }
 
-    /** Get SQL for leaderboard type. */
-    private String getLeaderboardSQL(String type, int limit) {
-        String orderBy =
-                switch (type) {
-                    case "crash_mult" -> "crash_highest_mult DESC";
-                    case "biggest_win" ->
-                            "GREATEST(crash_biggest_win, lottery_biggest_win, dice_biggest_win) DESC";
-                    case "total_wagered" -> "total_wagered DESC";
-                    default -> "net_profit DESC";
-                };
-
-        return "SELECT * FROM server_arcade_stats ORDER BY " + orderBy + " LIMIT " + limit;
-    }
-
     /** SECURITY: Check API key authentication. */
     private boolean checkAuth(HttpExchange exchange) throws IOException {
         if (!requireAuth) return true;
@@ -464,22 +398,49 @@ public class ArcadeStatsAPI {
 
     /** Send JSON response. */
     private void sendJSON(HttpExchange exchange, int statusCode, String json) throws IOException {
-        byte[] response = json.getBytes(StandardCharsets.UTF_8);
+        sendJSON(exchange, statusCode, json.getBytes(StandardCharsets.UTF_8));
+    }
 
+    private void sendJSON(HttpExchange exchange, int statusCode, byte[] response)
+            throws IOException {
         exchange.getResponseHeaders().set("Content-Type", "application/json");
+        applyCors(exchange);
 
-        // SECURITY: Configurable CORS instead of wildcard
+        exchange.sendResponseHeaders(statusCode, response.length);
+
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(response);
+        }
+    }
+
+    /**
+     * PERFORMANCE: Send a pre-serialized body with its ETag, or an empty 304 if the client already
+     * has it.
+     */
+    private void sendCached(HttpExchange exchange, ArcadeSnapshots.Response response)
+            throws IOException {
+        exchange.getResponseHeaders().set("ETag", response.etag());
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+
+        String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+        if (ArcadeSnapshots.matchesETag(ifNoneMatch, response.etag())) {
+            applyCors(exchange);
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        sendJSON(exchange, 200, response.body());
+    }
+
+    /** SECURITY: Configurable CORS instead of wildcard */
+    private void applyCors(HttpExchange exchange) {
         String origin = exchange.getRequestHeaders().getFirst("Origin");
         if (origin != null && (allowedOrigins.contains("*") || allowedOrigins.contains(origin))) {
             exchange.getResponseHeaders().set("Access-Control-Allow-Origin", origin);
+            exchange.getResponseHeaders().set("Access-Control-Expose-Headers", "ETag");
         } else if (allowedOrigins.contains("*")) {
             exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
-        }
-
-        exchange.sendResponseHeaders(statusCode, response.length);
-
-        try (OutputStream os = exchange.getResponseBody()) {
-            os.write(response);
+            exchange.getResponseHeaders().set("Access-Control-Expose-Headers", "ETag");
         }
     }
 
@@ -520,12 +481,4 @@ public class ArcadeStatsAPI {
             }
         }
     }
-
-    /** Format large numbers with K/M/B suffixes. */
-    private String formatNumber(long num) {
-        if (num >= 1_000_000_000) return String.format("%.1fB", num / 1_000_000_000.0);
-        if (num >= 1_000_000) return String.format("%.1fM", num / 1_000_000.0);
-        if (num >= 1_000) return String.format("%.1fK", num / 1_000.0);
-        return String.valueOf(num);
-    }
 }
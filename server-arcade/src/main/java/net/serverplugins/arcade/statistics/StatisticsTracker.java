@@ -22,6 +22,9 @@ public class StatisticsTracker {
     // Configurable TTL with write-through invalidation
     private final Cache<UUID, PlayerStats> statsCache;
 
+    // Told about every recorded game, so API snapshots know to rebuild
+    private volatile Runnable writeListener;
+
     public StatisticsTracker(ServerArcade plugin) {
         this.plugin = plugin;
         this.database = plugin.getDatabase();
@@ -46,6 +49,18 @@ public class StatisticsTracker {
                                 + " max entries)");
     }
 
+    /** Set a callback run (off the main thread) after each recorded game, or null to clear. */
+    public void setWriteListener(Runnable listener) {
+        this.writeListener = listener;
+    }
+
+    private void notifyWrite() {
+        Runnable listener = writeListener;
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
     /** Record a crash game result. */
     public void recordCrashGame(
             UUID playerId, String playerName, int bet, double multiplier, int payout, boolean won) {
@@ -113,6 +128,7 @@ public class StatisticsTracker {
 
                                 // PERFORMANCE: Invalidate cache on write
                                 statsCache.invalidate(playerId);
+                                notifyWrite();
 
                             } catch (Exception e) {
                                 plugin.getLogger()
@@ -169,6 +185,7 @@ public class StatisticsTracker {
 
                                 // PERFORMANCE: Invalidate cache on write
                                 statsCache.invalidate(playerId);
+                                notifyWrite();
 
                             } catch (Exception e) {
                                 plugin.getLogger()
@@ -219,6 +236,7 @@ public class StatisticsTracker {
 
                                 // PERFORMANCE: Invalidate cache on write
                                 statsCache.invalidate(playerId);
+                                notifyWrite();
 
                             } catch (Exception e) {
                                 plugin.getLogger()
@@ -293,6 +311,7 @@ public class StatisticsTracker {
 
                                 // PERFORMANCE: Invalidate cache on write
                                 statsCache.invalidate(playerId);
+                                notifyWrite();
 
                             } catch (Exception e) {
                                 plugin.getLogger()
@@ -0,0 +1,199 @@
+package net.serverplugins.arcade.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+import net.serverplugins.api.database.Database;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/** Tests for the in-memory leaderboard and recent wins snapshots behind ArcadeStatsAPI. */
+@ExtendWith(MockitoExtension.class)
+class ArcadeSnapshotsTest {
+
+    @Mock(lenient = true)
+    private Database database;
+
+    @Mock(lenient = true)
+    private Logger logger;
+
+    private List<Map<String, Object>> statsRows;
+    private List<Map<String, Object>> historyRows;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        statsRows = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            statsRows.add(statsRow("Player" + i, 1_000_000L - i * 1000L));
+        }
+        historyRows = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            historyRows.add(historyRow("Player" + i, 20_000 + i));
+        }
+
+        when(database.executeQuery(startsWith("SELECT * FROM server_arcade_stats")))
+                .thenAnswer(invocation -> resultSet(statsRows, limitOf(invocation.getArgument(0))));
+        when(database.executeQuery(startsWith("SELECT h.*")))
+                .thenAnswer(
+                        invocation -> resultSet(historyRows, limitOf(invocation.getArgument(0))));
+    }
+
+    @Test
+    void testLeaderboardIsServedFromOneBuild() throws Exception {
+        ArcadeSnapshots snapshots = new ArcadeSnapshots(database, logger, 60_000L);
+
+        String top10 = body(snapshots.leaderboard("net_profit", 10));
+        String top3 = body(snapshots.leaderboard("net_profit", 3));
+        body(snapshots.leaderboard("total_wagered", 50));
+        body(snapshots.recentWins(20));
+
+        assertTrue(top10.contains("\"Player9\""));
+        assertFalse(top10.contains("\"Player10\""));
+        assertTrue(top3.contains("\"Player2\""));
+        assertFalse(top3.contains("\"Player3\""));
+
+        // One query per leaderboard type plus recent wins, however many requests
+        verify(database, times(ArcadeSnapshots.LEADERBOARD_TYPES.size() + 1))
+                .executeQuery(anyString());
+    }
+
+    @Test
+    void testLimitsAreClamped() throws Exception {
+        ArcadeSnapshots snapshots = new ArcadeSnapshots(database, logger, 60_000L);
+
+        assertEquals("[]", body(snapshots.leaderboard("net_profit", -5)));
+        String all = body(snapshots.leaderboard("net_profit", 500));
+        assertTrue(all.contains("\"Player99\""));
+        assertFalse(all.contains("\"Player100\""));
+        assertEquals(
+                body(snapshots.leaderboard("net_profit", 10)),
+                body(snapshots.leaderboard("no_such_type", 10)));
+    }
+
+    @Test
+    void testETagSurvivesUnchangedRebuild() throws Exception {
+        ArcadeSnapshots snapshots = new ArcadeSnapshots(database, logger, 60_000L);
+        String before = snapshots.leaderboard("net_profit", 10).etag();
+
+        snapshots.refresh();
+        assertEquals(before, snapshots.leaderboard("net_profit", 10).etag());
+
+        statsRows.set(0, statsRow("NewLeader", 5_000_000L));
+        snapshots.refresh();
+        assertNotEquals(before, snapshots.leaderboard("net_profit", 10).etag());
+    }
+
+    @Test
+    void testRefreshOnlyWhenDirtyOrStale() throws Exception {
+        ArcadeSnapshots snapshots = new ArcadeSnapshots(database, logger, 60_000L);
+        snapshots.refreshIfNeeded();
+        long builtAt = snapshots.getBuiltAt();
+        assertTrue(builtAt > 0);
+
+        clearInvocations(database);
+        snapshots.refreshIfNeeded();
+        verify(database, never()).executeQuery(anyString());
+
+        snapshots.markDirty();
+        snapshots.refreshIfNeeded();
+        verify(database, times(ArcadeSnapshots.LEADERBOARD_TYPES.size() + 1))
+                .executeQuery(anyString());
+    }
+
+    @Test
+    void testFailedRefreshKeepsPreviousSnapshot() throws Exception {
+        ArcadeSnapshots snapshots = new ArcadeSnapshots(database, logger, 60_000L);
+        String before = body(snapshots.leaderboard("net_profit", 10));
+
+        doThrow(new SQLException("down")).when(database).executeQuery(anyString());
+        snapshots.markDirty();
+        snapshots.refreshIfNeeded();
+
+        assertEquals(before, body(snapshots.leaderboard("net_profit", 10)));
+        verify(logger).warning(contains("down"));
+    }
+
+    @Test
+    void testMatchesETag() {
+        String etag = "\"abc123\"";
+
+        assertTrue(ArcadeSnapshots.matchesETag(etag, etag));
+        assertTrue(ArcadeSnapshots.matchesETag("W/\"abc123\"", etag));
+        assertTrue(ArcadeSnapshots.matchesETag("\"zzz\", \"abc123\"", etag));
+        assertTrue(ArcadeSnapshots.matchesETag("*", etag));
+        assertFalse(ArcadeSnapshots.matchesETag(null, etag));
+        assertFalse(ArcadeSnapshots.matchesETag("\"abc\"", etag));
+    }
+
+    private static String body(ArcadeSnapshots.Response response) {
+        return new String(response.body(), StandardCharsets.UTF_8);
+    }
+
+    private static int limitOf(String sql) {
+        return Integer.parseInt(sql.substring(sql.lastIndexOf("LIMIT ") + 6).trim());
+    }
+
+    private static Map<String, Object> statsRow(String name, long netProfit) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("player_name", name);
+        row.put("player_uuid", "uuid-" + name);
+        row.put("net_profit", netProfit);
+        row.put("total_wagered", netProfit * 2);
+        row.put("crash_highest_mult", 2.5);
+        row.put("crash_biggest_win", 100);
+        row.put("lottery_biggest_win", 200);
+        row.put("dice_biggest_win", 300);
+        return row;
+    }
+
+    private static Map<String, Object> historyRow(String name, int payout) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("player_name", name);
+        row.put("game_type", "crash");
+        row.put("bet_amount", 1000);
+        row.put("payout", payout);
+        row.put("multiplier", payout / 1000.0);
+        row.put("timestamp", 1_700_000_000_000L + payout);
+        return row;
+    }
+
+    /** A ResultSet over the first {@code limit} rows, already in query order. */
+    private static ResultSet resultSet(List<Map<String, Object>> rows, int limit)
+            throws Exception {
+        List<Map<String, Object>> page = List.copyOf(rows.subList(0, Math.min(limit, rows.size())));
+        int[] cursor = {-1};
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.next()).thenAnswer(invocation -> ++cursor[0] < page.size());
+        when(rs.getString(anyString()))
+                .thenAnswer(
+                        invocation -> (String) page.get(cursor[0]).get(invocation.getArgument(0)));
+        when(rs.getLong(anyString()))
+                .thenAnswer(
+                        invocation ->
+                                ((Number) page.get(cursor[0]).get(invocation.getArgument(0)))
+                                        .longValue());
+        when(rs.getInt(anyString()))
+                .thenAnswer(
+                        invocation ->
+                                ((Number) page.get(cursor[0]).get(invocation.getArgument(0)))
+                                        .intValue());
+        when(rs.getDouble(anyString()))
+                .thenAnswer(
+                        invocation ->
+                                ((Number) page.get(cursor[0]).get(invocation.getArgument(0)))
+                                        .doubleValue());
+        return rs;
+    }
+}
@@ -0,0 +1,157 @@
+package net.serverplugins.arcade.api;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local load generator for a running {@link ArcadeStatsAPI}. Not a unit test, so surefire does not
+ * pick it up; run it from an IDE or with {@code java -cp target/test-classes}.
+ *
+ * <pre>
+ * ArcadeStatsLoadHarness &lt;baseUrl&gt; &lt;apiKey&gt; [concurrency] [seconds] [revalidate]
+ * </pre>
+ *
+ * <p>Each worker loops over the leaderboard and recent wins endpoints. With {@code revalidate}
+ * set, workers send back the last ETag they saw, as a polling website would. Set {@code
+ * api.rate_limiting.enabled: false} on the test server, or most requests come back 429.
+ */
+public final class ArcadeStatsLoadHarness {
+
+    private static final List<String> PATHS =
+            List.of(
+                    "/api/arcade/leaderboard?type=net_profit&limit=10",
+                    "/api/arcade/leaderboard?type=crash_mult&limit=10",
+                    "/api/arcade/leaderboard?type=biggest_win&limit=25",
+                    "/api/arcade/leaderboard?type=total_wagered&limit=100",
+                    "/api/arcade/recent?limit=20");
+
+    private ArcadeStatsLoadHarness() {}
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println(
+                    "Usage: ArcadeStatsLoadHarness <baseUrl> <apiKey> [concurrency] [seconds]"
+                            + " [revalidate]");
+            System.exit(1);
+        }
+        String baseUrl = args[0].replaceAll("/+$", "");
+        String apiKey = args[1];
+        int concurrency = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 30;
+        boolean revalidate = args.length > 4 && Boolean.parseBoolean(args[4]);
+
+        HttpClient client =
+                HttpClient.newBuilder()
+                        .connectTimeout(Duration.ofSeconds(5))
+                        .executor(Executors.newVirtualThreadPerTaskExecutor())
+                        .build();
+
+        Map<Integer, AtomicLong> statuses = new ConcurrentHashMap<>();
+        AtomicLong errors = new AtomicLong();
+        List<long[]> latencies = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        System.out.printf(
+                "Load testing %s with %d workers for %ds (revalidate=%s)%n",
+                baseUrl, concurrency, seconds, revalidate);
+
+        long started = System.nanoTime();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < concurrency; w++) {
+                long[] samples = new long[1 << 16];
+                latencies.add(samples);
+                int offset = w;
+                workers.submit(
+                        () -> {
+                            Map<String, String> etags = new HashMap<>();
+                            int count = 0;
+                            for (int i = offset; System.nanoTime() < deadline; i++) {
+                                String path = PATHS.get(i % PATHS.size());
+                                HttpRequest.Builder request =
+                                        HttpRequest.newBuilder(URI.create(baseUrl + path))
+                                                .timeout(Duration.ofSeconds(10))
+                                                .header("X-API-Key", apiKey);
+                                String etag = etags.get(path);
+                                if (revalidate && etag != null) {
+                                    request.header("If-None-Match", etag);
+                                }
+
+                                long start = System.nanoTime();
+                                try {
+                                    HttpResponse<byte[]> response =
+                                            client.send(
+                                                    request.build(),
+                                                    HttpResponse.BodyHandlers.ofByteArray());
+                                    statuses.computeIfAbsent(
+                                                    response.statusCode(), s -> new AtomicLong())
+                                            .incrementAndGet();
+                                    response.headers()
+                                            .firstValue("ETag")
+                                            .ifPresent(value -> etags.put(path, value));
+                                } catch (Exception e) {
+                                    errors.incrementAndGet();
+                                    continue;
+                                }
+                                // The last slot holds the sample count
+                                if (count < samples.length - 1) {
+                                    samples[count++] = System.nanoTime() - start;
+                                }
+                            }
+                            samples[samples.length - 1] = count;
+                            return null;
+                        });
+            }
+        }
+        double elapsed = (System.nanoTime() - started) / 1_000_000_000.0;
+
+        long total = statuses.values().stream().mapToLong(AtomicLong::get).sum();
+        System.out.printf("%d responses in %.1fs (%.0f req/s)%n", total, elapsed, total / elapsed);
+        new TreeMap<>(statuses)
+                .forEach((status, count) -> System.out.printf("  %d: %d%n", status, count.get()));
+        if (errors.get() > 0) {
+            System.out.printf("  errors: %d%n", errors.get());
+        }
+
+        long[] all = merge(latencies);
+        if (all.length > 0) {
+            Arrays.sort(all);
+            System.out.printf(
+                    "Latency p50 %.2fms, p99 %.2fms, max %.2fms%n",
+                    percentile(all, 0.50), percentile(all, 0.99), all[all.length - 1] / 1e6);
+        }
+    }
+
+    private static long[] merge(List<long[]> latencies) {
+        int size = 0;
+        for (long[] samples : latencies) {
+            size += (int) samples[samples.length - 1];
+        }
+        long[] all = new long[size];
+        int position = 0;
+        for (long[] samples : latencies) {
+            int count = (int) samples[samples.length - 1];
+            System.arraycopy(samples, 0, all, position, count);
+            position += count;
+        }
+        return all;
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(fraction * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -5,6 +5,7 @@ import java.io.InputStream;
 import net.serverplugins.api.ServerAPI;
 import net.serverplugins.api.database.Database;
 import net.serverplugins.bluemap.commands.POICommand;
+import net.serverplugins.bluemap.listeners.OwnerNameListener;
 import net.serverplugins.bluemap.markers.ClaimMarkerManager;
 import net.serverplugins.bluemap.markers.NationOverlayManager;
 import net.serverplugins.bluemap.markers.POIMarkerManager;
@@ -22,7 +23,7 @@ public class ServerBlueMap extends JavaPlugin {
     private Database database;
     private POIRepository poiRepository;
 
-    private ClaimMarkerManager claimMarkerManager;
+    private volatile ClaimMarkerManager claimMarkerManager;
     private NationOverlayManager nationOverlayManager;
     private WarZoneMarkerManager warZoneMarkerManager;
     private POIMarkerManager poiMarkerManager;
@@ -67,6 +68,10 @@ public class ServerBlueMap extends JavaPlugin {
             return;
         }
 
+        // Claim writes mark just that claim for redrawing
+        claimPlugin.getRepository().setChangeListener(this::markClaimDirty);
+        getServer().getPluginManager().registerEvents(new OwnerNameListener(this), this);
+
         // Register commands
         getCommand("poi").setExecutor(new POICommand(this, poiRepository));
 
@@ -94,6 +99,10 @@ public class ServerBlueMap extends JavaPlugin {
     public void onDisable() {
         stopUpdateTask();
 
+        if (claimPlugin != null) {
+            claimPlugin.getRepository().setChangeListener(null);
+        }
+
         if (claimMarkerManager != null) {
             claimMarkerManager.cleanup();
         }
@@ -141,12 +150,16 @@ public class ServerBlueMap extends JavaPlugin {
                         .runTaskTimerAsynchronously(
                                 this,
                                 () -> {
-                                    if (blueMapEnabled && markersNeedUpdate) {
-                                        claimMarkerManager.updateMarkers();
+                                    if (!blueMapEnabled) {
+                                        return;
+                                    }
+                                    // Claims keep their own dirty set; a no-op when it is empty
+                                    claimMarkerManager.updateMarkers();
+                                    if (markersNeedUpdate) {
+                                        markersNeedUpdate = false;
                                         nationOverlayManager.updateMarkers();
                                         warZoneMarkerManager.updateMarkers();
                                         poiMarkerManager.updateMarkers();
-                                        markersNeedUpdate = false;
                                     }
                                 },
                                 intervalTicks,
@@ -177,18 +190,37 @@ public class ServerBlueMap extends JavaPlugin {
     }
 
     /**
-     * Marks the markers as dirty, requiring an update on the next scheduled check. This is more
-     * efficient than forcing an immediate update when changes occur. Can be called from claim
-     * creation/deletion/modification events to trigger updates.
-     *
-     * <p>Note: For event-driven updates, consider implementing listeners for: - Claim
-     * creation/deletion events - Nation territory changes - War zone activation/deactivation - POI
-     * creation/deletion
+     * Marks the nation, war zone and POI layers as dirty, requiring an update on the next
+     * scheduled check. This is more efficient than forcing an immediate update when changes occur.
+     * Claims are tracked individually through {@link #markClaimDirty(int)}.
      */
     public void markDirty() {
         this.markersNeedUpdate = true;
     }
 
+    /**
+     * Marks one claim for redrawing on the next scheduled check. Called by ServerClaim whenever a
+     * claim is created, deleted, renamed, recolored, gains or loses chunks, or changes nation.
+     */
+    public void markClaimDirty(int claimId) {
+        ClaimMarkerManager manager = claimMarkerManager;
+        if (manager != null) {
+            manager.markClaimDirty(claimId);
+        }
+    }
+
+    /** Redraws every claim in the background on the next update, e.g. after a config reload. */
+    public void rebuildClaimMarkers() {
+        ClaimMarkerManager manager = claimMarkerManager;
+        if (manager != null) {
+            manager.requestFullRebuild();
+        }
+    }
+
+    public ClaimMarkerManager getClaimMarkerManager() {
+        return claimMarkerManager;
+    }
+
     /**
      * Triggers an immediate marker update, bypassing the dirty flag system. Use this for critical
      * updates that need to be reflected immediately.
@@ -325,6 +325,8 @@ public class POICommand implements CommandExecutor, TabCompleter {
         }
 
         plugin.getBlueMapConfig().reload();
+        // Colors and labels come from config, so every claim needs redrawing
+        plugin.rebuildClaimMarkers();
         plugin.triggerUpdate();
         messenger.send(sender, "config-reloaded");
 
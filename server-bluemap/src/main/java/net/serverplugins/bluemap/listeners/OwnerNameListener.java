@@ -0,0 +1,30 @@
+package net.serverplugins.bluemap.listeners;
+
+import net.serverplugins.bluemap.ServerBlueMap;
+import net.serverplugins.bluemap.markers.ClaimMarkerManager;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+
+/** Redraws a player's claims when they join under a new name or one the map did not know. */
+public class OwnerNameListener implements Listener {
+
+    private final ServerBlueMap plugin;
+
+    public OwnerNameListener(ServerBlueMap plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        ClaimMarkerManager manager = plugin.getClaimMarkerManager();
+        if (manager == null) {
+            return;
+        }
+
+        Player player = event.getPlayer();
+        manager.updateOwnerName(player.getUniqueId(), player.getName());
+    }
+}
@@ -0,0 +1,214 @@
+package net.serverplugins.bluemap.markers;
+
+import com.flowpowered.math.vector.Vector2d;
+import java.util.*;
+import net.serverplugins.claim.models.ClaimedChunk;
+
+/**
+ * The exact outline of a set of chunks: one polygon per edge-connected group of chunks, each with
+ * the holes enclosed by that group. Chunks touching only at a corner form separate polygons.
+ *
+ * <p>Rings are traced counter-clockwise around the claimed area (x east, z south), so outer rings
+ * have positive area and holes negative. Collinear points are dropped, leaving only corners.
+ */
+final class ChunkOutline {
+
+    /** An outer ring in block coordinates and the holes inside it. */
+    record Polygon(List<Vector2d> outer, List<List<Vector2d>> holes) {}
+
+    private ChunkOutline() {}
+
+    /** Trace the chunks' outline, largest polygon first. */
+    static List<Polygon> trace(Collection<ClaimedChunk> chunks) {
+        Set<Long> keys = new HashSet<>(chunks.size() * 2);
+        for (ClaimedChunk chunk : chunks) {
+            keys.add(key(chunk.getChunkX(), chunk.getChunkZ()));
+        }
+        return traceKeys(keys);
+    }
+
+    static List<Polygon> traceKeys(Set<Long> chunks) {
+        List<Polygon> polygons = new ArrayList<>();
+        List<Long> areas = new ArrayList<>();
+        Set<Long> unvisited = new HashSet<>(chunks);
+        ArrayDeque<Long> queue = new ArrayDeque<>();
+
+        for (long seed : chunks) {
+            if (!unvisited.remove(seed)) {
+                continue;
+            }
+            // Flood-fill one edge-connected group
+            List<Long> group = new ArrayList<>();
+            queue.add(seed);
+            Long next;
+            while ((next = queue.poll()) != null) {
+                group.add(next);
+                int x = x(next);
+                int z = z(next);
+                for (long neighbor :
+                        new long[] {key(x + 1, z), key(x - 1, z), key(x, z + 1), key(x, z - 1)}) {
+                    if (unvisited.remove(neighbor)) {
+                        queue.add(neighbor);
+                    }
+                }
+            }
+
+            List<int[]> rings = traceRings(group, chunks);
+            int outer = 0;
+            for (int i = 1; i < rings.size(); i++) {
+                if (area(rings.get(i)) > area(rings.get(outer))) {
+                    outer = i;
+                }
+            }
+            List<List<Vector2d>> holes = new ArrayList<>();
+            for (int i = 0; i < rings.size(); i++) {
+                if (i != outer) {
+                    holes.add(toBlocks(rings.get(i)));
+                }
+            }
+
+            // Keep polygons sorted by area, largest first
+            long groupArea = area(rings.get(outer));
+            int index = 0;
+            while (index < areas.size() && areas.get(index) >= groupArea) {
+                index++;
+            }
+            areas.add(index, groupArea);
+            polygons.add(index, new Polygon(toBlocks(rings.get(outer)), holes));
+        }
+        return polygons;
+    }
+
+    /**
+     * Every boundary ring of one group, as alternating x and z corner coordinates in chunk units.
+     * Where two chunks of the group meet only at a corner, the ring turns around the chunk it is
+     * following, so no ring crosses itself.
+     */
+    private static List<int[]> traceRings(List<Long> group, Set<Long> chunks) {
+        // Directed boundary edges, keyed by start corner; a corner starts at most two
+        Map<Long, List<Long>> outgoing = new HashMap<>();
+        for (long chunk : group) {
+            int x = x(chunk);
+            int z = z(chunk);
+            if (!chunks.contains(key(x, z - 1))) {
+                addEdge(outgoing, x, z, x + 1, z);
+            }
+            if (!chunks.contains(key(x + 1, z))) {
+                addEdge(outgoing, x + 1, z, x + 1, z + 1);
+            }
+            if (!chunks.contains(key(x, z + 1))) {
+                addEdge(outgoing, x + 1, z + 1, x, z + 1);
+            }
+            if (!chunks.contains(key(x - 1, z))) {
+                addEdge(outgoing, x, z + 1, x, z);
+            }
+        }
+
+        List<int[]> rings = new ArrayList<>();
+        while (!outgoing.isEmpty()) {
+            long start = outgoing.keySet().iterator().next();
+            long first = takeEdge(outgoing, start, 0);
+
+            List<Long> corners = new ArrayList<>();
+            corners.add(start);
+            long previous = start;
+            long current = first;
+            while (true) {
+                List<Long> candidates = outgoing.getOrDefault(current, List.of());
+                boolean canClose = current == start;
+
+                // Prefer the sharpest left turn, which keeps to the chunk being followed
+                int dx = x(current) - x(previous);
+                int dz = z(current) - z(previous);
+                int best = -1;
+                int bestTurn = Integer.MIN_VALUE;
+                for (int i = 0; i < candidates.size(); i++) {
+                    int turn = turn(dx, dz, candidates.get(i), current);
+                    if (turn > bestTurn) {
+                        best = i;
+                        bestTurn = turn;
+                    }
+                }
+                if (canClose && (best < 0 || turn(dx, dz, first, current) > bestTurn)) {
+                    break;
+                }
+
+                corners.add(current);
+                previous = current;
+                current = takeEdge(outgoing, current, best);
+            }
+            rings.add(simplify(corners));
+        }
+        return rings;
+    }
+
+    private static void addEdge(Map<Long, List<Long>> outgoing, int x0, int z0, int x1, int z1) {
+        outgoing.computeIfAbsent(key(x0, z0), k -> new ArrayList<>(2)).add(key(x1, z1));
+    }
+
+    private static long takeEdge(Map<Long, List<Long>> outgoing, long from, int index) {
+        List<Long> ends = outgoing.get(from);
+        long end = ends.remove(index);
+        if (ends.isEmpty()) {
+            outgoing.remove(from);
+        }
+        return end;
+    }
+
+    /** Positive for a left turn, zero straight on, negative for a right turn. */
+    private static int turn(int dx, int dz, long to, long from) {
+        int ex = x(to) - x(from);
+        int ez = z(to) - z(from);
+        return dx * ez - dz * ex;
+    }
+
+    /** Drop corners that lie on a straight run. */
+    private static int[] simplify(List<Long> corners) {
+        int n = corners.size();
+        int[] ring = new int[n * 2];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            long prev = corners.get((i + n - 1) % n);
+            long corner = corners.get(i);
+            long next = corners.get((i + 1) % n);
+            int dx = x(corner) - x(prev);
+            int dz = z(corner) - z(prev);
+            if (turn(dx, dz, next, corner) != 0) {
+                ring[count++] = x(corner);
+                ring[count++] = z(corner);
+            }
+        }
+        return Arrays.copyOf(ring, count);
+    }
+
+    /** Twice the signed area, in square chunks; positive for outer rings. */
+    static long area(int[] ring) {
+        long sum = 0;
+        int n = ring.length / 2;
+        for (int i = 0; i < n; i++) {
+            int j = (i + 1) % n;
+            sum += (long) ring[2 * i] * ring[2 * j + 1] - (long) ring[2 * j] * ring[2 * i + 1];
+        }
+        return sum;
+    }
+
+    private static List<Vector2d> toBlocks(int[] ring) {
+        List<Vector2d> points = new ArrayList<>(ring.length / 2);
+        for (int i = 0; i < ring.length; i += 2) {
+            points.add(new Vector2d(ring[i] * 16, ring[i + 1] * 16));
+        }
+        return points;
+    }
+
+    static long key(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    private static int x(long key) {
+        return (int) (key >> 32);
+    }
+
+    private static int z(long key) {
+        return (int) key;
+    }
+}
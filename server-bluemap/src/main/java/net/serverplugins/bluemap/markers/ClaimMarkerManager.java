@@ -9,22 +9,41 @@ import de.bluecolored.bluemap.api.markers.MarkerSet;
 import de.bluecolored.bluemap.api.math.Color;
 import de.bluecolored.bluemap.api.math.Shape;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import net.serverplugins.bluemap.BlueMapConfig;
 import net.serverplugins.bluemap.ServerBlueMap;
 import net.serverplugins.claim.ServerClaim;
 import net.serverplugins.claim.models.Claim;
-import net.serverplugins.claim.models.ClaimedChunk;
-import net.serverplugins.claim.models.PlayerClaimData;
 import org.bukkit.Bukkit;
 
+/**
+ * Draws each claim as one extruded marker per connected group of its chunks, outlined exactly
+ * (holes included) by {@link ChunkOutline}.
+ *
+ * <p>All claims are drawn once in the background when the layer starts. After that only claims
+ * reported through {@link #markClaimDirty(int)} are reloaded and redrawn, and owner names come
+ * from an in-memory cache that is filled in batches, so an update with nothing dirty does no work.
+ */
 public class ClaimMarkerManager {
 
+    private static final String MARKER_SET_ID = "serverclaim.claims";
+
+    // Owner names fetched per query during a full rebuild
+    private static final int NAME_BATCH_SIZE = 500;
+
     private final ServerBlueMap plugin;
     private final BlueMapAPI blueMapAPI;
     private final ServerClaim claimPlugin;
     private final BlueMapConfig config;
 
-    private final Map<Integer, String> claimMarkerIds = new HashMap<>();
+    // Claim ID -> marker IDs currently drawn for it, and the claim's owner
+    private final Map<Integer, List<String>> claimMarkerIds = new ConcurrentHashMap<>();
+    private final Map<Integer, UUID> claimOwners = new ConcurrentHashMap<>();
+
+    private final Set<Integer> dirtyClaims = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean fullRebuild = new AtomicBoolean(true);
+    private final Map<UUID, String> ownerNames = new ConcurrentHashMap<>();
 
     public ClaimMarkerManager(
             ServerBlueMap plugin, BlueMapAPI blueMapAPI, ServerClaim claimPlugin) {
@@ -38,33 +57,121 @@ public class ClaimMarkerManager {
         plugin.getLogger().info("Claim marker layer initialized: " + config.getClaimLayerName());
     }
 
-    public void updateMarkers() {
-        try {
-            Set<Integer> existingMarkers = new HashSet<>(claimMarkerIds.keySet());
-            List<Claim> allClaims = claimPlugin.getRepository().getAllClaims();
+    /** Redraw a claim on the next update, or remove its markers if it no longer exists. */
+    public void markClaimDirty(int claimId) {
+        dirtyClaims.add(claimId);
+    }
 
-            for (Claim claim : allClaims) {
-                updateClaimMarker(claim);
-                existingMarkers.remove(claim.getId());
-            }
+    /** Redraw every claim on the next update, e.g. after the marker style changed. */
+    public void requestFullRebuild() {
+        fullRebuild.set(true);
+    }
 
-            // Remove markers for claims that no longer exist
-            for (Integer claimId : existingMarkers) {
-                removeClaimMarker(claimId);
+    /**
+     * Redraw an owner's claims if their cached name is out of date or was never found, in which
+     * case the markers show "Unknown".
+     */
+    public void updateOwnerName(UUID ownerUuid, String name) {
+        String previous = ownerNames.put(ownerUuid, name);
+        if (name.equals(previous)) {
+            return;
+        }
+        claimOwners.forEach(
+                (claimId, owner) -> {
+                    if (owner.equals(ownerUuid)) {
+                        dirtyClaims.add(claimId);
+                    }
+                });
+    }
+
+    /** Apply pending changes. Called off the main thread; may query the database. */
+    public synchronized void updateMarkers() {
+        try {
+            if (fullRebuild.getAndSet(false)) {
+                rebuildAll();
+            } else if (!dirtyClaims.isEmpty()) {
+                rebuildDirty();
             }
         } catch (Exception e) {
             plugin.getLogger().warning("Error updating claim markers: " + e.getMessage());
         }
     }
 
-    private void updateClaimMarker(Claim claim) {
-        if (claim.getChunks().isEmpty()) return;
+    private void rebuildAll() {
+        long start = System.currentTimeMillis();
+        // Marks arriving during the load are replayed on the next update
+        dirtyClaims.clear();
+        List<Claim> allClaims = claimPlugin.getRepository().getAllClaims();
 
-        String markerId = "claim_" + claim.getId();
+        Set<UUID> owners = new HashSet<>();
+        for (Claim claim : allClaims) {
+            owners.add(claim.getOwnerUuid());
+        }
+        loadOwnerNames(owners);
+
+        Set<Integer> existingMarkers = new HashSet<>(claimMarkerIds.keySet());
+        for (Claim claim : allClaims) {
+            updateClaimMarker(claim);
+            existingMarkers.remove(claim.getId());
+        }
+
+        // Remove markers for claims that no longer exist
+        for (Integer claimId : existingMarkers) {
+            removeClaimMarker(claimId);
+        }
+
+        plugin.getLogger()
+                .info(
+                        "Drew "
+                                + allClaims.size()
+                                + " claim markers in "
+                                + (System.currentTimeMillis() - start)
+                                + "ms");
+    }
 
-        // Calculate polygon from chunks
-        List<Vector2d> polygon = calculatePolygon(claim.getChunks());
-        if (polygon.isEmpty()) return;
+    private void rebuildDirty() {
+        List<Integer> claimIds = new ArrayList<>(dirtyClaims);
+        dirtyClaims.removeAll(claimIds);
+
+        List<Claim> claims = new ArrayList<>(claimIds.size());
+        Set<UUID> owners = new HashSet<>();
+        for (int claimId : claimIds) {
+            // Cached claims are the live objects the claim plugin mutates
+            Claim claim = claimPlugin.getClaimManager().getClaimById(claimId);
+            if (claim == null) {
+                removeClaimMarker(claimId);
+            } else {
+                claims.add(claim);
+                owners.add(claim.getOwnerUuid());
+            }
+        }
+        loadOwnerNames(owners);
+
+        for (Claim claim : claims) {
+            updateClaimMarker(claim);
+        }
+    }
+
+    /** Fetch the names the cache does not have yet, a batch at a time. */
+    private void loadOwnerNames(Set<UUID> owners) {
+        List<UUID> missing = new ArrayList<>();
+        for (UUID owner : owners) {
+            if (!ownerNames.containsKey(owner)) {
+                missing.add(owner);
+            }
+        }
+        for (int i = 0; i < missing.size(); i += NAME_BATCH_SIZE) {
+            List<UUID> batch = missing.subList(i, Math.min(i + NAME_BATCH_SIZE, missing.size()));
+            ownerNames.putAll(claimPlugin.getRepository().getUsernames(batch));
+        }
+    }
+
+    private void updateClaimMarker(Claim claim) {
+        List<String> previousIds = claimMarkerIds.getOrDefault(claim.getId(), List.of());
+        if (claim.getChunks().isEmpty()) {
+            removeClaimMarker(claim.getId());
+            return;
+        }
 
         // Get world from first chunk
         String worldName = claim.getChunks().get(0).getWorld();
@@ -74,41 +181,72 @@ public class ClaimMarkerManager {
         Optional<BlueMapWorld> blueMapWorld = blueMapAPI.getWorld(bukkitWorld);
         if (!blueMapWorld.isPresent()) return;
 
-        // Create shape from polygon
-        Shape shape = new Shape(polygon.toArray(new Vector2d[0]));
-
-        // Create extruded marker - creates a vertical wall from ground to sky
-        // This ensures the claim boundary is always visible above all blocks
-        ExtrudeMarker marker =
-                ExtrudeMarker.builder()
-                        .label(buildLabel(claim))
-                        .shape(shape, 0f, 320f) // Extrude from bedrock to above max build height
-                        .fillColor(convertColor(getClaimColor(claim), config.getClaimFillOpacity()))
-                        .lineColor(convertColor(config.getClaimBorderColor(), 0.8))
-                        .lineWidth(config.getClaimBorderWidth())
-                        .detail(buildDescription(claim))
-                        .build();
-
-        // Add marker to all maps in the world
+        List<ChunkOutline.Polygon> polygons =
+                ChunkOutline.trace(new ArrayList<>(claim.getChunks()));
+
+        String label = buildLabel(claim);
+        String detail = buildDescription(claim);
+        Color fillColor = convertColor(getClaimColor(claim), config.getClaimFillOpacity());
+        Color lineColor = convertColor(config.getClaimBorderColor(), 0.8);
+
+        // The largest part keeps the plain claim ID; further parts are numbered
+        Map<String, ExtrudeMarker> markers = new LinkedHashMap<>();
+        for (int i = 0; i < polygons.size(); i++) {
+            ChunkOutline.Polygon polygon = polygons.get(i);
+            Shape[] holes = new Shape[polygon.holes().size()];
+            for (int h = 0; h < holes.length; h++) {
+                holes[h] = toShape(polygon.holes().get(h));
+            }
+
+            // Create extruded marker - creates a vertical wall from ground to sky
+            // This ensures the claim boundary is always visible above all blocks
+            ExtrudeMarker marker =
+                    ExtrudeMarker.builder()
+                            .label(label)
+                            .shape(toShape(polygon.outer()), 0f, 320f)
+                            .holes(holes)
+                            .fillColor(fillColor)
+                            .lineColor(lineColor)
+                            .lineWidth(config.getClaimBorderWidth())
+                            .detail(detail)
+                            .build();
+            String markerId = "claim_" + claim.getId() + (i == 0 ? "" : "_" + (i + 1));
+            markers.put(markerId, marker);
+        }
+
+        // Add markers to all maps in the world, dropping parts that no longer exist
         for (BlueMapMap map : blueMapWorld.get().getMaps()) {
             MarkerSet markerSet = getOrCreateMarkerSet(map);
-            markerSet.getMarkers().put(markerId, marker);
+            for (String previousId : previousIds) {
+                if (!markers.containsKey(previousId)) {
+                    markerSet.getMarkers().remove(previousId);
+                }
+            }
+            markerSet.getMarkers().putAll(markers);
         }
 
-        claimMarkerIds.put(claim.getId(), markerId);
+        claimMarkerIds.put(claim.getId(), new ArrayList<>(markers.keySet()));
+        claimOwners.put(claim.getId(), claim.getOwnerUuid());
+    }
+
+    private static Shape toShape(List<Vector2d> points) {
+        return new Shape(points.toArray(new Vector2d[0]));
     }
 
     private void removeClaimMarker(Integer claimId) {
-        String markerId = claimMarkerIds.remove(claimId);
-        if (markerId == null) return;
+        claimOwners.remove(claimId);
+        List<String> markerIds = claimMarkerIds.remove(claimId);
+        if (markerIds == null) return;
 
         // Remove from all worlds and maps
         for (BlueMapWorld world : blueMapAPI.getWorlds()) {
             for (BlueMapMap map : world.getMaps()) {
                 try {
-                    MarkerSet markerSet = map.getMarkerSets().get("serverclaim.claims");
+                    MarkerSet markerSet = map.getMarkerSets().get(MARKER_SET_ID);
                     if (markerSet != null) {
-                        markerSet.getMarkers().remove(markerId);
+                        for (String markerId : markerIds) {
+                            markerSet.getMarkers().remove(markerId);
+                        }
                     }
                 } catch (Exception e) {
                     // Ignore if marker set doesn't exist
@@ -118,7 +256,7 @@ public class ClaimMarkerManager {
     }
 
     private MarkerSet getOrCreateMarkerSet(BlueMapMap map) {
-        MarkerSet markerSet = map.getMarkerSets().get("serverclaim.claims");
+        MarkerSet markerSet = map.getMarkerSets().get(MARKER_SET_ID);
 
         if (markerSet == null) {
             markerSet =
@@ -126,37 +264,12 @@ public class ClaimMarkerManager {
                             .label(config.getClaimLayerName())
                             .defaultHidden(!config.isClaimLayerDefaultVisible())
                             .build();
-            map.getMarkerSets().put("serverclaim.claims", markerSet);
+            map.getMarkerSets().put(MARKER_SET_ID, markerSet);
         }
 
         return markerSet;
     }
 
-    private List<Vector2d> calculatePolygon(List<ClaimedChunk> chunks) {
-        if (chunks.isEmpty()) return Collections.emptyList();
-
-        // Get bounding box
-        int minX = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE;
-        int minZ = Integer.MAX_VALUE, maxZ = Integer.MIN_VALUE;
-
-        for (ClaimedChunk chunk : chunks) {
-            minX = Math.min(minX, chunk.getChunkX());
-            maxX = Math.max(maxX, chunk.getChunkX());
-            minZ = Math.min(minZ, chunk.getChunkZ());
-            maxZ = Math.max(maxZ, chunk.getChunkZ());
-        }
-
-        // Convert chunk coords to block coords (each chunk is 16x16)
-        // BlueMap uses Vector2d with x and z coordinates
-        List<Vector2d> polygon = new ArrayList<>();
-        polygon.add(new Vector2d(minX * 16, minZ * 16));
-        polygon.add(new Vector2d((maxX + 1) * 16, minZ * 16));
-        polygon.add(new Vector2d((maxX + 1) * 16, (maxZ + 1) * 16));
-        polygon.add(new Vector2d(minX * 16, (maxZ + 1) * 16));
-
-        return polygon;
-    }
-
     private java.awt.Color getClaimColor(Claim claim) {
         if (claim.getColor() != null) {
             org.bukkit.Color bukkitColor = claim.getColor().getBukkitColor();
@@ -170,10 +283,12 @@ public class ClaimMarkerManager {
                 awtColor.getRed(), awtColor.getGreen(), awtColor.getBlue(), (float) opacity);
     }
 
+    private String getOwnerName(Claim claim) {
+        return ownerNames.getOrDefault(claim.getOwnerUuid(), "Unknown");
+    }
+
     private String buildLabel(Claim claim) {
-        // Get owner name
-        PlayerClaimData ownerData = claimPlugin.getRepository().getPlayerData(claim.getOwnerUuid());
-        String ownerName = ownerData != null ? ownerData.getUsername() : "Unknown";
+        String ownerName = getOwnerName(claim);
 
         if (config.showClaimName()) {
             return claim.getName() + " (" + ownerName + ")";
@@ -187,10 +302,7 @@ public class ClaimMarkerManager {
         desc.append("<strong>").append(claim.getName()).append("</strong><br>");
 
         if (config.showClaimOwner()) {
-            PlayerClaimData ownerData =
-                    claimPlugin.getRepository().getPlayerData(claim.getOwnerUuid());
-            String ownerName = ownerData != null ? ownerData.getUsername() : "Unknown";
-            desc.append("Owner: ").append(ownerName).append("<br>");
+            desc.append("Owner: ").append(getOwnerName(claim)).append("<br>");
         }
 
         desc.append("Chunks: ").append(claim.getChunks().size()).append("<br>");
@@ -215,5 +327,7 @@ public class ClaimMarkerManager {
             removeClaimMarker(claimId);
         }
         claimMarkerIds.clear();
+        claimOwners.clear();
+        dirtyClaims.clear();
     }
 }
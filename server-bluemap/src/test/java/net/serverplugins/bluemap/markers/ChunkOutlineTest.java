@@ -0,0 +1,105 @@
+package net.serverplugins.bluemap.markers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.flowpowered.math.vector.Vector2d;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import net.serverplugins.claim.models.ClaimedChunk;
+import org.junit.jupiter.api.Test;
+
+class ChunkOutlineTest {
+
+    @Test
+    void testSingleChunkIsOneSquare() {
+        List<ChunkOutline.Polygon> polygons = ChunkOutline.trace(chunks("#"));
+
+        assertEquals(1, polygons.size());
+        assertEquals(4, polygons.get(0).outer().size());
+        assertTrue(polygons.get(0).holes().isEmpty());
+        assertEquals(256 * 2, area(polygons.get(0).outer()));
+    }
+
+    @Test
+    void testLShapeFollowsTheChunks() {
+        // A bounding box would cover 6 chunks; the outline covers the 4 claimed
+        List<ChunkOutline.Polygon> polygons = ChunkOutline.trace(chunks("#.", "#.", "##"));
+
+        assertEquals(1, polygons.size());
+        assertEquals(6, polygons.get(0).outer().size());
+        assertEquals(4 * 256 * 2, area(polygons.get(0).outer()));
+    }
+
+    @Test
+    void testRingHasHole() {
+        List<ChunkOutline.Polygon> polygons = ChunkOutline.trace(chunks("###", "#.#", "###"));
+
+        assertEquals(1, polygons.size());
+        assertEquals(1, polygons.get(0).holes().size());
+        List<Vector2d> hole = polygons.get(0).holes().get(0);
+        assertEquals(-256 * 2, area(hole));
+        assertTrue(hole.contains(new Vector2d(16, 16)));
+        assertTrue(hole.contains(new Vector2d(32, 32)));
+    }
+
+    @Test
+    void testDisconnectedPartsAreSeparatePolygonsLargestFirst() {
+        List<ChunkOutline.Polygon> polygons = ChunkOutline.trace(chunks("#..##", ".#.##"));
+
+        assertEquals(3, polygons.size());
+        assertEquals(4 * 256 * 2, area(polygons.get(0).outer()));
+        assertEquals(256 * 2, area(polygons.get(1).outer()));
+        assertEquals(256 * 2, area(polygons.get(2).outer()));
+    }
+
+    @Test
+    void testRandomShapesCoverExactlyTheirChunks() {
+        Random random = new Random(42);
+        for (int round = 0; round < 500; round++) {
+            List<ClaimedChunk> chunks = new ArrayList<>();
+            for (int x = 0; x < 8; x++) {
+                for (int z = 0; z < 8; z++) {
+                    if (random.nextInt(100) < 55) {
+                        chunks.add(new ClaimedChunk(1, "world", x, z));
+                    }
+                }
+            }
+
+            long total = 0;
+            for (ChunkOutline.Polygon polygon : ChunkOutline.trace(chunks)) {
+                assertTrue(area(polygon.outer()) > 0);
+                total += area(polygon.outer());
+                for (List<Vector2d> hole : polygon.holes()) {
+                    assertTrue(area(hole) < 0);
+                    total += area(hole);
+                }
+            }
+            assertEquals(chunks.size() * 256L * 2, total);
+        }
+    }
+
+    /** Rows of '#' (claimed) and '.' (not), north to south. */
+    private static List<ClaimedChunk> chunks(String... rows) {
+        List<ClaimedChunk> chunks = new ArrayList<>();
+        for (int z = 0; z < rows.length; z++) {
+            for (int x = 0; x < rows[z].length(); x++) {
+                if (rows[z].charAt(x) == '#') {
+                    chunks.add(new ClaimedChunk(1, "world", x, z));
+                }
+            }
+        }
+        return chunks;
+    }
+
+    /** Twice the signed area in square blocks. */
+    private static long area(List<Vector2d> ring) {
+        long sum = 0;
+        for (int i = 0; i < ring.size(); i++) {
+            Vector2d a = ring.get(i);
+            Vector2d b = ring.get((i + 1) % ring.size());
+            sum += (long) (a.getX() * b.getY() - b.getX() * a.getY());
+        }
+        return sum;
+    }
+}
@@ -191,6 +191,10 @@ public class ServerClaim extends JavaPlugin {
         if (particlePacketListener != null) {
             particlePacketListener.unregister();
         }
+        // Write buffered audit log entries while the shared database is still connected
+        if (auditLogRepository != null) {
+            auditLogRepository.close();
+        }
         instance = null;
         getLogger().info("ServerClaim disabled!");
     }
@@ -438,6 +442,9 @@ public class ServerClaim extends JavaPlugin {
         if (upkeepManager != null) {
             upkeepManager.reloadConfig();
         }
+        if (particleManager != null) {
+            particleManager.markAllDirty();
+        }
 
         getLogger().info("=== Configuration Reloaded ===");
         getLogger().info("Spawn World: " + claimConfig.getSpawnWorld());
@@ -0,0 +1,141 @@
+package net.serverplugins.claim.cache;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.Predicate;
+import net.serverplugins.claim.models.Claim;
+import org.bukkit.block.Block;
+
+/**
+ * Per-chunk claim resolution for a batch of blocks in a single world, produced by {@code
+ * ClaimManager.getClaimsAt(String, Collection)}. Each distinct chunk is resolved once, so handling
+ * an explosion costs O(chunks) claim lookups instead of O(blocks).
+ *
+ * <p>A blast rarely touches more than a handful of chunks, so entries are kept in small parallel
+ * arrays scanned linearly, with the last hit remembered since block lists are spatially clustered.
+ * Not thread-safe; intended to live for the duration of a single event.
+ */
+public final class ChunkClaimBatch {
+
+    private long[] keys;
+    private Claim[] claims;
+    private int size;
+    private int claimedCount;
+    private int lastHit = -1;
+
+    public ChunkClaimBatch() {
+        this(8);
+    }
+
+    public ChunkClaimBatch(int expectedChunks) {
+        int capacity = Math.max(4, expectedChunks);
+        this.keys = new long[capacity];
+        this.claims = new Claim[capacity];
+    }
+
+    /** Check whether a chunk has already been resolved in this batch. */
+    public boolean contains(int chunkX, int chunkZ) {
+        return indexOf(ChunkClaimIndex.pack(chunkX, chunkZ)) >= 0;
+    }
+
+    /**
+     * Record the resolved claim for a chunk. Callers must check {@link #contains(int, int)} first.
+     *
+     * @param claim The claim covering the chunk, or null for wilderness
+     */
+    public void add(int chunkX, int chunkZ, Claim claim) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size << 1);
+            claims = Arrays.copyOf(claims, size << 1);
+        }
+        keys[size] = ChunkClaimIndex.pack(chunkX, chunkZ);
+        claims[size] = claim;
+        lastHit = size;
+        size++;
+        if (claim != null) {
+            claimedCount++;
+        }
+    }
+
+    /** Number of distinct chunks in the batch. */
+    public int size() {
+        return size;
+    }
+
+    /** Whether any chunk in the batch is claimed. When false, the whole batch is wilderness. */
+    public boolean hasClaims() {
+        return claimedCount > 0;
+    }
+
+    /** Chunk X coordinate of the entry at the given index. */
+    public int getChunkX(int index) {
+        return ChunkClaimIndex.unpackX(keys[index]);
+    }
+
+    /** Chunk Z coordinate of the entry at the given index. */
+    public int getChunkZ(int index) {
+        return ChunkClaimIndex.unpackZ(keys[index]);
+    }
+
+    /** Claim of the entry at the given index, or null for wilderness. */
+    public Claim getClaim(int index) {
+        return claims[index];
+    }
+
+    /**
+     * Get the resolved claim for a chunk.
+     *
+     * @return The claim, or null if the chunk is wilderness or not part of the batch
+     */
+    public Claim getClaimAt(int chunkX, int chunkZ) {
+        int index = indexOf(ChunkClaimIndex.pack(chunkX, chunkZ));
+        return index >= 0 ? claims[index] : null;
+    }
+
+    /**
+     * Evaluate a verdict once per claimed chunk and remove every block whose chunk is denied, in a
+     * single pass over the collection. Wilderness chunks are never denied.
+     *
+     * @param blocks The blocks this batch was resolved from (e.g. an explosion's block list)
+     * @param denied Verdict evaluated once per claimed chunk; true removes the chunk's blocks
+     * @return Number of blocks removed
+     */
+    public int removeDenied(Collection<Block> blocks, Predicate<Claim> denied) {
+        if (claimedCount == 0) {
+            return 0;
+        }
+
+        boolean[] verdicts = new boolean[size];
+        boolean anyDenied = false;
+        for (int i = 0; i < size; i++) {
+            if (claims[i] != null && denied.test(claims[i])) {
+                verdicts[i] = true;
+                anyDenied = true;
+            }
+        }
+        if (!anyDenied) {
+            return 0;
+        }
+
+        int before = blocks.size();
+        blocks.removeIf(
+                block -> {
+                    int index = indexOf(ChunkClaimIndex.pack(block.getX() >> 4, block.getZ() >> 4));
+                    return index >= 0 && verdicts[index];
+                });
+        return before - blocks.size();
+    }
+
+    private int indexOf(long key) {
+        if (lastHit >= 0 && keys[lastHit] == key) {
+            return lastHit;
+        }
+        for (int i = 0; i < size; i++) {
+            if (keys[i] == key) {
+                lastHit = i;
+                return i;
+            }
+        }
+        return -1;
+    }
+}
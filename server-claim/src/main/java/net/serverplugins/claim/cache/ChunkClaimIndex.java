@@ -0,0 +1,389 @@
+package net.serverplugins.claim.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Primitive spatial index mapping claimed chunks to claim IDs. Replaces the old {@code "world:x:z"}
+ * String-keyed map so that claim lookups on block, explosion and movement events do not allocate.
+ *
+ * <p>Layout: world names are interned to a {@link WorldIndex} (one per world, with a stable numeric
+ * ID). Each world holds an open-addressing hash table of packed chunk keys ({@code long}) to claim
+ * IDs ({@code int}) using linear probing and backward-shift deletion, so there is no boxing and no
+ * tombstone buildup.
+ *
+ * <p>Thread safety: writes take a per-world write lock. Reads use an optimistic {@link StampedLock}
+ * read and only fall back to a real read lock if a write raced the probe, so the common lookup path
+ * is lock-free and allocation-free.
+ */
+public class ChunkClaimIndex {
+
+    /** Returned by lookups when no claim covers the chunk. Claim IDs are always positive. */
+    public static final int NO_CLAIM = 0;
+
+    private final Map<String, WorldIndex> worlds = new ConcurrentHashMap<>();
+    private final AtomicInteger nextWorldId = new AtomicInteger();
+    // Bumped whenever a mapping actually changes, so derived views can detect claim edits
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Pack chunk coordinates into a single long key.
+     *
+     * @param chunkX Chunk X coordinate
+     * @param chunkZ Chunk Z coordinate
+     * @return Packed key (X in the high 32 bits, Z in the low 32 bits)
+     */
+    public static long pack(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /** Unpack the chunk X coordinate from a packed key. */
+    public static int unpackX(long key) {
+        return (int) (key >> 32);
+    }
+
+    /** Unpack the chunk Z coordinate from a packed key. */
+    public static int unpackZ(long key) {
+        return (int) key;
+    }
+
+    /**
+     * Get the index for a world without creating it. Callers that resolve many chunks in the same
+     * world (particle rendering, explosions) should resolve the world once and query it directly.
+     *
+     * @return The world index, or null if nothing has ever been indexed in that world
+     */
+    public WorldIndex world(String world) {
+        return worlds.get(world);
+    }
+
+    /** Get or create the index for a world. */
+    public WorldIndex intern(String world) {
+        WorldIndex index = worlds.get(world);
+        if (index != null) {
+            return index;
+        }
+        return worlds.computeIfAbsent(
+                world, name -> new WorldIndex(name, nextWorldId.getAndIncrement()));
+    }
+
+    /**
+     * Look up the claim ID for a chunk.
+     *
+     * @return The claim ID, or {@link #NO_CLAIM} if the chunk is not indexed
+     */
+    public int get(String world, int chunkX, int chunkZ) {
+        WorldIndex index = worlds.get(world);
+        return index != null ? index.get(chunkX, chunkZ) : NO_CLAIM;
+    }
+
+    /**
+     * Map a chunk to a claim ID, replacing any previous mapping.
+     *
+     * @return The previous claim ID, or {@link #NO_CLAIM}
+     */
+    public int put(String world, int chunkX, int chunkZ, int claimId) {
+        int previous = intern(world).put(chunkX, chunkZ, claimId);
+        if (previous != claimId) {
+            version.incrementAndGet();
+        }
+        return previous;
+    }
+
+    /**
+     * Remove the mapping for a chunk.
+     *
+     * @return The removed claim ID, or {@link #NO_CLAIM} if the chunk was not indexed
+     */
+    public int remove(String world, int chunkX, int chunkZ) {
+        WorldIndex index = worlds.get(world);
+        int removed = index != null ? index.remove(chunkX, chunkZ) : NO_CLAIM;
+        if (removed != NO_CLAIM) {
+            version.incrementAndGet();
+        }
+        return removed;
+    }
+
+    /** Total number of indexed chunks across all worlds. */
+    public int size() {
+        int total = 0;
+        for (WorldIndex index : worlds.values()) {
+            total += index.size();
+        }
+        return total;
+    }
+
+    /** Remove all mappings. World IDs stay interned. */
+    public void clear() {
+        for (WorldIndex index : worlds.values()) {
+            index.clear();
+        }
+        version.incrementAndGet();
+    }
+
+    /**
+     * Modification counter, incremented after every put or remove that changes a mapping anywhere.
+     * Views of a small area should use {@link WorldIndex#getAreaVersion} instead, so edits
+     * elsewhere do not invalidate them.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /** Per-world open-addressing table of packed chunk key to claim ID. */
+    public static final class WorldIndex {
+
+        private static final int MIN_CAPACITY = 64;
+        // Resize once the table is more than half full to keep probe chains short
+        private static final float LOAD_FACTOR = 0.5f;
+        // Area versions are tracked per region of 32x32 chunks, hashed onto a fixed set of stripes
+        private static final int REGION_SHIFT = 5;
+        private static final int REGION_STRIPES = 256;
+
+        private final String name;
+        private final int id;
+        private final StampedLock lock = new StampedLock();
+
+        // Replaced wholesale on resize; readers always probe a single consistent table
+        private volatile Table table = new Table(MIN_CAPACITY);
+        private int size;
+        // Bumped after a mapping in the region changes. Regions sharing a stripe only cost a
+        // spurious rebuild, and reads never allocate
+        private final AtomicLongArray regionVersions = new AtomicLongArray(REGION_STRIPES);
+
+        private WorldIndex(String name, int id) {
+            this.name = name;
+            this.id = id;
+        }
+
+        /** The world name this index covers. */
+        public String getName() {
+            return name;
+        }
+
+        /** Stable numeric ID assigned when the world was first interned. */
+        public int getId() {
+            return id;
+        }
+
+        /**
+         * Look up the claim ID for a chunk in this world. Lock-free in the absence of concurrent
+         * writes and never allocates.
+         *
+         * @return The claim ID, or {@link #NO_CLAIM}
+         */
+        public int get(int chunkX, int chunkZ) {
+            long key = pack(chunkX, chunkZ);
+
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0L) {
+                int result = table.find(key);
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            }
+
+            stamp = lock.readLock();
+            try {
+                return table.find(key);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        /** Check whether a chunk in this world is claimed. */
+        public boolean contains(int chunkX, int chunkZ) {
+            return get(chunkX, chunkZ) != NO_CLAIM;
+        }
+
+        /**
+         * Modification counter for the chunks in a rectangle, bounds inclusive. It changes whenever
+         * a mapping inside the rectangle changes, and may also change for edits nearby. Read it
+         * before reading the chunks it covers: a write that races the read then shows up as a
+         * changed version on the next call.
+         */
+        public long getAreaVersion(int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) {
+            long sum = 0;
+            for (int rx = minChunkX >> REGION_SHIFT; rx <= maxChunkX >> REGION_SHIFT; rx++) {
+                for (int rz = minChunkZ >> REGION_SHIFT; rz <= maxChunkZ >> REGION_SHIFT; rz++) {
+                    sum += regionVersions.get(regionStripe(rx, rz));
+                }
+            }
+            return sum;
+        }
+
+        private static int regionStripe(int regionX, int regionZ) {
+            long h = pack(regionX, regionZ) * 0x9E3779B97F4A7C15L;
+            return (int) (h >>> 32) & (REGION_STRIPES - 1);
+        }
+
+        private void bumpRegion(int chunkX, int chunkZ) {
+            regionVersions.incrementAndGet(
+                    regionStripe(chunkX >> REGION_SHIFT, chunkZ >> REGION_SHIFT));
+        }
+
+        int put(int chunkX, int chunkZ, int claimId) {
+            if (claimId <= NO_CLAIM) {
+                throw new IllegalArgumentException("Claim ID must be positive: " + claimId);
+            }
+            long key = pack(chunkX, chunkZ);
+
+            long stamp = lock.writeLock();
+            try {
+                Table t = table;
+                int previous = t.insert(key, claimId);
+                if (previous == NO_CLAIM) {
+                    size++;
+                    if (size > t.keys.length * LOAD_FACTOR) {
+                        table = t.resize(t.keys.length << 1);
+                    }
+                }
+                if (previous != claimId) {
+                    bumpRegion(chunkX, chunkZ);
+                }
+                return previous;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        int remove(int chunkX, int chunkZ) {
+            long key = pack(chunkX, chunkZ);
+
+            long stamp = lock.writeLock();
+            try {
+                int removed = table.delete(key);
+                if (removed != NO_CLAIM) {
+                    size--;
+                    bumpRegion(chunkX, chunkZ);
+                }
+                return removed;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /** Number of chunks indexed in this world. */
+        public int size() {
+            long stamp = lock.readLock();
+            try {
+                return size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        void clear() {
+            long stamp = lock.writeLock();
+            try {
+                table = new Table(MIN_CAPACITY);
+                size = 0;
+                for (int i = 0; i < REGION_STRIPES; i++) {
+                    regionVersions.incrementAndGet(i);
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    /**
+     * Linear-probing table. A slot is empty when its value is {@link #NO_CLAIM}; keys of empty
+     * slots are meaningless.
+     */
+    private static final class Table {
+        private final long[] keys;
+        private final int[] values;
+        private final int mask;
+
+        Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new int[capacity];
+            this.mask = capacity - 1;
+        }
+
+        private int slot(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+
+        int find(long key) {
+            int i = slot(key);
+            // Bounded by capacity so a torn optimistic read can never spin forever
+            for (int probes = 0; probes <= mask; probes++) {
+                int value = values[i];
+                if (value == NO_CLAIM) {
+                    return NO_CLAIM;
+                }
+                if (keys[i] == key) {
+                    return value;
+                }
+                i = (i + 1) & mask;
+            }
+            return NO_CLAIM;
+        }
+
+        int insert(long key, int value) {
+            int i = slot(key);
+            while (values[i] != NO_CLAIM) {
+                if (keys[i] == key) {
+                    int previous = values[i];
+                    values[i] = value;
+                    return previous;
+                }
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = value;
+            return NO_CLAIM;
+        }
+
+        int delete(long key) {
+            int i = slot(key);
+            while (values[i] != NO_CLAIM) {
+                if (keys[i] == key) {
+                    int removed = values[i];
+                    shiftBack(i);
+                    return removed;
+                }
+                i = (i + 1) & mask;
+            }
+            return NO_CLAIM;
+        }
+
+        /** Backward-shift deletion: pull later entries of the probe chain into the freed slot. */
+        private void shiftBack(int hole) {
+            int i = hole;
+            while (true) {
+                i = (i + 1) & mask;
+                if (values[i] == NO_CLAIM) {
+                    break;
+                }
+                int home = slot(keys[i]);
+                // Move the entry if the hole lies cyclically between its home slot and its slot
+                boolean movable =
+                        hole <= i ? (home <= hole || home > i) : (home <= hole && home > i);
+                if (movable) {
+                    keys[hole] = keys[i];
+                    values[hole] = values[i];
+                    hole = i;
+                }
+            }
+            values[hole] = NO_CLAIM;
+        }
+
+        Table resize(int capacity) {
+            Table resized = new Table(capacity);
+            for (int i = 0; i < keys.length; i++) {
+                if (values[i] != NO_CLAIM) {
+                    resized.insert(keys[i], values[i]);
+                }
+            }
+            return resized;
+        }
+    }
+}
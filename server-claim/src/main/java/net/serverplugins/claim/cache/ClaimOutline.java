@@ -0,0 +1,114 @@
+package net.serverplugins.claim.cache;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import net.serverplugins.claim.models.Claim;
+import net.serverplugins.claim.models.ClaimedChunk;
+
+/**
+ * Precomputed border geometry of a claim: every chunk edge whose neighbor is not part of the same
+ * claim. Built once from the claim's chunks and reused until {@link Claim#getChunkVersion()}
+ * changes, so border rendering never re-derives adjacency.
+ *
+ * <p>Edges are stored in parallel primitive arrays. Immutable and safe to share between threads.
+ */
+public final class ClaimOutline {
+
+    /** Which edge of a chunk a border segment lies on. */
+    public enum Side {
+        NORTH,
+        SOUTH,
+        WEST,
+        EAST
+    }
+
+    private static final Side[] SIDES = Side.values();
+
+    private final Claim claim;
+    private final int chunkVersion;
+    private final int[] chunkX;
+    private final int[] chunkZ;
+    private final byte[] side;
+
+    private ClaimOutline(Claim claim, int chunkVersion, int[] chunkX, int[] chunkZ, byte[] side) {
+        this.claim = claim;
+        this.chunkVersion = chunkVersion;
+        this.chunkX = chunkX;
+        this.chunkZ = chunkZ;
+        this.side = side;
+    }
+
+    /**
+     * Compute the outline of a claim. The chunk version is read first, so a chunk change made
+     * during the build leaves the outline stale rather than silently wrong.
+     */
+    public static ClaimOutline build(Claim claim) {
+        int version = claim.getChunkVersion();
+        List<ClaimedChunk> chunks = claim.getChunks();
+
+        Set<Long> keys = new HashSet<>(chunks.size() * 2);
+        for (ClaimedChunk chunk : chunks) {
+            keys.add(ChunkClaimIndex.pack(chunk.getChunkX(), chunk.getChunkZ()));
+        }
+
+        // At most four edges per chunk
+        int[] xs = new int[keys.size() * 4];
+        int[] zs = new int[xs.length];
+        byte[] sides = new byte[xs.length];
+        int count = 0;
+        for (long key : keys) {
+            int x = ChunkClaimIndex.unpackX(key);
+            int z = ChunkClaimIndex.unpackZ(key);
+            for (Side s : SIDES) {
+                long neighbor =
+                        switch (s) {
+                            case NORTH -> ChunkClaimIndex.pack(x, z - 1);
+                            case SOUTH -> ChunkClaimIndex.pack(x, z + 1);
+                            case WEST -> ChunkClaimIndex.pack(x - 1, z);
+                            case EAST -> ChunkClaimIndex.pack(x + 1, z);
+                        };
+                if (!keys.contains(neighbor)) {
+                    xs[count] = x;
+                    zs[count] = z;
+                    sides[count] = (byte) s.ordinal();
+                    count++;
+                }
+            }
+        }
+
+        return new ClaimOutline(
+                claim,
+                version,
+                Arrays.copyOf(xs, count),
+                Arrays.copyOf(zs, count),
+                Arrays.copyOf(sides, count));
+    }
+
+    /** Whether this outline still matches the claim's current chunks. */
+    public boolean isCurrent(Claim current) {
+        return claim == current && chunkVersion == current.getChunkVersion();
+    }
+
+    public Claim getClaim() {
+        return claim;
+    }
+
+    /** Number of border edges. */
+    public int size() {
+        return chunkX.length;
+    }
+
+    public int getChunkX(int index) {
+        return chunkX[index];
+    }
+
+    public int getChunkZ(int index) {
+        return chunkZ[index];
+    }
+
+    public Side getSide(int index) {
+        return SIDES[side[index]];
+    }
+}
@@ -1,29 +1,62 @@
 package net.serverplugins.claim.cache;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 import net.serverplugins.claim.models.Claim;
 
 /**
- * Thread-safe LRU (Least Recently Used) cache for claims with automatic eviction. Limits memory
- * growth by evicting least recently accessed entries when the cache is full.
+ * Thread-safe, bounded, approximately-LRU cache for claims. Limits memory growth by evicting least
+ * recently accessed entries once the cache as a whole is full.
  *
- * <p>Performance characteristics: - get(): O(1) - HashMap lookup with access-order tracking -
- * put(): O(1) - HashMap insertion with automatic eviction - Thread-safe: Uses ReadWriteLock for
- * concurrent access
+ * <p>Keys can be pinned (e.g. claims referenced by the chunk and owner indexes). Pinned entries
+ * live in a separate {@link ConcurrentHashMap} outside the LRU order: they are read without
+ * locking, never evicted and never visited when picking a victim. They still count toward the
+ * size, so the cache only exceeds its capacity when more entries are pinned than it can hold.
  *
- * <p>Metrics: - Tracks cache hits, misses, and evictions for monitoring - Provides hit rate
- * calculation for performance analysis
+ * <p>Unpinned entries are split across independent segments (lock striping). Each segment is an
+ * access-ordered {@link LinkedHashMap} guarded by its own lock, so its eldest entry is always its
+ * least recently used unpinned one. The bound applies to the total: when an insert takes the cache
+ * over capacity, the segment whose eldest entry was touched longest ago gives that entry up, so
+ * every entry competes for the full capacity. Recency across segments is compared with a logical
+ * clock that only inserts advance, so a hit stamps its entry with one volatile read instead of
+ * {@link System#nanoTime()}.
+ *
+ * <p>Performance characteristics: - get() of a pinned key: O(1), lock-free - get() of an unpinned
+ * key: O(1) under its segment lock, which relinks the entry and stamps its access time - put():
+ * O(1), plus O(segments) to pick a victim when full - pin()/unpin(): O(1) under the segment lock -
+ * values(): O(n) snapshot
+ *
+ * <p>Metrics: - Hits, misses and evictions are tracked with {@link LongAdder}s so counting never
+ * contends between threads - Provides hit rate calculation for performance analysis
  */
-public class LRUClaimCache extends LinkedHashMap<Integer, Claim> {
+public class LRUClaimCache {
+
+    private static final int DEFAULT_SEGMENTS = 16;
 
     private final int maxEntries;
-    private final ReadWriteLock lock = new ReentrantReadWriteLock();
-    private long hits = 0;
-    private long misses = 0;
-    private long evictions = 0;
+    private final Segment[] segments;
+    private final int segmentMask;
+    private final AtomicInteger size = new AtomicInteger();
+    // Access stamps: advanced by inserts, read by hits
+    private final AtomicLong clock = new AtomicLong();
+    // Pinned keys, cached or not; placement changes happen under the key's segment lock
+    private final Set<Integer> pinned = ConcurrentHashMap.newKeySet();
+    // Cached values of pinned keys, outside the LRU order
+    private final Map<Integer, Claim> pinnedEntries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
 
     /**
      * Create an LRU cache with specified maximum entries.
@@ -31,106 +64,163 @@ public class LRUClaimCache extends LinkedHashMap<Integer, Claim> {
      * @param maxEntries Maximum number of entries before eviction occurs
      */
     public LRUClaimCache(int maxEntries) {
-        // Initialize with access-order (true) for LRU behavior
-        // Initial capacity: 16, Load factor: 0.75, Access-order: true
-        super(16, 0.75f, true);
-        this.maxEntries = maxEntries;
+        this(maxEntries, DEFAULT_SEGMENTS);
     }
 
-    @Override
-    protected boolean removeEldestEntry(Map.Entry<Integer, Claim> eldest) {
-        boolean shouldRemove = size() > maxEntries;
-        if (shouldRemove) {
-            evictions++;
+    /**
+     * Create an LRU cache with specified maximum entries and segment count.
+     *
+     * @param maxEntries Maximum number of entries before eviction occurs
+     * @param segmentCount Number of lock stripes (rounded down to a power of two)
+     */
+    public LRUClaimCache(int maxEntries, int segmentCount) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        int count = Integer.highestOneBit(Math.max(1, Math.min(segmentCount, maxEntries)));
+        this.maxEntries = maxEntries;
+        this.segments = new Segment[count];
+        this.segmentMask = count - 1;
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment();
         }
-        return shouldRemove;
     }
 
-    @Override
+    private Segment segmentFor(Object key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        h *= 0x45d9f3b;
+        h ^= (h >>> 16);
+        return segments[h & segmentMask];
+    }
+
     public Claim get(Object key) {
-        lock.readLock().lock();
-        try {
-            Claim value = super.get(key);
-            if (value != null) {
-                hits++;
-            } else {
-                misses++;
-            }
-            return value;
-        } finally {
-            lock.readLock().unlock();
+        if (key == null) {
+            misses.increment();
+            return null;
         }
+        Claim value = pinnedEntries.get(key);
+        if (value == null) {
+            value = segmentFor(key).get(key);
+        }
+        if (value != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return value;
     }
 
-    @Override
     public Claim put(Integer key, Claim value) {
-        lock.writeLock().lock();
-        try {
-            return super.put(key, value);
-        } finally {
-            lock.writeLock().unlock();
+        Claim previous = segmentFor(key).put(key, value);
+        if (previous == null && size.incrementAndGet() > maxEntries) {
+            evictOverflow();
         }
+        return previous;
     }
 
-    @Override
+    /** Remove an entry. Also unpins its key. */
     public Claim remove(Object key) {
-        lock.writeLock().lock();
-        try {
-            return super.remove(key);
-        } finally {
-            lock.writeLock().unlock();
+        if (key == null) {
+            return null;
+        }
+        Claim removed = segmentFor(key).remove(key);
+        if (removed != null) {
+            size.decrementAndGet();
         }
+        return removed;
     }
 
-    @Override
-    public boolean containsKey(Object key) {
-        lock.readLock().lock();
-        try {
-            return super.containsKey(key);
-        } finally {
-            lock.readLock().unlock();
+    /**
+     * Exempt a key from eviction until it is unpinned or removed. The key does not have to be
+     * cached yet; an entry put later is pinned from the start.
+     */
+    public void pin(Integer key) {
+        segmentFor(key).pin(key);
+    }
+
+    /** Make a pinned key evictable again. A cached entry counts as just accessed. */
+    public void unpin(Integer key) {
+        if (segmentFor(key).unpin(key) && size.get() > maxEntries) {
+            evictOverflow();
         }
     }
 
+    public boolean isPinned(Integer key) {
+        return pinned.contains(key);
+    }
+
+    /**
+     * Evict least recently used entries until the cache is back within capacity. Segments are
+     * locked one at a time: each reports the access time of its eldest entry, and the oldest
+     * overall is removed if it is still untouched by then. Pinned entries are not in the segments,
+     * so this is O(segments) per eviction regardless of how many keys are pinned.
+     */
+    private void evictOverflow() {
+        while (size.get() > maxEntries) {
+            Segment victim = null;
+            long oldest = Long.MAX_VALUE;
+            for (Segment segment : segments) {
+                long accessed = segment.eldestAccess();
+                if (accessed < oldest) {
+                    oldest = accessed;
+                    victim = segment;
+                }
+            }
+            if (victim == null) {
+                return; // Everything left is pinned
+            }
+            if (victim.evictEldest(oldest)) {
+                size.decrementAndGet();
+                evictions.increment();
+            }
+        }
+    }
+
+    /** Check presence without touching recency or hit/miss metrics. */
+    public boolean containsKey(Object key) {
+        return key != null && (pinnedEntries.containsKey(key) || segmentFor(key).containsKey(key));
+    }
+
     /** Get all values in the cache. Returns a snapshot to avoid concurrent modification issues. */
-    @Override
-    public java.util.Collection<Claim> values() {
-        lock.readLock().lock();
-        try {
-            return new java.util.ArrayList<>(super.values());
-        } finally {
-            lock.readLock().unlock();
+    public Collection<Claim> values() {
+        List<Claim> snapshot = new ArrayList<>(size());
+        snapshot.addAll(pinnedEntries.values());
+        for (Segment segment : segments) {
+            segment.copyValuesTo(snapshot);
+        }
+        return snapshot;
+    }
+
+    /** Current number of cached claims. */
+    public int size() {
+        return size.get();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /** Remove all entries and pins. Metrics are kept. */
+    public void clear() {
+        for (Segment segment : segments) {
+            size.addAndGet(-segment.clear());
         }
     }
 
     /** Get the number of cache hits. */
     public long getHits() {
-        lock.readLock().lock();
-        try {
-            return hits;
-        } finally {
-            lock.readLock().unlock();
-        }
+        return hits.sum();
     }
 
     /** Get the number of cache misses. */
     public long getMisses() {
-        lock.readLock().lock();
-        try {
-            return misses;
-        } finally {
-            lock.readLock().unlock();
-        }
+        return misses.sum();
     }
 
     /** Get the number of evictions (entries removed due to capacity). */
     public long getEvictions() {
-        lock.readLock().lock();
-        try {
-            return evictions;
-        } finally {
-            lock.readLock().unlock();
-        }
+        return evictions.sum();
     }
 
     /**
@@ -139,39 +229,206 @@ public class LRUClaimCache extends LinkedHashMap<Integer, Claim> {
      * @return Hit rate as a percentage (0.0 to 1.0), or 0.0 if no accesses
      */
     public double getHitRate() {
-        lock.readLock().lock();
-        try {
-            long total = hits + misses;
-            if (total == 0) return 0.0;
-            return (double) hits / total;
-        } finally {
-            lock.readLock().unlock();
-        }
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        if (total == 0) return 0.0;
+        return (double) hitCount / total;
     }
 
     /** Reset all metrics. */
     public void resetMetrics() {
-        lock.writeLock().lock();
-        try {
-            hits = 0;
-            misses = 0;
-            evictions = 0;
-        } finally {
-            lock.writeLock().unlock();
-        }
+        hits.reset();
+        misses.reset();
+        evictions.reset();
     }
 
     /** Get cache statistics as a formatted string. */
     public String getStats() {
-        lock.readLock().lock();
-        try {
-            long total = hits + misses;
-            double hitRate = getHitRate() * 100;
-            return String.format(
-                    "Cache Stats - Size: %d/%d, Hits: %d, Misses: %d, Hit Rate: %.2f%%, Evictions: %d",
-                    size(), maxEntries, hits, misses, hitRate, evictions);
-        } finally {
-            lock.readLock().unlock();
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        double hitRate = total == 0 ? 0.0 : (double) hitCount / total * 100;
+        return String.format(
+                "Cache Stats - Size: %d/%d, Hits: %d, Misses: %d, Hit Rate: %.2f%%, Evictions: %d",
+                size(), maxEntries, hitCount, missCount, hitRate, evictions.sum());
+    }
+
+    /**
+     * A cached claim and the clock value when it was last accessed, for comparing recency across
+     * segments. Only read and written under its segment's lock.
+     */
+    private static final class Entry {
+        private final Claim claim;
+        private long accessed;
+
+        Entry(Claim claim, long accessed) {
+            this.claim = claim;
+            this.accessed = accessed;
+        }
+    }
+
+    /**
+     * One lock stripe: an access-ordered map of unpinned entries, eldest (least recently used)
+     * first. Its lock also guards moving its keys in and out of {@link #pinnedEntries}.
+     */
+    private final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<Integer, Entry> map = new LinkedHashMap<>(16, 0.75f, true);
+
+        Claim get(Object key) {
+            // Access-ordered get() relinks the entry, so it needs the exclusive lock
+            lock.lock();
+            try {
+                Entry entry = map.get(key);
+                if (entry == null) {
+                    // The key may have been pinned since the lock-free lookup missed it
+                    return pinnedEntries.get(key);
+                }
+                entry.accessed = clock.get();
+                return entry.claim;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Claim put(Integer key, Claim value) {
+            lock.lock();
+            try {
+                if (pinned.contains(key)) {
+                    return pinnedEntries.put(key, value);
+                }
+                Entry previous = map.put(key, new Entry(value, clock.incrementAndGet()));
+                return previous != null ? previous.claim : null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Claim remove(Object key) {
+            lock.lock();
+            try {
+                pinned.remove(key);
+                Claim removed = pinnedEntries.remove(key);
+                if (removed != null) {
+                    return removed;
+                }
+                Entry entry = map.remove(key);
+                return entry != null ? entry.claim : null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void pin(Integer key) {
+            lock.lock();
+            try {
+                if (!pinned.add(key)) {
+                    return;
+                }
+                Entry entry = map.get(key);
+                if (entry != null) {
+                    // Publish before unlinking so lock-free readers always find the value
+                    pinnedEntries.put(key, entry.claim);
+                    map.remove(key);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /** Unpin a key; returns true if a cached entry moved back into the LRU order. */
+        boolean unpin(Integer key) {
+            lock.lock();
+            try {
+                if (!pinned.remove(key)) {
+                    return false;
+                }
+                Claim claim = pinnedEntries.get(key);
+                if (claim == null) {
+                    return false;
+                }
+                map.put(key, new Entry(claim, clock.incrementAndGet()));
+                pinnedEntries.remove(key);
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean containsKey(Object key) {
+            lock.lock();
+            try {
+                return map.containsKey(key) || pinnedEntries.containsKey(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /** Access time of the eldest entry, or Long.MAX_VALUE if the segment is empty. */
+        long eldestAccess() {
+            lock.lock();
+            try {
+                if (map.isEmpty()) {
+                    return Long.MAX_VALUE;
+                }
+                return map.values().iterator().next().accessed;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Remove the eldest entry if it was last accessed at {@code accessed}, i.e. nothing touched
+         * it since it was picked as the victim.
+         */
+        boolean evictEldest(long accessed) {
+            lock.lock();
+            try {
+                if (map.isEmpty()) {
+                    return false;
+                }
+                Iterator<Entry> it = map.values().iterator();
+                if (it.next().accessed != accessed) {
+                    return false;
+                }
+                it.remove();
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void copyValuesTo(List<Claim> target) {
+            lock.lock();
+            try {
+                for (Entry entry : map.values()) {
+                    target.add(entry.claim);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /** Remove every entry and pin of this segment and return how many entries there were. */
+        int clear() {
+            lock.lock();
+            try {
+                int removed = map.size();
+                map.clear();
+                Iterator<Integer> it = pinned.iterator();
+                while (it.hasNext()) {
+                    Integer key = it.next();
+                    if (segmentFor(key) == this) {
+                        it.remove();
+                        if (pinnedEntries.remove(key) != null) {
+                            removed++;
+                        }
+                    }
+                }
+                return removed;
+            } finally {
+                lock.unlock();
+            }
         }
     }
 }
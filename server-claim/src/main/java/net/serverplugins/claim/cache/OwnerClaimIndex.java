@@ -0,0 +1,117 @@
+package net.serverplugins.claim.cache;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Secondary index of claim IDs by owner (and owner + world), maintained incrementally as claims
+ * enter and leave the claim cache. Per-player lookups cost O(claims owned) instead of a scan over
+ * every cached claim.
+ *
+ * <p>The index tracks ownership independently of {@link LRUClaimCache} eviction: an evicted claim
+ * stays indexed until it is explicitly removed, so callers can reload it by ID.
+ *
+ * <p>Thread safety: reads are lock-free over concurrent maps; writes are synchronized so the
+ * forward and reverse mappings always change together.
+ */
+public class OwnerClaimIndex {
+
+    private static final int[] NO_CLAIMS = new int[0];
+
+    // Owner UUID -> (claim ID -> world name)
+    private final Map<UUID, Map<Integer, String>> claimsByOwner = new ConcurrentHashMap<>();
+    // Claim ID -> owner UUID, used to unindex claims without knowing their owner
+    private final Map<Integer, UUID> ownerByClaim = new ConcurrentHashMap<>();
+
+    /**
+     * Index a claim under its owner. Re-indexing a claim whose owner changed moves it.
+     *
+     * @param claimId Claim ID
+     * @param ownerUuid Current owner
+     * @param world World the claim lives in
+     */
+    public synchronized void add(int claimId, UUID ownerUuid, String world) {
+        UUID previousOwner = ownerByClaim.put(claimId, ownerUuid);
+        if (previousOwner != null && !previousOwner.equals(ownerUuid)) {
+            removeFromOwner(previousOwner, claimId);
+        }
+        claimsByOwner
+                .computeIfAbsent(ownerUuid, k -> new ConcurrentHashMap<>())
+                .put(claimId, world);
+    }
+
+    /**
+     * Remove a claim from the index.
+     *
+     * @return The owner the claim was indexed under, or null if it was not indexed
+     */
+    public synchronized UUID remove(int claimId) {
+        UUID owner = ownerByClaim.remove(claimId);
+        if (owner != null) {
+            removeFromOwner(owner, claimId);
+        }
+        return owner;
+    }
+
+    private void removeFromOwner(UUID owner, int claimId) {
+        Map<Integer, String> claims = claimsByOwner.get(owner);
+        if (claims != null) {
+            claims.remove(claimId);
+            if (claims.isEmpty()) {
+                claimsByOwner.remove(owner);
+            }
+        }
+    }
+
+    /**
+     * Get the IDs of all claims owned by a player, in ascending (creation) order.
+     *
+     * @return Claim IDs, empty if the player owns no indexed claims
+     */
+    public int[] getClaimIds(UUID ownerUuid) {
+        Map<Integer, String> claims = claimsByOwner.get(ownerUuid);
+        if (claims == null) {
+            return NO_CLAIMS;
+        }
+        return claims.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    /**
+     * Get the IDs of all claims owned by a player in a specific world, in ascending order.
+     *
+     * @return Claim IDs, empty if the player owns no indexed claims in that world
+     */
+    public int[] getClaimIds(UUID ownerUuid, String world) {
+        Map<Integer, String> claims = claimsByOwner.get(ownerUuid);
+        if (claims == null) {
+            return NO_CLAIMS;
+        }
+        return claims.entrySet().stream()
+                .filter(e -> e.getValue().equals(world))
+                .mapToInt(Map.Entry::getKey)
+                .sorted()
+                .toArray();
+    }
+
+    /** Number of indexed claims owned by a player. */
+    public int getClaimCount(UUID ownerUuid) {
+        Map<Integer, String> claims = claimsByOwner.get(ownerUuid);
+        return claims == null ? 0 : claims.size();
+    }
+
+    /** Owner a claim is indexed under, or null. */
+    public UUID getOwner(int claimId) {
+        return ownerByClaim.get(claimId);
+    }
+
+    /** Total number of indexed claims. */
+    public int size() {
+        return ownerByClaim.size();
+    }
+
+    public synchronized void clear() {
+        claimsByOwner.clear();
+        ownerByClaim.clear();
+    }
+}
@@ -8,6 +8,8 @@ import net.kyori.adventure.text.event.ClickEvent;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.serverplugins.api.messages.CommonMessages;
 import net.serverplugins.claim.ServerClaim;
+import net.serverplugins.claim.managers.ClaimPreloader;
+import net.serverplugins.claim.managers.ParticleManager;
 import net.serverplugins.claim.models.Claim;
 import net.serverplugins.claim.models.ClaimGroup;
 import net.serverplugins.claim.models.ClaimPermission;
@@ -69,6 +71,8 @@ public class ClaimAdminCommand implements CommandExecutor, TabCompleter {
             case "migrateall" -> handleMigrateAll(sender, args);
             case "migrate-chunk-pool" -> handleMigrateChunkPool(sender, args);
             case "stats" -> handleStats(sender, args);
+            case "preload" -> handlePreload(sender);
+            case "particles" -> handleParticles(sender);
             default -> sendHelp(sender);
         }
 
@@ -579,6 +583,7 @@ public class ClaimAdminCommand implements CommandExecutor, TabCompleter {
         // Toggle the permission
         boolean wasEnabled = groupPerms.hasPermission(group, permission);
         groupPerms.togglePermission(group, permission);
+        claim.invalidatePermissions();
         boolean nowEnabled = groupPerms.hasPermission(group, permission);
 
         // Save to database
@@ -1370,6 +1375,32 @@ public class ClaimAdminCommand implements CommandExecutor, TabCompleter {
         ClaimAdminStatsCommand.handleStatsSubcommand(plugin, player);
     }
 
+    /** Show startup claim preload progress. Usage: /claimadmin preload */
+    private void handlePreload(CommandSender sender) {
+        ClaimPreloader preloader = plugin.getClaimManager().getPreloader();
+        sender.sendMessage(
+                Component.text(
+                        preloader.getStatus(),
+                        preloader.isComplete() ? NamedTextColor.GREEN : NamedTextColor.YELLOW));
+        sender.sendMessage(
+                Component.text(plugin.getClaimManager().getCacheStats(), NamedTextColor.GRAY));
+    }
+
+    /** Show border particle render metrics. Usage: /claimadmin particles */
+    private void handleParticles(CommandSender sender) {
+        ParticleManager particleManager = plugin.getParticleManager();
+        if (particleManager == null) {
+            sender.sendMessage(
+                    Component.text("Particle manager is not running.", NamedTextColor.RED));
+            return;
+        }
+        sender.sendMessage(
+                Component.text(particleManager.getRenderStats(true), NamedTextColor.GREEN));
+        sender.sendMessage(
+                Component.text(particleManager.getRenderStats(false), NamedTextColor.GREEN));
+        sender.sendMessage(Component.text(particleManager.getCacheStats(), NamedTextColor.GRAY));
+    }
+
     /**
      * Migrate existing per-claim purchased chunks to the new global chunk pool system. Usage:
      * /claimadmin migrate-chunk-pool [--dry-run]
@@ -1691,6 +1722,17 @@ public class ClaimAdminCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage(
                 Component.text("/claimadmin stats", NamedTextColor.YELLOW)
                         .append(Component.text(" - View server statistics", NamedTextColor.GRAY)));
+        sender.sendMessage(
+                Component.text("/claimadmin preload", NamedTextColor.YELLOW)
+                        .append(
+                                Component.text(
+                                        " - View claim preload progress", NamedTextColor.GRAY)));
+        sender.sendMessage(
+                Component.text("/claimadmin particles", NamedTextColor.YELLOW)
+                        .append(
+                                Component.text(
+                                        " - View border particle render stats",
+                                        NamedTextColor.GRAY)));
     }
 
     @Override
@@ -1722,7 +1764,9 @@ public class ClaimAdminCommand implements CommandExecutor, TabCompleter {
                             "migrate-chunk-pool",
                             "repair",
                             "repairall",
-                            "stats"));
+                            "stats",
+                            "preload",
+                            "particles"));
         } else if (args.length == 2) {
             String sub = args[0].toLowerCase();
             if (sub.equals("list")) {
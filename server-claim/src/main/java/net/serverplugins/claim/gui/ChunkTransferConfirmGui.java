@@ -309,6 +309,7 @@ public class ChunkTransferConfirmGui extends Gui {
 
                                     // saveClaim will insert and set the ID
                                     plugin.getRepository().saveClaim(recipientClaim);
+                                    plugin.getClaimManager().cacheClaim(recipientClaim);
                                 }
 
                                 // Transfer each chunk
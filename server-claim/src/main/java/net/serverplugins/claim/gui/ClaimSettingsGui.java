@@ -286,6 +286,9 @@ public class ClaimSettingsGui extends Gui {
                             if (canToggleParticles) {
                                 claim.setParticleEnabled(!particlesEnabled);
                                 plugin.getRepository().updateClaim(claim);
+                                if (plugin.getParticleManager() != null) {
+                                    plugin.getParticleManager().markClaimDirty(claim.getId());
+                                }
                                 TextUtil.send(
                                         viewer,
                                         particlesEnabled
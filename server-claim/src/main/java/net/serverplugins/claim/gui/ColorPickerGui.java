@@ -130,6 +130,9 @@ public class ColorPickerGui extends Gui {
 
                                     claim.setColor(selectedColor);
                                     plugin.getRepository().updateClaimColor(claim);
+                                    if (plugin.getParticleManager() != null) {
+                                        plugin.getParticleManager().markClaimDirty(claim.getId());
+                                    }
                                     TextUtil.send(
                                             viewer,
                                             "<green>Color changed to "
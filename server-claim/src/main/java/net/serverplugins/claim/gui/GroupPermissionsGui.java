@@ -678,6 +678,7 @@ public class GroupPermissionsGui extends Gui {
                             e -> {
                                 finalPerms.togglePermission(legacyGroup, permission);
                                 activeProfile.setGroupPermissions(finalPerms);
+                                claim.invalidatePermissions();
                                 plugin.getRepository().saveGroupPermissions(activeProfile);
                                 reopenLegacyMenu();
                             }));
@@ -719,6 +720,7 @@ public class GroupPermissionsGui extends Gui {
                                 permsForEnable.setPermission(legacyGroup, p, true);
                             }
                             activeProfile.setGroupPermissions(permsForEnable);
+                            claim.invalidatePermissions();
                             plugin.getRepository().saveGroupPermissions(activeProfile);
                             TextUtil.send(
                                     viewer,
@@ -747,6 +749,7 @@ public class GroupPermissionsGui extends Gui {
                             permsForReset.setPermissions(
                                     legacyGroup, legacyGroup.getDefaultPermissions());
                             activeProfile.setGroupPermissions(permsForReset);
+                            claim.invalidatePermissions();
                             plugin.getRepository().saveGroupPermissions(activeProfile);
                             TextUtil.send(
                                     viewer,
@@ -772,6 +775,7 @@ public class GroupPermissionsGui extends Gui {
                                 permsForDisable.setPermission(legacyGroup, p, false);
                             }
                             activeProfile.setGroupPermissions(permsForDisable);
+                            claim.invalidatePermissions();
                             plugin.getRepository().saveGroupPermissions(activeProfile);
                             TextUtil.send(
                                     viewer,
@@ -887,6 +891,7 @@ public class GroupPermissionsGui extends Gui {
     }
 
     private void saveCustomGroup() {
+        claim.invalidatePermissions();
         new ClaimGroupRepository(plugin.getDatabase()).saveGroup(customGroup);
     }
 
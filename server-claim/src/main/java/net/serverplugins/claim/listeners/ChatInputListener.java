@@ -325,6 +325,8 @@ public class ChatInputListener implements Listener {
 
             // Update the group name asynchronously
             group.setName(message);
+            // Groups are looked up by name when resolving visitor permissions
+            claim.invalidatePermissions();
             plugin.getServer()
                     .getScheduler()
                     .runTaskAsynchronously(
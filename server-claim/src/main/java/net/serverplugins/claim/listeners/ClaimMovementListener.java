@@ -56,18 +56,21 @@ public class ClaimMovementListener implements Listener {
 
     @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
     public void onPlayerMove(PlayerMoveEvent event) {
-        // Only check on chunk changes (more efficient)
-        if (event.getFrom().getChunk().equals(event.getTo().getChunk())) {
+        Location from = event.getFrom();
+        Location to = event.getTo();
+
+        // Only check on chunk changes - compare coordinates so same-chunk moves never touch Chunk
+        if (from.getBlockX() >> 4 == to.getBlockX() >> 4
+                && from.getBlockZ() >> 4 == to.getBlockZ() >> 4
+                && from.getWorld() == to.getWorld()) {
             return;
         }
 
         Player player = event.getPlayer();
-        Chunk fromChunk = event.getFrom().getChunk();
-        Chunk toChunk = event.getTo().getChunk();
 
         // Single claim lookups for the entire event
-        Claim fromClaim = plugin.getClaimManager().getClaimAt(fromChunk);
-        Claim toClaim = plugin.getClaimManager().getClaimAt(toChunk);
+        Claim fromClaim = plugin.getClaimManager().getClaimAt(from);
+        Claim toClaim = plugin.getClaimManager().getClaimAt(to);
 
         // Check if player can enter the destination claim
         if (!canEnterClaim(player, toClaim)) {
@@ -80,7 +83,7 @@ public class ClaimMovementListener implements Listener {
 
         // Handle auto-claim mode
         if (autoClaimPlayers.contains(player.getUniqueId())) {
-            handleAutoClaim(player, toChunk, toClaim);
+            handleAutoClaim(player, to.getChunk(), toClaim);
         }
 
         // Handle claim fly
@@ -148,6 +151,9 @@ public class ClaimMovementListener implements Listener {
         UUID uuid = event.getPlayer().getUniqueId();
         playerCurrentClaim.remove(uuid);
         autoClaimPlayers.remove(uuid);
+        if (plugin.getParticleManager() != null) {
+            plugin.getParticleManager().clearPlayer(uuid);
+        }
 
         // Grant playtime XP for active session
         PlaytimeSession session = playtimeSessions.remove(uuid);
@@ -1,14 +1,17 @@
 package net.serverplugins.claim.listeners;
 
+import java.util.List;
 import java.util.Set;
 import net.serverplugins.api.utils.TextUtil;
 import net.serverplugins.claim.ServerClaim;
+import net.serverplugins.claim.cache.ChunkClaimBatch;
 import net.serverplugins.claim.models.Claim;
 import net.serverplugins.claim.models.ClaimPermission;
 import net.serverplugins.claim.models.ClaimSettings;
 import org.bukkit.Chunk;
 import org.bukkit.Material;
 import org.bukkit.Tag;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.entity.*;
 import org.bukkit.event.EventHandler;
@@ -208,10 +211,15 @@ public class ClaimProtectionListener implements Listener {
     @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
     public void onBlockBreak(BlockBreakEvent event) {
         Player player = event.getPlayer();
-        Chunk chunk = event.getBlock().getChunk();
+
+        if (!isRegionReady(player, event.getBlock())) {
+            event.setCancelled(true);
+            sendDenyMessage(player);
+            return;
+        }
 
         // Cache claim lookup - avoid redundant getClaimAt calls
-        Claim claim = plugin.getClaimManager().getClaimAt(chunk);
+        Claim claim = plugin.getClaimManager().getClaimAt(event.getBlock());
 
         if (!hasClaimPermissionWithClaim(player, claim, ClaimPermission.BREAK_BLOCKS)) {
             event.setCancelled(true);
@@ -228,10 +236,15 @@ public class ClaimProtectionListener implements Listener {
     @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
     public void onBlockPlace(BlockPlaceEvent event) {
         Player player = event.getPlayer();
-        Chunk chunk = event.getBlock().getChunk();
+
+        if (!isRegionReady(player, event.getBlock())) {
+            event.setCancelled(true);
+            sendDenyMessage(player);
+            return;
+        }
 
         // Cache claim lookup - avoid redundant getClaimAt calls
-        Claim claim = plugin.getClaimManager().getClaimAt(chunk);
+        Claim claim = plugin.getClaimManager().getClaimAt(event.getBlock());
 
         if (!hasClaimPermissionWithClaim(player, claim, ClaimPermission.PLACE_BLOCKS)) {
             event.setCancelled(true);
@@ -266,7 +279,12 @@ public class ClaimProtectionListener implements Listener {
 
         // Single claim lookup for the entire event
         if (player.hasPermission("serverclaim.bypass")) return;
-        Claim claim = plugin.getClaimManager().getClaimAt(block.getChunk());
+        if (!plugin.getClaimManager().isRegionLoaded(block)) {
+            event.setCancelled(true);
+            sendDenyMessage(player);
+            return;
+        }
+        Claim claim = plugin.getClaimManager().getClaimAt(block);
         if (claim == null) return; // Wilderness — all interactions allowed
 
         // Handle PHYSICAL actions (stepping on pressure plates, tripwire)
@@ -496,9 +514,15 @@ public class ClaimProtectionListener implements Listener {
         if (attacker.hasPermission("serverclaim.bypass")) return;
 
         Entity victim = event.getEntity();
+        Chunk chunk = victim.getLocation().getChunk();
+        if (!plugin.getClaimManager().isRegionLoaded(chunk)) {
+            event.setCancelled(true);
+            sendDenyMessage(attacker);
+            return;
+        }
 
         // Single claim lookup for the entire event
-        Claim claim = plugin.getClaimManager().getClaimAt(victim.getLocation().getChunk());
+        Claim claim = plugin.getClaimManager().getClaimAt(chunk);
 
         // PvP check (player vs player)
         if (victim instanceof Player) {
@@ -699,35 +723,23 @@ public class ClaimProtectionListener implements Listener {
 
     @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
     public void onEntityExplode(EntityExplodeEvent event) {
-        event.blockList()
-                .removeIf(
-                        block -> {
-                            Claim claim = plugin.getClaimManager().getClaimAt(block.getChunk());
-                            if (claim == null) return false;
-
-                            ClaimSettings settings = claim.getSettings();
-                            return settings != null && !settings.isExplosions();
-                        });
+        protectFromExplosion(event.getLocation().getWorld(), event.blockList());
     }
 
     @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
     public void onBlockExplode(org.bukkit.event.block.BlockExplodeEvent event) {
-        event.blockList()
-                .removeIf(
-                        block -> {
-                            Claim claim = plugin.getClaimManager().getClaimAt(block.getChunk());
-                            if (claim == null) return false;
-
-                            ClaimSettings settings = claim.getSettings();
-                            return settings != null && !settings.isExplosions();
-                        });
+        protectFromExplosion(event.getBlock().getWorld(), event.blockList());
     }
 
     @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
     public void onBlockIgnite(BlockIgniteEvent event) {
         if (event.getCause() != BlockIgniteEvent.IgniteCause.SPREAD) return;
+        if (!plugin.getClaimManager().isRegionLoaded(event.getBlock())) {
+            event.setCancelled(true);
+            return;
+        }
 
-        Claim claim = plugin.getClaimManager().getClaimAt(event.getBlock().getChunk());
+        Claim claim = plugin.getClaimManager().getClaimAt(event.getBlock());
         if (claim == null) return;
 
         ClaimSettings settings = claim.getSettings();
@@ -738,7 +750,12 @@ public class ClaimProtectionListener implements Listener {
 
     @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
     public void onBlockBurn(BlockBurnEvent event) {
-        Claim claim = plugin.getClaimManager().getClaimAt(event.getBlock().getChunk());
+        if (!plugin.getClaimManager().isRegionLoaded(event.getBlock())) {
+            event.setCancelled(true);
+            return;
+        }
+
+        Claim claim = plugin.getClaimManager().getClaimAt(event.getBlock());
         if (claim == null) return;
 
         ClaimSettings settings = claim.getSettings();
@@ -749,7 +766,7 @@ public class ClaimProtectionListener implements Listener {
 
     @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
     public void onLeavesDecay(org.bukkit.event.block.LeavesDecayEvent event) {
-        Claim claim = plugin.getClaimManager().getClaimAt(event.getBlock().getChunk());
+        Claim claim = plugin.getClaimManager().getClaimAt(event.getBlock());
         if (claim == null) return;
 
         ClaimSettings settings = claim.getSettings();
@@ -766,7 +783,7 @@ public class ClaimProtectionListener implements Listener {
             return;
         }
 
-        Claim claim = plugin.getClaimManager().getClaimAt(event.getLocation().getChunk());
+        Claim claim = plugin.getClaimManager().getClaimAt(event.getLocation());
         if (claim == null) return;
 
         ClaimSettings settings = claim.getSettings();
@@ -785,7 +802,12 @@ public class ClaimProtectionListener implements Listener {
 
     @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
     public void onEntityChangeBlock(EntityChangeBlockEvent event) {
-        Claim claim = plugin.getClaimManager().getClaimAt(event.getBlock().getChunk());
+        if (!plugin.getClaimManager().isRegionLoaded(event.getBlock())) {
+            event.setCancelled(true);
+            return;
+        }
+
+        Claim claim = plugin.getClaimManager().getClaimAt(event.getBlock());
         if (claim == null) return;
 
         ClaimSettings settings = claim.getSettings();
@@ -809,8 +831,31 @@ public class ClaimProtectionListener implements Listener {
 
     // ==================== HELPER METHODS ====================
 
+    /**
+     * Remove blocks in claims with explosions disabled, and blocks in chunks whose claims are not
+     * loaded yet. Resolves each chunk touched by the blast once, then filters the block list in a
+     * single pass.
+     */
+    private void protectFromExplosion(World world, List<Block> blocks) {
+        if (blocks.isEmpty()) return;
+
+        // Keep blocks whose claims have not been preloaded yet
+        if (!plugin.getClaimManager().getPreloader().isComplete()) {
+            blocks.removeIf(block -> !plugin.getClaimManager().isRegionLoaded(block));
+        }
+
+        ChunkClaimBatch batch = plugin.getClaimManager().getClaimsAt(world.getName(), blocks);
+        batch.removeDenied(
+                blocks,
+                claim -> {
+                    ClaimSettings settings = claim.getSettings();
+                    return settings != null && !settings.isExplosions();
+                });
+    }
+
     private boolean hasClaimPermission(Player player, Chunk chunk, ClaimPermission permission) {
         if (player.hasPermission("serverclaim.bypass")) return true;
+        if (!plugin.getClaimManager().isRegionLoaded(chunk)) return false; // Not loaded = denied
 
         Claim claim = plugin.getClaimManager().getClaimAt(chunk);
         if (claim == null) return true; // Unclaimed land = allowed
@@ -818,6 +863,16 @@ public class ClaimProtectionListener implements Listener {
         return claim.hasPermission(player.getUniqueId(), permission);
     }
 
+    /**
+     * Whether protection can be decided for a block yet. While the startup preload has not reached
+     * the block's chunk, a missing claim is unknown rather than wilderness, so checks fail closed.
+     * Call before the claim lookup. Bypass players are never held back.
+     */
+    private boolean isRegionReady(Player player, Block block) {
+        return plugin.getClaimManager().isRegionLoaded(block)
+                || player.hasPermission("serverclaim.bypass");
+    }
+
     /** Check permission with a pre-fetched claim to avoid redundant lookups. */
     private boolean hasClaimPermissionWithClaim(
             Player player, Claim claim, ClaimPermission permission) {
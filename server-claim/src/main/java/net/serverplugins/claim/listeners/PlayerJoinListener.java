@@ -27,6 +27,8 @@ public class PlayerJoinListener implements Listener {
         Player player = event.getPlayer();
         // Load player claim data into cache asynchronously
         plugin.getClaimManager().loadPlayerDataAsync(player.getUniqueId(), player.getName());
+        // Keep their claims cached while they are online
+        plugin.getClaimManager().pinPlayerClaims(player.getUniqueId());
 
         // Load player rewards data into cache asynchronously
         if (plugin.getRewardsManager() != null) {
@@ -7,7 +7,10 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import net.serverplugins.claim.ServerClaim;
+import net.serverplugins.claim.cache.ChunkClaimBatch;
+import net.serverplugins.claim.cache.ChunkClaimIndex;
 import net.serverplugins.claim.cache.LRUClaimCache;
+import net.serverplugins.claim.cache.OwnerClaimIndex;
 import net.serverplugins.claim.models.Claim;
 import net.serverplugins.claim.models.ClaimSettings;
 import net.serverplugins.claim.models.ClaimedChunk;
@@ -19,6 +22,8 @@ import net.serverplugins.claim.repository.ClaimGroupRepository;
 import net.serverplugins.claim.repository.ClaimRepository;
 import net.serverplugins.claim.util.InputValidator;
 import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitTask;
 
@@ -28,10 +33,17 @@ public class ClaimManager {
     private final ClaimRepository repository;
     private final ClaimGroupRepository groupRepository;
     private final ExponentialPricing pricing;
-    // Chunk position -> Claim ID mapping
-    private final Map<String, Integer> chunkToClaimId = new ConcurrentHashMap<>();
-    // Claim ID -> Claim object (single source of truth) - LRU cache with max 1000 entries
+    // Chunk position -> Claim ID mapping (per-world primitive index, allocation-free lookups)
+    private final ChunkClaimIndex chunkIndex = new ChunkClaimIndex();
+    // Claim ID -> Claim object (single source of truth) - LRU cache with max 1000 entries. Claims
+    // of online owners are pinned; other indexed claims can be evicted and are reloaded async
     private final LRUClaimCache claimCache = new LRUClaimCache(1000);
+    // Owner UUID -> claim IDs (survives LRU eviction; kept in step with create/delete/transfer)
+    private final OwnerClaimIndex ownerIndex = new OwnerClaimIndex();
+    // Online players whose claims are pinned in the LRU cache
+    private final Set<UUID> onlineOwners = ConcurrentHashMap.newKeySet();
+    // Indexed claims missing from the cache that are being reloaded off the main thread
+    private final Set<Integer> reloadingClaims = ConcurrentHashMap.newKeySet();
     // Player UUID -> PlayerClaimData cache (to avoid sync DB calls on main thread)
     private final Map<UUID, PlayerClaimData> playerDataCache = new ConcurrentHashMap<>();
     // Player UUID -> used chunk count cache
@@ -43,6 +55,9 @@ public class ClaimManager {
     // Player chunk pool cache (player UUID -> PlayerChunkPool)
     private final Map<UUID, PlayerChunkPool> playerChunkPoolCache = new ConcurrentHashMap<>();
 
+    // Streams claims in at startup; until it finishes, unloaded regions are unknown, not wilderness
+    private final ClaimPreloader preloader;
+
     private volatile boolean cacheLoaded = false;
 
     // Track when pending inputs were created for timeout cleanup
@@ -62,8 +77,13 @@ public class ClaimManager {
         this.groupRepository = groupRepository;
         this.pricing = pricing;
 
-        // Pre-load all claims into cache on startup (async)
-        preloadAllClaims();
+        // Players already online (plugin reload) get their claims pinned as the preload finds them
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            onlineOwners.add(player.getUniqueId());
+        }
+        // Stream claims into cache on startup (async, nearby regions first)
+        this.preloader = new ClaimPreloader(plugin, repository, this);
+        preloader.start();
         // Start periodic cleanup of stale pending inputs
         startPendingInputCleanup();
     }
@@ -157,41 +177,34 @@ public class ClaimManager {
         return plugin.getClaimConfig().getDefaultMaxChunksPerProfile(); // 100
     }
 
-    /** Get the current number of claims a player has. O(1) operation using cached count. */
+    /** Get the current number of claims a player has. O(1) operation using the owner index. */
     public int getClaimCount(UUID uuid) {
-        Integer count = claimCountCache.get(uuid);
-        if (count != null) {
-            return count;
+        // The owner index is exact once the cache is loaded
+        int indexed = ownerIndex.getClaimCount(uuid);
+        if (indexed > 0 || cacheLoaded) {
+            return indexed;
         }
 
-        // Cache miss - calculate from claim cache (only on first access)
-        count =
-                (int)
-                        claimCache.values().stream()
-                                .filter(c -> c.getOwnerUuid().equals(uuid))
-                                .count();
-
-        claimCountCache.put(uuid, count);
-        return count;
+        Integer count = claimCountCache.get(uuid);
+        return count != null ? count : 0;
     }
 
     /**
      * Gets the total number of claims on the server. Used for performance tier determination in
-     * particle rendering. O(1) operation using cache size.
+     * particle rendering. O(1) operation using the owner index, which unlike the LRU cache is not
+     * capped.
      */
     public int getTotalClaimCount() {
-        return claimCache.size();
+        return ownerIndex.size();
     }
 
     /**
      * Get the total number of PURCHASED chunks across ALL claims/profiles for a player. Used for
-     * global pricing to prevent gaming by creating new profiles for cheap chunks. O(n) operation -
-     * iterates through all cached claims for this player. Note: Cannot use AtomicInteger as this is
-     * per-player, not global.
+     * global pricing to prevent gaming by creating new profiles for cheap chunks. O(claims owned)
+     * via the owner index. Note: Cannot use AtomicInteger as this is per-player, not global.
      */
     public int getGlobalPurchasedChunks(UUID uuid) {
-        return claimCache.values().stream()
-                .filter(c -> c.getOwnerUuid().equals(uuid))
+        return resolveClaims(ownerIndex.getClaimIds(uuid)).stream()
                 .mapToInt(Claim::getPurchasedChunks)
                 .sum();
     }
@@ -229,146 +242,84 @@ public class ClaimManager {
     }
 
     /**
-     * Pre-load all claims into cache to avoid synchronous DB queries on main thread. Uses batch
-     * loading for chunks to eliminate N+1 query problem. Also initializes claim count and global
-     * purchased chunks caches.
+     * Cache a page of claims streamed in by the preloader. Claims cached in the meantime are
+     * skipped since those copies are newer. Also seeds the claim count and global purchased chunks
+     * caches.
+     *
+     * @return Number of claims added to the cache
      */
-    private void preloadAllClaims() {
-        plugin.getServer()
-                .getScheduler()
-                .runTaskAsynchronously(
-                        plugin,
-                        () -> {
-                            try {
-                                long start = System.currentTimeMillis();
-
-                                // Load all claims WITHOUT their chunks first (fast - single query)
-                                List<Claim> allClaims = repository.getAllClaims();
-
-                                if (allClaims.isEmpty()) {
-                                    cacheLoaded = true;
-                                    plugin.getLogger().info("No claims to load into cache");
-                                    return;
-                                }
-
-                                long claimsLoaded = System.currentTimeMillis();
-
-                                // Batch load all chunks in ONE query instead of N queries
-                                List<Integer> claimIds =
-                                        allClaims.stream().map(Claim::getId).toList();
-
-                                Map<Integer, List<ClaimedChunk>> chunksByClaimId =
-                                        repository.loadChunksBatch(claimIds);
-                                long chunksLoaded = System.currentTimeMillis();
-
-                                // Track claim counts per player for cache initialization
-                                Map<UUID, Integer> tempClaimCounts = new HashMap<>();
-                                int totalPurchasedChunks = 0;
-                                int totalChunks = 0;
-
-                                // Assign chunks to claims and build cache
-                                for (Claim claim : allClaims) {
-                                    // Populate the cached owner name
-                                    PlayerClaimData playerData =
-                                            repository.getPlayerData(claim.getOwnerUuid());
-                                    if (playerData != null) {
-                                        claim.setCachedOwnerName(playerData.getUsername());
-                                    }
-
-                                    // Add batch-loaded chunks to claim
-                                    List<ClaimedChunk> chunks = chunksByClaimId.get(claim.getId());
-                                    if (chunks != null) {
-                                        for (ClaimedChunk chunk : chunks) {
-                                            claim.addChunk(chunk);
-                                            String key =
-                                                    chunk.getWorld()
-                                                            + ":"
-                                                            + chunk.getChunkX()
-                                                            + ":"
-                                                            + chunk.getChunkZ();
-                                            chunkToClaimId.put(key, claim.getId());
-                                            totalChunks++;
-                                        }
-                                    }
-
-                                    // Add to claim cache
-                                    claimCache.put(claim.getId(), claim);
-
-                                    // Update claim count cache
-                                    UUID ownerUuid = claim.getOwnerUuid();
-                                    tempClaimCounts.put(
-                                            ownerUuid,
-                                            tempClaimCounts.getOrDefault(ownerUuid, 0) + 1);
+    int acceptPreloadedClaims(List<Claim> claims) {
+        Set<UUID> owners = new HashSet<>();
+        for (Claim claim : claims) {
+            owners.add(claim.getOwnerUuid());
+        }
+        // One username query per page instead of one per claim
+        Map<UUID, String> ownerNames = repository.getUsernames(owners);
+
+        int added = 0;
+        // Serialized so a claim streamed in twice (preload + async lookup) is only counted once
+        synchronized (preloader) {
+            for (Claim claim : claims) {
+                if (isClaimIndexed(claim.getId())) {
+                    continue;
+                }
 
-                                    // Accumulate purchased chunks for global counter
-                                    totalPurchasedChunks += claim.getPurchasedChunks();
-                                }
+                String ownerName = ownerNames.get(claim.getOwnerUuid());
+                if (ownerName != null) {
+                    claim.setCachedOwnerName(ownerName);
+                }
 
-                                // Initialize claim count cache
-                                claimCountCache.putAll(tempClaimCounts);
+                cacheClaim(claim);
+                claimCountCache.merge(claim.getOwnerUuid(), 1, Integer::sum);
+                globalPurchasedChunks.addAndGet(claim.getPurchasedChunks());
+                added++;
+            }
+        }
+        return added;
+    }
 
-                                // Initialize global purchased chunks counter
-                                globalPurchasedChunks.set(totalPurchasedChunks);
+    /** Called by the preloader once every claim has been streamed in. */
+    void onPreloadComplete(ClaimPreloader preloader) {
+        // Load all player chunk pools into cache, keeping any created while the preload ran
+        try {
+            Map<UUID, PlayerChunkPool> pools = repository.getAllPlayerChunkPools();
+            pools.forEach(playerChunkPoolCache::putIfAbsent);
+            plugin.getLogger().info("Loaded " + pools.size() + " player chunk pools into cache");
+        } catch (SQLException e) {
+            plugin.getLogger().severe("Failed to load player chunk pools: " + e.getMessage());
+            e.printStackTrace();
+        }
 
-                                // Load all player chunk pools into cache
-                                try {
-                                    Map<UUID, PlayerChunkPool> pools =
-                                            repository.getAllPlayerChunkPools();
-                                    playerChunkPoolCache.putAll(pools);
-                                    plugin.getLogger()
-                                            .info(
-                                                    "Loaded "
-                                                            + pools.size()
-                                                            + " player chunk pools into cache");
-                                } catch (SQLException e) {
-                                    plugin.getLogger()
-                                            .severe(
-                                                    "Failed to load player chunk pools: "
-                                                            + e.getMessage());
-                                    e.printStackTrace();
-                                }
+        cacheLoaded = true;
+        plugin.getLogger()
+                .info(
+                        "Loaded "
+                                + preloader.getLoadedClaims()
+                                + " claims into cache ("
+                                + preloader.getSweptChunks()
+                                + " chunks, "
+                                + globalPurchasedChunks.get()
+                                + " purchased) in "
+                                + preloader.getElapsedMillis()
+                                + "ms ("
+                                + preloader.getPriorityRegionsLoaded()
+                                + " priority regions) - Cache stats: "
+                                + claimCache.getStats());
+    }
 
-                                cacheLoaded = true;
-                                long elapsed = System.currentTimeMillis() - start;
-                                long claimTime = claimsLoaded - start;
-                                long chunkTime = chunksLoaded - claimsLoaded;
-                                long processingTime = elapsed - chunksLoaded;
+    /** Check whether a claim has been loaded and indexed, even if since evicted from the cache. */
+    boolean isClaimIndexed(int claimId) {
+        return ownerIndex.getOwner(claimId) != null;
+    }
 
-                                plugin.getLogger()
-                                        .info(
-                                                "Loaded "
-                                                        + allClaims.size()
-                                                        + " claims into cache ("
-                                                        + totalChunks
-                                                        + " chunks, "
-                                                        + totalPurchasedChunks
-                                                        + " purchased) in "
-                                                        + elapsed
-                                                        + "ms (claims: "
-                                                        + claimTime
-                                                        + "ms, chunks: "
-                                                        + chunkTime
-                                                        + "ms, "
-                                                        + "processing: "
-                                                        + processingTime
-                                                        + "ms) - Cache stats: "
-                                                        + claimCache.getStats());
-                            } catch (Exception e) {
-                                plugin.getLogger()
-                                        .severe(
-                                                "Failed to preload claims cache: "
-                                                        + e.getMessage());
-                                e.printStackTrace();
-                                cacheLoaded = true; // Mark as loaded anyway to prevent hanging
-                            }
-                        });
+    /** Get the startup preloader, for progress reporting. */
+    public ClaimPreloader getPreloader() {
+        return preloader;
     }
 
     public CompletableFuture<ClaimResult> claimChunk(Player player, Chunk chunk) {
         return CompletableFuture.supplyAsync(
                 () -> {
-                    String cacheKey = getCacheKey(chunk);
-
                     try {
                         // Check if world allows claiming
                         if (!plugin.getClaimConfig().isWorldAllowed(chunk.getWorld().getName())) {
@@ -634,14 +585,18 @@ public class ClaimManager {
 
                             // Add new claim to cache if this was a new claim
                             if (claim == null) {
-                                claimCache.put(finalClaim.getId(), finalClaim);
+                                putCachedClaim(finalClaim);
                                 // Increment claim count cache for owner
                                 claimCountCache.compute(
                                         player.getUniqueId(), (k, v) -> v == null ? 1 : v + 1);
                             }
 
                             // Update chunk -> claim ID mapping
-                            chunkToClaimId.put(cacheKey, finalClaim.getId());
+                            chunkIndex.put(
+                                    chunk.getWorld().getName(),
+                                    chunk.getX(),
+                                    chunk.getZ(),
+                                    finalClaim.getId());
                             // Update used chunk count cache
                             incrementUsedChunkCount(player.getUniqueId());
 
@@ -660,8 +615,9 @@ public class ClaimManager {
                                         .logActivity(
                                                 finalClaim.getId(),
                                                 player,
-                                                net.serverplugins.claim.repository.AuditLogRepository
-                                                        .ActivityType.CHUNK_PURCHASE,
+                                                net.serverplugins.claim.repository
+                                                        .AuditLogRepository.ActivityType
+                                                        .CHUNK_PURCHASE,
                                                 String.format(
                                                         "Claimed chunk at %s (%d, %d)",
                                                         chunk.getWorld().getName(),
@@ -707,7 +663,7 @@ public class ClaimManager {
 
                             // If this was a new claim, remove it from cache since it wasn't saved
                             if (claim == null && finalClaim.getId() != 0) {
-                                claimCache.remove(finalClaim.getId());
+                                removeCachedClaim(finalClaim.getId());
                             }
 
                             return ClaimResult.failure("error");
@@ -733,8 +689,6 @@ public class ClaimManager {
     public CompletableFuture<ClaimResult> unclaimChunk(Player player, Chunk chunk) {
         return CompletableFuture.supplyAsync(
                 () -> {
-                    String cacheKey = getCacheKey(chunk);
-
                     Claim claim = getClaimAt(chunk);
                     if (claim == null) {
                         return ClaimResult.failure("no-claim-here");
@@ -754,7 +708,8 @@ public class ClaimManager {
                     if (toRemove != null) {
                         repository.deleteChunk(toRemove);
                         claim.removeChunk(toRemove);
-                        chunkToClaimId.remove(cacheKey);
+                        chunkIndex.remove(
+                                toRemove.getWorld(), toRemove.getChunkX(), toRemove.getChunkZ());
                         // Update used chunk count cache for claim owner
                         decrementUsedChunkCount(claim.getOwnerUuid());
 
@@ -1334,33 +1289,91 @@ public class ClaimManager {
         return future;
     }
 
+    /**
+     * Check whether claim data for a chunk is available, i.e. whether {@link #getClaimAt(String,
+     * int, int)} returning null really means wilderness. Only false while the startup preload has
+     * not reached the chunk, in which case its region is moved to the front of the preload, or
+     * while the chunk's indexed claim is missing from the cache and being reloaded. Protection
+     * checks should call this before the claim lookup and deny when it returns false.
+     */
+    public boolean isRegionLoaded(String world, int chunkX, int chunkZ) {
+        if (!cacheLoaded && !preloader.isLoaded(world, chunkX, chunkZ)) {
+            preloader.prioritize(world, chunkX, chunkZ);
+            return false;
+        }
+        int claimId = chunkIndex.get(world, chunkX, chunkZ);
+        if (claimId != ChunkClaimIndex.NO_CLAIM && !claimCache.containsKey(claimId)) {
+            reloadClaimAsync(claimId);
+            return false;
+        }
+        return true;
+    }
+
+    public boolean isRegionLoaded(Chunk chunk) {
+        return isRegionLoaded(chunk.getWorld().getName(), chunk.getX(), chunk.getZ());
+    }
+
+    public boolean isRegionLoaded(Block block) {
+        return isRegionLoaded(block.getWorld().getName(), block.getX() >> 4, block.getZ() >> 4);
+    }
+
+    public boolean isRegionLoaded(Location location) {
+        return isRegionLoaded(
+                location.getWorld().getName(),
+                location.getBlockX() >> 4,
+                location.getBlockZ() >> 4);
+    }
+
     public Claim getClaimAt(Chunk chunk) {
         return getClaimAt(chunk.getWorld().getName(), chunk.getX(), chunk.getZ());
     }
 
+    /** Get the claim covering a block. Avoids materializing the block's chunk. */
+    public Claim getClaimAt(Block block) {
+        return getClaimAt(block.getWorld().getName(), block.getX() >> 4, block.getZ() >> 4);
+    }
+
+    /** Get the claim covering a location. Avoids materializing the location's chunk. */
+    public Claim getClaimAt(Location location) {
+        return getClaimAt(
+                location.getWorld().getName(),
+                location.getBlockX() >> 4,
+                location.getBlockZ() >> 4);
+    }
+
     public Claim getClaimAt(String world, int chunkX, int chunkZ) {
-        String cacheKey = world + ":" + chunkX + ":" + chunkZ;
+        // Read readiness before the index, so a region that finishes loading in between is never
+        // mistaken for wilderness
+        boolean regionLoaded = cacheLoaded || preloader.isLoaded(world, chunkX, chunkZ);
 
         // Check if we have a claim ID for this chunk
-        Integer claimId = chunkToClaimId.get(cacheKey);
-        if (claimId != null) {
+        int claimId = chunkIndex.get(world, chunkX, chunkZ);
+        if (claimId != ChunkClaimIndex.NO_CLAIM) {
             Claim cachedClaim = claimCache.get(claimId);
             if (cachedClaim != null) {
                 return cachedClaim;
             }
+            // The claim was evicted from the LRU cache. Never reload inline on the main thread:
+            // protection checks fail closed through isRegionLoaded() until the async reload puts
+            // it back
+            if (plugin.getServer().isPrimaryThread()) {
+                reloadClaimAsync(claimId);
+                return null;
+            }
+            return getClaimById(claimId);
         }
 
-        // IMPORTANT: If cache is loaded and chunk not in cache, it's wilderness
+        // IMPORTANT: If the region is loaded and chunk not in the index, it's wilderness
         // Do NOT make synchronous DB queries on the main thread
-        if (cacheLoaded) {
+        if (regionLoaded) {
             return null; // Wilderness - not claimed
         }
 
-        // Cache not yet loaded - check if we're on main thread
+        // Region not preloaded yet - check if we're on main thread
         if (plugin.getServer().isPrimaryThread()) {
-            // NEVER block main thread with DB queries
-            plugin.getLogger()
-                    .warning("Claim cache not loaded yet, treating as wilderness: " + cacheKey);
+            // NEVER block main thread with DB queries. Protection checks fail closed through
+            // isRegionLoaded(); pull the region to the front of the preload instead
+            preloader.prioritize(world, chunkX, chunkZ);
             return null;
         }
 
@@ -1371,36 +1384,59 @@ public class ClaimManager {
             Claim existingClaim = claimCache.get(claim.getId());
             if (existingClaim != null) {
                 // Use the existing cached claim object
-                chunkToClaimId.put(cacheKey, claim.getId());
+                chunkIndex.put(world, chunkX, chunkZ, claim.getId());
                 return existingClaim;
             }
-            // Add to cache
-            claimCache.put(claim.getId(), claim);
-            chunkToClaimId.put(cacheKey, claim.getId());
+            // Index all of its chunks, not just this one, so the preload can skip the claim
+            if (isClaimIndexed(claim.getId())) {
+                cacheClaim(claim);
+            } else {
+                acceptPreloadedClaims(List.of(claim));
+            }
         }
         return claim;
     }
 
-    public List<Claim> getPlayerClaims(UUID uuid) {
-        // Return cached claims if available, otherwise load from DB
-        List<Claim> cachedClaims =
-                claimCache.values().stream().filter(c -> c.getOwnerUuid().equals(uuid)).toList();
+    /**
+     * Resolve the claims covering a batch of blocks in one world, such as an explosion's block
+     * list. Blocks are grouped by chunk and each chunk is resolved once through {@link
+     * #getClaimAt(String, int, int)}, so the cost scales with the chunks touched rather than the
+     * number of blocks.
+     *
+     * @param world World name shared by all blocks
+     * @param blocks Blocks to resolve
+     * @return Per-chunk resolution that can apply a verdict to the blocks in one pass
+     */
+    public ChunkClaimBatch getClaimsAt(String world, Collection<Block> blocks) {
+        ChunkClaimBatch batch = new ChunkClaimBatch();
+        for (Block block : blocks) {
+            int chunkX = block.getX() >> 4;
+            int chunkZ = block.getZ() >> 4;
+            if (!batch.contains(chunkX, chunkZ)) {
+                batch.add(chunkX, chunkZ, getClaimAt(world, chunkX, chunkZ));
+            }
+        }
+        return batch;
+    }
 
-        if (!cachedClaims.isEmpty()) {
-            return cachedClaims;
+    /**
+     * Get all claims owned by a player. O(claims owned) via the owner index; falls back to the
+     * database when the player has no indexed claims. An online player's claims are pinned in the
+     * cache, so their list is complete without touching the database; see {@link
+     * #resolveClaims(int[])} for offline owners whose claims were evicted.
+     */
+    public List<Claim> getPlayerClaims(UUID uuid) {
+        // Return indexed claims if available, otherwise load from DB
+        int[] claimIds = ownerIndex.getClaimIds(uuid);
+        if (claimIds.length > 0) {
+            return resolveClaims(claimIds);
         }
 
         // Load from DB and cache them
         List<Claim> claims = repository.getClaimsByOwner(uuid);
         for (Claim claim : claims) {
             if (!claimCache.containsKey(claim.getId())) {
-                claimCache.put(claim.getId(), claim);
-                // Also populate chunk mappings
-                for (ClaimedChunk chunk : claim.getChunks()) {
-                    String key =
-                            chunk.getWorld() + ":" + chunk.getChunkX() + ":" + chunk.getChunkZ();
-                    chunkToClaimId.put(key, claim.getId());
-                }
+                cacheClaim(claim);
             }
         }
         return claims;
@@ -1434,14 +1470,8 @@ public class ClaimManager {
      * world.
      */
     private List<Claim> getCachedClaimsByOwnerInWorld(UUID ownerUuid, String world) {
-        // Get all claims from cache that match owner and world
-        List<Claim> claims =
-                claimCache.values().stream()
-                        .filter(
-                                c ->
-                                        c.getOwnerUuid().equals(ownerUuid)
-                                                && c.getWorld().equals(world))
-                        .toList();
+        // Get all indexed claims that match owner and world
+        List<Claim> claims = resolveClaims(ownerIndex.getClaimIds(ownerUuid, world));
 
         if (!claims.isEmpty() || cacheLoaded) {
             return claims;
@@ -1456,12 +1486,7 @@ public class ClaimManager {
         List<Claim> dbClaims = repository.getClaimsByOwnerInWorld(ownerUuid, world);
         for (Claim claim : dbClaims) {
             if (!claimCache.containsKey(claim.getId())) {
-                claimCache.put(claim.getId(), claim);
-                for (ClaimedChunk chunk : claim.getChunks()) {
-                    String key =
-                            chunk.getWorld() + ":" + chunk.getChunkX() + ":" + chunk.getChunkZ();
-                    chunkToClaimId.put(key, claim.getId());
-                }
+                cacheClaim(claim);
             }
         }
         return dbClaims;
@@ -1578,11 +1603,9 @@ public class ClaimManager {
         if (usedCount == null) {
             // Count from cached claims first
             usedCount =
-                    (int)
-                            claimCache.values().stream()
-                                    .filter(c -> c.getOwnerUuid().equals(uuid))
-                                    .mapToLong(c -> c.getChunks().size())
-                                    .sum();
+                    resolveClaims(ownerIndex.getClaimIds(uuid)).stream()
+                            .mapToInt(c -> c.getChunks().size())
+                            .sum();
 
             // If cache might be incomplete, also check DB
             if (usedCount == 0 && !cacheLoaded) {
@@ -1722,6 +1745,10 @@ public class ClaimManager {
      * players.
      */
     public void clearPlayerState(UUID uuid) {
+        onlineOwners.remove(uuid);
+        for (int claimId : ownerIndex.getClaimIds(uuid)) {
+            claimCache.unpin(claimId);
+        }
         playerDataCache.remove(uuid);
         usedChunkCountCache.remove(uuid);
         playerChunkPoolCache.remove(uuid);
@@ -1738,6 +1765,14 @@ public class ClaimManager {
         return claimCache.getStats();
     }
 
+    /**
+     * Get the chunk -> claim ID spatial index. Callers resolving many chunks in one world should
+     * resolve the {@link ChunkClaimIndex.WorldIndex} once and query it directly.
+     */
+    public ChunkClaimIndex getChunkIndex() {
+        return chunkIndex;
+    }
+
     /** Get global purchased chunks counter value. */
     public int getGlobalPurchasedChunksTotal() {
         return globalPurchasedChunks.get();
@@ -1765,8 +1800,7 @@ public class ClaimManager {
      * @param claimId New claim ID
      */
     public void updateChunkCache(String world, int chunkX, int chunkZ, int claimId) {
-        String key = world + ":" + chunkX + ":" + chunkZ;
-        chunkToClaimId.put(key, claimId);
+        chunkIndex.put(world, chunkX, chunkZ, claimId);
     }
 
     /** Increment the cached used chunk count. */
@@ -1780,18 +1814,16 @@ public class ClaimManager {
     }
 
     public void invalidateCache(Chunk chunk) {
-        String cacheKey = getCacheKey(chunk);
-        Integer claimId = chunkToClaimId.remove(cacheKey);
+        chunkIndex.remove(chunk.getWorld().getName(), chunk.getX(), chunk.getZ());
         // Don't remove from claimCache as other chunks may still reference it
     }
 
     /** Completely invalidate a claim from cache (all chunks) */
     public void invalidateClaim(int claimId) {
-        Claim claim = claimCache.remove(claimId);
+        Claim claim = removeCachedClaim(claimId);
         if (claim != null) {
             for (ClaimedChunk chunk : claim.getChunks()) {
-                String key = chunk.getWorld() + ":" + chunk.getChunkX() + ":" + chunk.getChunkZ();
-                chunkToClaimId.remove(key);
+                chunkIndex.remove(chunk.getWorld(), chunk.getChunkX(), chunk.getChunkZ());
             }
         }
     }
@@ -1806,10 +1838,9 @@ public class ClaimManager {
 
         // Remove from cache first
         for (ClaimedChunk chunk : claim.getChunks()) {
-            String key = chunk.getWorld() + ":" + chunk.getChunkX() + ":" + chunk.getChunkZ();
-            chunkToClaimId.remove(key);
+            chunkIndex.remove(chunk.getWorld(), chunk.getChunkX(), chunk.getChunkZ());
         }
-        claimCache.remove(claim.getId());
+        removeCachedClaim(claim.getId());
 
         // Delete from database
         repository.deleteClaim(claim);
@@ -1852,17 +1883,149 @@ public class ClaimManager {
         }
         Claim claim = repository.getClaimById(claimId);
         if (claim != null) {
-            claimCache.put(claim.getId(), claim);
-            for (ClaimedChunk chunk : claim.getChunks()) {
-                String key = chunk.getWorld() + ":" + chunk.getChunkX() + ":" + chunk.getChunkZ();
-                chunkToClaimId.put(key, claim.getId());
-            }
+            cacheClaim(claim);
         }
         return claim;
     }
 
-    private String getCacheKey(Chunk chunk) {
-        return chunk.getWorld().getName() + ":" + chunk.getX() + ":" + chunk.getZ();
+    /**
+     * Add a claim that was created or loaded outside this manager (e.g. a chunk transfer recipient)
+     * to the cache, the owner index and the chunk index.
+     */
+    public void cacheClaim(Claim claim) {
+        putCachedClaim(claim);
+        for (ClaimedChunk chunk : claim.getChunks()) {
+            indexChunk(chunk, claim.getId());
+        }
+    }
+
+    /** Put a claim in the cache and index it under its owner, pinned while the owner is online. */
+    private void putCachedClaim(Claim claim) {
+        if (onlineOwners.contains(claim.getOwnerUuid())) {
+            claimCache.pin(claim.getId());
+        } else {
+            claimCache.unpin(claim.getId());
+        }
+        claimCache.put(claim.getId(), claim);
+        ownerIndex.add(claim.getId(), claim.getOwnerUuid(), claim.getWorld());
+    }
+
+    /**
+     * Pin a player's claims in the cache while they are online, so their GUIs, limits and prices
+     * never wait on the database. Indexed claims that were already evicted are reloaded with one
+     * async query. Call on join; {@link #clearPlayerState(UUID)} unpins them on quit.
+     */
+    public void pinPlayerClaims(UUID uuid) {
+        onlineOwners.add(uuid);
+        List<Integer> evicted = new ArrayList<>();
+        for (int claimId : ownerIndex.getClaimIds(uuid)) {
+            claimCache.pin(claimId);
+            if (!claimCache.containsKey(claimId)) {
+                evicted.add(claimId);
+            }
+        }
+        if (!evicted.isEmpty()) {
+            reloadClaimsAsync(evicted);
+        }
+    }
+
+    /**
+     * Reload an indexed claim that is missing from the cache on an async thread. Concurrent
+     * requests for the same claim share one load.
+     */
+    private void reloadClaimAsync(int claimId) {
+        reloadClaimsAsync(List.of(claimId));
+    }
+
+    /**
+     * Reload indexed claims that are missing from the cache with one batched query on an async
+     * thread. Claims already being reloaded are skipped.
+     */
+    private void reloadClaimsAsync(Collection<Integer> claimIds) {
+        List<Integer> toLoad = new ArrayList<>(claimIds.size());
+        for (Integer claimId : claimIds) {
+            if (reloadingClaims.add(claimId)) {
+                toLoad.add(claimId);
+            }
+        }
+        if (toLoad.isEmpty()) {
+            return;
+        }
+        plugin.getServer()
+                .getScheduler()
+                .runTaskAsynchronously(
+                        plugin,
+                        () -> {
+                            try {
+                                loadMissingClaims(toLoad);
+                            } finally {
+                                reloadingClaims.removeAll(toLoad);
+                            }
+                        });
+    }
+
+    /** Load claims by ID in one query and cache those that are still missing. Blocking. */
+    private List<Claim> loadMissingClaims(List<Integer> claimIds) {
+        List<Claim> loaded = repository.getClaimsByIds(claimIds);
+        List<Claim> claims = new ArrayList<>(loaded.size());
+        for (Claim claim : loaded) {
+            Claim existing = claimCache.get(claim.getId());
+            if (existing != null) {
+                claims.add(existing);
+            } else {
+                cacheClaim(claim);
+                claims.add(claim);
+            }
+        }
+        return claims;
+    }
+
+    /** Remove a claim from the cache and the owner index. */
+    private Claim removeCachedClaim(int claimId) {
+        ownerIndex.remove(claimId);
+        ParticleManager particleManager = plugin.getParticleManager();
+        if (particleManager != null) {
+            particleManager.removeClaim(claimId);
+        }
+        return claimCache.remove(claimId);
+    }
+
+    /**
+     * Resolve indexed claim IDs to claims. Online owners' claims are pinned, so for them this is
+     * pure cache hits. Claims that are missing anyway are loaded with one batched query: inline on an
+     * async thread, so the list is complete, and in the background on the main thread, which never
+     * waits on the database and gets the cached claims only until the load lands.
+     */
+    private List<Claim> resolveClaims(int[] claimIds) {
+        if (claimIds.length == 0) {
+            return List.of();
+        }
+        List<Claim> claims = new ArrayList<>(claimIds.length);
+        List<Integer> missing = null;
+        for (int claimId : claimIds) {
+            Claim claim = claimCache.get(claimId);
+            if (claim != null) {
+                claims.add(claim);
+            } else {
+                if (missing == null) {
+                    missing = new ArrayList<>();
+                }
+                missing.add(claimId);
+            }
+        }
+        if (missing != null) {
+            if (plugin.getServer().isPrimaryThread()) {
+                reloadClaimsAsync(missing);
+            } else {
+                claims.addAll(loadMissingClaims(missing));
+            }
+        }
+        return claims;
+    }
+
+    /** Map a claimed chunk to its claim ID in the spatial index. */
+    private void indexChunk(ClaimedChunk chunk, int claimId) {
+        chunkIndex.put(chunk.getWorld(), chunk.getChunkX(), chunk.getChunkZ(), claimId);
     }
 
     // Trust input handling
@@ -2447,14 +2610,12 @@ public class ClaimManager {
 
     /** Invalidate a specific chunk from the cache. */
     public void invalidateChunkCache(String world, int chunkX, int chunkZ) {
-        String key = world + ":" + chunkX + ":" + chunkZ;
-        chunkToClaimId.remove(key);
+        chunkIndex.remove(world, chunkX, chunkZ);
     }
 
     /** Update the chunk -> claim ID mapping in cache. */
     public void updateChunkClaimMapping(ClaimedChunk chunk, int claimId) {
-        String key = chunk.getWorld() + ":" + chunk.getChunkX() + ":" + chunk.getChunkZ();
-        chunkToClaimId.put(key, claimId);
+        indexChunk(chunk, claimId);
     }
 
     /** Decrement used chunk count by a specific amount. */
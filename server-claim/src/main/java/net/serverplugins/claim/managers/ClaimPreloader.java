@@ -0,0 +1,332 @@
+package net.serverplugins.claim.managers;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.serverplugins.claim.ServerClaim;
+import net.serverplugins.claim.cache.ChunkClaimIndex;
+import net.serverplugins.claim.models.Claim;
+import net.serverplugins.claim.models.ClaimedChunk;
+import net.serverplugins.claim.repository.ClaimRepository;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+/**
+ * Streams claims into the {@link ClaimManager} caches at startup instead of loading every claim in
+ * one pass, and tracks which regions are safe to treat as wilderness while it runs.
+ *
+ * <p>Loading runs on a single async task in two interleaved phases: - Priority: regions around
+ * world spawns and online players, plus any region a protection check asks about, loaded with one
+ * area query each - Sweep: a keyset-paged scan of server_chunks in (world, chunk_x, chunk_z) order,
+ * {@value #PAGE_SIZE} chunks per page. Pending priority regions are served between pages. Once
+ * the chunks are swept, a keyset-paged scan of server_claims by ID picks up claims without chunks
+ * (unclaiming keeps empty claims), so owner claim counts are exact before the preload completes.
+ *
+ * <p>Each page only loads claims that are not cached yet, so memory use is bounded by the page size
+ * plus the claim cache. A chunk counts as loaded once its region has been loaded or the sweep has
+ * passed it; until then a missing claim means "unknown", not wilderness, and callers must fail
+ * closed. A failed page is retried from the same position after {@value #RETRY_DELAY_TICKS} ticks.
+ */
+public class ClaimPreloader {
+
+    private static final int PAGE_SIZE = 500;
+    // Regions are 16x16-chunk cells
+    private static final int REGION_SHIFT = 4;
+    // Chunks around a seed position whose regions are loaded first (roughly a view distance)
+    private static final int PRIORITY_RADIUS = 8;
+    private static final long RETRY_DELAY_TICKS = 20L * 30;
+
+    private final ServerClaim plugin;
+    private final ClaimRepository repository;
+    private final ClaimManager claimManager;
+
+    // World -> packed region coordinates that are fully loaded / queued for priority loading
+    private final Map<String, Set<Long>> loadedRegions = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> requestedRegions = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Region> pendingRegions = new ConcurrentLinkedQueue<>();
+
+    // Worlds the sweep has moved past, and the last chunk key it has loaded
+    private final Set<String> sweptWorlds = ConcurrentHashMap.newKeySet();
+    private volatile SweepPosition sweepPosition;
+    // Chunk sweep finished; last claim ID the claim pass has checked
+    private volatile boolean chunksSwept = false;
+    private volatile int claimSweepId = 0;
+
+    private final AtomicInteger sweptChunks = new AtomicInteger();
+    private final AtomicInteger loadedClaims = new AtomicInteger();
+    private volatile int totalChunks = -1;
+    private volatile boolean complete = false;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+
+    ClaimPreloader(ServerClaim plugin, ClaimRepository repository, ClaimManager claimManager) {
+        this.plugin = plugin;
+        this.repository = repository;
+        this.claimManager = claimManager;
+    }
+
+    /**
+     * Queue the regions around world spawns and online players, then start loading asynchronously.
+     * Must be called on the main thread.
+     */
+    void start() {
+        for (World world : plugin.getServer().getWorlds()) {
+            prioritizeAround(world.getSpawnLocation());
+        }
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            prioritizeAround(player.getLocation());
+        }
+
+        startedAt = System.currentTimeMillis();
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, this::run);
+    }
+
+    private void prioritizeAround(Location location) {
+        String world = location.getWorld().getName();
+        int chunkX = location.getBlockX() >> 4;
+        int chunkZ = location.getBlockZ() >> 4;
+        for (int rx = (chunkX - PRIORITY_RADIUS) >> REGION_SHIFT;
+                rx <= (chunkX + PRIORITY_RADIUS) >> REGION_SHIFT;
+                rx++) {
+            for (int rz = (chunkZ - PRIORITY_RADIUS) >> REGION_SHIFT;
+                    rz <= (chunkZ + PRIORITY_RADIUS) >> REGION_SHIFT;
+                    rz++) {
+                requestRegion(world, rx, rz);
+            }
+        }
+    }
+
+    /**
+     * Ask for the region containing a chunk to be loaded ahead of the sweep. Cheap and idempotent,
+     * so it can be called from every protection check that hits an unloaded region.
+     */
+    public void prioritize(String world, int chunkX, int chunkZ) {
+        if (!complete) {
+            requestRegion(world, chunkX >> REGION_SHIFT, chunkZ >> REGION_SHIFT);
+        }
+    }
+
+    private void requestRegion(String world, int regionX, int regionZ) {
+        long key = ChunkClaimIndex.pack(regionX, regionZ);
+        if (requestedRegions.computeIfAbsent(world, k -> ConcurrentHashMap.newKeySet()).add(key)) {
+            pendingRegions.add(new Region(world, regionX, regionZ));
+        }
+    }
+
+    /**
+     * Check whether every claim touching a chunk has been loaded, i.e. whether a missing claim for
+     * this chunk really means wilderness.
+     */
+    public boolean isLoaded(String world, int chunkX, int chunkZ) {
+        if (complete || sweptWorlds.contains(world)) {
+            return true;
+        }
+
+        SweepPosition position = sweepPosition;
+        if (position != null
+                && position.world().equals(world)
+                && (chunkX < position.chunkX()
+                        || (chunkX == position.chunkX() && chunkZ <= position.chunkZ()))) {
+            return true;
+        }
+
+        Set<Long> regions = loadedRegions.get(world);
+        return regions != null
+                && regions.contains(
+                        ChunkClaimIndex.pack(chunkX >> REGION_SHIFT, chunkZ >> REGION_SHIFT));
+    }
+
+    private void run() {
+        try {
+            if (totalChunks < 0) {
+                totalChunks = repository.getTotalChunkCount();
+            }
+
+            while (plugin.isEnabled() && !chunksSwept) {
+                loadPendingRegions();
+
+                SweepPosition position = sweepPosition;
+                List<ClaimedChunk> page =
+                        position == null
+                                ? repository.getChunksAfter("", 0, 0, PAGE_SIZE)
+                                : repository.getChunksAfter(
+                                        position.world(),
+                                        position.chunkX(),
+                                        position.chunkZ(),
+                                        PAGE_SIZE);
+                if (page.isEmpty()) {
+                    chunksSwept = true;
+                    break;
+                }
+
+                loadClaimsFor(page);
+                advanceSweep(position, page);
+                sweptChunks.addAndGet(page.size());
+
+                if (page.size() < PAGE_SIZE) {
+                    chunksSwept = true;
+                }
+            }
+
+            // Every chunk is indexed now, so only claims without chunks are left
+            while (plugin.isEnabled()) {
+                List<Integer> ids = repository.getClaimIdsAfter(claimSweepId, PAGE_SIZE);
+                if (ids.isEmpty()) {
+                    break;
+                }
+
+                loadClaimsById(ids);
+                claimSweepId = ids.get(ids.size() - 1);
+
+                if (ids.size() < PAGE_SIZE) {
+                    break;
+                }
+            }
+
+            if (!plugin.isEnabled()) {
+                return;
+            }
+
+            complete = true;
+            finishedAt = System.currentTimeMillis();
+            claimManager.onPreloadComplete(this);
+        } catch (Exception e) {
+            plugin.getLogger()
+                    .severe(
+                            "Failed to preload claims (retrying in "
+                                    + RETRY_DELAY_TICKS / 20
+                                    + "s, unloaded regions stay protected): "
+                                    + e.getMessage());
+            e.printStackTrace();
+            if (plugin.isEnabled()) {
+                plugin.getServer()
+                        .getScheduler()
+                        .runTaskLaterAsynchronously(plugin, this::run, RETRY_DELAY_TICKS);
+            }
+        }
+    }
+
+    private void loadPendingRegions() {
+        Region region;
+        while ((region = pendingRegions.peek()) != null) {
+            int minX = region.regionX() << REGION_SHIFT;
+            int minZ = region.regionZ() << REGION_SHIFT;
+            int size = 1 << REGION_SHIFT;
+            loadClaimsFor(
+                    repository.getChunksInArea(
+                            region.world(), minX, minZ, minX + size - 1, minZ + size - 1));
+
+            // Only dequeue once loaded so a failed query is retried
+            pendingRegions.poll();
+            loadedRegions
+                    .computeIfAbsent(region.world(), k -> ConcurrentHashMap.newKeySet())
+                    .add(ChunkClaimIndex.pack(region.regionX(), region.regionZ()));
+        }
+    }
+
+    /** Load and cache the claims owning the given chunks that are not cached yet. */
+    private void loadClaimsFor(List<ClaimedChunk> chunks) {
+        List<Integer> claimIds = new ArrayList<>(chunks.size());
+        for (ClaimedChunk chunk : chunks) {
+            claimIds.add(chunk.getClaimId());
+        }
+        loadClaimsById(claimIds);
+    }
+
+    /** Load and cache the given claims that are not cached yet. */
+    private void loadClaimsById(List<Integer> claimIds) {
+        Set<Integer> missing = new LinkedHashSet<>();
+        for (Integer claimId : claimIds) {
+            if (!claimManager.isClaimIndexed(claimId)) {
+                missing.add(claimId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        List<Claim> claims = repository.getClaimsByIds(missing);
+        loadedClaims.addAndGet(claimManager.acceptPreloadedClaims(claims));
+    }
+
+    /** Publish the sweep position only after the page's claims are indexed. */
+    private void advanceSweep(SweepPosition previous, List<ClaimedChunk> page) {
+        ClaimedChunk last = page.get(page.size() - 1);
+
+        // Every world before the page's last world has been fully swept
+        List<String> finishedWorlds = new ArrayList<>();
+        if (previous != null && !previous.world().equals(last.getWorld())) {
+            finishedWorlds.add(previous.world());
+        }
+        for (ClaimedChunk chunk : page) {
+            if (!chunk.getWorld().equals(last.getWorld())) {
+                finishedWorlds.add(chunk.getWorld());
+            }
+        }
+        sweptWorlds.addAll(finishedWorlds);
+        sweepPosition = new SweepPosition(last.getWorld(), last.getChunkX(), last.getChunkZ());
+    }
+
+    /** Whether the whole table has been loaded. */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /** Chunks the sweep has passed so far. */
+    public int getSweptChunks() {
+        return sweptChunks.get();
+    }
+
+    /** Total claimed chunks at the start of the preload, or -1 before it is known. */
+    public int getTotalChunks() {
+        return totalChunks;
+    }
+
+    /** Claims loaded into the cache by the preload. */
+    public int getLoadedClaims() {
+        return loadedClaims.get();
+    }
+
+    /** Regions loaded ahead of the sweep. */
+    public int getPriorityRegionsLoaded() {
+        return loadedRegions.values().stream().mapToInt(Set::size).sum();
+    }
+
+    /** Sweep progress from 0.0 to 1.0. */
+    public double getProgress() {
+        if (complete) return 1.0;
+        int total = totalChunks;
+        if (total <= 0) return 0.0;
+        return Math.min(1.0, (double) sweptChunks.get() / total);
+    }
+
+    /** Time spent preloading so far, or in total once complete. */
+    public long getElapsedMillis() {
+        if (startedAt == 0) return 0;
+        return (complete ? finishedAt : System.currentTimeMillis()) - startedAt;
+    }
+
+    /** Get preload progress as a formatted string. */
+    public String getStatus() {
+        return String.format(
+                "Claim preload - %s: %.1f%% (%d/%d chunks swept), %d claims loaded, %d priority"
+                        + " regions, %dms",
+                complete ? "Complete" : "Loading",
+                getProgress() * 100,
+                sweptChunks.get(),
+                Math.max(0, totalChunks),
+                loadedClaims.get(),
+                getPriorityRegionsLoaded(),
+                getElapsedMillis());
+    }
+
+    private record Region(String world, int regionX, int regionZ) {}
+
+    private record SweepPosition(String world, int chunkX, int chunkZ) {}
+}
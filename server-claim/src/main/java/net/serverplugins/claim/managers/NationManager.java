@@ -222,6 +222,10 @@ public class NationManager {
         if (nationId != null) {
             return getNation(nationId);
         }
+        if (cacheLoaded) {
+            // Every membership is cached once loaded, so a miss means no nation
+            return null;
+        }
         return repository.getNationByClaim(claimId);
     }
 
@@ -310,7 +314,7 @@ public class NationManager {
                                             plugin,
                                             () -> {
                                                 // Notify BlueMap to update markers
-                                                notifyBlueMapUpdate();
+                                                notifyBlueMapUpdate(claim.getId());
 
                                                 callback.accept(CreateNationResult.SUCCESS);
                                             });
@@ -394,7 +398,7 @@ public class NationManager {
                                             plugin,
                                             () -> {
                                                 // Notify BlueMap to update markers
-                                                notifyBlueMapUpdate();
+                                                notifyBlueMapUpdate(claim.getId());
 
                                                 callback.accept(true);
                                             });
@@ -433,7 +437,7 @@ public class NationManager {
                                             plugin,
                                             () -> {
                                                 // Notify BlueMap to update markers
-                                                notifyBlueMapUpdate();
+                                                notifyBlueMapUpdate(claim.getId());
 
                                                 callback.accept(true);
                                             });
@@ -479,7 +483,7 @@ public class NationManager {
                                             plugin,
                                             () -> {
                                                 // Notify BlueMap to update markers
-                                                notifyBlueMapUpdate();
+                                                notifyBlueMapUpdate(claimId);
 
                                                 callback.accept(true);
                                             });
@@ -551,8 +555,10 @@ public class NationManager {
                             // Clear all member caches
                             List<NationMember> members =
                                     repository.getMembersByNation(nation.getId());
-                            for (NationMember member : members) {
-                                claimToNationCache.remove(member.getClaimId());
+                            int[] memberClaimIds = new int[members.size()];
+                            for (int i = 0; i < members.size(); i++) {
+                                memberClaimIds[i] = members.get(i).getClaimId();
+                                claimToNationCache.remove(memberClaimIds[i]);
                             }
 
                             repository.deleteNation(nation.getId());
@@ -564,7 +570,7 @@ public class NationManager {
                                             plugin,
                                             () -> {
                                                 // Notify BlueMap to update markers
-                                                notifyBlueMapUpdate();
+                                                notifyBlueMapUpdate(memberClaimIds);
 
                                                 callback.accept(true);
                                             });
@@ -708,15 +714,20 @@ public class NationManager {
     }
 
     /**
-     * Notify BlueMap to update markers (if installed). Uses reflection to avoid compile-time
-     * dependency.
+     * Notify BlueMap to update markers (if installed). The given claims are redrawn, since their
+     * descriptions name their nation. Uses reflection to avoid compile-time dependency.
      */
-    private void notifyBlueMapUpdate() {
+    private void notifyBlueMapUpdate(int... claimIds) {
         try {
             Class<?> bluemapClass = Class.forName("net.serverplugins.bluemap.ServerBlueMap");
             java.lang.reflect.Method getInstanceMethod = bluemapClass.getMethod("getInstance");
             Object bluemapInstance = getInstanceMethod.invoke(null);
             if (bluemapInstance != null) {
+                java.lang.reflect.Method markClaimDirtyMethod =
+                        bluemapClass.getMethod("markClaimDirty", int.class);
+                for (int claimId : claimIds) {
+                    markClaimDirtyMethod.invoke(bluemapInstance, claimId);
+                }
                 java.lang.reflect.Method markDirtyMethod = bluemapClass.getMethod("markDirty");
                 markDirtyMethod.invoke(bluemapInstance);
             }
@@ -1,13 +1,16 @@
 package net.serverplugins.claim.managers;
 
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import net.serverplugins.claim.ServerClaim;
+import net.serverplugins.claim.cache.ChunkClaimIndex;
+import net.serverplugins.claim.cache.ClaimOutline;
 import net.serverplugins.claim.models.Claim;
 import net.serverplugins.claim.models.ClaimProfile;
 import net.serverplugins.claim.models.DustEffect;
@@ -16,10 +19,20 @@ import org.bukkit.Bukkit;
 import org.bukkit.Color;
 import org.bukkit.Location;
 import org.bukkit.Particle;
-import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitTask;
 
+/**
+ * Renders claim border particles for nearby players.
+ *
+ * <p>Rendering is split into three layers so the 5-tick static pass only emits particles: - Claim
+ * outlines: border edges per claim ({@link ClaimOutline}), rebuilt only when the claim's chunks
+ * change - Render sets: per player, the edges within view with their style, particle positions and
+ * dust options resolved. Rebuilt when the player crosses a chunk boundary, changes world or mode,
+ * when any claimed chunk changes, or when a claim in the set or the viewer's own rewards are marked
+ * dirty ({@link #markClaimDirty}, {@link #markOwnerDirty}) - Emission: spawn the cached positions
+ * at the player's cached height
+ */
 public class ParticleManager {
 
     private final ServerClaim plugin;
@@ -29,13 +42,29 @@ public class ParticleManager {
     private final AtomicLong animatedModeTick = new AtomicLong(0);
 
     // Track player Y positions - only update when they move significantly
-    private final Map<UUID, Double> cachedPlayerY = new HashMap<>();
+    private final Map<UUID, Double> cachedPlayerY = new ConcurrentHashMap<>();
 
     // Track last render time for animated mode throttling
-    private final Map<UUID, Long> lastPlayerRenderTick = new HashMap<>();
+    private final Map<UUID, Long> lastPlayerRenderTick = new ConcurrentHashMap<>();
 
-    // Track player chunk positions for optimization
-    private final ConcurrentHashMap<UUID, Long> lastPlayerChunkKey = new ConcurrentHashMap<>();
+    // Claim ID -> border outline, reused until the claim's chunks change
+    private final Map<Integer, ClaimOutline> outlines = new ConcurrentHashMap<>();
+
+    // Player -> edges to render from their current chunk
+    private final Map<UUID, RenderSet> renderSets = new ConcurrentHashMap<>();
+
+    // Bumped on every style change. Render sets built at an older version look up whether the
+    // change touched one of their claims or their viewer before rebuilding
+    private final AtomicLong styleVersion = new AtomicLong(0);
+    private volatile long allDirtyVersion = 0;
+    // Claim ID / owner -> style version of its last change, dropped when the claim or owner goes
+    private final Map<Integer, Long> claimStyleVersions = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> ownerStyleVersions = new ConcurrentHashMap<>();
+
+    private final RenderStats staticStats = new RenderStats();
+    private final RenderStats animatedStats = new RenderStats();
+    private final LongAdder outlineBuilds = new LongAdder();
+    private final LongAdder renderSetBuilds = new LongAdder();
 
     // Frozen static mode: renders every 5 ticks (0.25s) with size 1.5 particles (min lifetime ~6
     // ticks)
@@ -84,10 +113,57 @@ public class ParticleManager {
         }
         cachedPlayerY.clear();
         lastPlayerRenderTick.clear();
-        lastPlayerChunkKey.clear();
+        renderSets.clear();
+        outlines.clear();
+        claimStyleVersions.clear();
+        ownerStyleVersions.clear();
+    }
+
+    /**
+     * Drop everything cached for a claim, e.g. when it is deleted or unloaded. Render sets showing
+     * it are rebuilt anyway, since removing its chunks changes the chunk index.
+     */
+    public void removeClaim(int claimId) {
+        outlines.remove(claimId);
+        claimStyleVersions.remove(claimId);
+    }
+
+    /**
+     * Rebuild the render sets showing a claim on their next pass. Call after changing anything
+     * {@link #resolveStyle} reads from the claim: its color, particle toggle or profiles.
+     */
+    public void markClaimDirty(int claimId) {
+        claimStyleVersions.put(claimId, styleVersion.incrementAndGet());
+    }
+
+    /**
+     * Rebuild an owner's own render set on their next pass. Call after their global rewards change
+     * or load, since those only style the claims they view themselves. Offline owners have no
+     * render set, and get a fresh one when they join.
+     */
+    public void markOwnerDirty(UUID ownerUuid) {
+        if (Bukkit.getPlayer(ownerUuid) != null) {
+            ownerStyleVersions.put(ownerUuid, styleVersion.incrementAndGet());
+        }
+    }
+
+    /** Rebuild every render set on its next pass, e.g. after a config reload. */
+    public void markAllDirty() {
+        allDirtyVersion = styleVersion.incrementAndGet();
+    }
+
+    /** Drop all per-player render state. Called when the player quits. */
+    public void clearPlayer(UUID playerUuid) {
+        cachedPlayerY.remove(playerUuid);
+        lastPlayerRenderTick.remove(playerUuid);
+        renderSets.remove(playerUuid);
+        ownerStyleVersions.remove(playerUuid);
     }
 
     private void renderParticlesForMode(boolean staticModeOnly) {
+        long startNanos = System.nanoTime();
+        int particles = 0;
+
         // Update tick counters (only animated mode uses throttling)
         if (!staticModeOnly) {
             currentTick.incrementAndGet();
@@ -136,27 +212,19 @@ public class ParticleManager {
                 continue;
             }
 
-            renderParticlesForPlayer(player, playerStaticMode);
+            particles += renderParticlesForPlayer(player, playerStaticMode);
         }
+
+        (staticModeOnly ? staticStats : animatedStats)
+                .record(System.nanoTime() - startNanos, particles);
     }
 
-    private void renderParticlesForPlayer(Player player, boolean playerStaticMode) {
+    /** Render one player's borders and return the number of particles spawned. */
+    private int renderParticlesForPlayer(Player player, boolean playerStaticMode) {
         UUID playerUuid = player.getUniqueId();
         Location loc = player.getLocation();
 
-        // Calculate current chunk position for optimization
-        int currentChunkX = loc.getBlockX() >> 4;
-        int currentChunkZ = loc.getBlockZ() >> 4;
-        long currentChunkKey = ((long) currentChunkX << 32) | (currentChunkZ & 0xFFFFFFFFL);
-
-        if (playerStaticMode) {
-            // Frozen mode: ALWAYS re-render every tick to maintain seamless particle presence
-            // No skip logic - particles must be refreshed before they despawn
-            lastPlayerChunkKey.put(playerUuid, currentChunkKey);
-        } else {
-            // For animated mode, always update chunk position
-            lastPlayerChunkKey.put(playerUuid, currentChunkKey);
-
+        if (!playerStaticMode) {
             // For animated mode, check if enough time passed for refresh
             Long lastRenderTick = lastPlayerRenderTick.get(playerUuid);
             long currentTick = animatedModeTick.get();
@@ -164,79 +232,166 @@ public class ParticleManager {
             // If not enough time passed, skip rendering
             if (lastRenderTick != null
                     && (currentTick - lastRenderTick) < ANIMATED_PARTICLE_REFRESH) {
-                return; // Skip - particles still animating
+                return 0; // Skip - particles still animating
             }
             // Enough time passed - render new animated frame
             lastPlayerRenderTick.put(playerUuid, animatedModeTick.get());
         }
 
-        int viewDistance = plugin.getClaimConfig().getParticleViewDistance();
-        int totalClaimCount = plugin.getClaimManager().getTotalClaimCount();
+        // Frozen mode re-renders every pass so particles are refreshed before they despawn, but
+        // the render set itself only changes when the player crosses a chunk boundary
+        String worldName = loc.getWorld().getName();
         int playerChunkX = loc.getBlockX() >> 4;
         int playerChunkZ = loc.getBlockZ() >> 4;
-        int chunkRadius = viewDistance / 16;
-        String worldName = loc.getWorld().getName();
+        // Read before any rebuild; a claim or style change during the build forces another one
+        long indexVersion = areaVersion(worldName, playerChunkX, playerChunkZ);
+        long currentStyleVersion = styleVersion.get();
+        PerformanceTier tier = getPerformanceTier(plugin.getClaimManager().getTotalClaimCount());
+
+        RenderSet renderSet = renderSets.get(playerUuid);
+        if (renderSet == null
+                || !renderSet.matches(
+                        worldName, playerChunkX, playerChunkZ, playerStaticMode, tier, indexVersion)
+                || isStyleDirty(renderSet, playerUuid, currentStyleVersion)) {
+            renderSet =
+                    buildRenderSet(
+                            player,
+                            worldName,
+                            playerChunkX,
+                            playerChunkZ,
+                            playerStaticMode,
+                            tier,
+                            indexVersion,
+                            currentStyleVersion);
+            renderSets.put(playerUuid, renderSet);
+        }
 
-        // Create local cache for nearby claimed chunks
-        Map<String, Claim> claimCache = new HashMap<>();
+        if (renderSet.edges().isEmpty()) {
+            return 0;
+        }
 
-        // First pass: populate cache with all claimed chunks in view radius
-        for (int dx = -chunkRadius; dx <= chunkRadius; dx++) {
-            for (int dz = -chunkRadius; dz <= chunkRadius; dz++) {
-                int chunkX = playerChunkX + dx;
-                int chunkZ = playerChunkZ + dz;
+        // player.spawnParticle() just sends a network packet - safe from async on Paper/Purpur
+        return renderBorders(player, renderSet);
+    }
 
-                Claim claim = plugin.getClaimManager().getClaimAt(worldName, chunkX, chunkZ);
-                if (claim != null) {
-                    claimCache.put(chunkX + ":" + chunkZ, claim);
-                }
-            }
+    /**
+     * Chunk index version of the area a render set reads. Covers one chunk past the view radius,
+     * since whether an edge is drawn depends on who owns the chunk beyond it. Claim edits
+     * elsewhere leave it unchanged, so they do not rebuild this viewer's set.
+     */
+    private long areaVersion(String worldName, int chunkX, int chunkZ) {
+        ChunkClaimIndex.WorldIndex index =
+                plugin.getClaimManager().getChunkIndex().world(worldName);
+        if (index == null) {
+            return 0;
         }
+        int reach = plugin.getClaimConfig().getParticleViewDistance() / 16 + 1;
+        return index.getAreaVersion(chunkX - reach, chunkZ - reach, chunkX + reach, chunkZ + reach);
+    }
 
-        // Early exit if no claims in area
-        if (claimCache.isEmpty()) {
-            return;
+    /**
+     * Whether a style change since the render set was built touched one of its claims or its
+     * viewer. Only walks the set's claims when some style changed at all.
+     */
+    private boolean isStyleDirty(RenderSet renderSet, UUID viewerUuid, long currentStyleVersion) {
+        long builtAt = renderSet.styleVersion();
+        if (builtAt == currentStyleVersion) {
+            return false;
         }
+        if (allDirtyVersion > builtAt) {
+            return true;
+        }
+        Long ownerVersion = ownerStyleVersions.get(viewerUuid);
+        if (ownerVersion != null && ownerVersion > builtAt) {
+            return true;
+        }
+        for (int claimId : renderSet.claimIds()) {
+            Long claimVersion = claimStyleVersions.get(claimId);
+            if (claimVersion != null && claimVersion > builtAt) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        Set<ChunkBorder> borders = new HashSet<>();
+    /**
+     * Resolve every border edge within the player's view radius. Runs on chunk crossings and claim
+     * changes only; the per-pass work is in {@link #renderBorders}.
+     */
+    private RenderSet buildRenderSet(
+            Player viewer,
+            String worldName,
+            int playerChunkX,
+            int playerChunkZ,
+            boolean staticMode,
+            PerformanceTier tier,
+            long indexVersion,
+            long currentStyleVersion) {
+        renderSetBuilds.increment();
+        int chunkRadius = plugin.getClaimConfig().getParticleViewDistance() / 16;
+        double baseDensity = plugin.getClaimConfig().getParticleDensity();
 
-        // Second pass: only process claimed chunks and check borders using cache
-        for (Map.Entry<String, Claim> entry : claimCache.entrySet()) {
-            String[] coords = entry.getKey().split(":");
-            int chunkX = Integer.parseInt(coords[0]);
-            int chunkZ = Integer.parseInt(coords[1]);
-            Claim claim = entry.getValue();
+        // Distinct claims with at least one chunk in view radius. Claims with particles disabled
+        // are kept too, so turning them back on marks this set dirty
+        Map<Integer, Claim> nearbyClaims = new LinkedHashMap<>();
+        for (int dx = -chunkRadius; dx <= chunkRadius; dx++) {
+            for (int dz = -chunkRadius; dz <= chunkRadius; dz++) {
+                Claim claim =
+                        plugin.getClaimManager()
+                                .getClaimAt(worldName, playerChunkX + dx, playerChunkZ + dz);
+                if (claim != null) {
+                    nearbyClaims.putIfAbsent(claim.getId(), claim);
+                }
+            }
+        }
 
+        List<RenderEdge> edges = new ArrayList<>();
+        for (Claim claim : nearbyClaims.values()) {
             // Skip if per-claim particles are disabled
             if (!claim.isParticleEnabled()) {
                 continue;
             }
-
-            collectBorders(
-                    claim,
-                    chunkX,
-                    chunkZ,
-                    borders,
-                    player,
-                    claimCache,
-                    playerStaticMode,
-                    totalClaimCount);
+            ClaimOutline outline = getOutline(claim);
+            BorderStyle style = resolveStyle(claim, viewer, staticMode);
+            double effectiveDensity = baseDensity * tier.densityMultiplier * style.customDensity();
+
+            for (int i = 0; i < outline.size(); i++) {
+                int chunkX = outline.getChunkX(i);
+                int chunkZ = outline.getChunkZ(i);
+                if (Math.abs(chunkX - playerChunkX) > chunkRadius
+                        || Math.abs(chunkZ - playerChunkZ) > chunkRadius) {
+                    continue;
+                }
+                edges.add(
+                        buildEdge(
+                                chunkX, chunkZ, outline.getSide(i), style, tier, effectiveDensity));
+            }
         }
 
-        // player.spawnParticle() just sends a network packet - safe from async on Paper/Purpur
-        renderBorders(player, borders, totalClaimCount);
+        return new RenderSet(
+                worldName,
+                playerChunkX,
+                playerChunkZ,
+                staticMode,
+                tier,
+                indexVersion,
+                currentStyleVersion,
+                nearbyClaims.keySet().stream().mapToInt(Integer::intValue).toArray(),
+                List.copyOf(edges));
     }
 
-    private void collectBorders(
-            Claim claim,
-            int chunkX,
-            int chunkZ,
-            Set<ChunkBorder> borders,
-            Player viewer,
-            Map<String, Claim> claimCache,
-            boolean staticMode,
-            int totalClaimCount) {
-        Color color;
+    private ClaimOutline getOutline(Claim claim) {
+        ClaimOutline outline = outlines.get(claim.getId());
+        if (outline == null || !outline.isCurrent(claim)) {
+            outline = ClaimOutline.build(claim);
+            outlines.put(claim.getId(), outline);
+            outlineBuilds.increment();
+        }
+        return outline;
+    }
+
+    /** Resolve how a viewer sees a claim's border: dust effect, color and density. */
+    private BorderStyle resolveStyle(Claim claim, Player viewer, boolean staticMode) {
         DustEffect effect = null;
         double customDensity = 1.0; // Default multiplier
         boolean useCustomColors =
@@ -322,86 +477,85 @@ public class ParticleManager {
             useCustomColors = false; // Using default claim color - use EGG_CRACK
         }
 
-        // Use cache for adjacency checks instead of repeated getClaimAt calls
-        if (!isClaimedByOwner(claim, chunkX - 1, chunkZ, claimCache)) {
-            borders.add(
-                    new ChunkBorder(
-                            chunkX,
-                            chunkZ,
-                            BorderSide.WEST,
-                            effect,
-                            fallbackColor,
-                            claim.getWorld(),
-                            staticMode,
-                            customDensity,
-                            useCustomColors));
-        }
-        if (!isClaimedByOwner(claim, chunkX + 1, chunkZ, claimCache)) {
-            borders.add(
-                    new ChunkBorder(
-                            chunkX,
-                            chunkZ,
-                            BorderSide.EAST,
-                            effect,
-                            fallbackColor,
-                            claim.getWorld(),
-                            staticMode,
-                            customDensity,
-                            useCustomColors));
-        }
-        if (!isClaimedByOwner(claim, chunkX, chunkZ - 1, claimCache)) {
-            borders.add(
-                    new ChunkBorder(
-                            chunkX,
-                            chunkZ,
-                            BorderSide.NORTH,
-                            effect,
-                            fallbackColor,
-                            claim.getWorld(),
-                            staticMode,
-                            customDensity,
-                            useCustomColors));
-        }
-        if (!isClaimedByOwner(claim, chunkX, chunkZ + 1, claimCache)) {
-            borders.add(
-                    new ChunkBorder(
-                            chunkX,
-                            chunkZ,
-                            BorderSide.SOUTH,
-                            effect,
-                            fallbackColor,
-                            claim.getWorld(),
-                            staticMode,
-                            customDensity,
-                            useCustomColors));
-        }
+        return new BorderStyle(effect, fallbackColor, staticMode, customDensity, useCustomColors);
     }
 
-    private boolean isClaimedByOwner(
-            Claim claim, int chunkX, int chunkZ, Map<String, Claim> claimCache) {
-        // Check if the adjacent chunk is part of the same claim
-        // First check the cache to avoid additional lookups
-        Claim adjacentClaim = claimCache.get(chunkX + ":" + chunkZ);
+    /**
+     * Precompute the particle positions along one chunk edge. LOW tier only marks the two corners;
+     * other tiers place a particle every {@code density} blocks.
+     */
+    private RenderEdge buildEdge(
+            int chunkX,
+            int chunkZ,
+            ClaimOutline.Side side,
+            BorderStyle style,
+            PerformanceTier tier,
+            double density) {
+        int baseX = chunkX << 4;
+        int baseZ = chunkZ << 4;
+
+        double[] offsets;
+        if (tier == PerformanceTier.LOW) {
+            offsets = new double[] {0, 16};
+        } else {
+            // With density 16.0, only corners (0, 16) will spawn
+            double step = density > 0 ? density : 1.0;
+            offsets = new double[(int) (16 / step) + 1];
+            for (int i = 0; i < offsets.length; i++) {
+                offsets[i] = i * step;
+            }
+        }
 
-        // If not in cache, it's not claimed in the view radius
-        if (adjacentClaim == null) {
-            return false;
+        double[] xs = new double[offsets.length];
+        double[] zs = new double[offsets.length];
+        for (int i = 0; i < offsets.length; i++) {
+            double offset = offsets[i];
+            switch (side) {
+                    // North border: Z is fixed at chunk boundary, X at key points
+                case NORTH -> {
+                    xs[i] = baseX + offset;
+                    zs[i] = baseZ;
+                }
+                    // South border: Z is fixed at chunk boundary + 16, X at key points
+                case SOUTH -> {
+                    xs[i] = baseX + offset;
+                    zs[i] = baseZ + 16;
+                }
+                    // West border: X is fixed at chunk boundary, Z at key points
+                case WEST -> {
+                    xs[i] = baseX;
+                    zs[i] = baseZ + offset;
+                }
+                    // East border: X is fixed at chunk boundary + 16, Z at key points
+                case EAST -> {
+                    xs[i] = baseX + 16;
+                    zs[i] = baseZ + offset;
+                }
+            }
         }
 
-        // Check if it's the same claim
-        return adjacentClaim.equals(claim) || claim.containsChunk(chunkX, chunkZ);
+        // Check if this effect needs per-position color calculation (rainbow gradient)
+        DustEffect effect = style.effect();
+        boolean isRainbowGradient =
+                effect == DustEffect.RAINBOW && (!style.staticMode() || effect.isAnimated());
+        boolean perFrameColor =
+                isRainbowGradient || (effect != null && effect.isAnimated() && !style.staticMode());
+
+        // Constant colors get their dust options built once instead of per particle
+        Particle.DustOptions dust =
+                perFrameColor
+                        ? null
+                        : createDustOptions(
+                                getColorForPosition(style, 0, 0, false), style.staticMode());
+
+        return new RenderEdge(xs, zs, offsets, style, isRainbowGradient, dust);
     }
 
-    private void renderBorders(Player player, Set<ChunkBorder> borders, int totalClaimCount) {
-        double baseDensity = plugin.getClaimConfig().getParticleDensity();
-        World world = player.getWorld();
-
+    /** Emit a player's cached render set. Returns the number of particles spawned. */
+    private int renderBorders(Player player, RenderSet renderSet) {
         // Get current tick for animated color calculation
         long currentTickValue = currentTick.get();
 
-        // Determine performance tier based on total claim count
-        PerformanceTier tier = getPerformanceTier(totalClaimCount);
-
         // Get or update cached Y position (player's feet)
         UUID playerUuid = player.getUniqueId();
         double currentFeetY = player.getLocation().getY();
@@ -424,112 +578,29 @@ public class ParticleManager {
         // Render from feet to head (2 blocks tall)
         double playerHeadY = playerFeetY + 2.0;
 
-        for (ChunkBorder border : borders) {
-            if (!border.world.equals(world.getName())) continue;
-
-            int baseX = border.chunkX << 4;
-            int baseZ = border.chunkZ << 4;
-
-            // Apply performance tier multiplier to density
-            double effectiveDensity = baseDensity * tier.densityMultiplier * border.customDensity();
-
-            // Check if this effect needs per-Y color calculation (rainbow gradient)
-            boolean isRainbowGradient =
-                    border.effect() == DustEffect.RAINBOW
-                            && (!border.staticMode() || border.effect().isAnimated());
-
-            // For LOW tier, only render corners for better performance
-            if (tier == PerformanceTier.LOW) {
-                renderCornersWithGradient(
-                        player,
-                        baseX,
-                        baseZ,
-                        playerFeetY,
-                        playerHeadY,
-                        effectiveDensity,
-                        border,
-                        currentTickValue,
-                        isRainbowGradient);
-            } else {
-                // Render minimal particles at key points from feet to head
-                // With density 16.0, only corners (0, 16) will spawn
-                switch (border.side()) {
-                    case NORTH -> {
-                        // North border: Z is fixed at chunk boundary, X at key points
-                        for (double x = 0; x <= 16; x += effectiveDensity) {
-                            // Spawn particles every 1 block vertically from feet to head
-                            for (double y = playerFeetY; y <= playerHeadY; y += 1.0) {
-                                Color color =
-                                        getColorForPosition(
-                                                border, x, currentTickValue, isRainbowGradient);
-                                spawnParticle(
-                                        player,
-                                        color,
-                                        baseX + x,
-                                        y,
-                                        baseZ,
-                                        border.staticMode(),
-                                        border.useCustomColors());
-                            }
-                        }
-                    }
-                    case SOUTH -> {
-                        // South border: Z is fixed at chunk boundary + 16, X at key points
-                        for (double x = 0; x <= 16; x += effectiveDensity) {
-                            for (double y = playerFeetY; y <= playerHeadY; y += 1.0) {
-                                Color color =
-                                        getColorForPosition(
-                                                border, x, currentTickValue, isRainbowGradient);
-                                spawnParticle(
-                                        player,
-                                        color,
-                                        baseX + x,
-                                        y,
-                                        baseZ + 16,
-                                        border.staticMode(),
-                                        border.useCustomColors());
-                            }
-                        }
-                    }
-                    case WEST -> {
-                        // West border: X is fixed at chunk boundary, Z at key points
-                        for (double z = 0; z <= 16; z += effectiveDensity) {
-                            for (double y = playerFeetY; y <= playerHeadY; y += 1.0) {
-                                Color color =
-                                        getColorForPosition(
-                                                border, z, currentTickValue, isRainbowGradient);
-                                spawnParticle(
-                                        player,
-                                        color,
-                                        baseX,
-                                        y,
-                                        baseZ + z,
-                                        border.staticMode(),
-                                        border.useCustomColors());
-                            }
-                        }
-                    }
-                    case EAST -> {
-                        // East border: X is fixed at chunk boundary + 16, Z at key points
-                        for (double z = 0; z <= 16; z += effectiveDensity) {
-                            for (double y = playerFeetY; y <= playerHeadY; y += 1.0) {
-                                Color color =
-                                        getColorForPosition(
-                                                border, z, currentTickValue, isRainbowGradient);
-                                spawnParticle(
-                                        player,
-                                        color,
-                                        baseX + 16,
-                                        y,
-                                        baseZ + z,
-                                        border.staticMode(),
-                                        border.useCustomColors());
-                            }
-                        }
-                    }
+        int spawned = 0;
+        for (RenderEdge edge : renderSet.edges()) {
+            BorderStyle style = edge.style();
+            for (int i = 0; i < edge.xs().length; i++) {
+                Particle.DustOptions dust = edge.dust();
+                if (dust == null) {
+                    dust =
+                            createDustOptions(
+                                    getColorForPosition(
+                                            style,
+                                            edge.offsets()[i],
+                                            currentTickValue,
+                                            edge.rainbowGradient()),
+                                    style.staticMode());
+                }
+                // Spawn particles every 1 block vertically from feet to head
+                for (double y = playerFeetY; y <= playerHeadY; y += 1.0) {
+                    spawnParticle(player, dust, edge.xs()[i], y, edge.zs()[i]);
+                    spawned++;
                 }
             }
         }
+        return spawned;
     }
 
     /**
@@ -538,136 +609,29 @@ public class ParticleManager {
      * @param horizontalOffset Position along the border (0-16 for chunk edge)
      */
     private Color getColorForPosition(
-            ChunkBorder border, double horizontalOffset, long tick, boolean isRainbowGradient) {
+            BorderStyle style, double horizontalOffset, long tick, boolean isRainbowGradient) {
         if (isRainbowGradient) {
             // Calculate horizontal position (0.0 to 1.0) for rainbow cycling
             double horizontalPosition = horizontalOffset / 16.0;
-            return border.effect().getColorAtPosition(horizontalPosition, tick);
+            return style.effect().getColorAtPosition(horizontalPosition, tick);
         }
 
         // Non-gradient effects - calculate color normally
-        if (border.effect() != null) {
-            if (border.staticMode() && border.effect().isAnimated()) {
-                return border.effect().getStaticColor();
-            } else if (border.effect().isAnimated()) {
-                return border.effect().getColorAtTick(tick);
+        if (style.effect() != null) {
+            if (style.staticMode() && style.effect().isAnimated()) {
+                return style.effect().getStaticColor();
+            } else if (style.effect().isAnimated()) {
+                return style.effect().getColorAtTick(tick);
             } else {
-                return border.effect().getBaseColor();
+                return style.effect().getBaseColor();
             }
-        } else if (border.fallbackColor() != null) {
-            return border.fallbackColor();
+        } else if (style.fallbackColor() != null) {
+            return style.fallbackColor();
         } else {
             return Color.WHITE;
         }
     }
 
-    /**
-     * Renders only corner particles for LOW performance tier with horizontal rainbow gradient
-     * support. Creates corner indicators at chunk borders without rendering full lines.
-     */
-    private void renderCornersWithGradient(
-            Player player,
-            int baseX,
-            int baseZ,
-            double playerFeetY,
-            double playerHeadY,
-            double density,
-            ChunkBorder border,
-            long tick,
-            boolean isRainbowGradient) {
-        // Render minimal corner particles from feet to head
-        switch (border.side()) {
-            case NORTH -> {
-                for (double y = playerFeetY; y <= playerHeadY; y += 1.0) {
-                    Color colorStart = getColorForPosition(border, 0, tick, isRainbowGradient);
-                    Color colorEnd = getColorForPosition(border, 16, tick, isRainbowGradient);
-                    spawnParticle(
-                            player,
-                            colorStart,
-                            baseX,
-                            y,
-                            baseZ,
-                            border.staticMode(),
-                            border.useCustomColors());
-                    spawnParticle(
-                            player,
-                            colorEnd,
-                            baseX + 16,
-                            y,
-                            baseZ,
-                            border.staticMode(),
-                            border.useCustomColors());
-                }
-            }
-            case SOUTH -> {
-                for (double y = playerFeetY; y <= playerHeadY; y += 1.0) {
-                    Color colorStart = getColorForPosition(border, 0, tick, isRainbowGradient);
-                    Color colorEnd = getColorForPosition(border, 16, tick, isRainbowGradient);
-                    spawnParticle(
-                            player,
-                            colorStart,
-                            baseX,
-                            y,
-                            baseZ + 16,
-                            border.staticMode(),
-                            border.useCustomColors());
-                    spawnParticle(
-                            player,
-                            colorEnd,
-                            baseX + 16,
-                            y,
-                            baseZ + 16,
-                            border.staticMode(),
-                            border.useCustomColors());
-                }
-            }
-            case WEST -> {
-                for (double y = playerFeetY; y <= playerHeadY; y += 1.0) {
-                    Color colorStart = getColorForPosition(border, 0, tick, isRainbowGradient);
-                    Color colorEnd = getColorForPosition(border, 16, tick, isRainbowGradient);
-                    spawnParticle(
-                            player,
-                            colorStart,
-                            baseX,
-                            y,
-                            baseZ,
-                            border.staticMode(),
-                            border.useCustomColors());
-                    spawnParticle(
-                            player,
-                            colorEnd,
-                            baseX,
-                            y,
-                            baseZ + 16,
-                            border.staticMode(),
-                            border.useCustomColors());
-                }
-            }
-            case EAST -> {
-                for (double y = playerFeetY; y <= playerHeadY; y += 1.0) {
-                    Color colorStart = getColorForPosition(border, 0, tick, isRainbowGradient);
-                    Color colorEnd = getColorForPosition(border, 16, tick, isRainbowGradient);
-                    spawnParticle(
-                            player,
-                            colorStart,
-                            baseX + 16,
-                            y,
-                            baseZ,
-                            border.staticMode(),
-                            border.useCustomColors());
-                    spawnParticle(
-                            player,
-                            colorEnd,
-                            baseX + 16,
-                            y,
-                            baseZ + 16,
-                            border.staticMode(),
-                            border.useCustomColors());
-                }
-            }
-        }
-    }
-
     /** Determines the performance tier based on total server claim count. */
     private PerformanceTier getPerformanceTier(int totalClaimCount) {
         if (totalClaimCount < 20) {
@@ -692,19 +656,16 @@ public class ParticleManager {
         }
     }
 
-    private void spawnParticle(
-            Player player,
-            Color color,
-            double x,
-            double y,
-            double z,
-            boolean staticMode,
-            boolean useCustomColors) {
+    private Particle.DustOptions createDustOptions(Color color, boolean staticMode) {
         // Frozen mode uses size 1.5 for longer particle lifetime (~6+ ticks minimum)
         // which guarantees overlap with the 5-tick refresh interval, eliminating blinking
         // Normal mode uses size 1.0 (standard dust particle)
         float particleSize = staticMode ? 1.5f : 1.0f;
-        Particle.DustOptions dustOptions = new Particle.DustOptions(color, particleSize);
+        return new Particle.DustOptions(color, particleSize);
+    }
+
+    private void spawnParticle(
+            Player player, Particle.DustOptions dustOptions, double x, double y, double z) {
         player.spawnParticle(
                 Particle.DUST,
                 x,
@@ -718,21 +679,101 @@ public class ParticleManager {
                 dustOptions);
     }
 
-    private enum BorderSide {
-        NORTH,
-        SOUTH,
-        EAST,
-        WEST
+    /** Render time and particle count of the last pass for a mode, plus averages. */
+    public String getRenderStats(boolean staticMode) {
+        return (staticMode ? "Static" : "Animated")
+                + " - "
+                + (staticMode ? staticStats : animatedStats).describe();
     }
 
-    private record ChunkBorder(
-            int chunkX,
-            int chunkZ,
-            BorderSide side,
+    /** Cached geometry and how often it has been rebuilt. */
+    public String getCacheStats() {
+        return String.format(
+                "Border cache - %d outlines (%d builds), %d render sets (%d builds), %d style"
+                        + " stamps",
+                outlines.size(),
+                outlineBuilds.sum(),
+                renderSets.size(),
+                renderSetBuilds.sum(),
+                claimStyleVersions.size() + ownerStyleVersions.size());
+    }
+
+    /** Resolved appearance of one claim's border for one viewer. */
+    private record BorderStyle(
             DustEffect effect,
             Color fallbackColor,
-            String world,
             boolean staticMode,
             double customDensity,
             boolean useCustomColors) {}
+
+    /**
+     * One chunk edge ready to emit: particle XZ positions, their offset along the edge (for
+     * gradients), and prebuilt dust options when the color does not change per frame.
+     */
+    private record RenderEdge(
+            double[] xs,
+            double[] zs,
+            double[] offsets,
+            BorderStyle style,
+            boolean rainbowGradient,
+            Particle.DustOptions dust) {}
+
+    /**
+     * A player's resolved edges and the state they were built for, including every claim in view
+     * so style changes to them can be found.
+     */
+    private record RenderSet(
+            String world,
+            int chunkX,
+            int chunkZ,
+            boolean staticMode,
+            PerformanceTier tier,
+            long indexVersion,
+            long styleVersion,
+            int[] claimIds,
+            List<RenderEdge> edges) {
+
+        boolean matches(
+                String world,
+                int chunkX,
+                int chunkZ,
+                boolean staticMode,
+                PerformanceTier tier,
+                long indexVersion) {
+            return this.chunkX == chunkX
+                    && this.chunkZ == chunkZ
+                    && this.staticMode == staticMode
+                    && this.tier == tier
+                    && this.indexVersion == indexVersion
+                    && this.world.equals(world);
+        }
+    }
+
+    /** Per-mode render pass timings and particle counts. */
+    private static final class RenderStats {
+        private final LongAdder passes = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder totalParticles = new LongAdder();
+        private volatile long lastNanos;
+        private volatile int lastParticles;
+
+        void record(long nanos, int particles) {
+            passes.increment();
+            totalNanos.add(nanos);
+            totalParticles.add(particles);
+            lastNanos = nanos;
+            lastParticles = particles;
+        }
+
+        String describe() {
+            long count = passes.sum();
+            return String.format(
+                    "last pass: %dus, %d particles | avg: %dus, %d particles over %d passes",
+                    lastNanos / 1000,
+                    lastParticles,
+                    count > 0 ? totalNanos.sum() / count / 1000 : 0,
+                    count > 0 ? totalParticles.sum() / count : 0,
+                    count);
+        }
+    }
 }
@@ -99,14 +99,17 @@ public class ProfileManager {
 
         profile.setActive(true);
         repository.saveProfile(profile);
+        markParticlesDirty(claim.getId());
     }
 
     public void updateProfileSettings(ClaimProfile profile) {
         repository.saveProfileSettings(profile);
+        markParticlesDirty(profile.getClaimId());
     }
 
     public void updateProfile(ClaimProfile profile) {
         repository.saveProfile(profile);
+        markParticlesDirty(profile.getClaimId());
     }
 
     public void trustPlayer(Claim claim, Player player) {
@@ -149,6 +152,7 @@ public class ProfileManager {
 
         // Remove from claim
         claim.removeProfile(profile);
+        markParticlesDirty(claim.getId());
 
         // If it was active, activate another profile if available
         if (wasActive && !claim.getProfiles().isEmpty()) {
@@ -239,6 +243,7 @@ public class ProfileManager {
                                             plugin,
                                             () -> {
                                                 claim.removeProfile(profile);
+                                                markParticlesDirty(claim.getId());
 
                                                 if (wasActive && !claim.getProfiles().isEmpty()) {
                                                     ClaimProfile newActive =
@@ -260,6 +265,7 @@ public class ProfileManager {
                         plugin,
                         () -> {
                             repository.saveProfileSettings(profile);
+                            markParticlesDirty(profile.getClaimId());
 
                             plugin.getServer()
                                     .getScheduler()
@@ -290,6 +296,7 @@ public class ProfileManager {
                             // Activate the target profile
                             profile.setActive(true);
                             repository.saveProfile(profile);
+                            markParticlesDirty(claim.getId());
 
                             plugin.getServer()
                                     .getScheduler()
@@ -302,4 +309,12 @@ public class ProfileManager {
                                             });
                         });
     }
+
+    /** Border particles are styled from the active profile, so re-resolve them after a change. */
+    private void markParticlesDirty(int claimId) {
+        ParticleManager particleManager = plugin.getParticleManager();
+        if (particleManager != null) {
+            particleManager.markClaimDirty(claimId);
+        }
+    }
 }
@@ -39,6 +39,7 @@ public class RewardsManager {
                         saveToDatabase(data);
                     }
                     cache.put(uuid, data);
+                    markParticlesDirty(uuid);
                     return data;
                 });
     }
@@ -65,6 +66,7 @@ public class RewardsManager {
 
         // Cache the data and return
         cache.put(uuid, data);
+        markParticlesDirty(uuid);
         return data;
     }
 
@@ -110,6 +112,7 @@ public class RewardsManager {
 
     public void savePlayerRewards(PlayerRewardsData data) {
         cache.put(data.getUuid(), data);
+        markParticlesDirty(data.getUuid());
         CompletableFuture.runAsync(() -> saveToDatabase(data));
     }
 
@@ -194,6 +197,7 @@ public class RewardsManager {
 
     public void invalidateCache(UUID uuid) {
         cache.remove(uuid);
+        markParticlesDirty(uuid);
     }
 
     public void clearCache() {
@@ -211,4 +215,12 @@ public class RewardsManager {
             CompletableFuture.runAsync(() -> saveToDatabase(data));
         }
     }
+
+    /** Global rewards style the player's own claim borders, so re-resolve them after a change. */
+    private void markParticlesDirty(UUID uuid) {
+        ParticleManager particleManager = plugin.getParticleManager();
+        if (particleManager != null) {
+            particleManager.markOwnerDirty(uuid);
+        }
+    }
 }
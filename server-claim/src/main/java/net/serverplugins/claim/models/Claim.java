@@ -3,6 +3,7 @@ package net.serverplugins.claim.models;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.bukkit.Material;
 
 /**
@@ -12,6 +13,10 @@ import org.bukkit.Material;
  * thread-safe for concurrent reads - Uses ConcurrentHashMap for maps (members, memberGroupIds) -
  * thread-safe for concurrent reads/writes - Uses Collections.synchronizedSet for sets
  * (trustedPlayers, bannedPlayers) - thread-safe with explicit synchronization
+ *
+ * <p>Permission checks read a compiled {@link PermissionSnapshot} (one map lookup plus a bit test).
+ * Edits to trust, members, groups or the owner bump a version, and the next check rebuilds the
+ * snapshot and publishes it atomically.
  */
 public class Claim {
 
@@ -51,6 +56,13 @@ public class Claim {
     private final Map<UUID, Integer> memberGroupIds =
             new ConcurrentHashMap<>(); // Player UUID -> CustomGroup ID
 
+    // Bumped on every chunk add/remove so derived geometry (border outlines) can detect changes
+    private final AtomicInteger chunkVersion = new AtomicInteger();
+
+    // Compiled effective permissions, rebuilt on the first check after an edit
+    private final AtomicInteger permissionVersion = new AtomicInteger();
+    private volatile PermissionSnapshot permissionSnapshot;
+
     public Claim() {
         this.settings = new ClaimSettings();
     }
@@ -84,6 +96,7 @@ public class Claim {
 
     public void setOwnerUuid(UUID ownerUuid) {
         this.ownerUuid = ownerUuid;
+        invalidatePermissions();
     }
 
     public String getName() {
@@ -108,15 +121,22 @@ public class Claim {
 
     public void addChunk(ClaimedChunk chunk) {
         chunks.add(chunk);
+        chunkVersion.incrementAndGet();
     }
 
     public void removeChunk(ClaimedChunk chunk) {
         chunks.remove(chunk);
+        chunkVersion.incrementAndGet();
         // IMPORTANT: Do NOT decrease purchasedChunks or totalChunks here
         // Players keep their purchased chunk slots even when unclaiming chunks
         // This preserves their investment and allows re-claiming later
     }
 
+    /** Version of the chunk list, incremented on every add or remove. */
+    public int getChunkVersion() {
+        return chunkVersion.get();
+    }
+
     @Deprecated
     public void removeProfile(ClaimProfile profile) {
         profiles.remove(profile);
@@ -269,6 +289,7 @@ public class Claim {
 
     public void setGroupPermissions(GroupPermissions groupPermissions) {
         this.groupPermissions = groupPermissions;
+        invalidatePermissions();
     }
 
     public boolean containsChunk(int chunkX, int chunkZ) {
@@ -299,10 +320,12 @@ public class Claim {
 
     public void trustPlayer(UUID uuid) {
         trustedPlayers.add(uuid);
+        invalidatePermissions();
     }
 
     public void untrustPlayer(UUID uuid) {
         trustedPlayers.remove(uuid);
+        invalidatePermissions();
     }
 
     public boolean isTrusted(UUID uuid) {
@@ -322,11 +345,13 @@ public class Claim {
     @Deprecated
     public void setMemberGroup(UUID uuid, ClaimGroup group) {
         members.put(uuid, group);
+        invalidatePermissions();
     }
 
     public void removeMember(UUID uuid) {
         members.remove(uuid);
         memberGroupIds.remove(uuid);
+        invalidatePermissions();
     }
 
     @Deprecated
@@ -336,12 +361,23 @@ public class Claim {
     }
 
     public boolean hasPermission(UUID uuid, ClaimPermission permission) {
+        return getPermissionSnapshot().hasPermission(uuid, permission);
+    }
+
+    /**
+     * Resolve a permission from the underlying trust, member and group data. Only used to compile
+     * {@link PermissionSnapshot}s.
+     *
+     * @param uuid Player to resolve, or null for a player with no membership
+     */
+    boolean resolvePermission(UUID uuid, ClaimPermission permission) {
         // Owner and trusted players have all permissions
-        if (isOwner(uuid) || trustedPlayers.contains(uuid)) return true;
+        if (uuid != null && (uuid.equals(ownerUuid) || trustedPlayers.contains(uuid))) return true;
 
         // Check custom groups first if available
         if (!customGroups.isEmpty()) {
-            CustomGroup group = getMemberCustomGroup(uuid);
+            Integer groupId = uuid != null ? memberGroupIds.get(uuid) : null;
+            CustomGroup group = groupId != null ? getCustomGroupById(groupId) : getVisitorGroup();
             if (group != null) {
                 return group.hasPermission(permission);
             }
@@ -351,8 +387,34 @@ public class Claim {
         }
 
         // Legacy fallback
-        ClaimGroup group = getMemberGroup(uuid);
-        return groupPermissions != null && groupPermissions.hasPermission(group, permission);
+        ClaimGroup group = uuid != null ? members.get(uuid) : null;
+        return groupPermissions != null
+                && groupPermissions.hasPermission(
+                        group != null ? group : ClaimGroup.VISITOR, permission);
+    }
+
+    /**
+     * Get the compiled permissions, rebuilding them if trust, members or groups changed since the
+     * last build. The version is read before compiling, so an edit made mid-build leaves the result
+     * stale and it is rebuilt on the next check.
+     */
+    private PermissionSnapshot getPermissionSnapshot() {
+        int version = permissionVersion.get();
+        PermissionSnapshot snapshot = permissionSnapshot;
+        if (snapshot == null || !snapshot.isCurrent(version)) {
+            snapshot = PermissionSnapshot.build(this, version);
+            permissionSnapshot = snapshot;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Discard the compiled permissions after an edit to trust, members or groups. Must be called
+     * after changing the permissions or name of one of this claim's {@link CustomGroup}s or its
+     * {@link GroupPermissions}, which cannot invalidate the claim themselves.
+     */
+    public void invalidatePermissions() {
+        permissionVersion.incrementAndGet();
     }
 
     // Custom Groups System (v2.1)
@@ -365,14 +427,17 @@ public class Claim {
         if (groups != null) {
             customGroups.addAll(groups);
         }
+        invalidatePermissions();
     }
 
     public void addCustomGroup(CustomGroup group) {
         customGroups.add(group);
+        invalidatePermissions();
     }
 
     public void removeCustomGroup(CustomGroup group) {
         customGroups.remove(group);
+        invalidatePermissions();
     }
 
     public CustomGroup getCustomGroupById(int groupId) {
@@ -405,10 +470,12 @@ public class Claim {
         } else {
             memberGroupIds.remove(uuid);
         }
+        invalidatePermissions();
     }
 
     public void setMemberGroupId(UUID uuid, int groupId) {
         memberGroupIds.put(uuid, groupId);
+        invalidatePermissions();
     }
 
     public CustomGroup getMemberCustomGroup(UUID uuid) {
@@ -427,15 +494,28 @@ public class Claim {
 
     /** Checks if a player has a specific management permission on this claim. */
     public boolean hasManagementPermission(UUID uuid, ManagementPermission permission) {
-        // Owner has all management permissions
-        if (isOwner(uuid)) return true;
+        return getPermissionSnapshot().hasManagementPermission(uuid, permission);
+    }
 
-        // Trusted players (legacy) have all management permissions
-        if (trustedPlayers.contains(uuid)) return true;
+    /**
+     * Resolve a management permission from the underlying data. Only used to compile {@link
+     * PermissionSnapshot}s.
+     *
+     * @param uuid Player to resolve, or null for a player with no membership
+     */
+    boolean resolveManagementPermission(UUID uuid, ManagementPermission permission) {
+        if (uuid != null) {
+            // Owner has all management permissions
+            if (uuid.equals(ownerUuid)) return true;
+
+            // Trusted players (legacy) have all management permissions
+            if (trustedPlayers.contains(uuid)) return true;
+        }
 
         // Check custom group for management permission
         if (!customGroups.isEmpty()) {
-            CustomGroup group = getMemberCustomGroup(uuid);
+            Integer groupId = uuid != null ? memberGroupIds.get(uuid) : null;
+            CustomGroup group = groupId != null ? getCustomGroupById(groupId) : getVisitorGroup();
             if (group != null) {
                 return group.hasManagementPermission(permission);
             }
@@ -565,5 +645,6 @@ public class Claim {
             this.customGroups.clear();
             this.customGroups.addAll(templateGroups);
         }
+        invalidatePermissions();
     }
 }
@@ -11,6 +11,9 @@ import org.bukkit.Material;
  * Represents a customizable permission group for a claim. Unlike the ClaimGroup enum, CustomGroup
  * instances are stored in the database and can be renamed, have their permissions modified, and new
  * groups can be created.
+ *
+ * <p>A group does not know its claim, so callers that edit the group of a loaded claim call {@link
+ * Claim#invalidatePermissions()} afterwards.
  */
 public class CustomGroup {
     private int id;
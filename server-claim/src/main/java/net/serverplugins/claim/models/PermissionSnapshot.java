@@ -0,0 +1,96 @@
+package net.serverplugins.claim.models;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable, compiled view of a claim's effective permissions: one bitmask per owner, trusted
+ * player and member, plus a default mask for everyone else. Claim permissions occupy the low 32
+ * bits (by ordinal) and management permissions the high 32 bits, so a check is one map lookup and
+ * one bit test.
+ *
+ * <p>A snapshot is tagged with the claim permission version it was built from. {@link Claim}
+ * bumps its version on member, trust and group list edits. Groups do not know which claim they
+ * belong to, so code that edits a {@link CustomGroup} or {@link GroupPermissions} of a loaded
+ * claim calls {@link Claim#invalidatePermissions()} afterwards.
+ */
+final class PermissionSnapshot {
+
+    private static final int MANAGEMENT_SHIFT = 32;
+    private static final long ALL = -1L;
+
+    static {
+        if (ClaimPermission.values().length > MANAGEMENT_SHIFT
+                || ManagementPermission.values().length > Long.SIZE - MANAGEMENT_SHIFT) {
+            throw new IllegalStateException("Too many permissions for a 64-bit mask");
+        }
+    }
+
+    private final int version;
+    private final Map<UUID, Long> masks;
+    private final long defaultMask;
+
+    private PermissionSnapshot(int version, Map<UUID, Long> masks, long defaultMask) {
+        this.version = version;
+        this.masks = masks;
+        this.defaultMask = defaultMask;
+    }
+
+    /**
+     * Compile a claim's permissions. Each mask is derived from the claim's own resolution rules, so
+     * the snapshot answers exactly as the uncompiled checks would.
+     *
+     * @param version Claim permission version read before compiling
+     */
+    static PermissionSnapshot build(Claim claim, int version) {
+        Map<UUID, Long> masks = new HashMap<>();
+        for (UUID uuid : claim.getTrustedPlayers().toArray(new UUID[0])) {
+            masks.put(uuid, ALL);
+        }
+        for (UUID uuid : claim.getMemberGroupIds().keySet()) {
+            masks.putIfAbsent(uuid, compile(claim, uuid));
+        }
+        for (UUID uuid : claim.getMembers().keySet()) {
+            masks.putIfAbsent(uuid, compile(claim, uuid));
+        }
+        if (claim.getOwnerUuid() != null) {
+            masks.put(claim.getOwnerUuid(), ALL);
+        }
+
+        // Anyone else resolves like a player with no membership at all
+        return new PermissionSnapshot(version, masks, compile(claim, null));
+    }
+
+    private static long compile(Claim claim, UUID uuid) {
+        long mask = 0L;
+        for (ClaimPermission permission : ClaimPermission.values()) {
+            if (claim.resolvePermission(uuid, permission)) {
+                mask |= 1L << permission.ordinal();
+            }
+        }
+        for (ManagementPermission permission : ManagementPermission.values()) {
+            if (claim.resolveManagementPermission(uuid, permission)) {
+                mask |= 1L << (MANAGEMENT_SHIFT + permission.ordinal());
+            }
+        }
+        return mask;
+    }
+
+    boolean isCurrent(int claimVersion) {
+        return version == claimVersion;
+    }
+
+    private long maskOf(UUID uuid) {
+        Long mask = uuid != null ? masks.get(uuid) : null;
+        return mask != null ? mask : defaultMask;
+    }
+
+    boolean hasPermission(UUID uuid, ClaimPermission permission) {
+        return (maskOf(uuid) & (1L << permission.ordinal())) != 0;
+    }
+
+    boolean hasManagementPermission(UUID uuid, ManagementPermission permission) {
+        return (maskOf(uuid) & (1L << (MANAGEMENT_SHIFT + permission.ordinal()))) != 0;
+    }
+}
@@ -7,15 +7,24 @@ import java.util.List;
 import java.util.UUID;
 import java.util.logging.Logger;
 import net.serverplugins.api.database.Database;
+import net.serverplugins.api.database.WriteBehindQueue;
 import org.bukkit.entity.Player;
 
 /**
  * Repository for claim audit logs - tracks all important actions for security and accountability.
+ *
+ * <p>Log inserts are append-only and rarely read back right away, so they go through a {@link
+ * WriteBehindQueue} and are written in batches instead of one round-trip each. Each row carries its
+ * own timestamp, so batching does not shift log times. Reads flush the queue first.
  */
 public class AuditLogRepository {
 
-    private final Database database;
     private static final Logger LOGGER = Logger.getLogger("ServerClaimAuditLog");
+    private static final int WRITE_BATCH_SIZE = 200;
+    private static final long WRITE_FLUSH_INTERVAL_MS = 2000;
+
+    private final Database database;
+    private final WriteBehindQueue writeQueue;
 
     /** Activity types for enhanced logging. */
     public enum ActivityType {
@@ -32,6 +41,27 @@ public class AuditLogRepository {
 
     public AuditLogRepository(Database database) {
         this.database = database;
+        this.writeQueue =
+                new WriteBehindQueue(
+                        database,
+                        "claim-audit-log",
+                        WRITE_BATCH_SIZE,
+                        WRITE_FLUSH_INTERVAL_MS,
+                        LOGGER);
+    }
+
+    /** Write any buffered log entries and stop the flush timer. Call on plugin disable. */
+    public void close() {
+        writeQueue.close();
+    }
+
+    /** Make buffered entries visible to the queries below. */
+    private void flushPending() {
+        try {
+            writeQueue.flush();
+        } catch (Exception e) {
+            LOGGER.warning("Failed to flush audit log before read: " + e.getMessage());
+        }
     }
 
     /**
@@ -46,14 +76,15 @@ public class AuditLogRepository {
     public void logAction(
             Integer claimId, UUID playerUuid, String actionType, String details, String ipAddress) {
         try {
-            database.execute(
-                    "INSERT INTO server_claim_audit_log (claim_id, player_uuid, action_type, details, ip_address) "
-                            + "VALUES (?, ?, ?, ?, ?)",
+            writeQueue.enqueue(
+                    "INSERT INTO server_claim_audit_log (claim_id, player_uuid, action_type, details, ip_address, timestamp) "
+                            + "VALUES (?, ?, ?, ?, ?, ?)",
                     claimId,
                     playerUuid != null ? playerUuid.toString() : null,
                     actionType,
                     details,
-                    ipAddress);
+                    ipAddress,
+                    Timestamp.from(Instant.now()));
 
             // Also log to server console for immediate visibility
             String logMessage =
@@ -173,6 +204,7 @@ public class AuditLogRepository {
      * @return List of audit log entries
      */
     public List<AuditLogEntry> getLogsForClaim(int claimId, int limit) {
+        flushPending();
         return database.query(
                 "SELECT * FROM server_claim_audit_log WHERE claim_id = ? ORDER BY timestamp DESC LIMIT ?",
                 rs -> {
@@ -208,6 +240,7 @@ public class AuditLogRepository {
      * @return List of audit log entries
      */
     public List<AuditLogEntry> getLogsForPlayer(UUID playerUuid, int limit) {
+        flushPending();
         return database.query(
                 "SELECT * FROM server_claim_audit_log WHERE player_uuid = ? ORDER BY timestamp DESC LIMIT ?",
                 rs -> {
@@ -243,6 +276,7 @@ public class AuditLogRepository {
      * @return List of audit log entries
      */
     public List<AuditLogEntry> getLogsByTimeRange(Instant startTime, Instant endTime, int limit) {
+        flushPending();
         return database.query(
                 "SELECT * FROM server_claim_audit_log WHERE timestamp BETWEEN ? AND ? "
                         + "ORDER BY timestamp DESC LIMIT ?",
@@ -285,15 +319,16 @@ public class AuditLogRepository {
             String details,
             Double amount) {
         try {
-            database.execute(
-                    "INSERT INTO server_claim_audit_log (claim_id, player_uuid, action_type, activity_type, details, amount) "
-                            + "VALUES (?, ?, ?, ?, ?, ?)",
+            writeQueue.enqueue(
+                    "INSERT INTO server_claim_audit_log (claim_id, player_uuid, action_type, activity_type, details, amount, timestamp) "
+                            + "VALUES (?, ?, ?, ?, ?, ?, ?)",
                     claimId,
                     playerUuid != null ? playerUuid.toString() : null,
                     null, // action_type is legacy, use NULL for new activity_type system
                     activityType.name(),
                     details,
-                    amount);
+                    amount,
+                    Timestamp.from(Instant.now()));
 
             LOGGER.fine(
                     String.format(
@@ -335,6 +370,7 @@ public class AuditLogRepository {
      */
     public List<AuditLogEntry> getLogsFiltered(
             Integer claimId, ActivityType activityType, int limit, int offset) {
+        flushPending();
         StringBuilder sql = new StringBuilder("SELECT * FROM server_claim_audit_log WHERE 1=1");
         List<Object> params = new ArrayList<>();
 
@@ -407,6 +443,7 @@ public class AuditLogRepository {
 
     /** Get total count of logs for pagination. */
     public int getLogCount(Integer claimId, ActivityType activityType) {
+        flushPending();
         StringBuilder sql =
                 new StringBuilder("SELECT COUNT(*) as count FROM server_claim_audit_log WHERE 1=1");
         List<Object> params = new ArrayList<>();
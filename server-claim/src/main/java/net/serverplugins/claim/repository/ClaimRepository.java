@@ -7,6 +7,7 @@ import java.sql.Timestamp;
 import java.util.*;
 import java.util.AbstractMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.IntConsumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import net.serverplugins.api.database.Database;
@@ -39,10 +40,28 @@ public class ClaimRepository {
     /** Thread-local flag to track if a transaction is active. */
     private static final ThreadLocal<Boolean> inTransaction = new ThreadLocal<>();
 
+    private volatile IntConsumer changeListener;
+
     public ClaimRepository(Database database) {
         this.database = database;
     }
 
+    /**
+     * Set a callback that receives the ID of every claim whose name, appearance, chunks or
+     * existence is written through this repository, so map integrations can redraw only those
+     * claims. It runs on the writing thread and must not block. Pass null to clear.
+     */
+    public void setChangeListener(IntConsumer listener) {
+        this.changeListener = listener;
+    }
+
+    private void notifyChange(int claimId) {
+        IntConsumer listener = changeListener;
+        if (listener != null && claimId > 0) {
+            listener.accept(claimId);
+        }
+    }
+
     // ==================== TRANSACTION SUPPORT ====================
 
     /**
@@ -491,6 +510,172 @@ public class ClaimRepository {
                 });
     }
 
+    /**
+     * Get total count of all claimed chunks in the database
+     *
+     * @return Total number of claimed chunks
+     */
+    public int getTotalChunkCount() {
+        return executeQuery(
+                "SELECT COUNT(*) as count FROM server_chunks",
+                rs -> {
+                    if (rs.next()) {
+                        return rs.getInt("count");
+                    }
+                    return 0;
+                });
+    }
+
+    /**
+     * Get the claimed chunks inside a rectangle of chunk coordinates (bounds inclusive). Served by
+     * the unique (world, chunk_x, chunk_z) key, so the cost scales with the area, not the table.
+     */
+    public List<ClaimedChunk> getChunksInArea(
+            String world, int minX, int minZ, int maxX, int maxZ) {
+        return executeQuery(
+                "SELECT * FROM server_chunks WHERE world = ? AND chunk_x BETWEEN ? AND ?"
+                        + " AND chunk_z BETWEEN ? AND ?",
+                this::mapChunks,
+                world,
+                minX,
+                maxX,
+                minZ,
+                maxZ);
+    }
+
+    /**
+     * Get the next page of claimed chunks in (world, chunk_x, chunk_z) order, strictly after the
+     * given position. Keyset pagination keeps every page a range scan on the unique chunk key,
+     * whereas OFFSET pagination re-reads every skipped row.
+     *
+     * @param afterWorld World of the last chunk on the previous page, or "" for the first page
+     * @param afterX Chunk X of the last chunk on the previous page
+     * @param afterZ Chunk Z of the last chunk on the previous page
+     * @param limit Maximum number of chunks to return
+     * @return Chunks in key order, fewer than limit once the table is exhausted
+     */
+    public List<ClaimedChunk> getChunksAfter(String afterWorld, int afterX, int afterZ, int limit) {
+        return executeQuery(
+                "SELECT * FROM server_chunks WHERE world > ?"
+                        + " OR (world = ? AND (chunk_x > ? OR (chunk_x = ? AND chunk_z > ?)))"
+                        + " ORDER BY world, chunk_x, chunk_z LIMIT ?",
+                this::mapChunks,
+                afterWorld,
+                afterWorld,
+                afterX,
+                afterX,
+                afterZ,
+                limit);
+    }
+
+    /**
+     * Get the next page of claim IDs in ID order, strictly after the given ID. Covers claims with
+     * no chunks, which a sweep of server_chunks never sees.
+     *
+     * @param afterId Last claim ID on the previous page, or 0 for the first page
+     * @param limit Maximum number of IDs to return
+     * @return Claim IDs in order, fewer than limit once the table is exhausted
+     */
+    public List<Integer> getClaimIdsAfter(int afterId, int limit) {
+        return executeQuery(
+                "SELECT id FROM server_claims WHERE id > ? ORDER BY id LIMIT ?",
+                rs -> {
+                    List<Integer> ids = new ArrayList<>();
+                    while (rs.next()) {
+                        ids.add(rs.getInt("id"));
+                    }
+                    return ids;
+                },
+                afterId,
+                limit);
+    }
+
+    /**
+     * Load a batch of claims by ID with their chunks, profiles, trusted, members and bans.
+     *
+     * @param claimIds Claim IDs to load
+     * @return Loaded claims in ID order; IDs that no longer exist are skipped
+     */
+    public List<Claim> getClaimsByIds(Collection<Integer> claimIds) {
+        if (claimIds == null || claimIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT * FROM server_claims WHERE id IN (");
+        for (int i = 0; i < claimIds.size(); i++) {
+            if (i > 0) sql.append(",");
+            sql.append("?");
+        }
+        sql.append(") ORDER BY id");
+
+        return executeQuery(
+                sql.toString(),
+                rs -> {
+                    List<Claim> claims = new ArrayList<>();
+                    while (rs.next()) {
+                        Claim claim = mapClaim(rs);
+                        loadClaimChunks(claim);
+                        loadClaimProfiles(claim);
+                        loadTrustedPlayers(claim);
+                        loadClaimMembers(claim);
+                        loadBannedPlayers(claim);
+                        claims.add(claim);
+                    }
+                    return claims;
+                },
+                claimIds.toArray());
+    }
+
+    /**
+     * Batch lookup of usernames for a set of players (one query instead of one per player).
+     *
+     * @return Map of player UUID to username; unknown players are omitted
+     */
+    public Map<UUID, String> getUsernames(Collection<UUID> uuids) {
+        if (uuids == null || uuids.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        StringBuilder sql =
+                new StringBuilder(
+                        "SELECT uuid, username FROM server_player_claims WHERE uuid IN (");
+        Object[] params = new Object[uuids.size()];
+        int i = 0;
+        for (UUID uuid : uuids) {
+            if (i > 0) sql.append(",");
+            sql.append("?");
+            params[i++] = uuid.toString();
+        }
+        sql.append(")");
+
+        return executeQuery(
+                sql.toString(),
+                rs -> {
+                    Map<UUID, String> usernames = new HashMap<>();
+                    while (rs.next()) {
+                        usernames.put(
+                                UUID.fromString(rs.getString("uuid")), rs.getString("username"));
+                    }
+                    return usernames;
+                },
+                params);
+    }
+
+    private List<ClaimedChunk> mapChunks(ResultSet rs) throws SQLException {
+        List<ClaimedChunk> chunks = new ArrayList<>();
+        while (rs.next()) {
+            chunks.add(
+                    new ClaimedChunk(
+                            rs.getInt("id"),
+                            rs.getInt("claim_id"),
+                            rs.getString("world"),
+                            rs.getInt("chunk_x"),
+                            rs.getInt("chunk_z"),
+                            rs.getTimestamp("claimed_at").toInstant()));
+        }
+        return chunks;
+    }
+
     /**
      * Get claims with a limit (prevents loading all claims into memory). Useful for operations that
      * don't need to process every claim.
@@ -760,6 +945,7 @@ public class ClaimRepository {
                     claim.isKeepInventory(),
                     claim.getId());
         }
+        notifyChange(claim.getId());
     }
 
     /** Save claim settings (appearance and protection toggles) */
@@ -786,6 +972,7 @@ public class ClaimRepository {
                 s != null ? s.isCropTrampling() : false,
                 s != null ? s.isLeafDecay() : true,
                 claim.getId());
+        notifyChange(claim.getId());
     }
 
     /** Save claim chunk pool data (total_chunks, purchased_chunks) */
@@ -801,6 +988,7 @@ public class ClaimRepository {
     public void updateClaimName(Claim claim) {
         executeUpdateSafe(
                 "UPDATE server_claims SET name = ? WHERE id = ?", claim.getName(), claim.getId());
+        notifyChange(claim.getId());
     }
 
     /** Update claim color */
@@ -809,6 +997,7 @@ public class ClaimRepository {
                 "UPDATE server_claims SET color = ? WHERE id = ?",
                 claim.getColor().name(),
                 claim.getId());
+        notifyChange(claim.getId());
     }
 
     /**
@@ -824,6 +1013,7 @@ public class ClaimRepository {
 
     public void deleteClaim(Claim claim) {
         executeUpdateSafe("DELETE FROM server_claims WHERE id = ?", claim.getId());
+        notifyChange(claim.getId());
     }
 
     public void saveChunk(ClaimedChunk chunk) {
@@ -833,6 +1023,7 @@ public class ClaimRepository {
                 chunk.getWorld(),
                 chunk.getChunkX(),
                 chunk.getChunkZ());
+        notifyChange(chunk.getClaimId());
     }
 
     public void deleteChunk(ClaimedChunk chunk) {
@@ -841,6 +1032,7 @@ public class ClaimRepository {
                 chunk.getClaimId(),
                 chunk.getChunkX(),
                 chunk.getChunkZ());
+        notifyChange(chunk.getClaimId());
     }
 
     /**
@@ -858,6 +1050,7 @@ public class ClaimRepository {
                 world,
                 chunkX,
                 chunkZ);
+        notifyChange(newClaimId);
     }
 
     public void saveProfile(ClaimProfile profile) {
@@ -1541,6 +1734,8 @@ public class ClaimRepository {
     public void reassignChunkToClaim(ClaimedChunk chunk, int newClaimId) {
         executeUpdateSafe(
                 "UPDATE server_chunks SET claim_id = ? WHERE id = ?", newClaimId, chunk.getId());
+        notifyChange(chunk.getClaimId());
+        notifyChange(newClaimId);
     }
 
     /**
@@ -1563,6 +1758,8 @@ public class ClaimRepository {
                     chunk.getWorld(),
                     chunk.getChunkX(),
                     chunk.getChunkZ());
+            notifyChange(chunk.getClaimId());
+            notifyChange(newClaimId);
             return true;
         } catch (Exception e) {
             return false;
@@ -1573,13 +1770,16 @@ public class ClaimRepository {
     public void deleteChunks(List<ClaimedChunk> chunks) {
         if (chunks == null || chunks.isEmpty()) return;
 
+        Set<Integer> claimIds = new HashSet<>();
         for (ClaimedChunk chunk : chunks) {
             executeUpdateSafe(
                     "DELETE FROM server_chunks WHERE claim_id = ? AND chunk_x = ? AND chunk_z = ?",
                     chunk.getClaimId(),
                     chunk.getChunkX(),
                     chunk.getChunkZ());
+            claimIds.add(chunk.getClaimId());
         }
+        claimIds.forEach(this::notifyChange);
     }
 
     /** Get transfer history for a chunk. */
@@ -1642,6 +1842,7 @@ public class ClaimRepository {
                 world,
                 chunkX,
                 chunkZ);
+        notifyChange(claimId);
     }
 
     /**
@@ -1685,6 +1886,7 @@ public class ClaimRepository {
         executeUpdate("DELETE FROM server_claims WHERE id = ?", claimId);
 
         LOGGER.info("Deleted claim ID " + claimId + " and all associated data");
+        notifyChange(claimId);
     }
 
     /**
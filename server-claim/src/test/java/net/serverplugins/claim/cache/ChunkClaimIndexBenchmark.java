@@ -0,0 +1,101 @@
+package net.serverplugins.claim.cache;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import net.serverplugins.api.benchmark.Benchmarks;
+
+/**
+ * Times {@link ChunkClaimIndex} against the previous {@code "world:x:z"} String-keyed map on a
+ * mixed hit/miss workload, such as block events spread over claimed land and wilderness. Not a
+ * unit test, so surefire does not pick it up; run it from an IDE or with {@code java -cp
+ * target/classes:target/test-classes} plus the test classpath.
+ *
+ * <pre>
+ * ChunkClaimIndexBenchmark [claimedChunks=20000] [hitPercent=50] [seconds=5]
+ * </pre>
+ *
+ * <p>Each run performs the same 4096 lookups. Every third one resolves the world by name, as
+ * getClaimAt does; the rest go to a resolved {@link ChunkClaimIndex.WorldIndex}, as explosions and
+ * particle rendering do.
+ */
+public final class ChunkClaimIndexBenchmark {
+
+    private static final String[] WORLDS = {"world", "world_nether", "world_the_end"};
+    private static final int LOOKUPS = 4096;
+
+    public static void main(String[] args) {
+        int claimedChunks = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int hitPercent = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        Random random = new Random(42);
+        ChunkClaimIndex index = new ChunkClaimIndex();
+        Map<String, Integer> legacy = new ConcurrentHashMap<>();
+        int[][] claimed = new int[claimedChunks][];
+        for (int i = 0; i < claimedChunks; i++) {
+            int world = random.nextInt(WORLDS.length);
+            int x = random.nextInt(4000) - 2000;
+            int z = random.nextInt(4000) - 2000;
+            int claimId = 1 + i / 8;
+            claimed[i] = new int[] {world, x, z};
+            index.put(WORLDS[world], x, z, claimId);
+            legacy.put(WORLDS[world] + ":" + x + ":" + z, claimId);
+        }
+
+        // Misses land outside the claimed square, so the hit rate is exactly as requested
+        int[][] lookups = new int[LOOKUPS][];
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (random.nextInt(100) < hitPercent) {
+                lookups[i] = claimed[random.nextInt(claimedChunks)];
+            } else {
+                lookups[i] =
+                        new int[] {
+                            random.nextInt(WORLDS.length),
+                            5000 + random.nextInt(4000),
+                            random.nextInt(4000) - 2000
+                        };
+            }
+        }
+
+        int hits = primitive(index, lookups);
+        int legacyHits = legacy(legacy, lookups);
+        System.out.printf(
+                "%d claimed chunks, %d lookups per run: %d hits (legacy %d)%n",
+                claimedChunks, LOOKUPS, hits, legacyHits);
+
+        Benchmarks.report("primitive", seconds, LOOKUPS, "lookup", () -> primitive(index, lookups));
+        Benchmarks.report("legacy", seconds, LOOKUPS, "lookup", () -> legacy(legacy, lookups));
+    }
+
+    private static int primitive(ChunkClaimIndex index, int[][] lookups) {
+        ChunkClaimIndex.WorldIndex[] resolved = new ChunkClaimIndex.WorldIndex[WORLDS.length];
+        for (int w = 0; w < WORLDS.length; w++) {
+            resolved[w] = index.intern(WORLDS[w]);
+        }
+        int hits = 0;
+        for (int i = 0; i < lookups.length; i++) {
+            int[] lookup = lookups[i];
+            int claimId =
+                    i % 3 == 0
+                            ? index.get(WORLDS[lookup[0]], lookup[1], lookup[2])
+                            : resolved[lookup[0]].get(lookup[1], lookup[2]);
+            if (claimId != ChunkClaimIndex.NO_CLAIM) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    /** The lookup ClaimManager used before: build the String key, then a boxed map lookup. */
+    private static int legacy(Map<String, Integer> chunkToClaimId, int[][] lookups) {
+        int hits = 0;
+        for (int[] lookup : lookups) {
+            String cacheKey = WORLDS[lookup[0]] + ":" + lookup[1] + ":" + lookup[2];
+            if (chunkToClaimId.get(cacheKey) != null) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+}
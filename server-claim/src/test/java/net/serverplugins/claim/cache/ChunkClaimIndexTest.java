@@ -0,0 +1,168 @@
+package net.serverplugins.claim.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ChunkClaimIndex Tests")
+class ChunkClaimIndexTest {
+
+    private ChunkClaimIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ChunkClaimIndex();
+    }
+
+    @Test
+    @DisplayName("pack() should round-trip negative and positive coordinates")
+    void testPackRoundTrip() {
+        int[][] coords = {{0, 0}, {-1, -1}, {1875000, -1875000}, {Integer.MIN_VALUE, 42}};
+        for (int[] c : coords) {
+            long key = ChunkClaimIndex.pack(c[0], c[1]);
+            assertThat(ChunkClaimIndex.unpackX(key)).isEqualTo(c[0]);
+            assertThat(ChunkClaimIndex.unpackZ(key)).isEqualTo(c[1]);
+        }
+        assertThat(ChunkClaimIndex.pack(1, -1)).isNotEqualTo(ChunkClaimIndex.pack(-1, 1));
+    }
+
+    @Test
+    @DisplayName("Lookups should be scoped per world")
+    void testWorldsAreIndependent() {
+        index.put("world", 3, -7, 10);
+        index.put("world_nether", 3, -7, 20);
+
+        assertThat(index.get("world", 3, -7)).isEqualTo(10);
+        assertThat(index.get("world_nether", 3, -7)).isEqualTo(20);
+        assertThat(index.get("world_the_end", 3, -7)).isEqualTo(ChunkClaimIndex.NO_CLAIM);
+        assertThat(index.world("world").getId()).isNotEqualTo(index.world("world_nether").getId());
+    }
+
+    @Test
+    @DisplayName("put() should return previous claim and remove() should clear the mapping")
+    void testPutReplaceRemove() {
+        assertThat(index.put("world", 0, 0, 5)).isEqualTo(ChunkClaimIndex.NO_CLAIM);
+        assertThat(index.put("world", 0, 0, 6)).isEqualTo(5);
+        assertThat(index.size()).isEqualTo(1);
+
+        assertThat(index.remove("world", 0, 0)).isEqualTo(6);
+        assertThat(index.remove("world", 0, 0)).isEqualTo(ChunkClaimIndex.NO_CLAIM);
+        assertThat(index.get("world", 0, 0)).isEqualTo(ChunkClaimIndex.NO_CLAIM);
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("put() should reject non-positive claim IDs")
+    void testRejectsInvalidClaimId() {
+        assertThatThrownBy(() -> index.put("world", 0, 0, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Random put/remove sequence should match a reference HashMap")
+    void testMatchesReferenceMap() {
+        Random random = new Random(1234);
+        Map<Long, Integer> reference = new HashMap<>();
+
+        for (int i = 0; i < 200_000; i++) {
+            int x = random.nextInt(200) - 100;
+            int z = random.nextInt(200) - 100;
+            long key = ChunkClaimIndex.pack(x, z);
+            if (random.nextInt(3) == 0) {
+                Integer expected = reference.remove(key);
+                assertThat(index.remove("world", x, z))
+                        .isEqualTo(expected == null ? ChunkClaimIndex.NO_CLAIM : expected);
+            } else {
+                int claimId = 1 + random.nextInt(1000);
+                reference.put(key, claimId);
+                index.put("world", x, z, claimId);
+            }
+        }
+
+        assertThat(index.size()).isEqualTo(reference.size());
+        for (int x = -100; x < 100; x++) {
+            for (int z = -100; z < 100; z++) {
+                Integer expected = reference.get(ChunkClaimIndex.pack(x, z));
+                assertThat(index.get("world", x, z))
+                        .isEqualTo(expected == null ? ChunkClaimIndex.NO_CLAIM : expected);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent readers should never observe a foreign claim ID")
+    void testConcurrentReadsDuringWrites() throws InterruptedException {
+        // Stable chunks that are never touched by the writer
+        for (int x = 0; x < 50; x++) {
+            index.put("world", x, 1000, 7);
+        }
+
+        Thread writer =
+                new Thread(
+                        () -> {
+                            for (int i = 0; i < 100_000; i++) {
+                                index.put("world", i % 5000, 0, 1 + (i % 3));
+                                index.remove("world", (i * 7) % 5000, 0);
+                            }
+                        });
+        writer.start();
+
+        boolean mismatch = false;
+        while (writer.isAlive()) {
+            for (int x = 0; x < 50; x++) {
+                if (index.get("world", x, 1000) != 7) {
+                    mismatch = true;
+                }
+            }
+        }
+        writer.join();
+
+        assertThat(mismatch).isFalse();
+    }
+
+    @Test
+    @DisplayName("Version should only change when a mapping changes")
+    void testVersion() {
+        long initial = index.getVersion();
+        index.put("world", 1, 1, 5);
+        long afterPut = index.getVersion();
+        assertThat(afterPut).isGreaterThan(initial);
+
+        index.put("world", 1, 1, 5);
+        index.remove("world", 9, 9);
+        assertThat(index.getVersion()).isEqualTo(afterPut);
+
+        index.remove("world", 1, 1);
+        assertThat(index.getVersion()).isGreaterThan(afterPut);
+    }
+
+    @Test
+    @DisplayName("Area version should change for edits inside the area only")
+    void testAreaVersion() {
+        index.put("world", 0, 0, 1);
+        ChunkClaimIndex.WorldIndex world = index.world("world");
+        long initial = world.getAreaVersion(-4, -4, 4, 4);
+
+        // Same claim again, and a distant chunk: the area is unchanged
+        index.put("world", 0, 0, 1);
+        index.put("world", 1000, 1000, 2);
+        index.put("other", 0, 0, 3);
+        long afterDistant = world.getAreaVersion(-4, -4, 4, 4);
+
+        index.put("world", 3, -2, 4);
+        long afterPut = world.getAreaVersion(-4, -4, 4, 4);
+
+        index.remove("world", 0, 0);
+        long afterRemove = world.getAreaVersion(-4, -4, 4, 4);
+
+        assertThat(afterDistant).isEqualTo(initial);
+        assertThat(afterPut).isGreaterThan(afterDistant);
+        assertThat(afterRemove).isGreaterThan(afterPut);
+    }
+}
@@ -0,0 +1,95 @@
+package net.serverplugins.claim.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import net.serverplugins.claim.models.Claim;
+import net.serverplugins.claim.models.ClaimedChunk;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ClaimOutline Tests")
+class ClaimOutlineTest {
+
+    private Claim claim;
+
+    @BeforeEach
+    void setUp() {
+        claim = new Claim(1, UUID.randomUUID(), "Test", "world");
+    }
+
+    private ClaimedChunk addChunk(int x, int z) {
+        ClaimedChunk chunk = new ClaimedChunk(1, "world", x, z);
+        claim.addChunk(chunk);
+        return chunk;
+    }
+
+    private Set<String> edges(ClaimOutline outline) {
+        Set<String> edges = new HashSet<>();
+        for (int i = 0; i < outline.size(); i++) {
+            edges.add(outline.getChunkX(i) + "," + outline.getChunkZ(i) + "," + outline.getSide(i));
+        }
+        return edges;
+    }
+
+    @Test
+    @DisplayName("A single chunk should have four edges")
+    void testSingleChunk() {
+        addChunk(-1, -1);
+
+        assertThat(edges(ClaimOutline.build(claim)))
+                .containsExactlyInAnyOrder(
+                        "-1,-1,NORTH", "-1,-1,SOUTH", "-1,-1,WEST", "-1,-1,EAST");
+    }
+
+    @Test
+    @DisplayName("Edges shared by two chunks of the claim should be omitted")
+    void testSharedEdges() {
+        // L-shape: (0,0) (1,0) (0,1)
+        addChunk(0, 0);
+        addChunk(1, 0);
+        addChunk(0, 1);
+
+        Set<String> edges = edges(ClaimOutline.build(claim));
+
+        assertThat(edges).hasSize(8);
+        assertThat(edges).doesNotContain("0,0,EAST", "1,0,WEST", "0,0,SOUTH", "0,1,NORTH");
+        assertThat(edges).contains("1,0,SOUTH", "0,1,EAST");
+    }
+
+    @Test
+    @DisplayName("A filled square should only have its perimeter")
+    void testSquarePerimeter() {
+        for (int x = 0; x < 5; x++) {
+            for (int z = 0; z < 5; z++) {
+                addChunk(x, z);
+            }
+        }
+
+        assertThat(ClaimOutline.build(claim).size()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Outline should go stale when chunks change")
+    void testStaleness() {
+        addChunk(0, 0);
+        ClaimOutline outline = ClaimOutline.build(claim);
+        assertThat(outline.isCurrent(claim)).isTrue();
+
+        ClaimedChunk added = addChunk(1, 0);
+        assertThat(outline.isCurrent(claim)).isFalse();
+
+        ClaimOutline rebuilt = ClaimOutline.build(claim);
+        assertThat(rebuilt.size()).isEqualTo(6);
+
+        claim.removeChunk(added);
+        assertThat(rebuilt.isCurrent(claim)).isFalse();
+        assertThat(ClaimOutline.build(claim).size()).isEqualTo(4);
+
+        Claim other = new Claim(1, claim.getOwnerUuid(), "Test", "world");
+        assertThat(ClaimOutline.build(claim).isCurrent(other)).isFalse();
+    }
+}
@@ -0,0 +1,205 @@
+package net.serverplugins.claim.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import net.serverplugins.claim.models.Claim;
+
+/**
+ * Measures read throughput of {@link LRUClaimCache} with several reader threads and one writer,
+ * against a single-lock access-ordered {@link LinkedHashMap} like the cache it replaced. Not a unit
+ * test, so surefire does not pick it up; run it from an IDE or with {@code java -cp
+ * target/classes:target/test-classes} plus the test classpath.
+ *
+ * <pre>
+ * LRUClaimCacheBenchmark [readers=8] [capacity=1000] [pinnedPercent=10] [seconds=5]
+ * </pre>
+ *
+ * <p>The previous cache took a shared read lock around an access-ordered get(), which relinks
+ * entries and so was not actually safe; the baseline here uses the exclusive lock that get() needs.
+ * Readers draw from 1.5x the capacity so part of the reads miss, and the writer keeps putting and
+ * removing keys to force evictions. ClaimManager pins only the claims of online owners, so
+ * {@code pinnedPercent} of the keys are pinned in the striped cache and the rest go through the
+ * segments.
+ */
+public final class LRUClaimCacheBenchmark {
+
+    // Read results land here so the JIT cannot drop the lookups
+    private static volatile int sink;
+
+    private interface Cache {
+        Claim get(int key);
+
+        void put(int key, Claim value);
+
+        void remove(int key);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int readers = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int capacity = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int pinnedPercent = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+        int keySpace = capacity + capacity / 2;
+
+        Claim[] claims = new Claim[keySpace + 1];
+        for (int i = 1; i <= keySpace; i++) {
+            claims[i] = new Claim(i, UUID.randomUUID(), "Claim " + i, "world");
+        }
+
+        System.out.printf(
+                "%d readers, capacity %d, %d keys, %d%% pinned%n",
+                readers, capacity, keySpace, pinnedPercent);
+        run("striped", readers, seconds, keySpace, claims, () -> striped(capacity, pinnedPercent));
+        run("single lock", readers, seconds, keySpace, claims, () -> singleLock(capacity));
+    }
+
+    private static Cache striped(int capacity, int pinnedPercent) {
+        LRUClaimCache cache = new LRUClaimCache(capacity);
+        int pinned = capacity * pinnedPercent / 100;
+        for (int key = 1; key <= pinned; key++) {
+            cache.pin(key);
+        }
+        return new Cache() {
+            @Override
+            public Claim get(int key) {
+                return cache.get(key);
+            }
+
+            @Override
+            public void put(int key, Claim value) {
+                cache.put(key, value);
+            }
+
+            @Override
+            public void remove(int key) {
+                cache.remove(key);
+                // remove() unpins; keep the pinned share steady as ClaimManager re-pins on re-index
+                if (key <= pinned) {
+                    cache.pin(key);
+                }
+            }
+        };
+    }
+
+    /** An access-ordered LinkedHashMap behind one lock, as the old cache would need to be. */
+    private static Cache singleLock(int capacity) {
+        ReentrantLock lock = new ReentrantLock();
+        Map<Integer, Claim> map =
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<Integer, Claim> eldest) {
+                        return size() > capacity;
+                    }
+                };
+        return new Cache() {
+            @Override
+            public Claim get(int key) {
+                lock.lock();
+                try {
+                    return map.get(key);
+                } finally {
+                    lock.unlock();
+                }
+            }
+
+            @Override
+            public void put(int key, Claim value) {
+                lock.lock();
+                try {
+                    map.put(key, value);
+                } finally {
+                    lock.unlock();
+                }
+            }
+
+            @Override
+            public void remove(int key) {
+                lock.lock();
+                try {
+                    map.remove(key);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        };
+    }
+
+    private static void run(
+            String name,
+            int readers,
+            int seconds,
+            int keySpace,
+            Claim[] claims,
+            Supplier<Cache> factory)
+            throws InterruptedException {
+        Cache cache = factory.get();
+        for (int key = 1; key <= keySpace; key++) {
+            cache.put(key, claims[key]);
+        }
+
+        // Warm up for a second, then measure
+        measure(cache, readers, 1, keySpace, claims);
+        long reads = measure(cache, readers, seconds, keySpace, claims);
+        System.out.printf(
+                "%s: %.1f M reads/s across %d readers%n",
+                name, reads / (seconds * 1_000_000.0), readers);
+    }
+
+    private static long measure(
+            Cache cache, int readers, int seconds, int keySpace, Claim[] claims)
+            throws InterruptedException {
+        AtomicBoolean stop = new AtomicBoolean();
+        LongAdder reads = new LongAdder();
+        CountDownLatch done = new CountDownLatch(readers + 1);
+        for (int r = 0; r < readers; r++) {
+            Thread reader =
+                    new Thread(
+                            () -> {
+                                ThreadLocalRandom random = ThreadLocalRandom.current();
+                                long count = 0;
+                                int ids = 0;
+                                while (!stop.get()) {
+                                    Claim claim = cache.get(1 + random.nextInt(keySpace));
+                                    if (claim != null) {
+                                        ids += claim.getId();
+                                    }
+                                    count++;
+                                }
+                                reads.add(count);
+                                sink = ids;
+                                done.countDown();
+                            });
+            reader.setDaemon(true);
+            reader.start();
+        }
+        Thread writer =
+                new Thread(
+                        () -> {
+                            ThreadLocalRandom random = ThreadLocalRandom.current();
+                            while (!stop.get()) {
+                                int key = 1 + random.nextInt(keySpace);
+                                if (random.nextInt(4) == 0) {
+                                    cache.remove(key);
+                                } else {
+                                    cache.put(key, claims[key]);
+                                }
+                                Thread.onSpinWait();
+                            }
+                            done.countDown();
+                        });
+        writer.setDaemon(true);
+        writer.start();
+
+        Thread.sleep(seconds * 1000L);
+        stop.set(true);
+        done.await();
+        return reads.sum();
+    }
+}
@@ -0,0 +1,230 @@
+package net.serverplugins.claim.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import net.serverplugins.claim.models.Claim;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("LRUClaimCache Tests")
+class LRUClaimCacheTest {
+
+    private static Claim claim(int id) {
+        return new Claim(id, UUID.randomUUID(), "Claim " + id, "world");
+    }
+
+    @Test
+    @DisplayName("get() should track hits and misses")
+    void testHitMissMetrics() {
+        LRUClaimCache cache = new LRUClaimCache(10);
+        cache.put(1, claim(1));
+
+        assertThat(cache.get(1)).isNotNull();
+        assertThat(cache.get(2)).isNull();
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(1);
+        assertThat(cache.getHitRate()).isEqualTo(0.5);
+        assertThat(cache.getStats()).contains("Size: 1/10", "Hits: 1", "Misses: 1");
+    }
+
+    @Test
+    @DisplayName("Single segment should evict the least recently accessed entry")
+    void testLruEvictionOrder() {
+        LRUClaimCache cache = new LRUClaimCache(3, 1);
+        cache.put(1, claim(1));
+        cache.put(2, claim(2));
+        cache.put(3, claim(3));
+
+        // Touch 1 so 2 becomes the eldest
+        cache.get(1);
+        cache.put(4, claim(4));
+
+        assertThat(cache.containsKey(1)).isTrue();
+        assertThat(cache.containsKey(2)).isFalse();
+        assertThat(cache.containsKey(3)).isTrue();
+        assertThat(cache.containsKey(4)).isTrue();
+        assertThat(cache.getEvictions()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Cache should never exceed its configured capacity")
+    void testBounded() {
+        LRUClaimCache cache = new LRUClaimCache(100);
+        for (int i = 1; i <= 10_000; i++) {
+            cache.put(i, claim(i));
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(100);
+        assertThat(cache.values()).hasSize(cache.size());
+        assertThat(cache.getEvictions()).isEqualTo(10_000 - cache.size());
+    }
+
+    @Test
+    @DisplayName("Capacity should be shared by all segments")
+    void testCapacityIsTotal() {
+        LRUClaimCache cache = new LRUClaimCache(1000);
+        for (int i = 1; i <= 1000; i++) {
+            cache.put(i, claim(i));
+        }
+
+        assertThat(cache.size()).isEqualTo(1000);
+        assertThat(cache.getEvictions()).isZero();
+    }
+
+    @Test
+    @DisplayName("Eviction should pick the least recently accessed entry across segments")
+    void testGlobalLruEvictionOrder() {
+        LRUClaimCache cache = new LRUClaimCache(100);
+        for (int i = 1; i <= 100; i++) {
+            cache.put(i, claim(i));
+        }
+        for (int i = 1; i <= 50; i++) {
+            cache.get(i);
+        }
+        for (int i = 101; i <= 150; i++) {
+            cache.put(i, claim(i));
+        }
+
+        for (int i = 1; i <= 50; i++) {
+            assertThat(cache.containsKey(i)).as("recently read %d", i).isTrue();
+        }
+        for (int i = 51; i <= 100; i++) {
+            assertThat(cache.containsKey(i)).as("stale %d", i).isFalse();
+        }
+        assertThat(cache.size()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Pinned entries should never be evicted")
+    void testPinnedEntriesSurvive() {
+        LRUClaimCache cache = new LRUClaimCache(10);
+        cache.pin(1);
+        cache.put(1, claim(1));
+        for (int i = 2; i <= 100; i++) {
+            cache.put(i, claim(i));
+        }
+
+        assertThat(cache.containsKey(1)).isTrue();
+        assertThat(cache.size()).isEqualTo(10);
+
+        cache.unpin(1);
+        for (int i = 101; i <= 110; i++) {
+            cache.put(i, claim(i));
+        }
+        assertThat(cache.containsKey(1)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Pinning a cached entry should take it out of the LRU order")
+    void testPinnedEntriesSkipLruOrder() {
+        LRUClaimCache cache = new LRUClaimCache(5, 1);
+        for (int i = 1; i <= 3; i++) {
+            cache.put(i, claim(i));
+        }
+        // 1 and 2 are the eldest, but pinned afterwards
+        cache.pin(1);
+        cache.pin(2);
+        cache.put(4, claim(4));
+        cache.put(5, claim(5));
+        cache.put(6, claim(6));
+
+        assertThat(cache.containsKey(1)).isTrue();
+        assertThat(cache.containsKey(2)).isTrue();
+        assertThat(cache.containsKey(3)).isFalse();
+        assertThat(cache.get(1)).isNotNull();
+        assertThat(cache.values()).hasSize(5);
+
+        cache.remove(1);
+        assertThat(cache.isPinned(1)).isFalse();
+        assertThat(cache.size()).isEqualTo(4);
+
+        cache.clear();
+        assertThat(cache.isPinned(2)).isFalse();
+        assertThat(cache.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("remove() and clear() should drop entries")
+    void testRemoveAndClear() {
+        LRUClaimCache cache = new LRUClaimCache(10);
+        cache.put(1, claim(1));
+        cache.put(2, claim(2));
+
+        assertThat(cache.remove(1)).isNotNull();
+        assertThat(cache.remove(1)).isNull();
+        assertThat(cache.size()).isEqualTo(1);
+
+        cache.clear();
+        assertThat(cache.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("8 concurrent readers with a writer should stay consistent and bounded")
+    void testConcurrentStress() throws Exception {
+        int capacity = 500;
+        int keySpace = 1_000;
+        int readers = 8;
+        int readsPerThread = 200_000;
+        LRUClaimCache cache = new LRUClaimCache(capacity);
+        for (int i = 1; i <= capacity; i++) {
+            cache.put(i, claim(i));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(readers + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int r = 0; r < readers; r++) {
+                futures.add(
+                        pool.submit(
+                                () -> {
+                                    start.await();
+                                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                                    for (int i = 0; i < readsPerThread; i++) {
+                                        int key = 1 + random.nextInt(keySpace);
+                                        Claim value = cache.get(key);
+                                        if (value != null && value.getId() != key) {
+                                            throw new AssertionError(
+                                                    "Key " + key + " mapped to " + value.getId());
+                                        }
+                                    }
+                                    return null;
+                                }));
+            }
+            futures.add(
+                    pool.submit(
+                            () -> {
+                                start.await();
+                                ThreadLocalRandom random = ThreadLocalRandom.current();
+                                for (int i = 0; i < 50_000; i++) {
+                                    int key = 1 + random.nextInt(keySpace);
+                                    if (random.nextInt(4) == 0) {
+                                        cache.remove(key);
+                                    } else {
+                                        cache.put(key, claim(key));
+                                    }
+                                }
+                                return null;
+                            }));
+
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(cache.getHits() + cache.getMisses()).isEqualTo((long) readers * readsPerThread);
+        assertThat(cache.size()).isLessThanOrEqualTo(capacity);
+    }
+}
@@ -0,0 +1,70 @@
+package net.serverplugins.claim.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("OwnerClaimIndex Tests")
+class OwnerClaimIndexTest {
+
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+
+    private OwnerClaimIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new OwnerClaimIndex();
+    }
+
+    @Test
+    @DisplayName("Claims should be listed per owner in ascending order")
+    void testClaimsByOwner() {
+        index.add(7, alice, "world");
+        index.add(3, alice, "world_nether");
+        index.add(5, bob, "world");
+
+        assertThat(index.getClaimIds(alice)).containsExactly(3, 7);
+        assertThat(index.getClaimIds(bob)).containsExactly(5);
+        assertThat(index.getClaimCount(alice)).isEqualTo(2);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Owner + world lookups should only return claims in that world")
+    void testClaimsByOwnerInWorld() {
+        index.add(1, alice, "world");
+        index.add(2, alice, "world_nether");
+        index.add(3, alice, "world");
+
+        assertThat(index.getClaimIds(alice, "world")).containsExactly(1, 3);
+        assertThat(index.getClaimIds(alice, "world_nether")).containsExactly(2);
+        assertThat(index.getClaimIds(alice, "world_the_end")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Re-adding a claim under a new owner should move it")
+    void testOwnerChange() {
+        index.add(1, alice, "world");
+        index.add(1, bob, "world");
+
+        assertThat(index.getClaimIds(alice)).isEmpty();
+        assertThat(index.getClaimIds(bob)).containsExactly(1);
+        assertThat(index.getOwner(1)).isEqualTo(bob);
+    }
+
+    @Test
+    @DisplayName("remove() should unindex a claim without knowing its owner")
+    void testRemove() {
+        index.add(1, alice, "world");
+
+        assertThat(index.remove(1)).isEqualTo(alice);
+        assertThat(index.remove(1)).isNull();
+        assertThat(index.getClaimIds(alice)).isEmpty();
+        assertThat(index.getClaimCount(alice)).isZero();
+        assertThat(index.size()).isZero();
+    }
+}
@@ -0,0 +1,120 @@
+package net.serverplugins.claim.models;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import net.serverplugins.api.benchmark.Benchmarks;
+
+/**
+ * Times permission checks as an interact event makes them, through the compiled {@link
+ * PermissionSnapshot} ({@link Claim#hasPermission}) against the previous per-call resolution
+ * ({@link Claim#resolvePermission}), on a claim with 50 members and 10 custom groups. Not a unit
+ * test, so surefire does not pick it up; run it from an IDE or with {@code java -cp
+ * target/classes:target/test-classes} plus the test classpath.
+ *
+ * <pre>
+ * PermissionCheckBenchmark [members=50] [groups=10] [seconds=5]
+ * </pre>
+ *
+ * <p>Players are members, trusted players, the owner and visitors in roughly the mix a busy claim
+ * sees; permissions are drawn uniformly from {@link ClaimPermission}.
+ */
+public final class PermissionCheckBenchmark {
+
+    private static final int CHECKS = 4096;
+
+    public static void main(String[] args) {
+        int members = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        int groupCount = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        Random random = new Random(42);
+        UUID owner = UUID.randomUUID();
+        Claim claim = new Claim(1, owner, "Benchmark", "world");
+        List<CustomGroup> groups = CustomGroup.createDefaultGroups(1);
+        while (groups.size() < groupCount) {
+            CustomGroup group = new CustomGroup();
+            group.setName("Group " + groups.size());
+            group.setPermissions(randomPermissions(random));
+            groups.add(group);
+        }
+        for (int i = 0; i < groups.size(); i++) {
+            groups.get(i).setId(i + 1);
+        }
+        claim.setCustomGroups(groups);
+
+        List<UUID> players = new ArrayList<>();
+        for (int i = 0; i < members; i++) {
+            UUID member = UUID.randomUUID();
+            claim.setMemberGroupId(member, 1 + random.nextInt(groups.size()));
+            players.add(member);
+            if (i % 10 == 0) {
+                claim.trustPlayer(member);
+            }
+        }
+        players.add(owner);
+        for (int i = 0; i < members / 5; i++) {
+            players.add(UUID.randomUUID()); // Visitors
+        }
+
+        ClaimPermission[] permissions = ClaimPermission.values();
+        UUID[] checkPlayers = new UUID[CHECKS];
+        ClaimPermission[] checkPermissions = new ClaimPermission[CHECKS];
+        for (int i = 0; i < CHECKS; i++) {
+            checkPlayers[i] = players.get(random.nextInt(players.size()));
+            checkPermissions[i] = permissions[random.nextInt(permissions.length)];
+        }
+
+        // Same answers from both, or the comparison is meaningless
+        int allowed = snapshot(claim, checkPlayers, checkPermissions);
+        int resolvedAllowed = resolved(claim, checkPlayers, checkPermissions);
+        System.out.printf(
+                "%d members, %d groups, %d checks per run: %d allowed (resolved %d)%n",
+                members, groups.size(), CHECKS, allowed, resolvedAllowed);
+
+        Benchmarks.report(
+                "snapshot",
+                seconds,
+                CHECKS,
+                "check",
+                () -> snapshot(claim, checkPlayers, checkPermissions));
+        Benchmarks.report(
+                "resolved",
+                seconds,
+                CHECKS,
+                "check",
+                () -> resolved(claim, checkPlayers, checkPermissions));
+    }
+
+    private static EnumSet<ClaimPermission> randomPermissions(Random random) {
+        EnumSet<ClaimPermission> permissions = EnumSet.noneOf(ClaimPermission.class);
+        for (ClaimPermission permission : ClaimPermission.values()) {
+            if (random.nextBoolean()) {
+                permissions.add(permission);
+            }
+        }
+        return permissions;
+    }
+
+    private static int snapshot(Claim claim, UUID[] players, ClaimPermission[] permissions) {
+        int allowed = 0;
+        for (int i = 0; i < players.length; i++) {
+            if (claim.hasPermission(players[i], permissions[i])) {
+                allowed++;
+            }
+        }
+        return allowed;
+    }
+
+    private static int resolved(Claim claim, UUID[] players, ClaimPermission[] permissions) {
+        int allowed = 0;
+        for (int i = 0; i < players.length; i++) {
+            if (claim.resolvePermission(players[i], permissions[i])) {
+                allowed++;
+            }
+        }
+        return allowed;
+    }
+}
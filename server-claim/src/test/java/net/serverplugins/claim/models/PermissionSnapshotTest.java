@@ -0,0 +1,132 @@
+package net.serverplugins.claim.models;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("PermissionSnapshot Tests")
+class PermissionSnapshotTest {
+
+    private final Random random = new Random(42);
+    private final UUID owner = UUID.randomUUID();
+    private final List<UUID> players = new ArrayList<>();
+
+    private Claim claim;
+
+    @BeforeEach
+    void setUp() {
+        claim = new Claim(1, owner, "Test", "world");
+        List<CustomGroup> groups = CustomGroup.createDefaultGroups(1);
+        while (groups.size() < 10) {
+            CustomGroup group = new CustomGroup();
+            group.setName("Group " + groups.size());
+            group.setPermissions(randomPermissions());
+            groups.add(group);
+        }
+        for (int i = 0; i < groups.size(); i++) {
+            groups.get(i).setId(i + 1);
+        }
+        claim.setCustomGroups(groups);
+
+        // 50 members spread over the groups, a few pointing at a deleted group, plus trusted
+        for (int i = 0; i < 50; i++) {
+            UUID member = UUID.randomUUID();
+            claim.setMemberGroupId(member, 1 + random.nextInt(12));
+            players.add(member);
+        }
+        claim.trustPlayer(players.get(0));
+        players.add(UUID.randomUUID()); // Visitor
+        players.add(owner);
+    }
+
+    private EnumSet<ClaimPermission> randomPermissions() {
+        EnumSet<ClaimPermission> permissions = EnumSet.noneOf(ClaimPermission.class);
+        for (ClaimPermission permission : ClaimPermission.values()) {
+            if (random.nextBoolean()) {
+                permissions.add(permission);
+            }
+        }
+        return permissions;
+    }
+
+    private void assertMatchesResolution() {
+        for (UUID player : players) {
+            for (ClaimPermission permission : ClaimPermission.values()) {
+                assertThat(claim.hasPermission(player, permission))
+                        .as("%s %s", player, permission)
+                        .isEqualTo(claim.resolvePermission(player, permission));
+            }
+            for (ManagementPermission permission : ManagementPermission.values()) {
+                assertThat(claim.hasManagementPermission(player, permission))
+                        .as("%s %s", player, permission)
+                        .isEqualTo(claim.resolveManagementPermission(player, permission));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Compiled checks should match resolution for 50 members and 10 groups")
+    void testMatchesResolution() {
+        assertMatchesResolution();
+        assertThat(claim.hasPermission(owner, ClaimPermission.BREAK_BLOCKS)).isTrue();
+        assertThat(claim.hasManagementPermission(players.get(0), ManagementPermission.MANAGE_FLAGS))
+                .isTrue();
+    }
+
+    @Test
+    @DisplayName("Group permission edits should take effect once the claim is invalidated")
+    void testGroupEdit() {
+        UUID member = players.get(1);
+        CustomGroup group = claim.getCustomGroupById(claim.getMemberGroupIds().get(member));
+        if (group == null) {
+            group = claim.getVisitorGroup();
+        }
+        boolean before = claim.hasPermission(member, ClaimPermission.USE_DOORS);
+
+        group.togglePermission(ClaimPermission.USE_DOORS);
+        claim.invalidatePermissions();
+
+        assertThat(claim.hasPermission(member, ClaimPermission.USE_DOORS)).isNotEqualTo(before);
+        assertMatchesResolution();
+    }
+
+    @Test
+    @DisplayName("Member, trust and owner edits should invalidate the snapshot")
+    void testMembershipEdits() {
+        UUID member = players.get(2);
+        claim.trustPlayer(member);
+        assertThat(claim.hasPermission(member, ClaimPermission.SPAWNERS)).isTrue();
+
+        claim.untrustPlayer(member);
+        claim.removeMember(member);
+        assertMatchesResolution();
+
+        UUID newOwner = players.get(3);
+        claim.setOwnerUuid(newOwner);
+        assertThat(claim.hasManagementPermission(newOwner, ManagementPermission.MANAGE_CHUNKS))
+                .isTrue();
+        assertMatchesResolution();
+    }
+
+    @Test
+    @DisplayName("Legacy group permissions should be compiled when no custom groups exist")
+    void testLegacyGroups() {
+        claim.setCustomGroups(List.of());
+        claim.setGroupPermissions(new GroupPermissions(1));
+        UUID member = players.get(4);
+        claim.setMemberGroup(member, ClaimGroup.values()[ClaimGroup.values().length - 1]);
+        assertMatchesResolution();
+
+        claim.getGroupPermissions()
+                .togglePermission(ClaimGroup.VISITOR, ClaimPermission.ENTER_CLAIM);
+        claim.invalidatePermissions();
+        assertMatchesResolution();
+    }
+}
@@ -57,6 +57,11 @@ public class EnchantsConfig {
         return config.getIntegerList("enchantments.vein-miner.max-blocks");
     }
 
+    // Multi-block breaking
+    public double getBlockBreakTickBudgetMs() {
+        return config.getDouble("enchantments.block-breaking.tick-budget-ms", 2.0);
+    }
+
     // Magnet
     public List<Integer> getMagnetRange() {
         return config.getIntegerList("enchantments.magnet.range");
@@ -14,9 +14,13 @@ import net.serverplugins.enchants.managers.EnchantmentApplicationManager;
 import net.serverplugins.enchants.managers.EnchantmentRegistry;
 import net.serverplugins.enchants.managers.EnchantmentTickManager;
 import net.serverplugins.enchants.managers.GameSessionManager;
+import net.serverplugins.enchants.managers.HeldEnchantmentCache;
+import net.serverplugins.enchants.managers.MultiBlockBreakManager;
 import net.serverplugins.enchants.managers.ProgressionManager;
+import net.serverplugins.enchants.protection.ClaimBreakProtection;
 import net.serverplugins.enchants.repository.EnchanterRepository;
 import org.bukkit.command.PluginCommand;
+import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.java.JavaPlugin;
 
 public class ServerEnchants extends JavaPlugin {
@@ -31,6 +35,8 @@ public class ServerEnchants extends JavaPlugin {
     private ProgressionManager progressionManager;
     private DailyAttemptManager dailyAttemptManager;
     private EnchantmentTickManager tickManager;
+    private MultiBlockBreakManager multiBlockBreakManager;
+    private HeldEnchantmentCache heldEnchantmentCache;
 
     @Override
     public void onEnable() {
@@ -49,12 +55,16 @@ public class ServerEnchants extends JavaPlugin {
         dailyAttemptManager = new DailyAttemptManager(repository);
         gameSessionManager = new GameSessionManager(this);
         tickManager = new EnchantmentTickManager(this);
+        multiBlockBreakManager = new MultiBlockBreakManager(this);
+        heldEnchantmentCache = new HeldEnchantmentCache(enchantmentRegistry);
+        registerBreakProtections();
 
         registerListeners();
         registerCommands();
 
         // Start enchantment tick manager for passive effects (Magnet, etc.)
         tickManager.start();
+        multiBlockBreakManager.start();
 
         getLogger()
                 .info(
@@ -68,6 +78,9 @@ public class ServerEnchants extends JavaPlugin {
         if (tickManager != null) {
             tickManager.stop();
         }
+        if (multiBlockBreakManager != null) {
+            multiBlockBreakManager.stop();
+        }
         if (gameSessionManager != null) {
             gameSessionManager.cleanup();
         }
@@ -95,6 +108,7 @@ public class ServerEnchants extends JavaPlugin {
     }
 
     private void registerListeners() {
+        getServer().getPluginManager().registerEvents(heldEnchantmentCache, this);
         getServer().getPluginManager().registerEvents(new EnchantmentListener(this), this);
         getServer()
                 .getPluginManager()
@@ -102,6 +116,15 @@ public class ServerEnchants extends JavaPlugin {
         getServer().getPluginManager().registerEvents(new EnchantScrollListener(this), this);
     }
 
+    /** Let installed protection plugins veto blocks broken by Vein Miner and the like. */
+    private void registerBreakProtections() {
+        Plugin claimPlugin = getServer().getPluginManager().getPlugin("ServerClaim");
+        if (claimPlugin != null && claimPlugin.isEnabled()) {
+            multiBlockBreakManager.registerProtection(new ClaimBreakProtection(claimPlugin));
+            getLogger().info("ServerClaim protection applies to multi-block breaks");
+        }
+    }
+
     private void registerCommands() {
         PluginCommand cmd = getCommand("enchanter");
         if (cmd != null) {
@@ -145,4 +168,12 @@ public class ServerEnchants extends JavaPlugin {
     public DailyAttemptManager getDailyAttemptManager() {
         return dailyAttemptManager;
     }
+
+    public MultiBlockBreakManager getMultiBlockBreakManager() {
+        return multiBlockBreakManager;
+    }
+
+    public HeldEnchantmentCache getHeldEnchantmentCache() {
+        return heldEnchantmentCache;
+    }
 }
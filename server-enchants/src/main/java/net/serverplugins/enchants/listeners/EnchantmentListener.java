@@ -8,6 +8,7 @@ import java.util.UUID;
 import net.serverplugins.enchants.ServerEnchants;
 import net.serverplugins.enchants.enchantments.CustomEnchantment;
 import net.serverplugins.enchants.managers.EnchantmentRegistry;
+import net.serverplugins.enchants.managers.HeldEnchantmentCache;
 import net.serverplugins.enchants.utils.EnchantmentUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
@@ -28,6 +29,7 @@ public class EnchantmentListener implements Listener {
 
     private final ServerEnchants plugin;
     private final EnchantmentRegistry registry;
+    private final HeldEnchantmentCache heldEnchantmentCache;
 
     // Store soulbound items for players who died
     private final Map<UUID, List<ItemStack>> soulboundItems = new HashMap<>();
@@ -35,21 +37,20 @@ public class EnchantmentListener implements Listener {
     public EnchantmentListener(ServerEnchants plugin) {
         this.plugin = plugin;
         this.registry = plugin.getEnchantmentRegistry();
+        this.heldEnchantmentCache = plugin.getHeldEnchantmentCache();
     }
 
     /** Handle block break events for custom enchantments. */
     @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
     public void onBlockBreak(BlockBreakEvent event) {
         Player player = event.getPlayer();
-        ItemStack tool = player.getInventory().getItemInMainHand();
 
-        if (tool == null || tool.getType().isAir()) {
+        // Get all enchantments on the tool, decoded once per held item
+        Map<String, Integer> enchants = heldEnchantmentCache.getHeldEnchantments(player);
+        if (enchants.isEmpty()) {
             return;
         }
 
-        // Get all enchantments on the tool
-        Map<String, Integer> enchants = EnchantmentUtils.getEnchantments(tool, registry);
-
         // Call onBlockBreak for each enchantment
         for (Map.Entry<String, Integer> entry : enchants.entrySet()) {
             CustomEnchantment enchant = registry.getById(entry.getKey());
@@ -0,0 +1,134 @@
+package net.serverplugins.enchants.managers;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import net.serverplugins.enchants.utils.EnchantmentUtils;
+import org.bukkit.Material;
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.PlayerDropItemEvent;
+import org.bukkit.event.player.PlayerItemBreakEvent;
+import org.bukkit.event.player.PlayerItemDamageEvent;
+import org.bukkit.event.player.PlayerItemHeldEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerSwapHandItemsEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+
+/**
+ * Caches the custom enchantments on the item each player holds in their main hand, so hot events
+ * like block breaks don't decode the item every time.
+ *
+ * <p>An entry is reused while the player keeps the same hotbar slot and item type and nothing has
+ * touched their inventory since. Changing slot, clicking or dragging in an inventory, swapping,
+ * dropping or picking up items, and the held item taking damage or breaking all drop the entry, as
+ * does any enchantment written through {@link EnchantmentUtils}. Main thread only.
+ */
+public class HeldEnchantmentCache implements Listener {
+
+    private record Entry(int slot, Material type, long writeCount, Map<String, Integer> enchants) {}
+
+    private final EnchantmentRegistry registry;
+    private final Map<UUID, Entry> entries = new HashMap<>();
+
+    public HeldEnchantmentCache(EnchantmentRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Get the custom enchantments on the item in a player's main hand.
+     *
+     * @param player The player
+     * @return Unmodifiable map of enchantment IDs to levels, empty if there are none
+     */
+    public Map<String, Integer> getHeldEnchantments(Player player) {
+        PlayerInventory inventory = player.getInventory();
+        int slot = inventory.getHeldItemSlot();
+        ItemStack item = inventory.getItemInMainHand();
+        long writeCount = EnchantmentUtils.getWriteCount();
+
+        Entry entry = entries.get(player.getUniqueId());
+        if (entry != null
+                && entry.slot() == slot
+                && entry.type() == item.getType()
+                && entry.writeCount() == writeCount) {
+            return entry.enchants();
+        }
+
+        Map<String, Integer> enchants =
+                Map.copyOf(EnchantmentUtils.getEnchantments(item, registry));
+        entries.put(player.getUniqueId(), new Entry(slot, item.getType(), writeCount, enchants));
+        return enchants;
+    }
+
+    /** Drop a player's entry so the next lookup decodes their held item again. */
+    public void invalidate(HumanEntity player) {
+        entries.remove(player.getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onItemHeld(PlayerItemHeldEvent event) {
+        invalidate(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onInventoryClick(InventoryClickEvent event) {
+        invalidate(event.getWhoClicked());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onInventoryDrag(InventoryDragEvent event) {
+        invalidate(event.getWhoClicked());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onInventoryClose(InventoryCloseEvent event) {
+        invalidate(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onSwapHands(PlayerSwapHandItemsEvent event) {
+        invalidate(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDropItem(PlayerDropItemEvent event) {
+        invalidate(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPickupItem(EntityPickupItemEvent event) {
+        if (event.getEntity() instanceof Player player) {
+            invalidate(player);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onItemDamage(PlayerItemDamageEvent event) {
+        invalidate(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onItemBreak(PlayerItemBreakEvent event) {
+        invalidate(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerDeath(PlayerDeathEvent event) {
+        invalidate(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        invalidate(event.getPlayer());
+    }
+}
@@ -0,0 +1,347 @@
+package net.serverplugins.enchants.managers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import net.serverplugins.enchants.ServerEnchants;
+import net.serverplugins.enchants.protection.BreakProtection;
+import net.serverplugins.enchants.utils.VeinSearch;
+import org.bukkit.Bukkit;
+import org.bukkit.Effect;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.Damageable;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Breaks groups of blocks for players, such as the rest of a vein, spread over as many ticks as
+ * needed to stay within a per-tick time budget.
+ *
+ * <p>Each block is broken with the player's held tool, which takes durability as usual, and only
+ * if every registered {@link BreakProtection} allows its chunk. Drops are merged and dropped once
+ * at the first block when the group is done.
+ */
+public class MultiBlockBreakManager {
+
+    private final ServerEnchants plugin;
+    private final long tickBudgetNanos;
+    private final List<BreakProtection> protections = new CopyOnWriteArrayList<>();
+
+    // Player -> their group being broken; main thread only
+    private final Map<UUID, BreakJob> jobs = new LinkedHashMap<>();
+    private BukkitTask tickTask;
+
+    public MultiBlockBreakManager(ServerEnchants plugin) {
+        this.plugin = plugin;
+        this.tickBudgetNanos =
+                (long) (plugin.getEnchantsConfig().getBlockBreakTickBudgetMs() * 1_000_000);
+    }
+
+    /** Start the tick task. */
+    public void start() {
+        if (tickTask != null) {
+            return; // Already running
+        }
+        tickTask = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+
+    /** Stop the tick task, dropping what the unfinished groups have collected so far. */
+    public void stop() {
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+        for (BreakJob job : jobs.values()) {
+            job.finish();
+        }
+        jobs.clear();
+    }
+
+    public void registerProtection(BreakProtection protection) {
+        protections.add(protection);
+    }
+
+    public void unregisterProtection(BreakProtection protection) {
+        protections.remove(protection);
+    }
+
+    /** Whether the player still has blocks waiting to be broken. */
+    public boolean isBreaking(Player player) {
+        return jobs.containsKey(player.getUniqueId());
+    }
+
+    /**
+     * Find blocks of the origin's type connected to it. Chunks that are not loaded are not searched
+     * and do not get loaded.
+     *
+     * @param limit Maximum blocks to find
+     * @return Packed positions (see {@link VeinSearch#pack(int, int, int)}), excluding the origin
+     */
+    public long[] findVein(Block origin, int limit) {
+        World world = origin.getWorld();
+        Material type = origin.getType();
+        LoadedTypeMatcher matcher = new LoadedTypeMatcher(world, type);
+        return VeinSearch.search(
+                origin.getX(),
+                origin.getY(),
+                origin.getZ(),
+                world.getMinHeight(),
+                world.getMaxHeight(),
+                limit,
+                matcher);
+    }
+
+    /**
+     * Queue blocks to be broken with the tool the player is holding. Blocks that have changed type
+     * by the time they are reached are skipped, and the group stops if the player logs out,
+     * switches tools or the tool is about to break.
+     *
+     * @param origin The block the player broke; its type is the one broken, and drops land there
+     * @param positions Packed positions, broken in order
+     * @return false if the player already has a group in progress
+     */
+    public boolean breakBlocks(Player player, Block origin, long[] positions) {
+        if (positions.length == 0 || jobs.containsKey(player.getUniqueId())) {
+            return false;
+        }
+        Material toolType = player.getInventory().getItemInMainHand().getType();
+        jobs.put(
+                player.getUniqueId(),
+                new BreakJob(player.getUniqueId(), origin, toolType, positions));
+        return true;
+    }
+
+    /** Break blocks until the budget is spent, one per group per pass so every group advances. */
+    private void tick() {
+        if (jobs.isEmpty()) {
+            return;
+        }
+
+        long deadline = System.nanoTime() + tickBudgetNanos;
+        do {
+            Iterator<BreakJob> iterator = jobs.values().iterator();
+            while (iterator.hasNext()) {
+                BreakJob job = iterator.next();
+                if (!job.step()) {
+                    job.finish();
+                    iterator.remove();
+                }
+            }
+        } while (!jobs.isEmpty() && System.nanoTime() < deadline);
+    }
+
+    /** Matches blocks of one type, treating unloaded chunks as not matching. */
+    private static final class LoadedTypeMatcher implements VeinSearch.Matcher {
+
+        private final World world;
+        private final Material type;
+
+        // Most probes fall in the chunk of the previous one
+        private int lastChunkX = Integer.MIN_VALUE;
+        private int lastChunkZ = Integer.MIN_VALUE;
+        private boolean lastLoaded;
+
+        LoadedTypeMatcher(World world, Material type) {
+            this.world = world;
+            this.type = type;
+        }
+
+        @Override
+        public boolean matches(int x, int y, int z) {
+            int chunkX = x >> 4;
+            int chunkZ = z >> 4;
+            if (chunkX != lastChunkX || chunkZ != lastChunkZ) {
+                lastChunkX = chunkX;
+                lastChunkZ = chunkZ;
+                lastLoaded = world.isChunkLoaded(chunkX, chunkZ);
+            }
+            return lastLoaded && world.getType(x, y, z) == type;
+        }
+    }
+
+    private final class BreakJob {
+
+        private final UUID playerId;
+        private final World world;
+        private final Material type;
+        private final Material toolType;
+        private final Location dropLocation;
+        private final long[] positions;
+        private int next;
+
+        private final Map<Long, Boolean> chunkAllowed = new HashMap<>();
+        private final List<ItemStack> drops = new ArrayList<>();
+
+        BreakJob(UUID playerId, Block origin, Material toolType, long[] positions) {
+            this.playerId = playerId;
+            this.world = origin.getWorld();
+            this.type = origin.getType();
+            this.toolType = toolType;
+            this.dropLocation = origin.getLocation().add(0.5, 0.5, 0.5);
+            this.positions = positions;
+        }
+
+        /**
+         * Break the next block.
+         *
+         * @return false once the group is done or has to stop
+         */
+        boolean step() {
+            Player player = Bukkit.getPlayer(playerId);
+            if (player == null || next >= positions.length) {
+                return false;
+            }
+
+            ItemStack tool = player.getInventory().getItemInMainHand();
+            if (tool.getType() != toolType || !hasEnoughDurability(tool)) {
+                return false;
+            }
+
+            long position = positions[next++];
+            int x = VeinSearch.unpackX(position);
+            int y = VeinSearch.unpackY(position);
+            int z = VeinSearch.unpackZ(position);
+            int chunkX = x >> 4;
+            int chunkZ = z >> 4;
+            if (!world.isChunkLoaded(chunkX, chunkZ) || !canBreak(player, chunkX, chunkZ)) {
+                return true;
+            }
+
+            Block block = world.getBlockAt(x, y, z);
+            if (block.getType() != type) {
+                return true;
+            }
+
+            for (ItemStack drop : block.getDrops(tool, player)) {
+                addDrop(drop);
+            }
+            world.playEffect(block.getLocation(), Effect.STEP_SOUND, type);
+            block.setType(Material.AIR);
+
+            // Damage the tool (respects Unbreaking enchantment)
+            damageTool(tool, player);
+            return true;
+        }
+
+        private boolean canBreak(Player player, int chunkX, int chunkZ) {
+            long key = ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+            Boolean allowed = chunkAllowed.get(key);
+            if (allowed == null) {
+                allowed = true;
+                for (BreakProtection protection : protections) {
+                    if (!protection.canBreak(player, world, chunkX, chunkZ)) {
+                        allowed = false;
+                        break;
+                    }
+                }
+                chunkAllowed.put(key, allowed);
+            }
+            return allowed;
+        }
+
+        /** Merge a drop into the collected stacks. */
+        private void addDrop(ItemStack drop) {
+            int remaining = drop.getAmount();
+            for (ItemStack stack : drops) {
+                if (remaining == 0) {
+                    return;
+                }
+                if (stack.isSimilar(drop) && stack.getAmount() < stack.getMaxStackSize()) {
+                    int moved = Math.min(remaining, stack.getMaxStackSize() - stack.getAmount());
+                    stack.setAmount(stack.getAmount() + moved);
+                    remaining -= moved;
+                }
+            }
+            while (remaining > 0) {
+                ItemStack stack = drop.clone();
+                stack.setAmount(Math.min(remaining, drop.getMaxStackSize()));
+                remaining -= stack.getAmount();
+                drops.add(stack);
+            }
+        }
+
+        void finish() {
+            if (dropLocation.isWorldLoaded()) {
+                for (ItemStack stack : drops) {
+                    world.dropItemNaturally(dropLocation, stack);
+                }
+            }
+            drops.clear();
+        }
+    }
+
+    /**
+     * Check if the tool has enough durability to continue breaking blocks.
+     *
+     * @param tool The tool to check
+     * @return true if the tool can break more blocks
+     */
+    private static boolean hasEnoughDurability(ItemStack tool) {
+        if (tool == null || tool.getType() == Material.AIR) {
+            return false;
+        }
+
+        ItemMeta meta = tool.getItemMeta();
+        if (!(meta instanceof Damageable damageable)) {
+            return true; // Not a damageable item
+        }
+
+        // Check if tool is about to break (leave 1 durability)
+        int maxDurability = tool.getType().getMaxDurability();
+        int currentDamage = damageable.getDamage();
+
+        return currentDamage < maxDurability - 1;
+    }
+
+    /**
+     * Damage the tool, respecting Unbreaking enchantment.
+     *
+     * @param tool The tool to damage
+     * @param player The player using the tool
+     */
+    private static void damageTool(ItemStack tool, Player player) {
+        if (tool == null || tool.getType() == Material.AIR) {
+            return;
+        }
+
+        ItemMeta meta = tool.getItemMeta();
+        if (!(meta instanceof Damageable damageable)) {
+            return;
+        }
+
+        // Check Unbreaking enchantment
+        int unbreakingLevel = meta.getEnchantLevel(Enchantment.UNBREAKING);
+        if (unbreakingLevel > 0) {
+            // Unbreaking gives a chance to not use durability
+            // Formula: (100 / (level + 1))% chance to reduce durability
+            double chance = 100.0 / (unbreakingLevel + 1);
+            if (Math.random() * 100 >= chance) {
+                return; // Durability not reduced
+            }
+        }
+
+        // Apply damage
+        int currentDamage = damageable.getDamage();
+        int maxDurability = tool.getType().getMaxDurability();
+
+        if (currentDamage < maxDurability - 1) {
+            damageable.setDamage(currentDamage + 1);
+            tool.setItemMeta(meta);
+        } else {
+            // Tool is about to break
+            tool.setAmount(0);
+            player.getInventory().setItemInMainHand(null);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package net.serverplugins.enchants.protection;
+
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+/**
+ * A veto on blocks broken by enchantments rather than by the player directly, such as the extra
+ * blocks of a vein. Register implementations with {@link
+ * net.serverplugins.enchants.managers.MultiBlockBreakManager#registerProtection(BreakProtection)}.
+ */
+@FunctionalInterface
+public interface BreakProtection {
+
+    /**
+     * Whether the player may break blocks in a chunk. Called on the main thread, at most once per
+     * chunk for each group of blocks being broken.
+     */
+    boolean canBreak(Player player, World world, int chunkX, int chunkZ);
+}
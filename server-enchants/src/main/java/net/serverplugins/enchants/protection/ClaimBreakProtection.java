@@ -0,0 +1,40 @@
+package net.serverplugins.enchants.protection;
+
+import net.serverplugins.claim.ServerClaim;
+import net.serverplugins.claim.managers.ClaimManager;
+import net.serverplugins.claim.models.Claim;
+import net.serverplugins.claim.models.ClaimPermission;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Applies ServerClaim's block break rules: unclaimed land is open, claimed chunks need the break
+ * permission, and chunks whose claims are still loading are denied. Only load this class when
+ * ServerClaim is installed.
+ */
+public class ClaimBreakProtection implements BreakProtection {
+
+    private final ServerClaim claimPlugin;
+
+    /** Takes the plugin as looked up by name, so callers need no ServerClaim types. */
+    public ClaimBreakProtection(Plugin claimPlugin) {
+        this.claimPlugin = (ServerClaim) claimPlugin;
+    }
+
+    @Override
+    public boolean canBreak(Player player, World world, int chunkX, int chunkZ) {
+        if (player.hasPermission("serverclaim.bypass")) {
+            return true;
+        }
+
+        ClaimManager claimManager = claimPlugin.getClaimManager();
+        if (!claimManager.isRegionLoaded(world.getName(), chunkX, chunkZ)) {
+            return false;
+        }
+
+        Claim claim = claimManager.getClaimAt(world.getName(), chunkX, chunkZ);
+        return claim == null
+                || claim.hasPermission(player.getUniqueId(), ClaimPermission.BREAK_BLOCKS);
+    }
+}
@@ -1,9 +1,12 @@
 package net.serverplugins.enchants.utils;
 
+import io.papermc.paper.persistence.PersistentDataContainerView;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import net.serverplugins.enchants.enchantments.CustomEnchantment;
 import net.serverplugins.enchants.managers.EnchantmentRegistry;
 import org.bukkit.Material;
@@ -22,6 +25,15 @@ public class EnchantmentUtils {
     // Zero-width space marker to identify enchantment lore lines
     private static final String ENCHANT_LORE_MARKER = "\u200B";
 
+    private static final String KEY_NAMESPACE = "server_enchants";
+    private static final String KEY_PREFIX = "enchant_";
+
+    // Enchantment ID -> key, so lookups don't build a new key each time
+    private static final Map<String, NamespacedKey> KEYS = new ConcurrentHashMap<>();
+
+    // Bumped whenever this class changes an item's enchantments
+    private static final AtomicLong WRITES = new AtomicLong();
+
     /**
      * Get the NamespacedKey for a custom enchantment.
      *
@@ -29,7 +41,31 @@ public class EnchantmentUtils {
      * @return The NamespacedKey for PDC storage
      */
     public static NamespacedKey getKey(String enchantId) {
-        return new NamespacedKey("server_enchants", "enchant_" + enchantId);
+        return KEYS.computeIfAbsent(
+                enchantId, id -> new NamespacedKey(KEY_NAMESPACE, KEY_PREFIX + id));
+    }
+
+    /**
+     * Get the enchantment ID stored under a PDC key.
+     *
+     * @param key A key from an item's PDC
+     * @return The enchantment ID, or null if the key is not a custom enchantment key
+     */
+    public static String getEnchantId(NamespacedKey key) {
+        if (!KEY_NAMESPACE.equals(key.getNamespace()) || !key.getKey().startsWith(KEY_PREFIX)) {
+            return null;
+        }
+        return key.getKey().substring(KEY_PREFIX.length());
+    }
+
+    /**
+     * Get a counter that changes every time {@link #writeLevel} or {@link #removeKey} modifies an
+     * item, so cached readings can tell when they may be stale.
+     *
+     * @return The current write count
+     */
+    public static long getWriteCount() {
+        return WRITES.get();
     }
 
     /**
@@ -40,16 +76,12 @@ public class EnchantmentUtils {
      * @return The enchantment level, or 0 if not present
      */
     public static int readLevel(ItemStack item, String enchantId) {
-        if (item == null || item.getType() == Material.AIR) {
+        if (item == null || item.getType() == Material.AIR || !item.hasItemMeta()) {
             return 0;
         }
 
-        ItemMeta meta = item.getItemMeta();
-        if (meta == null) {
-            return 0;
-        }
-
-        PersistentDataContainer pdc = meta.getPersistentDataContainer();
+        // Read-only view of the item's data; unlike getItemMeta() it copies nothing
+        PersistentDataContainerView pdc = item.getPersistentDataContainer();
         NamespacedKey key = getKey(enchantId);
 
         return pdc.getOrDefault(key, PersistentDataType.INTEGER, 0);
@@ -82,6 +114,7 @@ public class EnchantmentUtils {
         }
 
         item.setItemMeta(meta);
+        WRITES.incrementAndGet();
     }
 
     /**
@@ -105,6 +138,7 @@ public class EnchantmentUtils {
         pdc.remove(key);
 
         item.setItemMeta(meta);
+        WRITES.incrementAndGet();
     }
 
     /**
@@ -178,7 +212,8 @@ public class EnchantmentUtils {
     }
 
     /**
-     * Get all custom enchantments on an item.
+     * Get all custom enchantments on an item. Only the keys actually on the item are visited, and
+     * items without meta, like a plain pickaxe, return before any data is read.
      *
      * @param item The item to read from
      * @param registry The enchantment registry
@@ -188,24 +223,25 @@ public class EnchantmentUtils {
             ItemStack item, EnchantmentRegistry registry) {
         Map<String, Integer> enchants = new HashMap<>();
 
-        if (item == null || item.getType() == Material.AIR) {
+        if (item == null || item.getType() == Material.AIR || !item.hasItemMeta()) {
             return enchants;
         }
 
-        ItemMeta meta = item.getItemMeta();
-        if (meta == null) {
+        // Read-only view of the item's data; unlike getItemMeta() it copies nothing
+        PersistentDataContainerView pdc = item.getPersistentDataContainer();
+        if (pdc.isEmpty()) {
             return enchants;
         }
 
-        PersistentDataContainer pdc = meta.getPersistentDataContainer();
+        for (NamespacedKey key : pdc.getKeys()) {
+            String enchantId = getEnchantId(key);
+            if (enchantId == null || !registry.isRegistered(enchantId)) {
+                continue;
+            }
 
-        // Check all registered enchantments
-        for (CustomEnchantment enchant : registry.getAll()) {
-            NamespacedKey key = getKey(enchant.getId());
             Integer level = pdc.get(key, PersistentDataType.INTEGER);
-
             if (level != null && level > 0) {
-                enchants.put(enchant.getId(), level);
+                enchants.put(enchantId, level);
             }
         }
 
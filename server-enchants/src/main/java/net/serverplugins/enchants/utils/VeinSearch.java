@@ -0,0 +1,130 @@
+package net.serverplugins.enchants.utils;
+
+import java.util.Arrays;
+
+/**
+ * Breadth-first search for a vein of connected blocks. Positions are packed into longs (see {@link
+ * #pack(int, int, int)}), so the search creates no Block objects or boxed keys, and every position
+ * is probed at most once.
+ *
+ * <p>Blocks connect across faces and edges (18 neighbours), which follows diagonal ore veins and
+ * tree trunks.
+ */
+public final class VeinSearch {
+
+    /** Whether the block at a position belongs to the vein. */
+    @FunctionalInterface
+    public interface Matcher {
+        boolean matches(int x, int y, int z);
+    }
+
+    private static final int[][] OFFSETS = {
+        {1, 0, 0},
+        {-1, 0, 0}, // X axis
+        {0, 1, 0},
+        {0, -1, 0}, // Y axis
+        {0, 0, 1},
+        {0, 0, -1}, // Z axis
+        // Diagonal connections for better vein detection
+        {1, 1, 0},
+        {1, -1, 0},
+        {-1, 1, 0},
+        {-1, -1, 0},
+        {1, 0, 1},
+        {1, 0, -1},
+        {-1, 0, 1},
+        {-1, 0, -1},
+        {0, 1, 1},
+        {0, 1, -1},
+        {0, -1, 1},
+        {0, -1, -1}
+    };
+
+    // Packs x = -2^25, which is outside the world border, so no real position collides with it
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private VeinSearch() {}
+
+    /**
+     * Find up to {@code limit} matching blocks connected to the origin, nearest first.
+     *
+     * @param minY Lowest y to search, inclusive
+     * @param maxY Highest y to search, exclusive
+     * @return Packed positions of the found blocks, excluding the origin
+     */
+    public static long[] search(
+            int x, int y, int z, int minY, int maxY, int limit, Matcher matcher) {
+        if (limit <= 0) {
+            return new long[0];
+        }
+
+        // The found blocks double as the queue: each is expanded in the order it was found
+        long[] queue = new long[limit + 1];
+        queue[0] = pack(x, y, z);
+        int size = 1;
+
+        // Every probed position, matching or not, so none is looked up twice
+        int bits = 32 - Integer.numberOfLeadingZeros((limit + 1) * OFFSETS.length * 2 - 1);
+        long[] seen = new long[1 << bits];
+        Arrays.fill(seen, EMPTY);
+        add(seen, bits, queue[0]);
+
+        for (int head = 0; head < size && size <= limit; head++) {
+            long current = queue[head];
+            int cx = unpackX(current);
+            int cy = unpackY(current);
+            int cz = unpackZ(current);
+            for (int[] offset : OFFSETS) {
+                int nx = cx + offset[0];
+                int ny = cy + offset[1];
+                int nz = cz + offset[2];
+                if (ny < minY || ny >= maxY) {
+                    continue;
+                }
+                long neighbor = pack(nx, ny, nz);
+                if (!add(seen, bits, neighbor) || !matcher.matches(nx, ny, nz)) {
+                    continue;
+                }
+                queue[size++] = neighbor;
+                if (size > limit) {
+                    break;
+                }
+            }
+        }
+        return Arrays.copyOfRange(queue, 1, size);
+    }
+
+    /** Add a position to an open-addressing set; false if it was already there. */
+    private static boolean add(long[] table, int bits, long key) {
+        int mask = table.length - 1;
+        int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> (64 - bits));
+        while (true) {
+            long existing = table[slot];
+            if (existing == EMPTY) {
+                table[slot] = key;
+                return true;
+            }
+            if (existing == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /** Pack a position as x (26 bits), z (26 bits), y (12 bits), like vanilla block positions. */
+    public static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    public static int unpackX(long packed) {
+        return (int) (packed >> 38);
+    }
+
+    public static int unpackY(long packed) {
+        return (int) (packed << 52 >> 52);
+    }
+
+    public static int unpackZ(long packed) {
+        return (int) (packed << 26 >> 38);
+    }
+}
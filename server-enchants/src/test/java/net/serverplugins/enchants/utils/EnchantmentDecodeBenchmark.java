@@ -0,0 +1,125 @@
+package net.serverplugins.enchants.utils;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+import net.serverplugins.api.benchmark.Benchmarks;
+import net.serverplugins.enchants.enchantments.CustomEnchantment;
+import net.serverplugins.enchants.enchantments.EnchantTier;
+import net.serverplugins.enchants.managers.EnchantmentRegistry;
+import net.serverplugins.enchants.managers.HeldEnchantmentCache;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+/**
+ * Times reading the custom enchantments off a pickaxe with 0, 1 and 5 of them: the previous decode
+ * (item meta copied, a new key built and probed for every registered enchantment), {@link
+ * EnchantmentUtils#getEnchantments} and a {@link HeldEnchantmentCache} hit, which is what a block
+ * break now costs. Not a unit test, so surefire does not pick it up; run it from an IDE or with
+ * {@code java -cp target/classes:target/test-classes} plus the test classpath.
+ *
+ * <pre>
+ * EnchantmentDecodeBenchmark [seconds=3]
+ * </pre>
+ *
+ * <p>Items come from MockBukkit, whose item data is simpler than a real server's, so the figures
+ * understate how much the meta copy costs in production.
+ */
+public final class EnchantmentDecodeBenchmark {
+
+    private static final String[] IDS = {
+        "auto_smelt", "vein_miner", "magnet", "soulbound", "benchmark"
+    };
+
+    public static void main(String[] args) {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+
+        ServerMock server = MockBukkit.mock();
+        try {
+            EnchantmentRegistry registry =
+                    new EnchantmentRegistry(Logger.getLogger("EnchantmentDecodeBenchmark"));
+            registry.registerDefaults();
+            registry.register(new BenchmarkEnchantment());
+
+            PlayerMock player = server.addPlayer();
+            HeldEnchantmentCache cache = new HeldEnchantmentCache(registry);
+
+            for (int count : new int[] {0, 1, 5}) {
+                ItemStack item = new ItemStack(Material.DIAMOND_PICKAXE);
+                for (int i = 0; i < count; i++) {
+                    EnchantmentUtils.writeLevel(item, IDS[i], 1);
+                }
+                player.getInventory().setItemInMainHand(item);
+
+                // Same result from every path, or the comparison is meaningless
+                Map<String, Integer> expected = legacyGetEnchantments(item, registry);
+                if (!expected.equals(EnchantmentUtils.getEnchantments(item, registry))
+                        || !expected.equals(cache.getHeldEnchantments(player))) {
+                    throw new IllegalStateException("Decoders disagree on " + expected);
+                }
+
+                System.out.printf("%d enchantments:%n", count);
+                Benchmarks.report(
+                        "  legacy",
+                        seconds,
+                        1,
+                        "decode",
+                        () -> legacyGetEnchantments(item, registry).size());
+                Benchmarks.report(
+                        "  decode",
+                        seconds,
+                        1,
+                        "decode",
+                        () -> EnchantmentUtils.getEnchantments(item, registry).size());
+                Benchmarks.report(
+                        "  cached",
+                        seconds,
+                        1,
+                        "decode",
+                        () -> cache.getHeldEnchantments(player).size());
+            }
+        } finally {
+            MockBukkit.unmock();
+        }
+    }
+
+    /** The decode every block break used before. */
+    private static Map<String, Integer> legacyGetEnchantments(
+            ItemStack item, EnchantmentRegistry registry) {
+        Map<String, Integer> enchants = new HashMap<>();
+        ItemMeta meta = item.getItemMeta();
+        if (meta == null) {
+            return enchants;
+        }
+
+        PersistentDataContainer pdc = meta.getPersistentDataContainer();
+        for (CustomEnchantment enchant : registry.getAll()) {
+            NamespacedKey key = new NamespacedKey("server_enchants", "enchant_" + enchant.getId());
+            Integer level = pdc.get(key, PersistentDataType.INTEGER);
+            if (level != null && level > 0) {
+                enchants.put(enchant.getId(), level);
+            }
+        }
+        return enchants;
+    }
+
+    /** A fifth enchantment, so the 5-enchantment item can carry one of each. */
+    private static final class BenchmarkEnchantment extends CustomEnchantment {
+
+        BenchmarkEnchantment() {
+            super("benchmark", "Benchmark", EnchantTier.COMMON, 1, Material.PAPER, "Benchmark");
+        }
+
+        @Override
+        public boolean canApplyTo(ItemStack item) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package net.serverplugins.enchants.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.bukkit.NamespacedKey;
+import org.junit.jupiter.api.Test;
+
+class EnchantmentUtilsTest {
+
+    @Test
+    void testGetKeyReusesKeys() {
+        NamespacedKey key = EnchantmentUtils.getKey("vein_miner");
+
+        assertSame(key, EnchantmentUtils.getKey("vein_miner"));
+        assertEquals("server_enchants", key.getNamespace());
+        assertEquals("enchant_vein_miner", key.getKey());
+    }
+
+    @Test
+    void testGetEnchantIdRoundTrips() {
+        assertEquals("magnet", EnchantmentUtils.getEnchantId(EnchantmentUtils.getKey("magnet")));
+    }
+
+    @Test
+    void testGetEnchantIdIgnoresOtherKeys() {
+        assertNull(EnchantmentUtils.getEnchantId(new NamespacedKey("other_plugin", "enchant_x")));
+        assertNull(EnchantmentUtils.getEnchantId(new NamespacedKey("server_enchants", "scroll")));
+    }
+}
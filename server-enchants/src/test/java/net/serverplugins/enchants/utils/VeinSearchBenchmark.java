@@ -0,0 +1,145 @@
+package net.serverplugins.enchants.utils;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+import net.serverplugins.api.benchmark.Benchmarks;
+
+/**
+ * Times {@link VeinSearch} against the previous Vein Miner search (hash sets of positions, every
+ * non-matching neighbour probed again each time it is reached) on a synthetic 500-block vein. Not
+ * a unit test, so surefire does not pick it up; run it from an IDE or with {@code java -cp
+ * target/classes:target/test-classes} plus the test classpath.
+ *
+ * <pre>
+ * VeinSearchBenchmark [veinSize=500] [seconds=5]
+ * </pre>
+ *
+ * <p>Block lookups go to an in-memory grid, so the figures are the search's own cost. On a server
+ * each probe also reads a block, which makes the saved probes count for more.
+ */
+public final class VeinSearchBenchmark {
+
+    private static final int SIZE = 64;
+
+    private static final int[][] OFFSETS = {
+        {1, 0, 0}, {-1, 0, 0}, {0, 1, 0}, {0, -1, 0}, {0, 0, 1}, {0, 0, -1},
+        {1, 1, 0}, {1, -1, 0}, {-1, 1, 0}, {-1, -1, 0}, {1, 0, 1}, {1, 0, -1},
+        {-1, 0, 1}, {-1, 0, -1}, {0, 1, 1}, {0, 1, -1}, {0, -1, 1}, {0, -1, -1}
+    };
+
+    private record Pos(int x, int y, int z) {}
+
+    public static void main(String[] args) {
+        int veinSize = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        boolean[] grid = buildVein(veinSize, new Random(42));
+        long[] probes = new long[1];
+        VeinSearch.Matcher matcher =
+                (x, y, z) -> {
+                    probes[0]++;
+                    return inside(x, y, z) && grid[index(x, y, z)];
+                };
+        int origin = SIZE / 2;
+
+        // Same result size from both, or the comparison is meaningless
+        int found = VeinSearch.search(origin, origin, origin, 0, SIZE, veinSize, matcher).length;
+        int legacyFound = legacySearch(origin, origin, origin, veinSize, matcher).size();
+        System.out.printf("vein: %d blocks, found %d (legacy %d)%n", veinSize, found, legacyFound);
+
+        probes[0] = 0;
+        VeinSearch.search(origin, origin, origin, 0, SIZE, veinSize, matcher);
+        long packedProbes = probes[0];
+        probes[0] = 0;
+        legacySearch(origin, origin, origin, veinSize, matcher);
+        long legacyProbes = probes[0];
+        System.out.printf(
+                "block lookups per search: packed %d, legacy %d%n", packedProbes, legacyProbes);
+
+        Benchmarks.report(
+                "packed",
+                seconds,
+                1,
+                "search",
+                () -> VeinSearch.search(origin, origin, origin, 0, SIZE, veinSize, matcher).length);
+        Benchmarks.report(
+                "legacy",
+                seconds,
+                1,
+                "search",
+                () -> legacySearch(origin, origin, origin, veinSize, matcher).size());
+    }
+
+    /** A random walk that keeps adding touching blocks until the vein has the given size. */
+    private static boolean[] buildVein(int size, Random random) {
+        boolean[] grid = new boolean[SIZE * SIZE * SIZE];
+        int x = SIZE / 2;
+        int y = SIZE / 2;
+        int z = SIZE / 2;
+        grid[index(x, y, z)] = true;
+        int placed = 1;
+        while (placed < size) {
+            int[] offset = OFFSETS[random.nextInt(6)];
+            int nx = x + offset[0];
+            int ny = y + offset[1];
+            int nz = z + offset[2];
+            if (nx < 1 || ny < 1 || nz < 1 || nx >= SIZE - 1 || ny >= SIZE - 1 || nz >= SIZE - 1) {
+                continue;
+            }
+            x = nx;
+            y = ny;
+            z = nz;
+            if (!grid[index(x, y, z)]) {
+                grid[index(x, y, z)] = true;
+                placed++;
+            }
+        }
+        return grid;
+    }
+
+    /** The search Vein Miner used before, with positions in place of Block objects. */
+    private static Set<Pos> legacySearch(
+            int x, int y, int z, int maxBlocks, VeinSearch.Matcher matcher) {
+        Pos origin = new Pos(x, y, z);
+        Set<Pos> found = new HashSet<>();
+        Set<Pos> visited = new HashSet<>();
+        Queue<Pos> queue = new ArrayDeque<>();
+        queue.add(origin);
+        visited.add(origin);
+
+        while (!queue.isEmpty() && found.size() < maxBlocks) {
+            Pos current = queue.poll();
+            for (int[] offset : OFFSETS) {
+                Pos neighbor =
+                        new Pos(
+                                current.x + offset[0],
+                                current.y + offset[1],
+                                current.z + offset[2]);
+                if (visited.contains(neighbor)
+                        || !matcher.matches(neighbor.x, neighbor.y, neighbor.z)) {
+                    continue;
+                }
+                visited.add(neighbor);
+                if (!neighbor.equals(origin)) {
+                    found.add(neighbor);
+                    if (found.size() >= maxBlocks) {
+                        break;
+                    }
+                }
+                queue.add(neighbor);
+            }
+        }
+        return found;
+    }
+
+    private static boolean inside(int x, int y, int z) {
+        return x >= 0 && y >= 0 && z >= 0 && x < SIZE && y < SIZE && z < SIZE;
+    }
+
+    private static int index(int x, int y, int z) {
+        return (y * SIZE + z) * SIZE + x;
+    }
+}
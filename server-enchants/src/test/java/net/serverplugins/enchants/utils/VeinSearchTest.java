@@ -0,0 +1,92 @@
+package net.serverplugins.enchants.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class VeinSearchTest {
+
+    @Test
+    void testPackRoundTripsNegativeCoordinates() {
+        long packed = VeinSearch.pack(-29_999_984, -64, 12_345);
+
+        assertEquals(-29_999_984, VeinSearch.unpackX(packed));
+        assertEquals(-64, VeinSearch.unpackY(packed));
+        assertEquals(12_345, VeinSearch.unpackZ(packed));
+    }
+
+    @Test
+    void testFindsDiagonalNeighboursButNotCorners() {
+        Set<Long> vein = new HashSet<>();
+        vein.add(VeinSearch.pack(0, 0, 0));
+        vein.add(VeinSearch.pack(1, 1, 0)); // Shares an edge
+        vein.add(VeinSearch.pack(2, 2, 1)); // Shares only a corner with the last
+
+        long[] found = search(vein, 0, 0, 0, 10);
+
+        assertEquals(1, found.length);
+        assertEquals(VeinSearch.pack(1, 1, 0), found[0]);
+    }
+
+    @Test
+    void testStopsAtLimitAndExcludesOrigin() {
+        Set<Long> vein = new HashSet<>();
+        for (int x = 0; x < 100; x++) {
+            vein.add(VeinSearch.pack(x, 10, 0));
+        }
+
+        long[] found = search(vein, 0, 10, 0, 20);
+
+        assertEquals(20, found.length);
+        for (long position : found) {
+            assertNotEquals(VeinSearch.pack(0, 10, 0), position);
+        }
+        // Nearest first
+        assertEquals(VeinSearch.pack(1, 10, 0), found[0]);
+        assertEquals(VeinSearch.pack(20, 10, 0), found[19]);
+    }
+
+    @Test
+    void testStaysWithinHeightLimits() {
+        Set<Long> vein = new HashSet<>();
+        for (int y = -10; y < 10; y++) {
+            vein.add(VeinSearch.pack(0, y, 0));
+        }
+
+        long[] found = VeinSearch.search(0, 0, 0, -2, 3, 50, matcher(vein, new HashSet<>()));
+
+        assertEquals(4, found.length);
+    }
+
+    @Test
+    void testProbesEachPositionOnce() {
+        Set<Long> vein = new HashSet<>();
+        for (int x = 0; x < 5; x++) {
+            for (int y = 0; y < 5; y++) {
+                for (int z = 0; z < 5; z++) {
+                    vein.add(VeinSearch.pack(x, y, z));
+                }
+            }
+        }
+
+        Set<Long> probed = new HashSet<>();
+        long[] found = VeinSearch.search(2, 2, 2, -64, 320, 500, matcher(vein, probed));
+
+        assertEquals(124, found.length);
+    }
+
+    private static long[] search(Set<Long> vein, int x, int y, int z, int limit) {
+        return VeinSearch.search(x, y, z, -64, 320, limit, matcher(vein, new HashSet<>()));
+    }
+
+    /** Matches the vein and fails the test if a position is probed twice. */
+    private static VeinSearch.Matcher matcher(Set<Long> vein, Set<Long> probed) {
+        return (x, y, z) -> {
+            long packed = VeinSearch.pack(x, y, z);
+            assertTrue(probed.add(packed), "probed twice: " + x + "," + y + "," + z);
+            return vein.contains(packed);
+        };
+    }
+}
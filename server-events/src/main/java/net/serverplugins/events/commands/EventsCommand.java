@@ -13,6 +13,8 @@ import net.serverplugins.events.ServerEvents;
 import net.serverplugins.events.data.EventStats;
 import net.serverplugins.events.events.EventManager;
 import net.serverplugins.events.events.ServerEvent;
+import net.serverplugins.events.events.pinata.BasePinataEvent;
+import net.serverplugins.events.events.pinata.PinataTicker;
 import net.serverplugins.events.gui.EventsGui;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -54,6 +56,7 @@ public class EventsCommand implements CommandExecutor, TabCompleter {
             case "gui", "menu" -> handleGui(sender);
             case "leaderboard", "top" -> handleLeaderboard(sender);
             case "history" -> handleHistory(sender);
+            case "timings" -> handleTimings(sender);
             default -> sendHelp(sender);
         }
 
@@ -214,6 +217,39 @@ public class EventsCommand implements CommandExecutor, TabCompleter {
                 .send(sender);
     }
 
+    private void handleTimings(CommandSender sender) {
+        ServerEvent event = plugin.getEventManager().getActiveEvent();
+        if (!(event instanceof BasePinataEvent pinata)) {
+            messenger.sendError(sender, "No pinata event is running.");
+            return;
+        }
+
+        MessageBuilder.create()
+                .prefix(messenger.getPrefix())
+                .emphasis("--- " + event.getDisplayName() + " Tick Timings ---")
+                .send(sender);
+
+        List<PinataTicker.PhaseTiming> timings = pinata.getTickTimings();
+        if (timings.isEmpty()) {
+            messenger.sendInfo(sender, "No phases have run yet.");
+            return;
+        }
+
+        for (PinataTicker.PhaseTiming timing : timings) {
+            MessageBuilder.create()
+                    .prefix(messenger.getPrefix())
+                    .warning(timing.name() + ": ")
+                    .highlight(String.format("%.3fms avg", timing.averageMillis()))
+                    .info(
+                            String.format(
+                                    " (max %.3fms, %d runs, every %d ticks)",
+                                    timing.maxNanos() / 1_000_000.0,
+                                    timing.runs(),
+                                    timing.period()))
+                    .send(sender);
+        }
+    }
+
     private void handleGui(CommandSender sender) {
         if (!(sender instanceof Player player)) {
             messenger.sendError(sender, "This command can only be used by players.");
@@ -332,6 +368,12 @@ public class EventsCommand implements CommandExecutor, TabCompleter {
                 .info(" - View recent events")
                 .send(sender);
 
+        MessageBuilder.create()
+                .prefix(messenger.getPrefix())
+                .command("/event timings")
+                .info(" - View pinata effect tick timings")
+                .send(sender);
+
         MessageBuilder.create()
                 .prefix(messenger.getPrefix())
                 .command("/event reload")
@@ -367,7 +409,8 @@ public class EventsCommand implements CommandExecutor, TabCompleter {
                             "reload",
                             "gui",
                             "leaderboard",
-                            "history"));
+                            "history",
+                            "timings"));
         } else if (args.length == 2 && args[0].equalsIgnoreCase("trigger")) {
             completions.addAll(
                     Arrays.stream(ServerEvent.EventType.values())
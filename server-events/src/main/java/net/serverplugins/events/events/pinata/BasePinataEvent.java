@@ -39,7 +39,6 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.SkullMeta;
 import org.bukkit.profile.PlayerProfile;
 import org.bukkit.profile.PlayerTextures;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.scoreboard.Scoreboard;
 import org.bukkit.scoreboard.Team;
@@ -67,7 +66,7 @@ public abstract class BasePinataEvent implements ServerEvent, Listener {
     protected final Map<UUID, AtomicInteger> playerClicks = new HashMap<>();
     protected volatile Player breaker;
     protected String targetPlayerName;
-    protected BukkitRunnable movementTask;
+    protected final PinataTicker ticker;
     protected BukkitTask timeoutTask;
 
     // UI Feedback state
@@ -76,6 +75,7 @@ public abstract class BasePinataEvent implements ServerEvent, Listener {
     protected BukkitTask warning30sTask;
     protected BukkitTask warning10sTask;
     protected int lastBossBarUpdateClicks = -1;
+    protected volatile int pendingBossBarClicks = -1;
 
     // Anti-spam cooldown: minimum 200ms between clicks per player
     protected static final long CLICK_COOLDOWN_MS = 200;
@@ -109,7 +109,10 @@ public abstract class BasePinataEvent implements ServerEvent, Listener {
     protected List<ItemStack> configuredEquipmentItems =
             new ArrayList<>(); // Configured equipment items
     protected int currentDeteriorationStage = 0; // Visual deterioration stage
-    protected BukkitTask deteriorationTask = null; // Deterioration particle task
+
+    // Shake effect state, advanced by the "shake" tick phase
+    protected Location shakeOrigin = null;
+    protected int shakeTicksLeft = 0;
 
     // Last name update tick to throttle updates
     protected int lastNameUpdateClicks = -1;
@@ -120,13 +123,12 @@ public abstract class BasePinataEvent implements ServerEvent, Listener {
     // Boss bar update throttling
     protected final AtomicLong lastBossBarUpdate = new AtomicLong(0);
     protected static final long BOSS_BAR_UPDATE_INTERVAL_MS = 500;
+    protected static final int BOSS_BAR_UPDATE_PERIOD_TICKS = 2;
 
     // Particle scaling thresholds
     protected static final int HIGH_PLAYER_COUNT_THRESHOLD = 20;
     protected static final int VERY_HIGH_PLAYER_COUNT_THRESHOLD = 40;
     protected static final double PARTICLE_CHECK_RANGE = 32.0;
-    protected static final double PARTICLE_CHECK_RANGE_SQUARED =
-            PARTICLE_CHECK_RANGE * PARTICLE_CHECK_RANGE;
 
     // TPS thresholds for particle reduction
     protected static final double TPS_REDUCED_THRESHOLD = 18.0;
@@ -135,6 +137,9 @@ public abstract class BasePinataEvent implements ServerEvent, Listener {
     public BasePinataEvent(ServerEvents plugin) {
         this.plugin = plugin;
         this.config = plugin.getEventsConfig();
+        this.ticker =
+                new PinataTicker(
+                        plugin, () -> pinataEntity != null ? pinataEntity.getLocation() : null);
     }
 
     /** Template method: Get the event type. */
@@ -308,6 +313,9 @@ public abstract class BasePinataEvent implements ServerEvent, Listener {
         lastBossBarUpdate.set(0);
         triggeredMilestones.clear();
         lastBossBarUpdateClicks = -1;
+        pendingBossBarClicks = -1;
+        shakeOrigin = null;
+        shakeTicksLeft = 0;
 
         // Clear anti-spam and combo tracking
         lastClickTime.clear();
@@ -859,11 +867,8 @@ public abstract class BasePinataEvent implements ServerEvent, Listener {
 
         active = false;
 
-        // Cancel tasks
-        if (movementTask != null) {
-            movementTask.cancel();
-            movementTask = null;
-        }
+        // Stop movement and effect phases
+        ticker.stop();
 
         if (timeoutTask != null) {
             timeoutTask.cancel();
@@ -880,12 +885,6 @@ public abstract class BasePinataEvent implements ServerEvent, Listener {
             warning10sTask = null;
         }
 
-        // Cancel deterioration task
-        if (deteriorationTask != null) {
-            deteriorationTask.cancel();
-            deteriorationTask = null;
-        }
-
         // Remove boss bar from all players
         if (progressBossBar != null) {
             if (pinataEntity != null && pinataEntity.getWorld() != null) {
@@ -1096,9 +1095,9 @@ public abstract class BasePinataEvent implements ServerEvent, Listener {
             }
         }
 
-        // Update boss bar (update every click for accurate progress tracking)
+        // Boss bar picks up the latest click count on its next tick phase
         if (progressBossBar != null) {
-            updateBossBar(clicks);
+            pendingBossBarClicks = clicks;
         }
 
         // Send action bar feedback every 3rd hit from this player
@@ -1123,17 +1122,17 @@ public abstract class BasePinataEvent implements ServerEvent, Listener {
             playToNearbyPlayers(Sound.ENTITY_PLAYER_ATTACK_STRONG, 0.5f, 1.2f, 64.0);
 
             // Spawn hit particles (scaled based on player count and TPS)
+            // Hits within one tick are merged into a single particle packet
             int scaledHitParticles = scaleParticleCount(10);
             if (scaledHitParticles > 0) {
-                loc.getWorld()
-                        .spawnParticle(
-                                Particle.CRIT,
-                                loc.clone().add(0, 1, 0),
-                                scaledHitParticles,
-                                0.3,
-                                0.3,
-                                0.3,
-                                0.1);
+                ticker.spawnParticle(
+                        Particle.CRIT,
+                        loc.clone().add(0, 1, 0),
+                        scaledHitParticles,
+                        0.3,
+                        0.3,
+                        0.3,
+                        0.1);
             }
         }
 
@@ -1401,98 +1400,52 @@ public abstract class BasePinataEvent implements ServerEvent, Listener {
 
     /** Update visual deterioration based on health stage. */
     protected void updateDeteriorationEffects(int stage) {
-        // Cancel old task
-        if (deteriorationTask != null) {
-            deteriorationTask.cancel();
-        }
+        // Replace the old stage's phase
+        ticker.unregister("deterioration");
 
         if (stage == 0) return;
 
+        if (stage == 3) {
+            Bukkit.broadcast(
+                    Component.text(
+                            "⚠ CRITICAL! The pinata is nearly broken!",
+                            NamedTextColor.RED,
+                            TextDecoration.BOLD));
+        }
+
+        // Stage 1 only smokes once a second; later stages layer effects on 5-tick multiples
+        ticker.register("deterioration", stage == 1 ? 20 : 5, t -> tickDeterioration(t, stage));
+    }
+
+    /** Emit one tick of deterioration particles for the given stage. */
+    protected void tickDeterioration(PinataTicker t, int stage) {
+        if (!active || pinataEntity == null) return;
+
+        Location loc = pinataEntity.getLocation().add(0, 1, 0);
+        long tick = t.getTick();
+
         // Stage 1: Light smoke
         if (stage == 1) {
-            deteriorationTask =
-                    new BukkitRunnable() {
-                        @Override
-                        public void run() {
-                            if (!active || pinataEntity == null) {
-                                cancel();
-                                return;
-                            }
-                            Location loc = pinataEntity.getLocation().add(0, 1, 0);
-                            loc.getWorld()
-                                    .spawnParticle(Particle.SMOKE, loc, 2, 0.2, 0.3, 0.2, 0.01);
-                        }
-                    }.runTaskTimer(plugin, 0L, 20L);
+            t.spawnParticle(Particle.SMOKE, loc, 2, 0.2, 0.3, 0.2, 0.01);
         }
         // Stage 2: Smoke + lava drips
         else if (stage == 2) {
-            deteriorationTask =
-                    new BukkitRunnable() {
-                        private int tick = 0;
-
-                        @Override
-                        public void run() {
-                            if (!active || pinataEntity == null) {
-                                cancel();
-                                return;
-                            }
-                            Location loc = pinataEntity.getLocation().add(0, 1, 0);
-                            if (tick % 10 == 0) {
-                                loc.getWorld()
-                                        .spawnParticle(Particle.SMOKE, loc, 5, 0.3, 0.4, 0.3, 0.02);
-                            }
-                            if (tick % 15 == 0) {
-                                loc.getWorld()
-                                        .spawnParticle(Particle.LAVA, loc, 1, 0.2, 0.2, 0.2, 0);
-                            }
-                            tick++;
-                        }
-                    }.runTaskTimer(plugin, 0L, 1L);
+            if (tick % 10 == 0) {
+                t.spawnParticle(Particle.SMOKE, loc, 5, 0.3, 0.4, 0.3, 0.02);
+            }
+            if (tick % 15 == 0) {
+                t.spawnParticle(Particle.LAVA, loc, 1, 0.2, 0.2, 0.2, 0);
+            }
         }
         // Stage 3: Heavy smoke, lava, soul fire (CRITICAL)
         else if (stage == 3) {
-            Bukkit.broadcast(
-                    Component.text(
-                            "⚠ CRITICAL! The pinata is nearly broken!",
-                            NamedTextColor.RED,
-                            TextDecoration.BOLD));
-
-            deteriorationTask =
-                    new BukkitRunnable() {
-                        private int tick = 0;
-
-                        @Override
-                        public void run() {
-                            if (!active || pinataEntity == null) {
-                                cancel();
-                                return;
-                            }
-                            Location loc = pinataEntity.getLocation().add(0, 1, 0);
-
-                            if (tick % 5 == 0) {
-                                loc.getWorld()
-                                        .spawnParticle(
-                                                Particle.LARGE_SMOKE, loc, 10, 0.4, 0.5, 0.4, 0.05);
-                            }
-                            if (tick % 10 == 0) {
-                                loc.getWorld()
-                                        .spawnParticle(Particle.LAVA, loc, 3, 0.3, 0.3, 0.3, 0);
-                            }
-                            if (tick % 15 == 0) {
-                                loc.getWorld()
-                                        .spawnParticle(
-                                                Particle.SOUL_FIRE_FLAME,
-                                                loc,
-                                                5,
-                                                0.3,
-                                                0.4,
-                                                0.3,
-                                                0.03);
-                            }
-
-                            tick++;
-                        }
-                    }.runTaskTimer(plugin, 0L, 1L);
+            t.spawnParticle(Particle.LARGE_SMOKE, loc, 10, 0.4, 0.5, 0.4, 0.05);
+            if (tick % 10 == 0) {
+                t.spawnParticle(Particle.LAVA, loc, 3, 0.3, 0.3, 0.3, 0);
+            }
+            if (tick % 15 == 0) {
+                t.spawnParticle(Particle.SOUL_FIRE_FLAME, loc, 5, 0.3, 0.4, 0.3, 0.03);
+            }
         }
     }
 
@@ -1500,32 +1453,36 @@ public abstract class BasePinataEvent implements ServerEvent, Listener {
     protected void applyShakeEffect() {
         if (pinataEntity == null || packetEventsNPC == null) return;
 
-        Location originalLoc = pinataEntity.getLocation().clone();
-        double intensity = config.getShakeIntensity(); // 0.15 default
-
-        // 3-tick shake sequence
-        new BukkitRunnable() {
-            private int tick = 0;
+        // A hit during a shake restarts it from the same resting position
+        if (shakeTicksLeft == 0) {
+            shakeOrigin = pinataEntity.getLocation().clone();
+        }
+        shakeTicksLeft = 3;
+        ticker.register("shake", 1, this::tickShake);
+    }
 
-            @Override
-            public void run() {
-                if (!active || tick >= 3) {
-                    // Return to original position
-                    if (packetEventsNPC != null) {
-                        packetEventsNPC.teleport(originalLoc);
-                    }
-                    cancel();
-                    return;
-                }
+    /** Advance the 3-tick shake sequence, then return to the resting position. */
+    protected void tickShake(PinataTicker t) {
+        if (packetEventsNPC == null || shakeOrigin == null) {
+            shakeTicksLeft = 0;
+            t.unregister("shake");
+            return;
+        }
 
-                // Random offset
-                double offsetX = (random.nextDouble() - 0.5) * intensity;
-                double offsetZ = (random.nextDouble() - 0.5) * intensity;
-                packetEventsNPC.teleport(originalLoc.clone().add(offsetX, 0, offsetZ));
+        if (shakeTicksLeft == 0) {
+            // Return to original position
+            packetEventsNPC.teleport(shakeOrigin);
+            shakeOrigin = null;
+            t.unregister("shake");
+            return;
+        }
 
-                tick++;
-            }
-        }.runTaskTimer(plugin, 1L, 1L);
+        // Random offset
+        double intensity = config.getShakeIntensity(); // 0.15 default
+        double offsetX = (random.nextDouble() - 0.5) * intensity;
+        double offsetZ = (random.nextDouble() - 0.5) * intensity;
+        packetEventsNPC.teleport(shakeOrigin.clone().add(offsetX, 0, offsetZ));
+        shakeTicksLeft--;
     }
 
     /** Play dramatic critical hit effect. */
@@ -1535,8 +1492,8 @@ public abstract class BasePinataEvent implements ServerEvent, Listener {
         Location loc = pinataEntity.getLocation().clone().add(0, 1, 0);
 
         // Critical particles (white and gold)
-        loc.getWorld().spawnParticle(Particle.CRIT, loc, 20, 0.3, 0.5, 0.3, 0.2);
-        loc.getWorld().spawnParticle(Particle.ENCHANTED_HIT, loc, 15, 0.3, 0.5, 0.3, 0.1);
+        ticker.spawnParticle(Particle.CRIT, loc, 20, 0.3, 0.5, 0.3, 0.2);
+        ticker.spawnParticle(Particle.ENCHANTED_HIT, loc, 15, 0.3, 0.5, 0.3, 0.1);
 
         // Critical animation
         if (packetEventsNPC != null) {
@@ -1667,140 +1624,113 @@ public abstract class BasePinataEvent implements ServerEvent, Listener {
     protected void startDynamicMovement() {
         if (pinataEntity == null) return;
 
-        movementTask =
-                new BukkitRunnable() {
-                    private int tickCount = 0;
-
-                    @Override
-                    public void run() {
-                        // Check if entity is still valid
-                        LivingEntity entity = pinataEntity;
-                        if (entity == null || entity.isDead() || !active) {
-                            cancel();
-                            return;
-                        }
-
-                        tickCount++;
-
-                        // Check deterioration stage based on health
-                        if (config.isDeteriorationEnabled() && clicksRequired > 0) {
-                            int hitPercent = (currentClicks.get() * 100) / clicksRequired;
-                            int newStage = 0;
-                            if (hitPercent >= 75) newStage = 3; // 25% HP - CRITICAL
-                            else if (hitPercent >= 50) newStage = 2; // 50% HP - DAMAGED
-                            else if (hitPercent >= 25) newStage = 1; // 75% HP - SCRATCHED
-
-                            if (newStage != currentDeteriorationStage) {
-                                currentDeteriorationStage = newStage;
-                                updateDeteriorationEffects(newStage);
-                            }
-                        }
-
-                        // Sync PacketEvents NPC position with armor stand (every tick for smooth
-                        // movement)
-                        if (packetEventsNPC != null && packetEventsNPC.isSpawned()) {
-                            Location entityLoc = entity.getLocation();
-                            Location npcLoc = packetEventsNPC.getLocation();
-
-                            // Only teleport if position changed significantly
-                            if (entityLoc.distanceSquared(npcLoc) > 0.01) {
-                                packetEventsNPC.teleport(entityLoc);
-                            }
-                        }
-
-                        // Random jumping every 1.5-3 seconds (30-60 ticks)
-                        if (tickCount % 40 == 0 && random.nextFloat() < 0.7f) {
-                            // Jump with random direction
-                            double jumpHeight = 0.6 + random.nextDouble() * 0.6; // 0.6-1.2 blocks
-                            double moveX = (random.nextDouble() - 0.5) * 0.6; // Random X direction
-                            double moveZ = (random.nextDouble() - 0.5) * 0.6; // Random Z direction
-                            Vector velocity = new Vector(moveX, jumpHeight, moveZ);
-                            entity.setVelocity(velocity);
-
-                            // Also send velocity to NPC for smooth animation
-                            if (packetEventsNPC != null && packetEventsNPC.isSpawned()) {
-                                packetEventsNPC.setVelocity(velocity);
-                            }
-
-                            // Play jump sound
-                            playToNearbyPlayers(Sound.ENTITY_SLIME_JUMP, 0.6f, 1.2f, 32.0);
-                        }
-
-                        // Big launch upward every 4 seconds (80 ticks) for pinata effect
-                        if (tickCount % 80 == 0) {
-                            double launchHeight = 0.8 + random.nextDouble() * 0.5;
-                            double randomX = (random.nextDouble() - 0.5) * 0.4;
-                            double randomZ = (random.nextDouble() - 0.5) * 0.4;
-                            Vector velocity = new Vector(randomX, launchHeight, randomZ);
-                            entity.setVelocity(velocity);
-
-                            // Also send velocity to NPC
-                            if (packetEventsNPC != null && packetEventsNPC.isSpawned()) {
-                                packetEventsNPC.setVelocity(velocity);
-                            }
-
-                            // Play launch sound to nearby players
-                            playToNearbyPlayers(
-                                    Sound.ENTITY_FIREWORK_ROCKET_LAUNCH, 0.5f, 1.2f, 64.0);
-                        }
-
-                        // Check TPS before spawning any particles
-                        double tps = Bukkit.getTPS()[0];
-                        boolean shouldSpawnParticles = tps >= TPS_SKIP_THRESHOLD;
-
-                        // Spawn movement particles when entity is moving
-                        Vector vel = entity.getVelocity();
-                        if (shouldSpawnParticles && vel.lengthSquared() > 0.01) {
-                            Location loc = entity.getLocation().clone().add(0, 0.5, 0);
-
-                            int scaledMovementParticles =
-                                    scaleParticleCount(getMovementParticleCount());
-                            if (scaledMovementParticles > 0) {
-                                entity.getWorld()
-                                        .spawnParticle(
-                                                getMovementParticle(),
-                                                loc,
-                                                scaledMovementParticles,
-                                                0.3,
-                                                0.3,
-                                                0.3,
-                                                0.05);
-                            }
-
-                            int scaledSecondaryParticles = scaleParticleCount(1);
-                            if (scaledSecondaryParticles > 0) {
-                                entity.getWorld()
-                                        .spawnParticle(
-                                                getSecondaryParticle(),
-                                                loc,
-                                                scaledSecondaryParticles,
-                                                0.2,
-                                                0.2,
-                                                0.2,
-                                                0.02);
-                            }
-                        }
-
-                        // Burst of particles every 2 seconds (40 ticks)
-                        if (shouldSpawnParticles && tickCount % 40 == 0) {
-                            int scaledBurstParticles = scaleParticleCount(getBurstParticleCount());
-                            if (scaledBurstParticles > 0) {
-                                Location loc = entity.getLocation().clone().add(0, 1, 0);
-                                entity.getWorld()
-                                        .spawnParticle(
-                                                getMovementParticle(),
-                                                loc,
-                                                scaledBurstParticles,
-                                                0.5,
-                                                0.5,
-                                                0.5,
-                                                0.1);
-                            }
-                        }
-                    }
-                };
+        ticker.start();
+        ticker.register("movement", 1, this::tickMovement);
+    }
 
-        movementTask.runTaskTimer(plugin, 0L, 1L);
+    /** One tick of movement, NPC sync and movement particles. */
+    protected void tickMovement(PinataTicker t) {
+        // Check if entity is still valid
+        LivingEntity entity = pinataEntity;
+        if (entity == null || entity.isDead() || !active) {
+            t.unregister("movement");
+            return;
+        }
+
+        long tickCount = t.getTick();
+
+        // Check deterioration stage based on health
+        if (config.isDeteriorationEnabled() && clicksRequired > 0) {
+            int hitPercent = (currentClicks.get() * 100) / clicksRequired;
+            int newStage = 0;
+            if (hitPercent >= 75) newStage = 3; // 25% HP - CRITICAL
+            else if (hitPercent >= 50) newStage = 2; // 50% HP - DAMAGED
+            else if (hitPercent >= 25) newStage = 1; // 75% HP - SCRATCHED
+
+            if (newStage != currentDeteriorationStage) {
+                currentDeteriorationStage = newStage;
+                updateDeteriorationEffects(newStage);
+            }
+        }
+
+        // Sync PacketEvents NPC position with armor stand (every tick for smooth movement)
+        if (packetEventsNPC != null && packetEventsNPC.isSpawned()) {
+            Location entityLoc = t.getCenter();
+            Location npcLoc = packetEventsNPC.getLocation();
+
+            // Only teleport if position changed significantly
+            if (entityLoc != null && entityLoc.distanceSquared(npcLoc) > 0.01) {
+                packetEventsNPC.teleport(entityLoc);
+            }
+        }
+
+        // Random jumping every 1.5-3 seconds (30-60 ticks)
+        if (tickCount % 40 == 0 && random.nextFloat() < 0.7f) {
+            // Jump with random direction
+            double jumpHeight = 0.6 + random.nextDouble() * 0.6; // 0.6-1.2 blocks
+            double moveX = (random.nextDouble() - 0.5) * 0.6; // Random X direction
+            double moveZ = (random.nextDouble() - 0.5) * 0.6; // Random Z direction
+            Vector velocity = new Vector(moveX, jumpHeight, moveZ);
+            entity.setVelocity(velocity);
+
+            // Also send velocity to NPC for smooth animation
+            if (packetEventsNPC != null && packetEventsNPC.isSpawned()) {
+                packetEventsNPC.setVelocity(velocity);
+            }
+
+            // Play jump sound
+            playToNearbyPlayers(Sound.ENTITY_SLIME_JUMP, 0.6f, 1.2f, 32.0);
+        }
+
+        // Big launch upward every 4 seconds (80 ticks) for pinata effect
+        if (tickCount % 80 == 0) {
+            double launchHeight = 0.8 + random.nextDouble() * 0.5;
+            double randomX = (random.nextDouble() - 0.5) * 0.4;
+            double randomZ = (random.nextDouble() - 0.5) * 0.4;
+            Vector velocity = new Vector(randomX, launchHeight, randomZ);
+            entity.setVelocity(velocity);
+
+            // Also send velocity to NPC
+            if (packetEventsNPC != null && packetEventsNPC.isSpawned()) {
+                packetEventsNPC.setVelocity(velocity);
+            }
+
+            // Play launch sound to nearby players
+            playToNearbyPlayers(Sound.ENTITY_FIREWORK_ROCKET_LAUNCH, 0.5f, 1.2f, 64.0);
+        }
+
+        // Check TPS before spawning any particles
+        boolean shouldSpawnParticles = t.getTps() >= TPS_SKIP_THRESHOLD;
+
+        // Spawn movement particles when entity is moving
+        Vector vel = entity.getVelocity();
+        if (shouldSpawnParticles && vel.lengthSquared() > 0.01) {
+            Location loc = entity.getLocation().add(0, 0.5, 0);
+
+            int scaledMovementParticles = scaleParticleCount(getMovementParticleCount());
+            t.spawnParticle(
+                    getMovementParticle(), loc, scaledMovementParticles, 0.3, 0.3, 0.3, 0.05);
+
+            int scaledSecondaryParticles = scaleParticleCount(1);
+            t.spawnParticle(
+                    getSecondaryParticle(), loc, scaledSecondaryParticles, 0.2, 0.2, 0.2, 0.02);
+        }
+
+        // Burst of particles every 2 seconds (40 ticks)
+        if (shouldSpawnParticles && tickCount % 40 == 0) {
+            int scaledBurstParticles = scaleParticleCount(getBurstParticleCount());
+            Location loc = entity.getLocation().add(0, 1, 0);
+            t.spawnParticle(getMovementParticle(), loc, scaledBurstParticles, 0.5, 0.5, 0.5, 0.1);
+        }
+    }
+
+    /** Apply the latest click count to the boss bar, at most once per phase run. */
+    protected void tickBossBar(PinataTicker t) {
+        int clicks = pendingBossBarClicks;
+        if (progressBossBar != null && clicks >= 0 && clicks != lastBossBarUpdateClicks) {
+            lastBossBarUpdateClicks = clicks;
+            updateBossBar(clicks);
+        }
     }
 
     /**
@@ -1825,6 +1755,13 @@ public abstract class BasePinataEvent implements ServerEvent, Listener {
     protected void playToNearbyPlayers(Sound sound, float volume, float pitch, double range) {
         if (pinataEntity == null || pinataEntity.getWorld() == null) return;
 
+        // Share the tick's player snapshot while the pinata is ticking
+        if (ticker.getCenter() != null) {
+            ticker.forPlayersWithin(
+                    range, player -> player.playSound(player.getLocation(), sound, volume, pitch));
+            return;
+        }
+
         Location entityLoc = pinataEntity.getLocation();
         org.bukkit.World entityWorld = entityLoc.getWorld();
         double rangeSquared = range * range;
@@ -1845,14 +1782,8 @@ public abstract class BasePinataEvent implements ServerEvent, Listener {
     protected double getParticleMultiplier() {
         if (pinataEntity == null || pinataEntity.getWorld() == null) return 1.0;
 
-        Location entityLoc = pinataEntity.getLocation();
-        int nearbyCount = 0;
-
-        for (Player player : pinataEntity.getWorld().getPlayers()) {
-            if (player.getLocation().distanceSquared(entityLoc) <= PARTICLE_CHECK_RANGE_SQUARED) {
-                nearbyCount++;
-            }
-        }
+        // Counted from the tick's player snapshot rather than walking the world's players
+        int nearbyCount = ticker.countPlayersWithin(PARTICLE_CHECK_RANGE);
 
         if (nearbyCount > VERY_HIGH_PLAYER_COUNT_THRESHOLD) {
             return 0.25;
@@ -1870,8 +1801,8 @@ public abstract class BasePinataEvent implements ServerEvent, Listener {
      * @return Scaled particle count (may be 0 to skip particles)
      */
     protected int scaleParticleCount(int baseCount) {
-        // Check TPS first (Paper API)
-        double tps = Bukkit.getTPS()[0];
+        // TPS as of this tick's snapshot
+        double tps = ticker.getTps();
 
         if (tps < TPS_SKIP_THRESHOLD) {
             // Skip particles entirely when TPS is very low
@@ -1888,6 +1819,11 @@ public abstract class BasePinataEvent implements ServerEvent, Listener {
         return Math.max(1, (int) (baseCount * multiplier));
     }
 
+    /** Per-phase tick timings of this event's effects. */
+    public List<PinataTicker.PhaseTiming> getTickTimings() {
+        return ticker.getTimings();
+    }
+
     /**
      * Check if boss bar can be updated based on throttle interval. Thread-safe using atomic
      * compare-and-set.
@@ -1922,6 +1858,8 @@ public abstract class BasePinataEvent implements ServerEvent, Listener {
         for (Player player : pinataEntity.getWorld().getPlayers()) {
             player.showBossBar(progressBossBar);
         }
+
+        ticker.register("bossbar", BOSS_BAR_UPDATE_PERIOD_TICKS, this::tickBossBar);
     }
 
     /**
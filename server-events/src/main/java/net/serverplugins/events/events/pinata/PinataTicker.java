@@ -0,0 +1,286 @@
+package net.serverplugins.events.events.pinata;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * One main-thread task per pinata event that runs every registered effect as a phase with its own
+ * period. Each tick starts by taking a single snapshot of the players in the pinata's world and
+ * their distances, which phases and hit handling share instead of walking the player list
+ * themselves. Particles requested during a tick are merged and sent to the snapshot's nearby
+ * players once, at the end of the tick.
+ */
+public final class PinataTicker {
+
+    /** Particles are only sent to players this close, matching the client's render distance. */
+    static final double PARTICLE_RANGE = 32.0;
+
+    @FunctionalInterface
+    public interface Phase {
+        void tick(PinataTicker ticker);
+    }
+
+    /** Cumulative cost of one phase. */
+    public record PhaseTiming(String name, int period, long runs, long totalNanos, long maxNanos) {
+        public double averageMillis() {
+            return runs == 0 ? 0 : totalNanos / 1_000_000.0 / runs;
+        }
+    }
+
+    private final Plugin plugin;
+    private final Supplier<Location> center;
+
+    // Copied on change, so phases can register or unregister while the tick runs
+    private List<PhaseEntry> phases = List.of();
+    private final Map<String, PhaseStats> stats = new LinkedHashMap<>();
+    private final Map<ParticleKey, Integer> particles = new LinkedHashMap<>();
+
+    private BukkitTask task;
+    private long tick;
+
+    // Per-tick snapshot
+    private Location snapshotCenter;
+    private final List<Player> players = new ArrayList<>();
+    private double[] distancesSquared = new double[16];
+    private double tps = 20.0;
+
+    public PinataTicker(Plugin plugin, Supplier<Location> center) {
+        this.plugin = plugin;
+        this.center = center;
+    }
+
+    /** Add a phase, replacing any phase of the same name. It runs on ticks divisible by period. */
+    public void register(String name, int period, Phase phase) {
+        List<PhaseEntry> updated = new ArrayList<>(phases.size() + 1);
+        for (PhaseEntry entry : phases) {
+            if (entry.name.equals(name)) {
+                entry.removed = true;
+            } else {
+                updated.add(entry);
+            }
+        }
+        updated.add(new PhaseEntry(name, Math.max(1, period), phase));
+        phases = updated;
+    }
+
+    public void unregister(String name) {
+        List<PhaseEntry> updated = new ArrayList<>(phases.size());
+        for (PhaseEntry entry : phases) {
+            if (entry.name.equals(name)) {
+                entry.removed = true;
+            } else {
+                updated.add(entry);
+            }
+        }
+        phases = updated;
+    }
+
+    /** Start ticking. The first snapshot is taken right away, so it is usable immediately. */
+    public void start() {
+        stop();
+        tick = 0;
+        stats.clear();
+        capture();
+        task = Bukkit.getScheduler().runTaskTimer(plugin, this::run, 1L, 1L);
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        phases = List.of();
+        particles.clear();
+        players.clear();
+        snapshotCenter = null;
+    }
+
+    private void run() {
+        tick++;
+        capture();
+        for (PhaseEntry entry : phases) {
+            if (entry.removed || tick % entry.period != 0) {
+                continue;
+            }
+            long start = System.nanoTime();
+            try {
+                entry.phase.tick(this);
+            } finally {
+                stats.computeIfAbsent(entry.name, n -> new PhaseStats())
+                        .record(entry.period, System.nanoTime() - start);
+            }
+        }
+        flushParticles();
+    }
+
+    private void capture() {
+        players.clear();
+        tps = Bukkit.getTPS()[0];
+        Location location = center.get();
+        snapshotCenter = location;
+        if (location == null || location.getWorld() == null) {
+            return;
+        }
+        List<Player> worldPlayers = location.getWorld().getPlayers();
+        if (distancesSquared.length < worldPlayers.size()) {
+            distancesSquared =
+                    new double[Math.max(worldPlayers.size(), distancesSquared.length * 2)];
+        }
+        for (Player player : worldPlayers) {
+            distancesSquared[players.size()] = player.getLocation().distanceSquared(location);
+            players.add(player);
+        }
+    }
+
+    /** Ticks since {@link #start()}. */
+    public long getTick() {
+        return tick;
+    }
+
+    /** Pinata location at the last snapshot, or null if it had none. */
+    public Location getCenter() {
+        return snapshotCenter;
+    }
+
+    /** Server TPS at the last snapshot. */
+    public double getTps() {
+        return tps;
+    }
+
+    /** Visit the players within {@code range} of the pinata; a range of 0 or less means all. */
+    public void forPlayersWithin(double range, Consumer<Player> action) {
+        double rangeSquared = range * range;
+        for (int i = 0; i < players.size(); i++) {
+            if (range <= 0 || distancesSquared[i] <= rangeSquared) {
+                action.accept(players.get(i));
+            }
+        }
+    }
+
+    public int countPlayersWithin(double range) {
+        double rangeSquared = range * range;
+        int count = 0;
+        for (int i = 0; i < players.size(); i++) {
+            if (range <= 0 || distancesSquared[i] <= rangeSquared) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Queue particles for the end of the tick. Requests for the same particle at the same spot
+     * with the same spread are sent as one, with their counts added.
+     */
+    public void spawnParticle(
+            Particle particle,
+            Location location,
+            int count,
+            double offsetX,
+            double offsetY,
+            double offsetZ,
+            double speed) {
+        if (count <= 0 || location.getWorld() == null) {
+            return;
+        }
+        ParticleKey key =
+                new ParticleKey(
+                        particle,
+                        location.getWorld(),
+                        location.getX(),
+                        location.getY(),
+                        location.getZ(),
+                        offsetX,
+                        offsetY,
+                        offsetZ,
+                        speed);
+        particles.merge(key, count, Integer::sum);
+    }
+
+    private void flushParticles() {
+        if (particles.isEmpty()) {
+            return;
+        }
+        List<Player> receivers = new ArrayList<>();
+        forPlayersWithin(PARTICLE_RANGE, receivers::add);
+        if (!receivers.isEmpty()) {
+            for (Map.Entry<ParticleKey, Integer> entry : particles.entrySet()) {
+                ParticleKey key = entry.getKey();
+                key.particle()
+                        .builder()
+                        .location(key.world(), key.x(), key.y(), key.z())
+                        .count(entry.getValue())
+                        .offset(key.offsetX(), key.offsetY(), key.offsetZ())
+                        .extra(key.speed())
+                        .receivers(receivers)
+                        .spawn();
+            }
+        }
+        particles.clear();
+    }
+
+    /** Cost of each phase that has run since {@link #start()}, in registration order. */
+    public List<PhaseTiming> getTimings() {
+        List<PhaseTiming> timings = new ArrayList<>(stats.size());
+        for (Map.Entry<String, PhaseStats> entry : stats.entrySet()) {
+            PhaseStats phase = entry.getValue();
+            timings.add(
+                    new PhaseTiming(
+                            entry.getKey(),
+                            phase.period,
+                            phase.runs,
+                            phase.totalNanos,
+                            phase.maxNanos));
+        }
+        return timings;
+    }
+
+    private static final class PhaseEntry {
+        private final String name;
+        private final int period;
+        private final Phase phase;
+        private boolean removed;
+
+        PhaseEntry(String name, int period, Phase phase) {
+            this.name = name;
+            this.period = period;
+            this.phase = phase;
+        }
+    }
+
+    private static final class PhaseStats {
+        private int period;
+        private long runs;
+        private long totalNanos;
+        private long maxNanos;
+
+        void record(int period, long nanos) {
+            this.period = period;
+            runs++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+    }
+
+    private record ParticleKey(
+            Particle particle,
+            World world,
+            double x,
+            double y,
+            double z,
+            double offsetX,
+            double offsetY,
+            double offsetZ,
+            double speed) {}
+}
@@ -1,5 +1,6 @@
 package net.serverplugins.events.util;
 
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
 import com.github.retrooper.packetevents.PacketEvents;
 import com.github.retrooper.packetevents.event.PacketListenerAbstract;
 import com.github.retrooper.packetevents.event.PacketListenerPriority;
@@ -14,12 +15,14 @@ import com.github.retrooper.packetevents.protocol.player.GameMode;
 import com.github.retrooper.packetevents.protocol.player.TextureProperty;
 import com.github.retrooper.packetevents.protocol.player.UserProfile;
 import com.github.retrooper.packetevents.util.Vector3d;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
 import com.github.retrooper.packetevents.wrapper.play.client.WrapperPlayClientInteractEntity;
 import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerDestroyEntities;
 import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityAnimation;
 import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityEquipment;
 import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityHeadLook;
 import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityMetadata;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityRelativeMoveAndRotation;
 import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityStatus;
 import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityTeleport;
 import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityVelocity;
@@ -31,11 +34,20 @@ import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.scheduler.BukkitRunnable;
@@ -44,12 +56,23 @@ import org.bukkit.util.Vector;
 /**
  * A packet-based fake player NPC using PacketEvents library. Creates a true player entity with full
  * skin rendering (body, arms, legs). Supports movement, custom nametags, and interaction detection.
+ *
+ * <p>Packets go out through a {@link PacketViewerSet}: each is encoded once per broadcast and
+ * flushed with everything else at the end of the tick. Movement and effects only reach viewers in
+ * tracking range, and small moves are sent as relative moves rather than full teleports.
  */
 public class PacketEventsNPC {
 
     private static final Map<Integer, PacketEventsNPC> activeNPCs = new ConcurrentHashMap<>();
     private static PacketListenerAbstract interactionListener;
     private static boolean listenerRegistered = false;
+    private static Listener trackingListener;
+
+    /** Relative move deltas are shorts in 1/4096 block units, so at most 8 blocks per axis. */
+    private static final long MAX_RELATIVE_UNITS = Short.MAX_VALUE;
+
+    /** Send a full teleport after this many relative moves, in case the client drifted. */
+    private static final int RESYNC_INTERVAL = 100;
 
     private final Plugin plugin;
     private final int entityId;
@@ -60,9 +83,16 @@ public class PacketEventsNPC {
     private String displayName;
     private boolean glowing;
     private boolean spawned;
-    private final Set<UUID> viewers = ConcurrentHashMap.newKeySet();
+    private final PacketViewerSet viewers = new PacketViewerSet();
     private Consumer<Player> interactionHandler;
 
+    // Position the clients were last sent, in protocol fixed-point units
+    private long sentX;
+    private long sentY;
+    private long sentZ;
+    private float sentHeadYaw;
+    private int relativeMoves;
+
     /**
      * Create a new PacketEvents-based NPC with the skin of an existing player.
      *
@@ -81,6 +111,7 @@ public class PacketEventsNPC {
         this.displayName = displayName;
         this.glowing = false;
         this.spawned = false;
+        markSent();
 
         // Create user profile with skin textures
         this.userProfile = createUserProfile(skinSource);
@@ -90,6 +121,7 @@ public class PacketEventsNPC {
 
         // Register global interaction listener if not already registered
         registerInteractionListener();
+        registerTrackingListener(plugin);
 
         plugin.getLogger()
                 .info(
@@ -180,6 +212,70 @@ public class PacketEventsNPC {
         listenerRegistered = true;
     }
 
+    /** Register the Bukkit listener that keeps every NPC's tracked viewers current. */
+    private static void registerTrackingListener(Plugin plugin) {
+        if (trackingListener != null) return;
+
+        trackingListener =
+                new Listener() {
+                    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+                    public void onMove(PlayerMoveEvent event) {
+                        if (event.hasChangedBlock()) {
+                            updateViewerEverywhere(event.getPlayer(), event.getTo());
+                        }
+                    }
+
+                    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+                    public void onTeleport(PlayerTeleportEvent event) {
+                        updateViewerEverywhere(event.getPlayer(), event.getTo());
+                    }
+
+                    @EventHandler(priority = EventPriority.MONITOR)
+                    public void onWorldChange(PlayerChangedWorldEvent event) {
+                        updateViewerEverywhere(event.getPlayer(), event.getPlayer().getLocation());
+                    }
+
+                    @EventHandler(priority = EventPriority.MONITOR)
+                    public void onQuit(PlayerQuitEvent event) {
+                        for (PacketEventsNPC npc : activeNPCs.values()) {
+                            npc.viewers.remove(event.getPlayer().getUniqueId());
+                        }
+                    }
+
+                    @EventHandler(priority = EventPriority.MONITOR)
+                    public void onTickEnd(ServerTickEndEvent event) {
+                        PacketViewerSet.flushAll();
+                    }
+                };
+
+        Bukkit.getPluginManager().registerEvents(trackingListener, plugin);
+    }
+
+    private static void updateViewerEverywhere(Player viewer, Location viewerLocation) {
+        for (PacketEventsNPC npc : activeNPCs.values()) {
+            npc.updateViewer(viewer.getUniqueId(), viewerLocation);
+        }
+    }
+
+    /** Re-check one viewer's range, resyncing its position if it just came back into range. */
+    private void updateViewer(UUID viewerId, Location viewerLocation) {
+        if (viewers.updateTracking(viewerId, viewerLocation, location)) {
+            Object channel = viewers.getChannel(viewerId);
+            viewers.send(channel, createTeleportPacket());
+            viewers.send(channel, createHeadRotationPacket());
+        }
+    }
+
+    /** Re-check every viewer's range after the NPC moved. */
+    private void refreshTracking() {
+        for (UUID viewerId : new ArrayList<>(viewers.getViewerIds())) {
+            Player viewer = Bukkit.getPlayer(viewerId);
+            if (viewer != null) {
+                updateViewer(viewerId, viewer.getLocation());
+            }
+        }
+    }
+
     /** Spawn the NPC for all online players. */
     public void spawnForAll() {
         for (Player player : Bukkit.getOnlinePlayers()) {
@@ -203,7 +299,7 @@ public class PacketEventsNPC {
             }
 
             // 1. Send PlayerInfo packet to add player data (including skin)
-            sendPlayerInfoAdd(viewer, channel);
+            sendPlayerInfoAdd(channel);
 
             // 2. Small delay, then spawn the entity and send metadata
             new BukkitRunnable() {
@@ -216,13 +312,13 @@ public class PacketEventsNPC {
                         if (ch == null) return;
 
                         // Send spawn packet
-                        sendSpawnPacket(viewer, ch);
+                        viewers.send(ch, createSpawnPacket());
 
                         // Send metadata (name, glowing, skin parts)
-                        sendMetadataPacket(viewer, ch);
+                        viewers.send(ch, createMetadataPacket());
 
                         // Send head rotation
-                        sendHeadRotation(viewer, ch);
+                        viewers.send(ch, createHeadRotationPacket());
 
                         // Remove from tab list after skin loads (2 seconds)
                         new BukkitRunnable() {
@@ -235,7 +331,7 @@ public class PacketEventsNPC {
                                                         .getPlayerManager()
                                                         .getChannel(viewer);
                                         if (c != null) {
-                                            sendPlayerInfoRemove(viewer, c);
+                                            sendPlayerInfoRemove(c);
                                         }
                                     } catch (Exception e) {
                                         plugin.getLogger()
@@ -258,7 +354,8 @@ public class PacketEventsNPC {
                 }
             }.runTaskLater(plugin, 2L);
 
-            viewers.add(viewer.getUniqueId());
+            viewers.add(viewer.getUniqueId(), channel);
+            viewers.updateTracking(viewer.getUniqueId(), viewer.getLocation(), location);
             plugin.getLogger().info("[PacketEventsNPC] Spawned NPC for " + viewer.getName());
 
         } catch (Exception e) {
@@ -271,7 +368,7 @@ public class PacketEventsNPC {
     }
 
     /** Send PlayerInfo ADD packet to register the player with skin data. */
-    private void sendPlayerInfoAdd(Player viewer, Object channel) {
+    private void sendPlayerInfoAdd(Object channel) {
         WrapperPlayServerPlayerInfoUpdate.PlayerInfo playerInfo =
                 new WrapperPlayServerPlayerInfoUpdate.PlayerInfo(
                         userProfile,
@@ -290,11 +387,11 @@ public class PacketEventsNPC {
                                 WrapperPlayServerPlayerInfoUpdate.Action.UPDATE_GAME_MODE),
                         playerInfo);
 
-        PacketEvents.getAPI().getPlayerManager().sendPacket(channel, packet);
+        viewers.send(channel, packet);
     }
 
     /** Send PlayerInfo packet to remove from tab list (set listed=false). */
-    private void sendPlayerInfoRemove(Player viewer, Object channel) {
+    private void sendPlayerInfoRemove(Object channel) {
         // First update listed to false
         WrapperPlayServerPlayerInfoUpdate.PlayerInfo unlistedInfo =
                 new WrapperPlayServerPlayerInfoUpdate.PlayerInfo(
@@ -310,37 +407,31 @@ public class PacketEventsNPC {
                         EnumSet.of(WrapperPlayServerPlayerInfoUpdate.Action.UPDATE_LISTED),
                         unlistedInfo);
 
-        PacketEvents.getAPI().getPlayerManager().sendPacket(channel, updatePacket);
+        viewers.send(channel, updatePacket);
 
         // Then send remove packet
         WrapperPlayServerPlayerInfoRemove removePacket =
                 new WrapperPlayServerPlayerInfoRemove(uuid);
-        PacketEvents.getAPI().getPlayerManager().sendPacket(channel, removePacket);
-    }
-
-    /** Send spawn entity packet. */
-    private void sendSpawnPacket(Player viewer, Object channel) {
-        // Use Vector3d for position
-        Vector3d position = new Vector3d(location.getX(), location.getY(), location.getZ());
-
-        WrapperPlayServerSpawnEntity packet =
-                new WrapperPlayServerSpawnEntity(
-                        entityId,
-                        Optional.of(uuid),
-                        EntityTypes.PLAYER,
-                        position,
-                        location.getPitch(),
-                        location.getYaw(),
-                        location.getYaw(), // head yaw
-                        0, // data
-                        null // velocity
-                        );
-
-        PacketEvents.getAPI().getPlayerManager().sendPacket(channel, packet);
-    }
-
-    /** Send entity metadata packet. */
-    private void sendMetadataPacket(Player viewer, Object channel) {
+        viewers.send(channel, removePacket);
+    }
+
+    /** Create the spawn entity packet, at the position the other viewers were last sent. */
+    private WrapperPlayServerSpawnEntity createSpawnPacket() {
+        return new WrapperPlayServerSpawnEntity(
+                entityId,
+                Optional.of(uuid),
+                EntityTypes.PLAYER,
+                sentPosition(),
+                location.getPitch(),
+                location.getYaw(),
+                sentHeadYaw, // head yaw
+                0, // data
+                null // velocity
+                );
+    }
+
+    /** Create the entity metadata packet. */
+    private WrapperPlayServerEntityMetadata createMetadataPacket() {
         List<EntityData> metadata = new ArrayList<>();
 
         // Entity flags (index 0) - glowing flag is 0x40
@@ -369,127 +460,110 @@ public class PacketEventsNPC {
         byte skinParts = 0x7F;
         metadata.add(new EntityData(17, EntityDataTypes.BYTE, skinParts));
 
-        WrapperPlayServerEntityMetadata packet =
-                new WrapperPlayServerEntityMetadata(entityId, metadata);
-        PacketEvents.getAPI().getPlayerManager().sendPacket(channel, packet);
+        return new WrapperPlayServerEntityMetadata(entityId, metadata);
     }
 
-    /** Send head rotation packet. */
-    private void sendHeadRotation(Player viewer, Object channel) {
-        WrapperPlayServerEntityHeadLook packet =
-                new WrapperPlayServerEntityHeadLook(entityId, location.getYaw());
-        PacketEvents.getAPI().getPlayerManager().sendPacket(channel, packet);
+    /** Create the head rotation packet. */
+    private WrapperPlayServerEntityHeadLook createHeadRotationPacket() {
+        return new WrapperPlayServerEntityHeadLook(entityId, sentHeadYaw);
     }
 
     /** Update the display name for all viewers. */
     public void setDisplayName(String displayName) {
         this.displayName = displayName;
-
-        for (UUID viewerId : viewers) {
-            Player viewer = Bukkit.getPlayer(viewerId);
-            if (viewer != null && viewer.isOnline()) {
-                try {
-                    Object channel = PacketEvents.getAPI().getPlayerManager().getChannel(viewer);
-                    if (channel != null) {
-                        sendMetadataPacket(viewer, channel);
-                    }
-                } catch (Exception e) {
-                    plugin.getLogger()
-                            .log(
-                                    Level.WARNING,
-                                    "[PacketEventsNPC] Failed to update display name",
-                                    e);
-                }
-            }
-        }
+        broadcastAll(this::createMetadataPacket, "Failed to update display name");
     }
 
     /** Set whether this NPC should glow. */
     public void setGlowing(boolean glowing) {
         this.glowing = glowing;
-
-        for (UUID viewerId : viewers) {
-            Player viewer = Bukkit.getPlayer(viewerId);
-            if (viewer != null && viewer.isOnline()) {
-                try {
-                    Object channel = PacketEvents.getAPI().getPlayerManager().getChannel(viewer);
-                    if (channel != null) {
-                        sendMetadataPacket(viewer, channel);
-                    }
-                } catch (Exception e) {
-                    plugin.getLogger()
-                            .log(
-                                    Level.WARNING,
-                                    "[PacketEventsNPC] Failed to update glowing state",
-                                    e);
-                }
-            }
-        }
+        broadcastAll(this::createMetadataPacket, "Failed to update glowing state");
     }
 
-    /** Teleport the NPC to a new location. */
+    /**
+     * Move the NPC. Moves of under 8 blocks per axis go out as relative moves, with a full teleport
+     * every {@link #RESYNC_INTERVAL} moves and on world changes.
+     */
     public void teleport(Location newLocation) {
+        boolean sameWorld = Objects.equals(location.getWorld(), newLocation.getWorld());
         this.location = newLocation.clone();
 
-        for (UUID viewerId : viewers) {
-            Player viewer = Bukkit.getPlayer(viewerId);
-            if (viewer != null && viewer.isOnline()) {
-                try {
-                    Object channel = PacketEvents.getAPI().getPlayerManager().getChannel(viewer);
-                    if (channel != null) {
-                        sendTeleportPacket(viewer, channel);
-                        sendHeadRotation(viewer, channel);
-                    }
-                } catch (Exception e) {
-                    plugin.getLogger()
-                            .log(Level.WARNING, "[PacketEventsNPC] Failed to teleport", e);
-                }
+        // Viewers coming into range are resynced to the last sent position first
+        refreshTracking();
+
+        long deltaX = toFixed(location.getX()) - sentX;
+        long deltaY = toFixed(location.getY()) - sentY;
+        long deltaZ = toFixed(location.getZ()) - sentZ;
+        boolean headTurned = location.getYaw() != sentHeadYaw;
+        boolean relative =
+                sameWorld
+                        && relativeMoves < RESYNC_INTERVAL
+                        && Math.abs(deltaX) <= MAX_RELATIVE_UNITS
+                        && Math.abs(deltaY) <= MAX_RELATIVE_UNITS
+                        && Math.abs(deltaZ) <= MAX_RELATIVE_UNITS;
+        markSent();
+
+        try {
+            if (relative) {
+                // Whole fixed-point units, so rounding never accumulates on the client
+                viewers.broadcastTracked(
+                        () ->
+                                new WrapperPlayServerEntityRelativeMoveAndRotation(
+                                        entityId,
+                                        deltaX / 4096.0,
+                                        deltaY / 4096.0,
+                                        deltaZ / 4096.0,
+                                        location.getYaw(),
+                                        location.getPitch(),
+                                        false // on ground
+                                        ));
+                relativeMoves++;
+            } else {
+                viewers.broadcastTracked(this::createTeleportPacket);
+                relativeMoves = 0;
+            }
+            if (headTurned) {
+                viewers.broadcastTracked(this::createHeadRotationPacket);
             }
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "[PacketEventsNPC] Failed to teleport", e);
         }
     }
 
-    /** Send teleport packet. */
-    private void sendTeleportPacket(Player viewer, Object channel) {
-        Vector3d position = new Vector3d(location.getX(), location.getY(), location.getZ());
+    /** Create a teleport packet to the position the viewers were last sent. */
+    private WrapperPlayServerEntityTeleport createTeleportPacket() {
+        return new WrapperPlayServerEntityTeleport(
+                entityId,
+                sentPosition(),
+                location.getYaw(),
+                location.getPitch(),
+                false // on ground
+                );
+    }
 
-        WrapperPlayServerEntityTeleport packet =
-                new WrapperPlayServerEntityTeleport(
-                        entityId,
-                        position,
-                        location.getYaw(),
-                        location.getPitch(),
-                        false // on ground
-                        );
+    /** Record the current location as what the viewers have been sent. */
+    private void markSent() {
+        sentX = toFixed(location.getX());
+        sentY = toFixed(location.getY());
+        sentZ = toFixed(location.getZ());
+        sentHeadYaw = location.getYaw();
+    }
 
-        PacketEvents.getAPI().getPlayerManager().sendPacket(channel, packet);
+    private Vector3d sentPosition() {
+        return new Vector3d(sentX / 4096.0, sentY / 4096.0, sentZ / 4096.0);
     }
 
-    /** Apply velocity to the NPC (for jumping/movement effects). */
-    public void setVelocity(Vector velocity) {
-        for (UUID viewerId : viewers) {
-            Player viewer = Bukkit.getPlayer(viewerId);
-            if (viewer != null && viewer.isOnline()) {
-                try {
-                    Object channel = PacketEvents.getAPI().getPlayerManager().getChannel(viewer);
-                    if (channel != null) {
-                        sendVelocityPacket(viewer, channel, velocity);
-                    }
-                } catch (Exception e) {
-                    plugin.getLogger()
-                            .log(Level.WARNING, "[PacketEventsNPC] Failed to set velocity", e);
-                }
-            }
-        }
+    private static long toFixed(double coordinate) {
+        return Math.round(coordinate * 4096.0);
     }
 
-    /** Send velocity packet. */
-    private void sendVelocityPacket(Player viewer, Object channel, Vector velocity) {
+    /** Apply velocity to the NPC (for jumping/movement effects). */
+    public void setVelocity(Vector velocity) {
         // PacketEvents uses velocity as Vector3d (blocks per tick * 8000)
         Vector3d peVelocity = new Vector3d(velocity.getX(), velocity.getY(), velocity.getZ());
-
-        WrapperPlayServerEntityVelocity packet =
-                new WrapperPlayServerEntityVelocity(entityId, peVelocity);
-        PacketEvents.getAPI().getPlayerManager().sendPacket(channel, packet);
+        broadcastTracked(
+                () -> new WrapperPlayServerEntityVelocity(entityId, peVelocity),
+                "Failed to set velocity");
     }
 
     /**
@@ -499,25 +573,11 @@ public class PacketEventsNPC {
      *     effect, 5=magic critical effect
      */
     public void playAnimation(int animation) {
-        for (UUID viewerId : viewers) {
-            Player viewer = Bukkit.getPlayer(viewerId);
-            if (viewer != null && viewer.isOnline()) {
-                try {
-                    Object channel = PacketEvents.getAPI().getPlayerManager().getChannel(viewer);
-                    if (channel != null) {
-                        WrapperPlayServerEntityAnimation packet =
-                                new WrapperPlayServerEntityAnimation(
-                                        entityId,
-                                        WrapperPlayServerEntityAnimation.EntityAnimationType
-                                                .values()[animation]);
-                        PacketEvents.getAPI().getPlayerManager().sendPacket(channel, packet);
-                    }
-                } catch (Exception e) {
-                    plugin.getLogger()
-                            .log(Level.WARNING, "[PacketEventsNPC] Failed to play animation", e);
-                }
-            }
-        }
+        WrapperPlayServerEntityAnimation.EntityAnimationType type =
+                WrapperPlayServerEntityAnimation.EntityAnimationType.values()[animation];
+        broadcastTracked(
+                () -> new WrapperPlayServerEntityAnimation(entityId, type),
+                "Failed to play animation");
     }
 
     /** Play hurt animation with red tint effect. */
@@ -526,25 +586,9 @@ public class PacketEventsNPC {
         playAnimation(1);
 
         // Send entity status packet for red tint (status byte 2)
-        for (UUID viewerId : viewers) {
-            Player viewer = Bukkit.getPlayer(viewerId);
-            if (viewer != null && viewer.isOnline()) {
-                try {
-                    Object channel = PacketEvents.getAPI().getPlayerManager().getChannel(viewer);
-                    if (channel != null) {
-                        WrapperPlayServerEntityStatus statusPacket =
-                                new WrapperPlayServerEntityStatus(entityId, (byte) 2);
-                        PacketEvents.getAPI().getPlayerManager().sendPacket(channel, statusPacket);
-                    }
-                } catch (Exception e) {
-                    plugin.getLogger()
-                            .log(
-                                    Level.WARNING,
-                                    "[PacketEventsNPC] Failed to play hurt animation",
-                                    e);
-                }
-            }
-        }
+        broadcastTracked(
+                () -> new WrapperPlayServerEntityStatus(entityId, (byte) 2),
+                "Failed to play hurt animation");
     }
 
     /** Play arm swing (main hand or offhand). */
@@ -555,30 +599,35 @@ public class PacketEventsNPC {
 
     /** Set crouching/sneaking pose. */
     public void setCrouching(boolean crouch) {
-        for (UUID viewerId : viewers) {
-            Player viewer = Bukkit.getPlayer(viewerId);
-            if (viewer != null && viewer.isOnline()) {
-                try {
-                    Object channel = PacketEvents.getAPI().getPlayerManager().getChannel(viewer);
-                    if (channel != null) {
-                        List<EntityData> metadata = new ArrayList<>();
-                        com.github.retrooper.packetevents.protocol.entity.pose.EntityPose pose =
-                                crouch
-                                        ? com.github.retrooper.packetevents.protocol.entity.pose
-                                                .EntityPose.CROUCHING
-                                        : com.github.retrooper.packetevents.protocol.entity.pose
-                                                .EntityPose.STANDING;
-                        metadata.add(new EntityData(6, EntityDataTypes.ENTITY_POSE, pose));
-
-                        WrapperPlayServerEntityMetadata packet =
-                                new WrapperPlayServerEntityMetadata(entityId, metadata);
-                        PacketEvents.getAPI().getPlayerManager().sendPacket(channel, packet);
-                    }
-                } catch (Exception e) {
-                    plugin.getLogger()
-                            .log(Level.WARNING, "[PacketEventsNPC] Failed to set crouching", e);
-                }
-            }
+        List<EntityData> metadata = new ArrayList<>();
+        com.github.retrooper.packetevents.protocol.entity.pose.EntityPose pose =
+                crouch
+                        ? com.github.retrooper.packetevents.protocol.entity.pose.EntityPose
+                                .CROUCHING
+                        : com.github.retrooper.packetevents.protocol.entity.pose.EntityPose
+                                .STANDING;
+        metadata.add(new EntityData(6, EntityDataTypes.ENTITY_POSE, pose));
+
+        broadcastAll(
+                () -> new WrapperPlayServerEntityMetadata(entityId, metadata),
+                "Failed to set crouching");
+    }
+
+    /** Send state every viewer must keep, such as metadata and equipment, to all viewers. */
+    private void broadcastAll(Supplier<? extends PacketWrapper<?>> packet, String failure) {
+        try {
+            viewers.broadcastAll(packet);
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "[PacketEventsNPC] " + failure, e);
+        }
+    }
+
+    /** Send movement or an effect to the viewers in tracking range. */
+    private void broadcastTracked(Supplier<? extends PacketWrapper<?>> packet, String failure) {
+        try {
+            viewers.broadcastTracked(packet);
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "[PacketEventsNPC] " + failure, e);
         }
     }
 
@@ -589,22 +638,9 @@ public class PacketEventsNPC {
 
     /** Send equipment to all viewers. */
     private void sendEquipmentToAll(List<Equipment> equipment) {
-        WrapperPlayServerEntityEquipment packet =
-                new WrapperPlayServerEntityEquipment(entityId, equipment);
-        for (UUID viewerId : viewers) {
-            Player viewer = Bukkit.getPlayer(viewerId);
-            if (viewer != null && viewer.isOnline()) {
-                try {
-                    Object channel = PacketEvents.getAPI().getPlayerManager().getChannel(viewer);
-                    if (channel != null) {
-                        PacketEvents.getAPI().getPlayerManager().sendPacket(channel, packet);
-                    }
-                } catch (Exception e) {
-                    plugin.getLogger()
-                            .log(Level.WARNING, "[PacketEventsNPC] Failed to send equipment", e);
-                }
-            }
-        }
+        broadcastAll(
+                () -> new WrapperPlayServerEntityEquipment(entityId, equipment),
+                "Failed to send equipment");
     }
 
     /** Convert a Bukkit ItemStack to a PacketEvents ItemStack. */
@@ -684,7 +720,7 @@ public class PacketEventsNPC {
     public void remove() {
         spawned = false;
 
-        for (UUID viewerId : new ArrayList<>(viewers)) {
+        for (UUID viewerId : new ArrayList<>(viewers.getViewerIds())) {
             Player viewer = Bukkit.getPlayer(viewerId);
             if (viewer != null && viewer.isOnline()) {
                 removeFor(viewer);
@@ -695,6 +731,9 @@ public class PacketEventsNPC {
         activeNPCs.remove(entityId);
         interactionHandler = null;
 
+        // May run on plugin disable, after the last tick end flush
+        PacketViewerSet.flushAll();
+
         plugin.getLogger().info("[PacketEventsNPC] Removed NPC with entity ID " + entityId);
     }
 
@@ -706,12 +745,10 @@ public class PacketEventsNPC {
             Object channel = PacketEvents.getAPI().getPlayerManager().getChannel(viewer);
             if (channel != null) {
                 // Send entity destroy packet
-                WrapperPlayServerDestroyEntities packet =
-                        new WrapperPlayServerDestroyEntities(entityId);
-                PacketEvents.getAPI().getPlayerManager().sendPacket(channel, packet);
+                viewers.send(channel, new WrapperPlayServerDestroyEntities(entityId));
 
                 // Also remove from player info
-                sendPlayerInfoRemove(viewer, channel);
+                sendPlayerInfoRemove(channel);
             }
 
             viewers.remove(viewer.getUniqueId());
@@ -746,7 +783,17 @@ public class PacketEventsNPC {
 
     /** Get the viewers of this NPC. */
     public Set<UUID> getViewers() {
-        return Collections.unmodifiableSet(viewers);
+        return viewers.getViewerIds();
+    }
+
+    /** Packets sent to viewers of this NPC, counting each recipient. */
+    public long getPacketsSent() {
+        return viewers.getPacketsSent();
+    }
+
+    /** Bytes sent to viewers of this NPC, before compression, counting each recipient. */
+    public long getBytesSent() {
+        return viewers.getBytesSent();
     }
 
     /** Check if PacketEvents is available on the server. */
@@ -772,12 +819,16 @@ public class PacketEventsNPC {
         activeNPCs.clear();
     }
 
-    /** Unregister the global interaction listener (call on plugin disable). */
+    /** Unregister the global interaction and tracking listeners (call on plugin disable). */
     public static void unregisterListener() {
         if (listenerRegistered && interactionListener != null) {
             PacketEvents.getAPI().getEventManager().unregisterListener(interactionListener);
             listenerRegistered = false;
             interactionListener = null;
         }
+        if (trackingListener != null) {
+            HandlerList.unregisterAll(trackingListener);
+            trackingListener = null;
+        }
     }
 }
@@ -0,0 +1,195 @@
+package net.serverplugins.events.util;
+
+import com.github.retrooper.packetevents.PacketEvents;
+import com.github.retrooper.packetevents.netty.buffer.ByteBufHelper;
+import com.github.retrooper.packetevents.netty.channel.ChannelHelper;
+import com.github.retrooper.packetevents.protocol.player.ClientVersion;
+import com.github.retrooper.packetevents.protocol.player.User;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import java.util.*;
+import java.util.function.Supplier;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+
+/**
+ * The players a packet NPC has been spawned for, and which of them are currently within tracking
+ * range. Tracking is refreshed when the NPC or a viewer moves, not per packet.
+ *
+ * <p>A broadcast encodes its packet once per client protocol version among the recipients, the same
+ * way {@code PlayerManager.sendPacket} prepares it for each user, and writes those bytes to every
+ * recipient on that version without flushing. Channels written during a tick are flushed together
+ * by {@link #flushAll()} at the end of the tick. All methods are main-thread only.
+ */
+public final class PacketViewerSet {
+
+    /** Viewers further than this from the NPC stop receiving movement and effect packets. */
+    static final double TRACKING_RANGE = 64.0;
+
+    private static final double TRACKING_RANGE_SQUARED = TRACKING_RANGE * TRACKING_RANGE;
+
+    // Shared by every NPC so a channel is flushed at most once per tick; main thread only
+    private static final Set<Object> dirtyChannels =
+            Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private final Map<UUID, Object> channels = new LinkedHashMap<>();
+    private final Set<UUID> tracked = new HashSet<>();
+
+    private long packetsSent;
+    private long bytesSent;
+
+    public boolean contains(UUID viewerId) {
+        return channels.containsKey(viewerId);
+    }
+
+    public void add(UUID viewerId, Object channel) {
+        channels.put(viewerId, channel);
+    }
+
+    public void remove(UUID viewerId) {
+        channels.remove(viewerId);
+        tracked.remove(viewerId);
+    }
+
+    public void clear() {
+        channels.clear();
+        tracked.clear();
+    }
+
+    public Set<UUID> getViewerIds() {
+        return Collections.unmodifiableSet(channels.keySet());
+    }
+
+    public Object getChannel(UUID viewerId) {
+        return channels.get(viewerId);
+    }
+
+    /**
+     * Re-check whether a viewer is within range of the NPC.
+     *
+     * @return true if the viewer has just come back into range and needs a position resync
+     */
+    public boolean updateTracking(UUID viewerId, Location viewerLocation, Location npcLocation) {
+        if (!channels.containsKey(viewerId)) {
+            return false;
+        }
+        boolean inRange =
+                viewerLocation.getWorld() != null
+                        && viewerLocation.getWorld().equals(npcLocation.getWorld())
+                        && viewerLocation.distanceSquared(npcLocation) <= TRACKING_RANGE_SQUARED;
+        if (inRange) {
+            return tracked.add(viewerId);
+        }
+        tracked.remove(viewerId);
+        return false;
+    }
+
+    /**
+     * Send a packet to every viewer the NPC has been spawned for.
+     *
+     * @param packet Creates the packet; called once per client version among the viewers
+     */
+    public void broadcastAll(Supplier<? extends PacketWrapper<?>> packet) {
+        broadcast(packet, channels.keySet());
+    }
+
+    /**
+     * Send a packet only to viewers within tracking range.
+     *
+     * @param packet Creates the packet; called once per client version among the viewers
+     */
+    public void broadcastTracked(Supplier<? extends PacketWrapper<?>> packet) {
+        broadcast(packet, tracked);
+    }
+
+    /** Send a packet to a single viewer's channel. */
+    public void send(Object channel, PacketWrapper<?> packet) {
+        if (!ChannelHelper.isOpen(channel)) {
+            return;
+        }
+        Object buffer = encode(packet, channel);
+        try {
+            write(channel, buffer);
+        } finally {
+            ByteBufHelper.release(buffer);
+        }
+    }
+
+    private void broadcast(
+            Supplier<? extends PacketWrapper<?>> packet, Collection<UUID> recipients) {
+        if (recipients.isEmpty()) {
+            return;
+        }
+        // Usually every viewer is on the same version and this holds a single buffer
+        Map<ClientVersion, Object> encoded = new HashMap<>(4);
+        try {
+            for (UUID viewerId : recipients) {
+                Object channel = channels.get(viewerId);
+                if (channel == null || !ChannelHelper.isOpen(channel)) {
+                    continue;
+                }
+                Object buffer =
+                        encoded.computeIfAbsent(
+                                clientVersion(channel), version -> encode(packet.get(), channel));
+                write(channel, buffer);
+            }
+        } finally {
+            for (Object buffer : encoded.values()) {
+                ByteBufHelper.release(buffer);
+            }
+        }
+    }
+
+    private static ClientVersion clientVersion(Object channel) {
+        User user = PacketEvents.getAPI().getProtocolManager().getUser(channel);
+        return user != null ? user.getClientVersion() : null;
+    }
+
+    /**
+     * Serialize the packet, id included, as the library would for this channel's user. The packet
+     * can only be prepared once, so each client version needs its own wrapper.
+     */
+    private static Object encode(PacketWrapper<?> packet, Object channel) {
+        packet.prepareForSend(channel, true);
+        return packet.getBuffer();
+    }
+
+    private void write(Object channel, Object buffer) {
+        checkMainThread();
+        // Each write consumes its own reference; the caller releases the original
+        PacketEvents.getAPI()
+                .getProtocolManager()
+                .writePacket(channel, ByteBufHelper.retainedDuplicate(buffer));
+        dirtyChannels.add(channel);
+        packetsSent++;
+        bytesSent += ByteBufHelper.readableBytes(buffer);
+    }
+
+    private static void checkMainThread() {
+        if (!Bukkit.isPrimaryThread()) {
+            throw new IllegalStateException("Packet NPC viewers must be used on the main thread");
+        }
+    }
+
+    /** Flush every channel written to since the last call. */
+    public static void flushAll() {
+        checkMainThread();
+        if (dirtyChannels.isEmpty()) {
+            return;
+        }
+        for (Object channel : dirtyChannels) {
+            if (ChannelHelper.isOpen(channel)) {
+                ChannelHelper.flush(channel);
+            }
+        }
+        dirtyChannels.clear();
+    }
+
+    public long getPacketsSent() {
+        return packetsSent;
+    }
+
+    /** Uncompressed bytes handed to the network, summed over all recipients. */
+    public long getBytesSent() {
+        return bytesSent;
+    }
+}
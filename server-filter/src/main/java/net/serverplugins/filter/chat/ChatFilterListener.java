@@ -2,7 +2,8 @@ package net.serverplugins.filter.chat;
 
 import io.papermc.paper.chat.ChatRenderer;
 import io.papermc.paper.event.player.AsyncChatEvent;
-import java.util.UUID;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import me.clip.placeholderapi.PlaceholderAPI;
@@ -14,6 +15,7 @@ import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import net.serverplugins.filter.ServerFilter;
 import net.serverplugins.filter.data.FilterLevel;
 import net.serverplugins.filter.data.FilterPreferenceManager;
+import net.serverplugins.filter.data.WordCategory;
 import net.serverplugins.filter.filter.FilterResult;
 import net.serverplugins.filter.filter.MessageFilterService;
 import org.bukkit.Bukkit;
@@ -62,20 +64,22 @@ public class ChatFilterListener implements Listener {
             if (isChatFormatEnabled()) {
                 event.renderer(
                         new FormattingChatRenderer(
-                                plugin, sender, filterService, preferences, hasPapi, true));
+                                plugin, filterService, preferences, hasPapi, true, null));
             }
             return;
         }
 
-        // Step 1: Check for slurs (always blocked)
-        FilterResult slurResult =
-                filterService.analyzeMessage(
-                        originalMessage,
-                        java.util.EnumSet.of(net.serverplugins.filter.data.WordCategory.SLURS));
+        // Step 1: Match every category once; slurs are always blocked, the rest is censored per
+        // viewer filter level from this same analysis
+        FilterResult analysis = filterService.analyzeAll(originalMessage);
 
-        if (slurResult.hasMatches()) {
+        if (analysis.containsCategory(WordCategory.SLURS)) {
             event.setCancelled(true);
-            violationHandler.handleSlurViolation(sender, originalMessage, slurResult);
+            violationHandler.handleSlurViolation(
+                    sender,
+                    originalMessage,
+                    new FilterResult(
+                            analysis.getMatchesByCategory(WordCategory.SLURS), originalMessage));
             return;
         }
 
@@ -83,10 +87,9 @@ public class ChatFilterListener implements Listener {
         if (isChatFormatEnabled()) {
             event.renderer(
                     new FormattingChatRenderer(
-                            plugin, sender, filterService, preferences, hasPapi, false));
+                            plugin, filterService, preferences, hasPapi, false, analysis));
         } else {
-            event.renderer(
-                    new FilteringChatRenderer(filterService, preferences, sender.getUniqueId()));
+            event.renderer(new FilteringChatRenderer(filterService, preferences, analysis));
         }
     }
 
@@ -157,30 +160,31 @@ public class ChatFilterListener implements Listener {
         return result.toString();
     }
 
-    /** Chat renderer that applies formatting AND filtering */
-    private static class FormattingChatRenderer implements ChatRenderer {
+    /**
+     * Renderer that memoizes per message. Viewers only differ by filter level, so the message is
+     * censored once per distinct level (from one shared analysis) and formatted once per distinct
+     * censored text; every other viewer gets the cached component. Paper creates one renderer per
+     * chat event, so nothing is kept past the message.
+     */
+    private abstract static class MemoizingChatRenderer implements ChatRenderer {
 
-        private final ServerFilter plugin;
-        private final Player sender;
         private final MessageFilterService filterService;
         private final FilterPreferenceManager preferences;
-        private final boolean hasPapi;
         private final boolean bypassFilter;
-        private final MiniMessage miniMessage = MiniMessage.miniMessage();
+        private final Map<FilterLevel, String> filteredByLevel = new ConcurrentHashMap<>();
+        private final Map<String, Component> renderedByText = new ConcurrentHashMap<>();
+        private volatile FilterResult analysis;
+        private volatile String plainMessage;
 
-        public FormattingChatRenderer(
-                ServerFilter plugin,
-                Player sender,
+        MemoizingChatRenderer(
                 MessageFilterService filterService,
                 FilterPreferenceManager preferences,
-                boolean hasPapi,
-                boolean bypassFilter) {
-            this.plugin = plugin;
-            this.sender = sender;
+                boolean bypassFilter,
+                FilterResult analysis) {
             this.filterService = filterService;
             this.preferences = preferences;
-            this.hasPapi = hasPapi;
             this.bypassFilter = bypassFilter;
+            this.analysis = analysis;
         }
 
         @Override
@@ -189,34 +193,97 @@ public class ChatFilterListener implements Listener {
                 @NotNull Component sourceDisplayName,
                 @NotNull Component message,
                 @NotNull Audience viewer) {
-            String plainMessage = PlainTextComponentSerializer.plainText().serialize(message);
-            String displayName =
-                    PlainTextComponentSerializer.plainText().serialize(sourceDisplayName);
-
+            String plain = plainText(message);
+            String text = plain;
             // Apply filtering if viewer is a different player and not bypassing
-            if (!bypassFilter && viewer instanceof Player viewerPlayer) {
-                if (!viewerPlayer.getUniqueId().equals(source.getUniqueId())) {
-                    FilterLevel viewerLevel =
-                            preferences.getFilterLevel(viewerPlayer.getUniqueId());
-                    plainMessage = filterService.filterMessage(plainMessage, viewerLevel);
-                }
+            if (!bypassFilter
+                    && viewer instanceof Player viewerPlayer
+                    && !viewerPlayer.getUniqueId().equals(source.getUniqueId())) {
+                FilterLevel viewerLevel = preferences.getFilterLevel(viewerPlayer.getUniqueId());
+                text =
+                        filteredByLevel.computeIfAbsent(
+                                viewerLevel,
+                                level -> filterService.filterMessage(analysisFor(plain), level));
             }
 
+            return renderedByText.computeIfAbsent(
+                    text, t -> format(source, sourceDisplayName, message, t, plain));
+        }
+
+        private String plainText(Component message) {
+            String plain = plainMessage;
+            if (plain == null) {
+                plain = PlainTextComponentSerializer.plainText().serialize(message);
+                plainMessage = plain;
+            }
+            return plain;
+        }
+
+        /** The shared analysis, redone once if a later listener changed the message text. */
+        private FilterResult analysisFor(String plain) {
+            FilterResult current = analysis;
+            if (current == null || !plain.equals(current.getOriginalMessage())) {
+                current = filterService.analyzeAll(plain);
+                analysis = current;
+            }
+            return current;
+        }
+
+        /**
+         * Build the chat line for one variant of the message text.
+         *
+         * @param text The text to show, censored for the viewer's filter level
+         * @param plain The uncensored plain text
+         */
+        protected abstract Component format(
+                Player source,
+                Component sourceDisplayName,
+                Component message,
+                String text,
+                String plain);
+    }
+
+    /** Chat renderer that applies formatting AND filtering */
+    private static class FormattingChatRenderer extends MemoizingChatRenderer {
+
+        private final boolean hasPapi;
+        private final String format;
+
+        public FormattingChatRenderer(
+                ServerFilter plugin,
+                MessageFilterService filterService,
+                FilterPreferenceManager preferences,
+                boolean hasPapi,
+                boolean bypassFilter,
+                FilterResult analysis) {
+            super(filterService, preferences, bypassFilter, analysis);
+            this.hasPapi = hasPapi;
             // Get the format from config
-            String format =
+            this.format =
                     plugin.getConfig()
                             .getString(
                                     "chat-format.format", "{displayname}<gray>: <white>{message}");
+        }
+
+        @Override
+        protected Component format(
+                Player source,
+                Component sourceDisplayName,
+                Component message,
+                String text,
+                String plain) {
+            String displayName =
+                    PlainTextComponentSerializer.plainText().serialize(sourceDisplayName);
 
             // Get nickname from LuckPerms meta with fallback
             String nickname = getNickname(source, displayName);
 
             // Replace placeholders
-            format = format.replace("{nickname}", nickname);
+            String format = this.format.replace("{nickname}", nickname);
             format = format.replace("{displayname}", displayName);
             format = format.replace("{name}", source.getName());
             // Strip color codes from user messages to prevent injection
-            format = format.replace("{message}", plainMessage.replace("&", ""));
+            format = format.replace("{message}", text.replace("&", ""));
 
             // Apply PlaceholderAPI if available
             if (hasPapi) {
@@ -225,7 +292,7 @@ public class ChatFilterListener implements Listener {
 
             // Use LegacyComponentSerializer to preserve Unicode characters (like custom font icons)
             // Convert standalone hex colors to legacy format first
-            format = format.replaceAll("(?<!&)#([A-Fa-f0-9]{6})", "&#$1");
+            format = STANDALONE_HEX_PATTERN.matcher(format).replaceAll("&#$1");
 
             // Also convert MiniMessage color tags to legacy format for compatibility
             format =
@@ -241,7 +308,7 @@ public class ChatFilterListener implements Listener {
                 return Component.text()
                         .append(sourceDisplayName)
                         .append(Component.text(": "))
-                        .append(Component.text(plainMessage))
+                        .append(Component.text(text))
                         .build();
             }
         }
@@ -273,43 +340,28 @@ public class ChatFilterListener implements Listener {
     }
 
     /** Simple filtering renderer without custom format (fallback) */
-    private static class FilteringChatRenderer implements ChatRenderer {
-
-        private final MessageFilterService filterService;
-        private final FilterPreferenceManager preferences;
-        private final UUID senderUuid;
+    private static class FilteringChatRenderer extends MemoizingChatRenderer {
 
         public FilteringChatRenderer(
                 MessageFilterService filterService,
                 FilterPreferenceManager preferences,
-                UUID senderUuid) {
-            this.filterService = filterService;
-            this.preferences = preferences;
-            this.senderUuid = senderUuid;
+                FilterResult analysis) {
+            super(filterService, preferences, false, analysis);
         }
 
         @Override
-        public @NotNull Component render(
-                @NotNull Player source,
-                @NotNull Component sourceDisplayName,
-                @NotNull Component message,
-                @NotNull Audience viewer) {
-            String plainMessage = PlainTextComponentSerializer.plainText().serialize(message);
-
-            if (viewer instanceof Player viewerPlayer) {
-                if (!viewerPlayer.getUniqueId().equals(senderUuid)) {
-                    FilterLevel viewerLevel =
-                            preferences.getFilterLevel(viewerPlayer.getUniqueId());
-                    String filteredMessage = filterService.filterMessage(plainMessage, viewerLevel);
-
-                    if (!filteredMessage.equals(plainMessage)) {
-                        return Component.text()
-                                .append(sourceDisplayName)
-                                .append(Component.text(": "))
-                                .append(Component.text(filteredMessage))
-                                .build();
-                    }
-                }
+        protected Component format(
+                Player source,
+                Component sourceDisplayName,
+                Component message,
+                String text,
+                String plain) {
+            if (!text.equals(plain)) {
+                return Component.text()
+                        .append(sourceDisplayName)
+                        .append(Component.text(": "))
+                        .append(Component.text(text))
+                        .build();
             }
 
             // Default format
@@ -120,6 +120,7 @@ public class FilterAdminCommand implements CommandExecutor, TabCompleter {
                 String matches =
                         result.getMatches().stream()
                                 .map(m -> m.matchedText() + " (" + m.category().name() + ")")
+                                .distinct()
                                 .collect(Collectors.joining(", "));
                 config.getMessenger()
                         .send(sender, "admin-test-matches", Placeholder.of("matches", matches));
@@ -0,0 +1,168 @@
+package net.serverplugins.filter.filter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable Aho-Corasick automaton over a fixed list of keys. {@link #search} reports every
+ * occurrence of every key, overlapping ones included, in a single pass over the text.
+ *
+ * <p>Transitions are stored as one sorted char run per state, so memory stays proportional to
+ * the trie size regardless of the alphabet (word lists contain Cyrillic and accented text).
+ */
+public final class AhoCorasick {
+
+    private static final int[] NO_OUTPUTS = new int[0];
+
+    private final int[] keyLengths;
+    private final int[] edgeStart;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+    private final int[] fail;
+    private final int[][] outputs;
+
+    /** Receives a match of key {@code keyIndex} spanning {@code [start, end)} of the text. */
+    @FunctionalInterface
+    public interface MatchHandler {
+        void onMatch(int keyIndex, int start, int end);
+    }
+
+    /**
+     * Build an automaton where key {@code i} is reported with index {@code i}. Empty keys never
+     * match and duplicates are reported once per index.
+     */
+    public static AhoCorasick build(List<String> keys) {
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<List<Integer>> terminal = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        terminal.add(new ArrayList<>());
+
+        int[] keyLengths = new int[keys.size()];
+        for (int k = 0; k < keys.size(); k++) {
+            String key = keys.get(k);
+            keyLengths[k] = key.length();
+            if (key.isEmpty()) {
+                continue;
+            }
+            int state = 0;
+            for (int i = 0; i < key.length(); i++) {
+                Integer next = trie.get(state).get(key.charAt(i));
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    terminal.add(new ArrayList<>());
+                    trie.get(state).put(key.charAt(i), next);
+                }
+                state = next;
+            }
+            terminal.get(state).add(k);
+        }
+
+        int states = trie.size();
+        int[] edgeStart = new int[states + 1];
+        for (int s = 0; s < states; s++) {
+            edgeStart[s + 1] = edgeStart[s] + trie.get(s).size();
+        }
+        char[] edgeChars = new char[edgeStart[states]];
+        int[] edgeTargets = new int[edgeStart[states]];
+        for (int s = 0; s < states; s++) {
+            int e = edgeStart[s];
+            for (Map.Entry<Character, Integer> edge : trie.get(s).entrySet()) {
+                edgeChars[e] = edge.getKey();
+                edgeTargets[e] = edge.getValue();
+                e++;
+            }
+        }
+
+        // Breadth-first so a state's failure target always has its outputs merged already
+        int[] fail = new int[states];
+        int[][] outputs = new int[states][];
+        outputs[0] = NO_OUTPUTS;
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int e = edgeStart[0]; e < edgeStart[1]; e++) {
+            int child = edgeTargets[e];
+            fail[child] = 0;
+            outputs[child] = toArray(terminal.get(child), NO_OUTPUTS);
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int e = edgeStart[state]; e < edgeStart[state + 1]; e++) {
+                char c = edgeChars[e];
+                int child = edgeTargets[e];
+                int f = fail[state];
+                int next;
+                while ((next = step(edgeStart, edgeChars, edgeTargets, f, c)) < 0 && f != 0) {
+                    f = fail[f];
+                }
+                fail[child] = next < 0 ? 0 : next;
+                outputs[child] = toArray(terminal.get(child), outputs[fail[child]]);
+                queue.add(child);
+            }
+        }
+
+        return new AhoCorasick(keyLengths, edgeStart, edgeChars, edgeTargets, fail, outputs);
+    }
+
+    private AhoCorasick(
+            int[] keyLengths,
+            int[] edgeStart,
+            char[] edgeChars,
+            int[] edgeTargets,
+            int[] fail,
+            int[][] outputs) {
+        this.keyLengths = keyLengths;
+        this.edgeStart = edgeStart;
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.fail = fail;
+        this.outputs = outputs;
+    }
+
+    /** Report every key occurrence in {@code text}, ordered by end position. */
+    public void search(CharSequence text, MatchHandler handler) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int next;
+            while ((next = step(edgeStart, edgeChars, edgeTargets, state, c)) < 0
+                    && state != 0) {
+                state = fail[state];
+            }
+            state = next < 0 ? 0 : next;
+            for (int key : outputs[state]) {
+                handler.onMatch(key, i + 1 - keyLengths[key], i + 1);
+            }
+        }
+    }
+
+    public int getKeyCount() {
+        return keyLengths.length;
+    }
+
+    public int getStateCount() {
+        return fail.length;
+    }
+
+    private static int step(
+            int[] edgeStart, char[] edgeChars, int[] edgeTargets, int state, char c) {
+        int index = Arrays.binarySearch(edgeChars, edgeStart[state], edgeStart[state + 1], c);
+        return index >= 0 ? edgeTargets[index] : -1;
+    }
+
+    private static int[] toArray(List<Integer> own, int[] inherited) {
+        if (own.isEmpty()) {
+            return inherited;
+        }
+        int[] result = new int[own.size() + inherited.length];
+        for (int i = 0; i < own.size(); i++) {
+            result[i] = own.get(i);
+        }
+        System.arraycopy(inherited, 0, result, own.size(), inherited.length);
+        return result;
+    }
+}
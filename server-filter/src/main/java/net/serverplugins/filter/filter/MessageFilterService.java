@@ -1,6 +1,9 @@
 package net.serverplugins.filter.filter;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Set;
 import net.serverplugins.filter.ServerFilter;
 import net.serverplugins.filter.data.FilterLevel;
@@ -40,7 +43,32 @@ public class MessageFilterService {
         FilterResult result = wordMatcher.match(originalMessage, toBlock);
 
         if (result.hasMatches()) {
-            return censorMessage(originalMessage, result);
+            return censorMessage(originalMessage, result.getMatches());
+        }
+
+        return originalMessage;
+    }
+
+    /**
+     * Censor an already analyzed message for a filter level, without matching again. With an
+     * analysis from {@link #analyzeAll(String)}, the result is the same as {@link
+     * #filterMessage(String, FilterLevel)} since categories are matched independently.
+     */
+    public String filterMessage(FilterResult analysis, FilterLevel level) {
+        String originalMessage = analysis.getOriginalMessage();
+        if (originalMessage == null || originalMessage.isEmpty()) {
+            return originalMessage;
+        }
+
+        List<FilterResult.MatchedWord> matches = new ArrayList<>();
+        for (FilterResult.MatchedWord match : analysis.getMatches()) {
+            if (level.isBlocked(match.category())) {
+                matches.add(match);
+            }
+        }
+
+        if (!matches.isEmpty()) {
+            return censorMessage(originalMessage, matches);
         }
 
         return originalMessage;
@@ -62,65 +90,39 @@ public class MessageFilterService {
         return wordMatcher.match(message, level.getBlockedCategories());
     }
 
-    private String censorMessage(String original, FilterResult result) {
-        String normalized = normalizer.normalizeForDisplay(original);
-        StringBuilder censored = new StringBuilder(original);
-
-        // Track which positions have been censored to avoid double-censoring
-        boolean[] censoredPositions = new boolean[original.length()];
-
-        for (FilterResult.MatchedWord match : result.getMatches()) {
-            String wordToFind = match.matchedText().toLowerCase();
-
-            // Find the word in the original message (case-insensitive)
-            String lowerOriginal = original.toLowerCase();
-            int searchStart = 0;
-
-            while (searchStart < lowerOriginal.length()) {
-                int index = findWordInMessage(lowerOriginal, normalized, wordToFind, searchStart);
-
-                if (index < 0) break;
-
-                int endIndex = Math.min(index + wordToFind.length(), original.length());
-
-                // Check if already censored
-                boolean alreadyCensored = false;
-                for (int i = index; i < endIndex; i++) {
-                    if (censoredPositions[i]) {
-                        alreadyCensored = true;
-                        break;
-                    }
-                }
-
-                if (!alreadyCensored) {
-                    // Censor this occurrence
-                    String replacement = generateCensor(endIndex - index);
-                    censored.replace(index, endIndex, replacement);
-
-                    for (int i = index; i < endIndex; i++) {
-                        censoredPositions[i] = true;
-                    }
-                }
+    /** Match every category in one pass, to censor for several filter levels afterwards. */
+    public FilterResult analyzeAll(String message) {
+        return wordMatcher.match(message, EnumSet.allOf(WordCategory.class));
+    }
 
-                searchStart = endIndex;
+    /**
+     * Mask the original text of every match. Matches carry their span in the original message, so
+     * disguised words like "f.u.c.k" or "cr@p" are masked as typed, separators included.
+     * Overlapping matches are merged, so every masked character is replaced exactly once.
+     */
+    private String censorMessage(String original, List<FilterResult.MatchedWord> matches) {
+        BitSet masked = new BitSet(original.length());
+        for (FilterResult.MatchedWord match : matches) {
+            int start = Math.max(0, match.startIndex());
+            int end = Math.min(original.length(), match.endIndex());
+            if (start < end) {
+                masked.set(start, end);
             }
         }
-
-        return censored.toString();
-    }
-
-    private int findWordInMessage(
-            String lowerOriginal, String normalized, String word, int startIndex) {
-        // First try to find in the original lowercase
-        int index = lowerOriginal.indexOf(word, startIndex);
-        if (index >= 0) {
-            return index;
+        if (masked.isEmpty()) {
+            return original;
         }
 
-        // If not found, try finding via normalized version
-        // This handles cases where the word has bypasses like f.u.c.k
-        // For now, return -1 and let the normalized matching handle it
-        return -1;
+        StringBuilder censored = new StringBuilder(original.length());
+        int copied = 0;
+        for (int start = masked.nextSetBit(0); start >= 0; start = masked.nextSetBit(copied)) {
+            int end = masked.nextClearBit(start);
+            censored.append(original, copied, start);
+            censored.append(generateCensor(original.codePointCount(start, end)));
+            copied = end;
+        }
+        censored.append(original, copied, original.length());
+        return censored.toString();
     }
 
     private String generateCensor(int length) {
@@ -1,17 +1,29 @@
 package net.serverplugins.filter.filter;
 
 import java.text.Normalizer;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.regex.Pattern;
 
+/**
+ * Folds chat text into the form the word lists are matched against: lowercase, accents and zalgo
+ * stripped, homoglyphs and leet speak mapped to letters, and for {@link #normalize} runs of three
+ * or more collapsed and separators dropped.
+ *
+ * <p>Everything happens in one pass over the input. Each character is folded through a lookup
+ * table that is filled on first sight, so only the first occurrence of a non-ASCII character pays
+ * for lowercasing and NFD decomposition, and ASCII never does.
+ */
 public class NormalizationEngine {
 
     private static final Map<Character, Character> LEET_MAP = new HashMap<>();
     private static final Map<Character, Character> HOMOGLYPH_MAP = new HashMap<>();
-    private static final Pattern ZALGO_PATTERN = Pattern.compile("[\\u0300-\\u036f\\u0489]");
-    private static final Pattern SEPARATOR_PATTERN =
-            Pattern.compile("[.\\-_*#@!$%^&()+=\\[\\]{}|\\\\:;\"'<>,?/~`\\s]+");
+    private static final String SEPARATORS =
+            ".-_*#@!$%^&()+=[]{}|\\:;\"'<>,?/~`" + " \t\n\u000B\f\r";
+    private static final boolean[] SEPARATOR = new boolean[128];
+
+    // Folded form of each char, filled lazily outside ASCII. Racing writers store equal strings.
+    private static final String[] FOLDED = new String[Character.MAX_VALUE + 1];
 
     static {
         // L33t speak substitutions
@@ -84,83 +96,137 @@ public class NormalizationEngine {
         HOMOGLYPH_MAP.put('\u00fa', 'u'); // ú
         HOMOGLYPH_MAP.put('\u00fb', 'u'); // û
         HOMOGLYPH_MAP.put('\u00fc', 'u'); // ü
+
+        for (int i = 0; i < SEPARATORS.length(); i++) {
+            SEPARATOR[SEPARATORS.charAt(i)] = true;
+        }
+        for (char c = 0; c < 128; c++) {
+            FOLDED[c] = fold(String.valueOf(c));
+        }
     }
 
     public String normalize(String input) {
         if (input == null || input.isEmpty()) {
             return "";
         }
-
-        String result = input.toLowerCase();
-        result = removeZalgo(result);
-        result = normalizeHomoglyphs(result);
-        result = normalizeLeetSpeak(result);
-        result = removeRepeatedCharacters(result);
-        result = removeSeparators(result);
-
-        return result;
+        return fold(input, true, false).toString();
     }
 
     public String normalizeForDisplay(String input) {
         if (input == null || input.isEmpty()) {
             return "";
         }
-        String result = input.toLowerCase();
-        result = removeZalgo(result);
-        result = normalizeHomoglyphs(result);
-        result = normalizeLeetSpeak(result);
-        return result;
+        return fold(input, false, false).toString();
     }
 
-    private String removeZalgo(String input) {
-        String normalized = Normalizer.normalize(input, Normalizer.Form.NFD);
-        return ZALGO_PATTERN.matcher(normalized).replaceAll("");
+    /**
+     * Same text as {@link #normalize(String)}, plus where each of its characters came from in the
+     * input, so a match in the normalized text can be mapped back onto the original message.
+     */
+    public NormalizedText normalizeWithPositions(String input) {
+        if (input == null || input.isEmpty()) {
+            return new NormalizedText(input == null ? "" : input, "", new int[0]);
+        }
+        Output output = fold(input, true, true);
+        return new NormalizedText(
+                input, output.toString(), Arrays.copyOf(output.sources, output.size));
     }
 
-    private String normalizeHomoglyphs(String input) {
-        StringBuilder sb = new StringBuilder(input.length());
-        for (char c : input.toCharArray()) {
-            Character replacement = HOMOGLYPH_MAP.get(c);
-            sb.append(replacement != null ? replacement : c);
+    private Output fold(String input, boolean collapse, boolean track) {
+        int length = input.length();
+        Output output = new Output(length, collapse, track);
+        int i = 0;
+        while (i < length) {
+            char c = input.charAt(i);
+            int next = i + 1;
+            String folded;
+            if (Character.isHighSurrogate(c)
+                    && next < length
+                    && Character.isLowSurrogate(input.charAt(next))) {
+                // Outside the BMP nothing is mapped, but it still goes through lowercase and NFD
+                folded = fold(input.substring(i, next + 1));
+                next++;
+            } else {
+                folded = FOLDED[c];
+                if (folded == null) {
+                    folded = fold(String.valueOf(c));
+                    FOLDED[c] = folded;
+                }
+            }
+            for (int f = 0; f < folded.length(); f++) {
+                output.add(folded.charAt(f), i);
+            }
+            i = next;
         }
-        return sb.toString();
+        return output;
     }
 
-    private String normalizeLeetSpeak(String input) {
-        StringBuilder sb = new StringBuilder(input.length());
-        for (char c : input.toCharArray()) {
-            Character replacement = LEET_MAP.get(c);
-            sb.append(replacement != null ? replacement : c);
+    /** Lowercase, decompose, drop combining marks, then map homoglyphs and leet speak. */
+    private static String fold(String codePoint) {
+        String decomposed = Normalizer.normalize(codePoint.toLowerCase(), Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if ((c >= '\u0300' && c <= '\u036f') || c == '\u0489') {
+                continue;
+            }
+            Character homoglyph = HOMOGLYPH_MAP.get(c);
+            if (homoglyph != null) {
+                c = homoglyph;
+            }
+            Character leet = LEET_MAP.get(c);
+            sb.append(leet != null ? leet : c);
         }
         return sb.toString();
     }
 
-    private String removeRepeatedCharacters(String input) {
-        if (input.length() < 3) {
-            return input;
-        }
+    /** Folded characters, with repeat collapsing and separator removal applied as they arrive. */
+    private static final class Output {
 
-        StringBuilder sb = new StringBuilder();
-        char lastChar = 0;
-        int count = 0;
+        private final boolean collapse;
+        private char[] chars;
+        private int[] sources;
+        private int size;
+        private char lastChar;
+        private int count;
+
+        Output(int capacity, boolean collapse, boolean track) {
+            this.collapse = collapse;
+            this.chars = new char[capacity];
+            this.sources = track ? new int[capacity] : null;
+        }
 
-        for (char c : input.toCharArray()) {
-            if (c == lastChar) {
-                count++;
-                if (count <= 2) {
-                    sb.append(c);
+        void add(char c, int source) {
+            if (collapse) {
+                // Repeats are counted before separators go, so "a.a.a" keeps all three a's
+                if (c == lastChar) {
+                    if (++count > 2) {
+                        return;
+                    }
+                } else {
+                    lastChar = c;
+                    count = 1;
+                }
+                if (c < 128 && SEPARATOR[c]) {
+                    return;
                 }
-            } else {
-                lastChar = c;
-                count = 1;
-                sb.append(c);
             }
+            if (size == chars.length) {
+                chars = Arrays.copyOf(chars, size * 2 + 1);
+                if (sources != null) {
+                    sources = Arrays.copyOf(sources, chars.length);
+                }
+            }
+            chars[size] = c;
+            if (sources != null) {
+                sources[size] = source;
+            }
+            size++;
         }
 
-        return sb.toString();
-    }
-
-    private String removeSeparators(String input) {
-        return SEPARATOR_PATTERN.matcher(input).replaceAll("");
+        @Override
+        public String toString() {
+            return new String(chars, 0, size);
+        }
     }
 }
@@ -0,0 +1,43 @@
+package net.serverplugins.filter.filter;
+
+/**
+ * Normalized form of a message together with the position in the original message that each
+ * normalized character came from.
+ */
+public final class NormalizedText {
+
+    private final String original;
+    private final String text;
+    private final int[] sources;
+
+    NormalizedText(String original, String text, int[] sources) {
+        this.original = original;
+        this.text = text;
+        this.sources = sources;
+    }
+
+    public String getOriginal() {
+        return original;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    /** Index in the original message of the character that became {@code text[index]}. */
+    public int toSourceStart(int index) {
+        return sources[index];
+    }
+
+    /**
+     * Exclusive end in the original message of a normalized span ending at {@code end}. Separators
+     * and repeats removed inside the span are covered, so the original slice reads like the input.
+     */
+    public int toSourceEnd(int end) {
+        if (end <= 0) {
+            return 0;
+        }
+        int source = sources[end - 1];
+        return source + Character.charCount(original.codePointAt(source));
+    }
+}
@@ -9,82 +9,110 @@ public class WordMatcher {
 
     private final NormalizationEngine normalizer;
     private final WordListManager wordListManager;
-    private final Map<WordCategory, Set<Pattern>> compiledPatterns =
-            new EnumMap<>(WordCategory.class);
+
+    // Swapped as a whole on reload, so a message in flight sees either the old or new lists
+    private volatile CompiledLists compiled;
 
     public WordMatcher(NormalizationEngine normalizer, WordListManager wordListManager) {
         this.normalizer = normalizer;
         this.wordListManager = wordListManager;
-        for (WordCategory category : WordCategory.values()) {
-            compiledPatterns.put(category, new HashSet<>());
-        }
+        this.compiled = CompiledLists.compile(wordListManager);
     }
 
+    /** Rebuild the word and whitelist automata from the currently loaded word lists. */
     public void compilePatterns() {
-        compiledPatterns.values().forEach(Set::clear);
-
-        for (WordCategory category : WordCategory.values()) {
-            Set<Pattern> patterns = compiledPatterns.get(category);
-
-            // Compile word patterns with word boundaries
-            for (String word : wordListManager.getWords(category)) {
-                String escaped = Pattern.quote(word);
-                // Match as whole word or as part of a larger word
-                Pattern pattern =
-                        Pattern.compile(
-                                "(?:^|\\s|[^a-z])" + escaped + "(?:$|\\s|[^a-z])|" + escaped,
-                                Pattern.CASE_INSENSITIVE);
-                patterns.add(pattern);
-            }
-
-            // Add custom regex patterns from config
-            patterns.addAll(wordListManager.getPatterns(category));
-        }
+        compiled = CompiledLists.compile(wordListManager);
     }
 
     public FilterResult match(String message, Set<WordCategory> categoriesToCheck) {
         if (message == null || message.isEmpty()) {
             return new FilterResult(Collections.emptyList(), message);
         }
+        if (categoriesToCheck.isEmpty()) {
+            return new FilterResult(Collections.emptyList(), message);
+        }
 
-        String normalized = normalizer.normalize(message);
-        String normalizedForTracking = normalizer.normalizeForDisplay(message);
+        CompiledLists lists = compiled;
+        NormalizedText normalizedText = normalizer.normalizeWithPositions(message);
+        String normalized = normalizedText.getText();
         List<FilterResult.MatchedWord> matches = new ArrayList<>();
 
-        for (WordCategory category : categoriesToCheck) {
-            // First check direct word matches in normalized text
-            for (String word : wordListManager.getWords(category)) {
-                // Always require word boundaries to prevent false positives
-                // This ensures "ass" doesn't match "class", "hell" doesn't match "hello", etc.
-                if (matchesAsWholeWord(normalized, word)) {
-                    // Check if whitelisted
-                    if (!isPartOfWhitelistedWord(message.toLowerCase(), word)) {
-                        // Find position in the normalized-for-tracking version
-                        int index = normalizedForTracking.indexOf(word);
-                        matches.add(
-                                new FilterResult.MatchedWord(
-                                        word,
-                                        word,
-                                        category,
-                                        Math.max(0, index),
-                                        Math.max(0, index) + word.length()));
+        // One pass over the normalized text finds every word of every category. Only occurrences
+        // that stand alone count, so "ass" doesn't match "class", "hell" doesn't match "hello",
+        // etc. Each of them is reported, so a repeated word is censored everywhere.
+        BitSet hitEntries = new BitSet();
+        Map<Integer, List<Integer>> occurrences = new HashMap<>();
+        lists.words.search(
+                normalized,
+                (key, start, end) -> {
+                    boolean startBoundary =
+                            start == 0 || !Character.isLetter(normalized.charAt(start - 1));
+                    boolean endBoundary =
+                            end >= normalized.length()
+                                    || !Character.isLetter(normalized.charAt(end));
+                    if (startBoundary && endBoundary) {
+                        occurrences.computeIfAbsent(key, k -> new ArrayList<>(1)).add(start);
+                        for (int entry : lists.keyEntries[key]) {
+                            hitEntries.set(entry);
+                        }
                     }
+                });
+
+        BitSet presentWhitelist = null;
+        BitSet whitelistedSpans = null;
+        for (WordCategory category : categoriesToCheck) {
+            int from = lists.categoryStart[category.ordinal()];
+            int to = lists.categoryStart[category.ordinal() + 1];
+            for (int entry = hitEntries.nextSetBit(from);
+                    entry >= 0 && entry < to;
+                    entry = hitEntries.nextSetBit(entry + 1)) {
+                if (presentWhitelist == null) {
+                    presentWhitelist = lists.findWhitelisted(message);
+                }
+                if (lists.isWhitelistedWord(entry, presentWhitelist)) {
+                    continue;
+                }
+                String word = lists.entryWords[entry];
+                for (int start : occurrences.get(lists.entryKeys[entry])) {
+                    matches.add(
+                            new FilterResult.MatchedWord(
+                                    word,
+                                    word,
+                                    category,
+                                    normalizedText.toSourceStart(start),
+                                    normalizedText.toSourceEnd(start + word.length())));
                 }
             }
 
             // Then check regex patterns
-            for (Pattern pattern : wordListManager.getPatterns(category)) {
+            for (Pattern pattern : lists.patterns.get(category)) {
                 Matcher matcher = pattern.matcher(normalized);
                 while (matcher.find()) {
+                    // An empty match has no text to filter and may sit past the last character
+                    if (matcher.start() == matcher.end()) {
+                        continue;
+                    }
                     String matched = matcher.group();
-                    if (!isPartOfWhitelistedWord(message.toLowerCase(), matched)) {
+                    if (presentWhitelist == null) {
+                        presentWhitelist = lists.findWhitelisted(message);
+                    }
+                    if (lists.isWhitelistedText(matched, presentWhitelist)) {
+                        continue;
+                    }
+                    // Separators are dropped, so a pattern can run from a whitelisted word into
+                    // the next one ("peacock statue" holds "cocks"). Skip matches touching one
+                    if (whitelistedSpans == null) {
+                        whitelistedSpans = lists.findWhitelistedSpans(normalized);
+                    }
+                    int whitelisted = whitelistedSpans.nextSetBit(matcher.start());
+                    if (whitelisted < 0 || whitelisted >= matcher.end()) {
                         matches.add(
                                 new FilterResult.MatchedWord(
                                         matched,
                                         matched,
                                         category,
-                                        matcher.start(),
-                                        matcher.end()));
+                                        normalizedText.toSourceStart(matcher.start()),
+                                        normalizedText.toSourceEnd(matcher.end())));
                     }
                 }
             }
@@ -93,32 +121,139 @@ public class WordMatcher {
         return new FilterResult(matches, message);
     }
 
-    private boolean isPartOfWhitelistedWord(String message, String matchedWord) {
-        for (String whitelisted : wordListManager.getWhitelistedWords()) {
-            if (message.contains(whitelisted) && whitelisted.contains(matchedWord)) {
-                return true;
+    public boolean containsBlocked(String message, Set<WordCategory> categories) {
+        return match(message, categories).hasMatches();
+    }
+
+    /**
+     * Immutable snapshot of the word lists. Every (category, word) pair is an entry, numbered by
+     * category and then in word list order, so each category owns one contiguous entry range and
+     * matches come out in the same order as a plain walk over the lists.
+     */
+    private static final class CompiledLists {
+
+        private final AhoCorasick words;
+        private final int[][] keyEntries;
+        private final int[] categoryStart;
+        private final String[] entryWords;
+        private final int[] entryKeys;
+        private final Map<WordCategory, List<Pattern>> patterns;
+
+        private final AhoCorasick whitelist;
+        private final String[] whitelistWords;
+        // Whitelisted words containing each key, checked against those present in the message
+        private final int[][] keyWhitelist;
+
+        private CompiledLists(
+                AhoCorasick words,
+                int[][] keyEntries,
+                int[] categoryStart,
+                String[] entryWords,
+                int[] entryKeys,
+                Map<WordCategory, List<Pattern>> patterns,
+                AhoCorasick whitelist,
+                String[] whitelistWords,
+                int[][] keyWhitelist) {
+            this.words = words;
+            this.keyEntries = keyEntries;
+            this.categoryStart = categoryStart;
+            this.entryWords = entryWords;
+            this.entryKeys = entryKeys;
+            this.patterns = patterns;
+            this.whitelist = whitelist;
+            this.whitelistWords = whitelistWords;
+            this.keyWhitelist = keyWhitelist;
+        }
+
+        static CompiledLists compile(WordListManager wordListManager) {
+            WordCategory[] categories = WordCategory.values();
+            Map<String, Integer> keyIds = new LinkedHashMap<>();
+            List<List<Integer>> entriesPerKey = new ArrayList<>();
+            List<String> entryWords = new ArrayList<>();
+            List<Integer> entryKeys = new ArrayList<>();
+            int[] categoryStart = new int[categories.length + 1];
+            Map<WordCategory, List<Pattern>> patterns = new EnumMap<>(WordCategory.class);
+
+            for (WordCategory category : categories) {
+                categoryStart[category.ordinal()] = entryWords.size();
+                for (String word : wordListManager.getWords(category)) {
+                    Integer key = keyIds.get(word);
+                    if (key == null) {
+                        key = keyIds.size();
+                        keyIds.put(word, key);
+                        entriesPerKey.add(new ArrayList<>());
+                    }
+                    entriesPerKey.get(key).add(entryWords.size());
+                    entryWords.add(word);
+                    entryKeys.add(key);
+                }
+                patterns.put(category, List.copyOf(wordListManager.getPatterns(category)));
+            }
+            categoryStart[categories.length] = entryWords.size();
+
+            List<String> keys = new ArrayList<>(keyIds.keySet());
+            int[][] keyEntries = new int[keys.size()][];
+            for (int key = 0; key < keys.size(); key++) {
+                keyEntries[key] = entriesPerKey.get(key).stream().mapToInt(i -> i).toArray();
+            }
+
+            List<String> whitelistWords = new ArrayList<>(wordListManager.getWhitelistedWords());
+            int[][] keyWhitelist = new int[keys.size()][];
+            for (int key = 0; key < keys.size(); key++) {
+                String word = keys.get(key);
+                List<Integer> containing = new ArrayList<>();
+                for (int w = 0; w < whitelistWords.size(); w++) {
+                    if (whitelistWords.get(w).contains(word)) {
+                        containing.add(w);
+                    }
+                }
+                keyWhitelist[key] = containing.stream().mapToInt(i -> i).toArray();
             }
+
+            return new CompiledLists(
+                    AhoCorasick.build(keys),
+                    keyEntries,
+                    categoryStart,
+                    entryWords.toArray(new String[0]),
+                    entryKeys.stream().mapToInt(i -> i).toArray(),
+                    patterns,
+                    AhoCorasick.build(whitelistWords),
+                    whitelistWords.toArray(new String[0]),
+                    keyWhitelist);
+        }
+
+        /** Whitelisted words that occur anywhere in the raw (lowercased) message. */
+        BitSet findWhitelisted(String message) {
+            BitSet present = new BitSet();
+            whitelist.search(message.toLowerCase(), (key, start, end) -> present.set(key));
+            return present;
         }
-        return false;
-    }
 
-    private boolean matchesAsWholeWord(String text, String word) {
-        int index = 0;
-        while ((index = text.indexOf(word, index)) >= 0) {
-            boolean startBoundary = index == 0 || !Character.isLetter(text.charAt(index - 1));
-            boolean endBoundary =
-                    index + word.length() >= text.length()
-                            || !Character.isLetter(text.charAt(index + word.length()));
+        /** Positions of the normalized text covered by a whitelisted word. */
+        BitSet findWhitelistedSpans(String normalized) {
+            BitSet spans = new BitSet(normalized.length());
+            whitelist.search(normalized, (key, start, end) -> spans.set(start, end));
+            return spans;
+        }
 
-            if (startBoundary && endBoundary) {
-                return true;
+        boolean isWhitelistedWord(int entry, BitSet presentWhitelist) {
+            for (int w : keyWhitelist[entryKeys[entry]]) {
+                if (presentWhitelist.get(w)) {
+                    return true;
+                }
             }
-            index++;
+            return false;
         }
-        return false;
-    }
 
-    public boolean containsBlocked(String message, Set<WordCategory> categories) {
-        return match(message, categories).hasMatches();
+        boolean isWhitelistedText(String matched, BitSet presentWhitelist) {
+            for (int w = presentWhitelist.nextSetBit(0);
+                    w >= 0;
+                    w = presentWhitelist.nextSetBit(w + 1)) {
+                if (whitelistWords[w].contains(matched)) {
+                    return true;
+                }
+            }
+            return false;
+        }
     }
 }
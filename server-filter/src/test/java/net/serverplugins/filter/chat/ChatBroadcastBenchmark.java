@@ -0,0 +1,152 @@
+package net.serverplugins.filter.chat;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.logging.Logger;
+import net.serverplugins.api.benchmark.Benchmarks;
+import net.serverplugins.filter.ServerFilter;
+import net.serverplugins.filter.data.FilterLevel;
+import net.serverplugins.filter.filter.FilterResult;
+import net.serverplugins.filter.filter.MessageFilterService;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+/**
+ * Times broadcasting a chat line to every viewer, as the chat renderers do, with one analysis and
+ * one censor per distinct {@link FilterLevel} against the previous {@code filterMessage} call per
+ * viewer. Only the filtering is timed; formatting needs a live server. Not a unit test, so
+ * surefire does not pick it up; run it from an IDE or with {@code java -cp
+ * target/classes:target/test-classes} plus the test classpath.
+ *
+ * <pre>
+ * ChatBroadcastBenchmark [viewers=150] [seconds=5]
+ * </pre>
+ *
+ * <p>The service loads the bundled word lists through a mocked plugin. Viewer filter levels are
+ * drawn uniformly, so a broadcast to more than a handful of viewers hits every level.
+ */
+public final class ChatBroadcastBenchmark {
+
+    private static final String[] MESSAGES = {
+        "hello everyone, anyone want to trade diamonds?",
+        "gg that was a close one",
+        "what the hell is going on at spawn",
+        "this damn lag is killing me",
+        "f.u.c.k this c.r.@.p server",
+        "selling 64 iron for 10 gold at /warp market",
+        "nice peacock statue at the cocktail bar",
+        "h3ll yeah we won the event!!!"
+    };
+
+    public static void main(String[] args) throws IOException {
+        int viewers = args.length > 0 ? Integer.parseInt(args[0]) : 150;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        MessageFilterService service = new MessageFilterService(plugin());
+        service.initialize();
+
+        Random random = new Random(42);
+        FilterLevel[] levels = FilterLevel.values();
+        FilterLevel[] viewerLevels = new FilterLevel[viewers];
+        for (int i = 0; i < viewers; i++) {
+            viewerLevels[i] = levels[random.nextInt(levels.length)];
+        }
+
+        // Same text for every viewer from both, or the comparison is meaningless
+        for (String message : MESSAGES) {
+            FilterResult analysis = service.analyzeAll(message);
+            for (FilterLevel level : levels) {
+                String memoized = service.filterMessage(analysis, level);
+                if (!memoized.equals(service.filterMessage(message, level))) {
+                    throw new IllegalStateException(message + " differs at " + level);
+                }
+            }
+        }
+        System.out.printf("%d viewers, %d messages per run%n", viewers, MESSAGES.length);
+
+        Benchmarks.report(
+                "per level",
+                seconds,
+                MESSAGES.length,
+                "broadcast",
+                () -> perLevel(service, viewerLevels));
+        Benchmarks.report(
+                "per viewer",
+                seconds,
+                MESSAGES.length,
+                "broadcast",
+                () -> perViewer(service, viewerLevels));
+    }
+
+    /** One analysis per message and one censor per level, as MemoizingChatRenderer does. */
+    private static int perLevel(MessageFilterService service, FilterLevel[] viewerLevels) {
+        int sink = 0;
+        for (String message : MESSAGES) {
+            FilterResult analysis = service.analyzeAll(message);
+            Map<FilterLevel, String> filteredByLevel = new EnumMap<>(FilterLevel.class);
+            for (FilterLevel level : viewerLevels) {
+                sink +=
+                        filteredByLevel
+                                .computeIfAbsent(level, l -> service.filterMessage(analysis, l))
+                                .length();
+            }
+        }
+        return sink;
+    }
+
+    /** The renderers before memoization: match and censor again for every viewer. */
+    private static int perViewer(MessageFilterService service, FilterLevel[] viewerLevels) {
+        int sink = 0;
+        for (String message : MESSAGES) {
+            for (FilterLevel level : viewerLevels) {
+                sink += service.filterMessage(message, level).length();
+            }
+        }
+        return sink;
+    }
+
+    private static ServerFilter plugin() throws IOException {
+        File dataFolder = Files.createTempDirectory("serverfilter").toFile();
+        dataFolder.deleteOnExit();
+        File wordlists = new File(dataFolder, "wordlists");
+        wordlists.mkdirs();
+        wordlists.deleteOnExit();
+        for (String name : new String[] {"slurs.yml", "extreme.yml", "moderate.yml", "mild.yml"}) {
+            File file = new File(wordlists, name);
+            try (InputStream in = resource("wordlists/" + name)) {
+                Files.copy(in, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            file.deleteOnExit();
+        }
+
+        YamlConfiguration config;
+        try (InputStream in = resource("config.yml")) {
+            config =
+                    YamlConfiguration.loadConfiguration(
+                            new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+
+        ServerFilter plugin = mock(ServerFilter.class);
+        when(plugin.getDataFolder()).thenReturn(dataFolder);
+        when(plugin.getConfig()).thenReturn(config);
+        when(plugin.getLogger()).thenReturn(Logger.getLogger("ServerFilter"));
+        when(plugin.getResource(anyString()))
+                .thenAnswer(invocation -> resource(invocation.getArgument(0)));
+        return plugin;
+    }
+
+    private static InputStream resource(String name) {
+        return ChatBroadcastBenchmark.class.getClassLoader().getResourceAsStream(name);
+    }
+}
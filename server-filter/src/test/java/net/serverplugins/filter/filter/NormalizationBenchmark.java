@@ -0,0 +1,219 @@
+package net.serverplugins.filter.filter;
+
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Pattern;
+import net.serverplugins.api.benchmark.Benchmarks;
+
+/**
+ * Times {@link NormalizationEngine} against the previous multi-pass normalizer (lowercase, NFD and
+ * a zalgo regex, boxed homoglyph and leet maps, a repeat pass and a separator regex) on plain ASCII
+ * chat and on adversarial unicode. Not a unit test, so surefire does not pick it up; run it from an
+ * IDE or with {@code java -cp target/classes:target/test-classes} plus the test classpath.
+ *
+ * <pre>
+ * NormalizationBenchmark [messages=1000] [seconds=5]
+ * </pre>
+ *
+ * <p>The unicode set mixes Cyrillic and Greek homoglyphs, accented letters, stacked zalgo marks,
+ * emoji and leet. {@code normalizeWithPositions} is timed too, since the matcher uses it.
+ */
+public final class NormalizationBenchmark {
+
+    private static final String[] ASCII_WORDS = {
+        "hello", "anyone", "want", "to", "trade", "diamonds", "at", "spawn", "gg", "lag",
+        "H3LL0", "c.r.@.p", "d-a-m-n", "noooooo", "lol!!!", "/warp", "market", "64", "iron"
+    };
+    // Homoglyphs, accents, emoji and leet, escaped since the lookalikes read as ASCII
+    private static final String[] UNICODE_WORDS = {
+        "h\u0435llo",
+        "\u0441r\u0430p",
+        "caf\u00e9",
+        "na\u00efve",
+        "r\u00e9sum\u00e9",
+        "\u03b1\u03b5\u03b9\u03bf",
+        "\u0422\u0415\u0421\u0422",
+        "\ud83d\ude00\ud83d\udd25",
+        "\u00fcber",
+        "\u0430\u0430\u0430\u0430\u0430",
+        "d\u0430mn",
+        "gg"
+    };
+
+    public static void main(String[] args) {
+        int messageCount = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        Random random = new Random(42);
+        String[] ascii = messages(ASCII_WORDS, messageCount, false, random);
+        String[] unicode = messages(UNICODE_WORDS, messageCount, true, random);
+        NormalizationEngine engine = new NormalizationEngine();
+        LegacyNormalizer legacy = new LegacyNormalizer();
+
+        System.out.printf(
+                "%d messages per run; outputs differ from legacy on %d ASCII, %d unicode%n",
+                messageCount, differing(engine, legacy, ascii), differing(engine, legacy, unicode));
+
+        for (String[] set : new String[][] {ascii, unicode}) {
+            String label = set == ascii ? "ascii" : "unicode";
+            Benchmarks.report(
+                    label + " single pass",
+                    seconds,
+                    set.length,
+                    "message",
+                    () -> normalize(engine, set));
+            Benchmarks.report(
+                    label + " positions",
+                    seconds,
+                    set.length,
+                    "message",
+                    () -> positions(engine, set));
+            Benchmarks.report(
+                    label + " legacy", seconds, set.length, "message", () -> legacy(legacy, set));
+        }
+    }
+
+    private static String[] messages(String[] words, int count, boolean zalgo, Random random) {
+        String[] messages = new String[count];
+        for (int i = 0; i < count; i++) {
+            StringBuilder message = new StringBuilder();
+            int length = 1 + random.nextInt(10);
+            for (int w = 0; w < length; w++) {
+                String word = words[random.nextInt(words.length)];
+                if (zalgo && random.nextInt(3) == 0) {
+                    // Stack a few combining marks on every letter
+                    for (char c : word.toCharArray()) {
+                        message.append(c);
+                        for (int m = random.nextInt(4); m > 0; m--) {
+                            message.append((char) (0x0300 + random.nextInt(0x70)));
+                        }
+                    }
+                } else {
+                    message.append(word);
+                }
+                message.append(' ');
+            }
+            messages[i] = message.toString();
+        }
+        return messages;
+    }
+
+    private static int differing(
+            NormalizationEngine engine, LegacyNormalizer legacy, String[] messages) {
+        int differing = 0;
+        for (String message : messages) {
+            if (!engine.normalize(message).equals(legacy.normalize(message))) {
+                differing++;
+            }
+        }
+        return differing;
+    }
+
+    private static int normalize(NormalizationEngine engine, String[] messages) {
+        int sink = 0;
+        for (String message : messages) {
+            sink += engine.normalize(message).length();
+        }
+        return sink;
+    }
+
+    private static int positions(NormalizationEngine engine, String[] messages) {
+        int sink = 0;
+        for (String message : messages) {
+            sink += engine.normalizeWithPositions(message).getText().length();
+        }
+        return sink;
+    }
+
+    private static int legacy(LegacyNormalizer legacy, String[] messages) {
+        int sink = 0;
+        for (String message : messages) {
+            sink += legacy.normalize(message).length();
+        }
+        return sink;
+    }
+
+    /** NormalizationEngine.normalize as it was before the single pass. */
+    private static final class LegacyNormalizer {
+
+        private static final Map<Character, Character> LEET_MAP = new HashMap<>();
+        private static final Map<Character, Character> HOMOGLYPH_MAP = new HashMap<>();
+        private static final Pattern ZALGO_PATTERN = Pattern.compile("[\\u0300-\\u036f\\u0489]");
+        private static final Pattern SEPARATOR_PATTERN =
+                Pattern.compile("[.\\-_*#@!$%^&()+=\\[\\]{}|\\\\:;\"'<>,?/~`\\s]+");
+
+        static {
+            put(LEET_MAP, "@4831!|05$7+296", "aabeiiiossttzgg");
+            // Cyrillic, Greek and accented lookalikes
+            put(
+                    HOMOGLYPH_MAP,
+                    "\u0430\u0435\u0456\u043e\u0440\u0441\u0443\u0445"
+                            + "\u0410\u0412\u0415\u041a\u041c\u041d\u041e\u0420\u0421\u0422\u0425"
+                            + "\u03b1\u03b5\u03b9\u03bf\u03c1\u03c5"
+                            + "\u00e0\u00e1\u00e2\u00e3\u00e4\u00e8\u00e9\u00ea\u00eb"
+                            + "\u00ec\u00ed\u00ee\u00ef\u00f2\u00f3\u00f4\u00f5\u00f6"
+                            + "\u00f9\u00fa\u00fb\u00fc",
+                    "aeiopcyx" + "abekmhopctx" + "aeiopu" + "aaaaaeeee" + "iiiiooooo" + "uuuu");
+        }
+
+        private static void put(Map<Character, Character> map, String from, String to) {
+            for (int i = 0; i < from.length(); i++) {
+                map.put(from.charAt(i), to.charAt(i));
+            }
+        }
+
+        String normalize(String input) {
+            if (input == null || input.isEmpty()) {
+                return "";
+            }
+
+            String result = input.toLowerCase();
+            result = removeZalgo(result);
+            result = replace(result, HOMOGLYPH_MAP);
+            result = replace(result, LEET_MAP);
+            result = removeRepeatedCharacters(result);
+            return SEPARATOR_PATTERN.matcher(result).replaceAll("");
+        }
+
+        private String removeZalgo(String input) {
+            String normalized = Normalizer.normalize(input, Normalizer.Form.NFD);
+            return ZALGO_PATTERN.matcher(normalized).replaceAll("");
+        }
+
+        private String replace(String input, Map<Character, Character> map) {
+            StringBuilder sb = new StringBuilder(input.length());
+            for (char c : input.toCharArray()) {
+                Character replacement = map.get(c);
+                sb.append(replacement != null ? replacement : c);
+            }
+            return sb.toString();
+        }
+
+        private String removeRepeatedCharacters(String input) {
+            if (input.length() < 3) {
+                return input;
+            }
+
+            StringBuilder sb = new StringBuilder();
+            char lastChar = 0;
+            int count = 0;
+
+            for (char c : input.toCharArray()) {
+                if (c == lastChar) {
+                    count++;
+                    if (count <= 2) {
+                        sb.append(c);
+                    }
+                } else {
+                    lastChar = c;
+                    count = 1;
+                    sb.append(c);
+                }
+            }
+
+            return sb.toString();
+        }
+    }
+}
@@ -290,4 +290,35 @@ class NormalizationEngineTest {
         assertThat(engine.normalizeForDisplay("H3...LL...0")).isEqualTo("he...ll...o");
         assertThat(engine.normalizeForDisplay("H3EEEELLLLL0")).isEqualTo("heeeeelllllo");
     }
+
+    @Test
+    @DisplayName("normalizeWithPositions() should match normalize()")
+    void testNormalizeWithPositionsText() {
+        String[] inputs = {"H3LLL0...W0RLD", "caf\u00e9", "h\u0435llo", "a.a.a", "\ud83d\ude00x"};
+        for (String input : inputs) {
+            assertThat(engine.normalizeWithPositions(input).getText())
+                    .isEqualTo(engine.normalize(input));
+        }
+    }
+
+    @Test
+    @DisplayName("normalizeWithPositions() should map characters back to the input")
+    void testNormalizeWithPositionsMapping() {
+        NormalizedText text = engine.normalizeWithPositions("x h.3.l.l.0 y");
+        assertThat(text.getText()).isEqualTo("xhelloy");
+        assertThat(text.toSourceStart(1)).isEqualTo(2);
+        assertThat(text.toSourceEnd(6)).isEqualTo(11);
+
+        // A decomposed accent is dropped but the base letter keeps its position
+        text = engine.normalizeWithPositions("cafe\u0301s");
+        assertThat(text.getText()).isEqualTo("cafes");
+        assertThat(text.toSourceStart(4)).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("normalize() should strip zalgo combining marks")
+    void testNormalizeZalgo() {
+        assertThat(engine.normalize("h\u0336\u0301e\u0489llo")).isEqualTo("hello");
+        assertThat(engine.normalizeForDisplay("H\u0300I")).isEqualTo("hi");
+    }
 }
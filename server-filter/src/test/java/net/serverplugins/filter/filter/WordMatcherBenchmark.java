@@ -0,0 +1,256 @@
+package net.serverplugins.filter.filter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import net.serverplugins.api.benchmark.Benchmarks;
+import net.serverplugins.filter.data.WordCategory;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+/**
+ * Times {@link WordMatcher#match} against the previous per-word {@code indexOf} scan followed by
+ * every regex, over all categories of the bundled word lists. Both use the current {@link
+ * NormalizationEngine}, so only matching is compared. Not a unit test, so surefire does not pick
+ * it up; run it from an IDE or with {@code java -cp target/classes:target/test-classes} plus the
+ * test classpath.
+ *
+ * <pre>
+ * WordMatcherBenchmark [messages=1000] [extraWords=0] [seconds=5]
+ * </pre>
+ *
+ * <p>Messages are one to twelve words drawn from the word lists, the whitelist and plain chat
+ * words, a quarter of them disguised with case, leet and separators. {@code extraWords} pads the
+ * MILD list with made-up words to see how both scale with list size.
+ */
+public final class WordMatcherBenchmark {
+
+    private static final Map<WordCategory, String> FILES =
+            Map.of(
+                    WordCategory.SLURS, "wordlists/slurs.yml",
+                    WordCategory.EXTREME, "wordlists/extreme.yml",
+                    WordCategory.MODERATE, "wordlists/moderate.yml",
+                    WordCategory.MILD, "wordlists/mild.yml");
+    private static final String[] CHAT_WORDS = {
+        "hello", "world", "the", "a", "gg", "anyone", "trade", "diamonds", "spawn", "lag", "base"
+    };
+    private static final Set<WordCategory> ALL = EnumSet.allOf(WordCategory.class);
+
+    public static void main(String[] args) throws IOException {
+        int messageCount = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int extraWords = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        Random random = new Random(42);
+        WordListManager wordListManager = wordLists(extraWords, random);
+        NormalizationEngine normalizer = new NormalizationEngine();
+        WordMatcher matcher = new WordMatcher(normalizer, wordListManager);
+        matcher.compilePatterns();
+        LinearScan linear = new LinearScan(normalizer, wordListManager);
+
+        List<String> vocabulary = new ArrayList<>(List.of(CHAT_WORDS));
+        for (WordCategory category : WordCategory.values()) {
+            vocabulary.addAll(wordListManager.getWords(category));
+        }
+        vocabulary.addAll(wordListManager.getWhitelistedWords());
+        Collections.sort(vocabulary);
+        String[] separators = {" ", " ", " ", ".", "-", "", "_ "};
+        String[] messages = new String[messageCount];
+        for (int i = 0; i < messageCount; i++) {
+            StringBuilder message = new StringBuilder();
+            int length = 1 + random.nextInt(12);
+            for (int w = 0; w < length; w++) {
+                String word = vocabulary.get(random.nextInt(vocabulary.size()));
+                if (random.nextInt(4) == 0) {
+                    word = disguise(word, random);
+                }
+                message.append(word).append(separators[random.nextInt(separators.length)]);
+            }
+            messages[i] = message.toString();
+        }
+
+        int words = 0;
+        for (WordCategory category : WordCategory.values()) {
+            words += wordListManager.getWords(category).size();
+        }
+        System.out.printf(
+                "%d words, %d messages per run: %d matches (linear %d)%n",
+                words, messageCount, automaton(matcher, messages), linear(linear, messages));
+
+        Benchmarks.report(
+                "automaton",
+                seconds,
+                messageCount,
+                "message",
+                () -> automaton(matcher, messages));
+        Benchmarks.report(
+                "linear", seconds, messageCount, "message", () -> linear(linear, messages));
+    }
+
+    private static int automaton(WordMatcher matcher, String[] messages) {
+        int matches = 0;
+        for (String message : messages) {
+            matches += matcher.match(message, ALL).getMatches().size();
+        }
+        return matches;
+    }
+
+    private static int linear(LinearScan linear, String[] messages) {
+        int matches = 0;
+        for (String message : messages) {
+            matches += linear.match(message, ALL);
+        }
+        return matches;
+    }
+
+    /**
+     * Word lists from the bundled resources. A fixed subclass rather than a mock, since the linear
+     * scan calls the getters for every word and mock dispatch would dominate its time.
+     */
+    private static WordListManager wordLists(int extraWords, Random random) throws IOException {
+        Set<String> whitelist = new HashSet<>();
+        for (String word : load("config.yml").getStringList("whitelist")) {
+            whitelist.add(word.toLowerCase());
+        }
+
+        Map<WordCategory, Set<String>> wordLists = new EnumMap<>(WordCategory.class);
+        Map<WordCategory, Set<Pattern>> patternLists = new EnumMap<>(WordCategory.class);
+        for (Map.Entry<WordCategory, String> file : FILES.entrySet()) {
+            YamlConfiguration config = load(file.getValue());
+            Set<String> words = new HashSet<>();
+            for (String word : config.getStringList("words")) {
+                words.add(word.toLowerCase());
+            }
+            if (file.getKey() == WordCategory.MILD) {
+                int target = words.size() + extraWords;
+                while (words.size() < target) {
+                    words.add(randomWord(random));
+                }
+            }
+            Set<Pattern> patterns = new HashSet<>();
+            for (String pattern : config.getStringList("patterns")) {
+                patterns.add(Pattern.compile(pattern, Pattern.CASE_INSENSITIVE));
+            }
+            wordLists.put(file.getKey(), words);
+            patternLists.put(file.getKey(), patterns);
+        }
+
+        return new WordListManager(null) {
+            @Override
+            public Set<String> getWords(WordCategory category) {
+                return wordLists.get(category);
+            }
+
+            @Override
+            public Set<Pattern> getPatterns(WordCategory category) {
+                return patternLists.get(category);
+            }
+
+            @Override
+            public Set<String> getWhitelistedWords() {
+                return whitelist;
+            }
+        };
+    }
+
+    private static String randomWord(Random random) {
+        char[] word = new char[4 + random.nextInt(6)];
+        for (int i = 0; i < word.length; i++) {
+            word[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(word);
+    }
+
+    private static String disguise(String word, Random random) {
+        StringBuilder out = new StringBuilder();
+        for (char c : word.toCharArray()) {
+            switch (random.nextInt(6)) {
+                case 0 -> out.append(Character.toUpperCase(c));
+                case 1 -> out.append(c == 'a' ? '@' : c == 'e' ? '3' : c == 'o' ? '0' : c);
+                case 2 -> out.append(c).append('.');
+                case 3 -> out.append(c).append(c).append(c);
+                default -> out.append(c);
+            }
+        }
+        return out.toString();
+    }
+
+    private static YamlConfiguration load(String resource) throws IOException {
+        try (InputStream stream =
+                WordMatcherBenchmark.class.getClassLoader().getResourceAsStream(resource)) {
+            return YamlConfiguration.loadConfiguration(
+                    new InputStreamReader(stream, StandardCharsets.UTF_8));
+        }
+    }
+
+    /** WordMatcher.match as it was before the automaton, counting matches. */
+    private static final class LinearScan {
+
+        private final NormalizationEngine normalizer;
+        private final WordListManager wordListManager;
+
+        LinearScan(NormalizationEngine normalizer, WordListManager wordListManager) {
+            this.normalizer = normalizer;
+            this.wordListManager = wordListManager;
+        }
+
+        int match(String message, Set<WordCategory> categoriesToCheck) {
+            String normalized = normalizer.normalize(message);
+            int matches = 0;
+
+            for (WordCategory category : categoriesToCheck) {
+                for (String word : wordListManager.getWords(category)) {
+                    if (matchesAsWholeWord(normalized, word)
+                            && !isPartOfWhitelistedWord(message.toLowerCase(), word)) {
+                        matches++;
+                    }
+                }
+
+                for (Pattern pattern : wordListManager.getPatterns(category)) {
+                    Matcher m = pattern.matcher(normalized);
+                    while (m.find()) {
+                        if (!isPartOfWhitelistedWord(message.toLowerCase(), m.group())) {
+                            matches++;
+                        }
+                    }
+                }
+            }
+            return matches;
+        }
+
+        private boolean isPartOfWhitelistedWord(String message, String matchedWord) {
+            for (String whitelisted : wordListManager.getWhitelistedWords()) {
+                if (message.contains(whitelisted) && whitelisted.contains(matchedWord)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean matchesAsWholeWord(String text, String word) {
+            int index = 0;
+            while ((index = text.indexOf(word, index)) >= 0) {
+                boolean startBoundary = index == 0 || !Character.isLetter(text.charAt(index - 1));
+                boolean endBoundary =
+                        index + word.length() >= text.length()
+                                || !Character.isLetter(text.charAt(index + word.length()));
+                if (startBoundary && endBoundary) {
+                    return true;
+                }
+                index++;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package net.serverplugins.filter.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import net.serverplugins.filter.data.FilterLevel;
+import net.serverplugins.filter.data.WordCategory;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("WordMatcher Tests")
+class WordMatcherTest {
+
+    private static final Map<WordCategory, String> FILES =
+            Map.of(
+                    WordCategory.SLURS, "wordlists/slurs.yml",
+                    WordCategory.EXTREME, "wordlists/extreme.yml",
+                    WordCategory.MODERATE, "wordlists/moderate.yml",
+                    WordCategory.MILD, "wordlists/mild.yml");
+
+    private NormalizationEngine normalizer;
+    private WordListManager wordListManager;
+    private WordMatcher matcher;
+
+    @BeforeEach
+    void setUp() {
+        normalizer = new NormalizationEngine();
+        wordListManager = mock(WordListManager.class);
+
+        Set<String> whitelist = new HashSet<>();
+        for (String word : load("config.yml").getStringList("whitelist")) {
+            whitelist.add(word.toLowerCase());
+        }
+        when(wordListManager.getWhitelistedWords()).thenReturn(whitelist);
+
+        for (Map.Entry<WordCategory, String> file : FILES.entrySet()) {
+            YamlConfiguration config = load(file.getValue());
+            Set<String> words = new HashSet<>();
+            for (String word : config.getStringList("words")) {
+                words.add(word.toLowerCase());
+            }
+            Set<Pattern> patterns = new HashSet<>();
+            for (String pattern : config.getStringList("patterns")) {
+                patterns.add(Pattern.compile(pattern, Pattern.CASE_INSENSITIVE));
+            }
+            when(wordListManager.getWords(file.getKey())).thenReturn(words);
+            when(wordListManager.getPatterns(file.getKey())).thenReturn(patterns);
+        }
+
+        matcher = new WordMatcher(normalizer, wordListManager);
+        matcher.compilePatterns();
+    }
+
+    @Test
+    @DisplayName("match() should find whole words and ignore words inside other words")
+    void testWordBoundaries() {
+        assertThat(matcher.match("hell", EnumSet.of(WordCategory.MILD)).hasMatches()).isTrue();
+        assertThat(matcher.match("hello", EnumSet.of(WordCategory.MILD)).hasMatches()).isFalse();
+        assertThat(matcher.match("crap", EnumSet.of(WordCategory.MILD)).getMatches())
+                .extracting(FilterResult.MatchedWord::matchedText)
+                .containsExactly("crap");
+    }
+
+    @Test
+    @DisplayName("match() should see through leet speak and separators")
+    void testNormalizedInput() {
+        assertThat(matcher.match("cr@p", EnumSet.of(WordCategory.MILD)).hasMatches()).isTrue();
+        assertThat(matcher.match("c.r.a.p", EnumSet.of(WordCategory.MILD)).hasMatches()).isTrue();
+    }
+
+    @Test
+    @DisplayName("match() should report offsets into the original message")
+    void testOriginalOffsets() {
+        String message = "oh C.r.@.p";
+        FilterResult.MatchedWord match =
+                matcher.match(message, EnumSet.of(WordCategory.MILD)).getMatches().get(0);
+        assertThat(message.substring(match.startIndex(), match.endIndex())).isEqualTo("C.r.@.p");
+
+        message = "\u0441r\u0430p";
+        match = matcher.match(message, EnumSet.of(WordCategory.MILD)).getMatches().get(0);
+        assertThat(match.startIndex()).isZero();
+        assertThat(match.endIndex()).isEqualTo(message.length());
+    }
+
+    @Test
+    @DisplayName("match() should only report the requested categories")
+    void testCategoryFilter() {
+        assertThat(matcher.match("crap", EnumSet.of(WordCategory.SLURS)).hasMatches()).isFalse();
+        assertThat(matcher.match("crap", Set.of()).hasMatches()).isFalse();
+    }
+
+    @Test
+    @DisplayName("match() should skip words that are part of a whitelisted word")
+    void testWhitelist() {
+        Set<WordCategory> all = EnumSet.allOf(WordCategory.class);
+        assertThat(matcher.match("cocktail", all).getMatches())
+                .noneMatch(m -> "cocktail".contains(m.matchedText()));
+        assertThat(matcher.match("nice peacock", all).getMatches())
+                .noneMatch(m -> "peacock".contains(m.matchedText()));
+    }
+
+    @Test
+    @DisplayName("match() should skip patterns running out of a whitelisted word")
+    void testPatternIntoWhitelistedWord() {
+        Set<WordCategory> all = EnumSet.allOf(WordCategory.class);
+        assertThat(matcher.match("nice peacock statue", all).hasMatches()).isFalse();
+        assertThat(matcher.match("cocks", all).hasMatches()).isTrue();
+    }
+
+    @Test
+    @DisplayName("match() should handle null and empty input")
+    void testEmptyInput() {
+        assertThat(matcher.match(null, EnumSet.allOf(WordCategory.class)).hasMatches()).isFalse();
+        assertThat(matcher.match("", EnumSet.allOf(WordCategory.class)).hasMatches()).isFalse();
+    }
+
+    @Test
+    @DisplayName("match() should skip empty regex matches")
+    void testEmptyRegexMatch() {
+        when(wordListManager.getPatterns(WordCategory.MILD))
+                .thenReturn(Set.of(Pattern.compile("x*")));
+        matcher.compilePatterns();
+
+        assertThat(matcher.match("hi", EnumSet.of(WordCategory.MILD)).hasMatches()).isFalse();
+        assertThat(matcher.match("hix", EnumSet.of(WordCategory.MILD)).getMatches())
+                .extracting(FilterResult.MatchedWord::matchedText)
+                .containsExactly("x");
+    }
+
+    @Test
+    @DisplayName("compilePatterns() should pick up reloaded word lists")
+    void testRecompile() {
+        when(wordListManager.getWords(WordCategory.MILD)).thenReturn(Set.of("zonk"));
+        assertThat(matcher.match("zonk", EnumSet.of(WordCategory.MILD)).hasMatches()).isFalse();
+
+        matcher.compilePatterns();
+        assertThat(matcher.match("zonk", EnumSet.of(WordCategory.MILD)).hasMatches()).isTrue();
+        assertThat(matcher.match("crap", EnumSet.of(WordCategory.MILD)).hasMatches()).isFalse();
+    }
+
+    @Test
+    @DisplayName("match() should report exactly what the per-word scan reported")
+    void testEquivalentToLinearScan() {
+        List<String> messages = new ArrayList<>(corpus());
+        Random random = new Random(42);
+        List<String> vocabulary = vocabulary();
+        String[] separators = {" ", " ", " ", ".", "-", "", "_ "};
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder message = new StringBuilder();
+            int length = 1 + random.nextInt(8);
+            for (int w = 0; w < length; w++) {
+                String word = vocabulary.get(random.nextInt(vocabulary.size()));
+                if (random.nextInt(4) == 0) {
+                    word = disguise(word, random);
+                }
+                message.append(word).append(separators[random.nextInt(separators.length)]);
+            }
+            messages.add(message.toString());
+        }
+
+        for (String message : messages) {
+            for (FilterLevel level : FilterLevel.values()) {
+                Set<WordCategory> categories = level.getBlockedCategories();
+                List<String> matched = new ArrayList<>();
+                for (FilterResult.MatchedWord m : matcher.match(message, categories).getMatches()) {
+                    matched.add(m.category() + ":" + m.matchedText());
+                }
+                // The matcher reports every occurrence of a word, the scan reported it once
+                assertThat(collapseRepeats(matched))
+                        .as("%s at %s", message, level)
+                        .containsExactlyElementsOf(collapseRepeats(linearScan(message, categories)));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("match() should report every standalone occurrence of a word")
+    void testRepeatedWord() {
+        // Separators are dropped, so the words need a non-letter between them to stand alone
+        String message = "crap \ud83d\ude00 C.r.@.p";
+        assertThat(matcher.match(message, EnumSet.of(WordCategory.MILD)).getMatches())
+                .extracting(m -> message.substring(m.startIndex(), m.endIndex()))
+                .containsExactly("crap", "C.r.@.p");
+    }
+
+    private static List<String> collapseRepeats(List<String> matches) {
+        List<String> collapsed = new ArrayList<>();
+        for (String match : matches) {
+            if (collapsed.isEmpty() || !collapsed.get(collapsed.size() - 1).equals(match)) {
+                collapsed.add(match);
+            }
+        }
+        return collapsed;
+    }
+
+    private List<String> corpus() {
+        return List.of(
+                "hello there",
+                "classic assassin pass",
+                "go to hell",
+                "HELL",
+                "h3ll yeah",
+                "d a m n",
+                "what a cocktail party",
+                "an alt account",
+                "scunthorpe united",
+                "f.u.c.k this",
+                "phuck",
+                "kys",
+                "b00bs",
+                "dammit, crap!!!",
+                "Вот это hell",
+                "nothing to see here");
+    }
+
+    private List<String> vocabulary() {
+        List<String> vocabulary = new ArrayList<>(List.of("hello", "world", "the", "a", "gg"));
+        for (WordCategory category : WordCategory.values()) {
+            vocabulary.addAll(wordListManager.getWords(category));
+        }
+        vocabulary.addAll(wordListManager.getWhitelistedWords());
+        Collections.sort(vocabulary);
+        return vocabulary;
+    }
+
+    private String disguise(String word, Random random) {
+        StringBuilder out = new StringBuilder();
+        for (char c : word.toCharArray()) {
+            switch (random.nextInt(6)) {
+                case 0 -> out.append(Character.toUpperCase(c));
+                case 1 -> out.append(c == 'a' ? '@' : c == 'e' ? '3' : c == 'o' ? '0' : c);
+                case 2 -> out.append(c).append('.');
+                case 3 -> out.append(c).append(c).append(c);
+                default -> out.append(c);
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * The matcher as it was before the automaton: a substring scan per word, then regexes, plus
+     * the rule that skips regex matches touching a whitelisted word. Only category and text are
+     * compared, as offsets now point into the original message.
+     */
+    private List<String> linearScan(String message, Set<WordCategory> categoriesToCheck) {
+        String normalized = normalizer.normalize(message);
+        List<String> matches = new ArrayList<>();
+
+        for (WordCategory category : categoriesToCheck) {
+            for (String word : wordListManager.getWords(category)) {
+                if (matchesAsWholeWord(normalized, word)
+                        && !isPartOfWhitelistedWord(message.toLowerCase(), word)) {
+                    matches.add(category + ":" + word);
+                }
+            }
+
+            for (Pattern pattern : wordListManager.getPatterns(category)) {
+                Matcher m = pattern.matcher(normalized);
+                while (m.find()) {
+                    String matched = m.group();
+                    if (!isPartOfWhitelistedWord(message.toLowerCase(), matched)
+                            && !touchesWhitelistedWord(normalized, m.start(), m.end())) {
+                        matches.add(category + ":" + matched);
+                    }
+                }
+            }
+        }
+        return matches;
+    }
+
+    private boolean isPartOfWhitelistedWord(String message, String matchedWord) {
+        for (String whitelisted : wordListManager.getWhitelistedWords()) {
+            if (message.contains(whitelisted) && whitelisted.contains(matchedWord)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean touchesWhitelistedWord(String normalized, int start, int end) {
+        for (String whitelisted : wordListManager.getWhitelistedWords()) {
+            int index = 0;
+            while ((index = normalized.indexOf(whitelisted, index)) >= 0) {
+                if (index < end && index + whitelisted.length() > start) {
+                    return true;
+                }
+                index++;
+            }
+        }
+        return false;
+    }
+
+    private boolean matchesAsWholeWord(String text, String word) {
+        int index = 0;
+        while ((index = text.indexOf(word, index)) >= 0) {
+            boolean startBoundary = index == 0 || !Character.isLetter(text.charAt(index - 1));
+            boolean endBoundary =
+                    index + word.length() >= text.length()
+                            || !Character.isLetter(text.charAt(index + word.length()));
+            if (startBoundary && endBoundary) {
+                return true;
+            }
+            index++;
+        }
+        return false;
+    }
+
+    private YamlConfiguration load(String resource) {
+        InputStream stream = getClass().getClassLoader().getResourceAsStream(resource);
+        assertThat(stream).as(resource).isNotNull();
+        return YamlConfiguration.loadConfiguration(
+                new InputStreamReader(stream, StandardCharsets.UTF_8));
+    }
+}
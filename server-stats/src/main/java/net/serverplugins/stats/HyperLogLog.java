@@ -0,0 +1,91 @@
+package net.serverplugins.stats;
+
+import java.util.UUID;
+
+/**
+ * Fixed-size estimate of how many distinct players were seen, in 4 KB regardless of the count.
+ * Sketches combine with {@link #merge(HyperLogLog)}, so hourly sketches add up to daily and weekly
+ * ones without keeping the players themselves. The standard error is about 1.6%, and small counts
+ * are close to exact.
+ *
+ * <p>Not thread-safe.
+ */
+public final class HyperLogLog {
+
+    static final int PRECISION = 12;
+    static final int REGISTERS = 1 << PRECISION;
+
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this(new byte[REGISTERS]);
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+
+    public void add(UUID id) {
+        addHash(mix(mix(id.getMostSignificantBits()) ^ id.getLeastSignificantBits()));
+    }
+
+    void addHash(long hash) {
+        int index = (int) (hash >>> (64 - PRECISION));
+        // Position of the first set bit after the index bits; the low marker bit caps it
+        long rest = (hash << PRECISION) | (1L << (PRECISION - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(rest) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+
+    /** Fold another sketch in, as if its players had been added to this one. */
+    public void merge(HyperLogLog other) {
+        for (int i = 0; i < REGISTERS; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double alpha = 0.7213 / (1 + 1.079 / REGISTERS);
+        double estimate = alpha * REGISTERS * REGISTERS / sum;
+        // Small counts are more accurate from the share of untouched registers
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public HyperLogLog copy() {
+        return new HyperLogLog(registers.clone());
+    }
+
+    public byte[] toBytes() {
+        return registers.clone();
+    }
+
+    /** Restore a sketch saved by {@link #toBytes()}; anything else gives an empty sketch. */
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != REGISTERS) {
+            return new HyperLogLog();
+        }
+        return new HyperLogLog(bytes.clone());
+    }
+
+    // 64-bit finalizer from MurmurHash3, so every input bit affects the index and the rank
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
@@ -0,0 +1,125 @@
+package net.serverplugins.stats;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+/**
+ * Statistics aggregated over one time bucket. A minute's rollup is merged into the open hour, day
+ * and week rollups, so the longer buckets never have to be recomputed from the shorter ones.
+ *
+ * <p>Not thread-safe: rollups are filled on the main thread and copied before being written.
+ */
+final class Rollup {
+
+    /** Bucket sizes, aligned to the server's time zone. Weeks start on Monday. */
+    enum Resolution {
+        MINUTE,
+        HOUR,
+        DAY,
+        WEEK;
+
+        /** Start of the bucket containing the instant, in epoch milliseconds. */
+        long bucketStart(long epochMillis, ZoneId zone) {
+            if (this == MINUTE) {
+                return epochMillis - Math.floorMod(epochMillis, 60_000L);
+            }
+            ZonedDateTime time = Instant.ofEpochMilli(epochMillis).atZone(zone);
+            ZonedDateTime start =
+                    switch (this) {
+                        case HOUR -> time.truncatedTo(ChronoUnit.HOURS);
+                        case DAY -> time.toLocalDate().atStartOfDay(zone);
+                        default ->
+                                time.toLocalDate()
+                                        .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                                        .atStartOfDay(zone);
+                    };
+            return start.toInstant().toEpochMilli();
+        }
+
+        String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        /** The resolution with the given key, or null if there is none. */
+        static Resolution fromKey(String key) {
+            for (Resolution resolution : values()) {
+                if (resolution.key().equalsIgnoreCase(key)) {
+                    return resolution;
+                }
+            }
+            return null;
+        }
+    }
+
+    long blocksPlaced;
+    long mobsKilled;
+    long joins;
+    long newPlayers;
+
+    // One sample per second of online count, TPS and tick time
+    int onlineMax;
+    long onlineSum;
+    long samples;
+    long playerMillis;
+    double tpsSum;
+    double msptSum;
+    double msptMax;
+
+    final HyperLogLog players;
+
+    Rollup() {
+        this(new HyperLogLog());
+    }
+
+    Rollup(HyperLogLog players) {
+        this.players = players;
+    }
+
+    void recordSample(int online, double tps, double mspt, long elapsedMillis) {
+        onlineMax = Math.max(onlineMax, online);
+        onlineSum += online;
+        samples++;
+        playerMillis += online * elapsedMillis;
+        tpsSum += tps;
+        msptSum += mspt;
+        msptMax = Math.max(msptMax, mspt);
+    }
+
+    void merge(Rollup other) {
+        blocksPlaced += other.blocksPlaced;
+        mobsKilled += other.mobsKilled;
+        joins += other.joins;
+        newPlayers += other.newPlayers;
+        onlineMax = Math.max(onlineMax, other.onlineMax);
+        onlineSum += other.onlineSum;
+        samples += other.samples;
+        playerMillis += other.playerMillis;
+        tpsSum += other.tpsSum;
+        msptSum += other.msptSum;
+        msptMax = Math.max(msptMax, other.msptMax);
+        players.merge(other.players);
+    }
+
+    Rollup copy() {
+        Rollup copy = new Rollup();
+        copy.merge(this);
+        return copy;
+    }
+
+    double averageOnline() {
+        return samples == 0 ? 0 : (double) onlineSum / samples;
+    }
+
+    double averageTps() {
+        return samples == 0 ? 0 : tpsSum / samples;
+    }
+
+    double averageMspt() {
+        return samples == 0 ? 0 : msptSum / samples;
+    }
+}
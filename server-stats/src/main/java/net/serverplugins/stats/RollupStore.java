@@ -0,0 +1,382 @@
+package net.serverplugins.stats;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.logging.Logger;
+import net.serverplugins.api.database.Database;
+import net.serverplugins.stats.Rollup.Resolution;
+
+/**
+ * Stores rollups in {@code server_stats_rollups}, one row per resolution and bucket, and lifetime
+ * totals in {@code server_stats_totals}.
+ *
+ * <p>Each closed minute is written in one transaction: the minute row is added to, the open hour,
+ * day and week rows are overwritten with their in-memory aggregates, and the totals are
+ * incremented. Writes run on the given executor in submission order; a failed write stays queued
+ * and is retried with the next one.
+ */
+final class RollupStore {
+
+    /** A closed minute and the open longer buckets it was merged into. */
+    record Batch(
+            long minuteStart,
+            Rollup minute,
+            Map<Resolution, Long> openStarts,
+            Map<Resolution, Rollup> open) {}
+
+    /** Lifetime totals as last persisted. */
+    record Totals(long players, long playerMillis, long blocksPlaced, long mobsKilled) {}
+
+    /** One bucket as served by the history endpoint. */
+    record Point(
+            long start,
+            long blocksPlaced,
+            long mobsKilled,
+            long joins,
+            long newPlayers,
+            long uniquePlayers,
+            int onlineMax,
+            double averageOnline,
+            long playerMillis,
+            double averageTps,
+            double averageMspt,
+            double msptMax) {}
+
+    static final String TOTAL_PLAYERS = "total_players";
+    static final String TOTAL_PLAYER_MILLIS = "player_millis";
+    static final String TOTAL_BLOCKS_PLACED = "blocks_placed";
+    static final String TOTAL_MOBS_KILLED = "mobs_killed";
+
+    // Minutes kept queued while the database is unreachable
+    private static final int MAX_PENDING = 120;
+    private static final long PRUNE_INTERVAL_MS = 60 * 60 * 1000L;
+    private static final long DAY_MS = 24 * 60 * 60 * 1000L;
+
+    private static final String COLUMNS =
+            "resolution, bucket_start, blocks_placed, mobs_killed, joins, new_players,"
+                    + " unique_players, online_max, online_sum, samples, player_millis, tps_sum,"
+                    + " mspt_sum, mspt_max";
+
+    private static final String INSERT =
+            "INSERT INTO server_stats_rollups ("
+                    + COLUMNS
+                    + ", players_hll) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"
+                    + " ON DUPLICATE KEY UPDATE ";
+
+    // A minute can be written twice when the server restarts within it
+    private static final String ADD_MINUTE =
+            INSERT
+                    + "blocks_placed = blocks_placed + VALUES(blocks_placed),"
+                    + " mobs_killed = mobs_killed + VALUES(mobs_killed),"
+                    + " joins = joins + VALUES(joins),"
+                    + " new_players = new_players + VALUES(new_players),"
+                    + " unique_players = GREATEST(unique_players, VALUES(unique_players)),"
+                    + " online_max = GREATEST(online_max, VALUES(online_max)),"
+                    + " online_sum = online_sum + VALUES(online_sum),"
+                    + " samples = samples + VALUES(samples),"
+                    + " player_millis = player_millis + VALUES(player_millis),"
+                    + " tps_sum = tps_sum + VALUES(tps_sum),"
+                    + " mspt_sum = mspt_sum + VALUES(mspt_sum),"
+                    + " mspt_max = GREATEST(mspt_max, VALUES(mspt_max))";
+
+    private static final String PUT_OPEN =
+            INSERT
+                    + "blocks_placed = VALUES(blocks_placed),"
+                    + " mobs_killed = VALUES(mobs_killed),"
+                    + " joins = VALUES(joins),"
+                    + " new_players = VALUES(new_players),"
+                    + " unique_players = VALUES(unique_players),"
+                    + " online_max = VALUES(online_max),"
+                    + " online_sum = VALUES(online_sum),"
+                    + " samples = VALUES(samples),"
+                    + " player_millis = VALUES(player_millis),"
+                    + " tps_sum = VALUES(tps_sum),"
+                    + " mspt_sum = VALUES(mspt_sum),"
+                    + " mspt_max = VALUES(mspt_max),"
+                    + " players_hll = VALUES(players_hll)";
+
+    private static final String ADD_TOTAL =
+            "INSERT INTO server_stats_totals (stat_key, stat_value) VALUES (?, ?)"
+                    + " ON DUPLICATE KEY UPDATE stat_value = stat_value + VALUES(stat_value)";
+
+    private final Database database;
+    private final Logger logger;
+    private final Executor executor;
+    private final int minuteRetentionDays;
+    private final int hourRetentionDays;
+
+    private final ConcurrentLinkedDeque<Batch> pending = new ConcurrentLinkedDeque<>();
+    private long lastPrune;
+    private volatile boolean closing;
+
+    RollupStore(
+            Database database,
+            Logger logger,
+            Executor executor,
+            int minuteRetentionDays,
+            int hourRetentionDays) {
+        this.database = database;
+        this.logger = logger;
+        this.executor = executor;
+        this.minuteRetentionDays = minuteRetentionDays;
+        this.hourRetentionDays = hourRetentionDays;
+    }
+
+    void createTables() {
+        database.execute(
+                """
+                CREATE TABLE IF NOT EXISTS server_stats_rollups (
+                    resolution VARCHAR(8) NOT NULL,
+                    bucket_start BIGINT NOT NULL,
+                    blocks_placed BIGINT NOT NULL DEFAULT 0,
+                    mobs_killed BIGINT NOT NULL DEFAULT 0,
+                    joins BIGINT NOT NULL DEFAULT 0,
+                    new_players BIGINT NOT NULL DEFAULT 0,
+                    unique_players BIGINT NOT NULL DEFAULT 0,
+                    online_max INT NOT NULL DEFAULT 0,
+                    online_sum BIGINT NOT NULL DEFAULT 0,
+                    samples BIGINT NOT NULL DEFAULT 0,
+                    player_millis BIGINT NOT NULL DEFAULT 0,
+                    tps_sum DOUBLE NOT NULL DEFAULT 0,
+                    mspt_sum DOUBLE NOT NULL DEFAULT 0,
+                    mspt_max DOUBLE NOT NULL DEFAULT 0,
+                    players_hll BLOB NULL,
+                    PRIMARY KEY (resolution, bucket_start)
+                )
+                """);
+        database.execute(
+                """
+                CREATE TABLE IF NOT EXISTS server_stats_totals (
+                    stat_key VARCHAR(32) NOT NULL PRIMARY KEY,
+                    stat_value BIGINT NOT NULL DEFAULT 0
+                )
+                """);
+    }
+
+    /**
+     * Load the lifetime totals. On first run they are seeded once from {@code server_playtime},
+     * which is the only time that table is read.
+     */
+    Totals loadTotals() throws SQLException {
+        Map<String, Long> values =
+                database.query(
+                        "SELECT stat_key, stat_value FROM server_stats_totals",
+                        rs -> {
+                            Map<String, Long> result = new LinkedHashMap<>();
+                            while (rs.next()) {
+                                result.put(rs.getString("stat_key"), rs.getLong("stat_value"));
+                            }
+                            return result;
+                        });
+
+        if (!values.containsKey(TOTAL_PLAYERS)) {
+            long players = 0;
+            long playerSeconds = 0;
+            try (ResultSet rs =
+                    database.executeQuery(
+                            "SELECT COUNT(*) AS players, COALESCE(SUM(total_seconds), 0) AS seconds"
+                                    + " FROM server_playtime")) {
+                if (rs.next()) {
+                    players = rs.getLong("players");
+                    playerSeconds = rs.getLong("seconds");
+                }
+            } catch (SQLException e) {
+                logger.info("No playtime history to seed stats totals from: " + e.getMessage());
+            }
+
+            List<Object[]> seed = new ArrayList<>();
+            seed.add(new Object[] {TOTAL_PLAYERS, players});
+            seed.add(new Object[] {TOTAL_PLAYER_MILLIS, playerSeconds * 1000});
+            database.executeBatch(ADD_TOTAL, seed);
+            values.put(TOTAL_PLAYERS, players);
+            values.put(TOTAL_PLAYER_MILLIS, playerSeconds * 1000);
+            logger.info("Seeded stats totals: " + players + " players");
+        }
+
+        return new Totals(
+                values.getOrDefault(TOTAL_PLAYERS, 0L),
+                values.getOrDefault(TOTAL_PLAYER_MILLIS, 0L),
+                values.getOrDefault(TOTAL_BLOCKS_PLACED, 0L),
+                values.getOrDefault(TOTAL_MOBS_KILLED, 0L));
+    }
+
+    /** The stored rollup for a bucket, or null if none was written yet. */
+    Rollup loadOpen(Resolution resolution, long bucketStart) {
+        return database.query(
+                "SELECT "
+                        + COLUMNS
+                        + ", players_hll FROM server_stats_rollups"
+                        + " WHERE resolution = ? AND bucket_start = ?",
+                rs -> {
+                    if (!rs.next()) {
+                        return null;
+                    }
+                    Rollup rollup = new Rollup(HyperLogLog.fromBytes(rs.getBytes("players_hll")));
+                    rollup.blocksPlaced = rs.getLong("blocks_placed");
+                    rollup.mobsKilled = rs.getLong("mobs_killed");
+                    rollup.joins = rs.getLong("joins");
+                    rollup.newPlayers = rs.getLong("new_players");
+                    rollup.onlineMax = rs.getInt("online_max");
+                    rollup.onlineSum = rs.getLong("online_sum");
+                    rollup.samples = rs.getLong("samples");
+                    rollup.playerMillis = rs.getLong("player_millis");
+                    rollup.tpsSum = rs.getDouble("tps_sum");
+                    rollup.msptSum = rs.getDouble("mspt_sum");
+                    rollup.msptMax = rs.getDouble("mspt_max");
+                    return rollup;
+                },
+                resolution.key(),
+                bucketStart);
+    }
+
+    /** Queue a batch and schedule its write. After {@link #close()} batches are only queued. */
+    void submit(Batch batch) {
+        pending.addLast(batch);
+        while (pending.size() > MAX_PENDING) {
+            Batch dropped = pending.pollFirst();
+            if (dropped != null) {
+                logger.warning("Dropped unsaved stats for minute " + dropped.minuteStart());
+            }
+        }
+        if (!closing) {
+            executor.execute(this::flush);
+        }
+    }
+
+    /**
+     * Stop scheduling writes, for shutdown when the executor may no longer accept tasks. Batches
+     * submitted afterwards stay queued until {@link #flush()} is called.
+     */
+    void close() {
+        closing = true;
+    }
+
+    /** Write every queued batch, oldest first. Safe to call from any thread. */
+    synchronized void flush() {
+        Batch batch;
+        while ((batch = pending.peekFirst()) != null) {
+            try {
+                write(batch);
+            } catch (SQLException e) {
+                logger.warning("Failed to save stats rollup, will retry: " + e.getMessage());
+                return;
+            }
+            pending.pollFirst();
+        }
+
+        long now = System.currentTimeMillis();
+        if (now - lastPrune >= PRUNE_INTERVAL_MS) {
+            lastPrune = now;
+            prune(Resolution.MINUTE, minuteRetentionDays, now);
+            prune(Resolution.HOUR, hourRetentionDays, now);
+        }
+    }
+
+    private void write(Batch batch) throws SQLException {
+        Rollup minute = batch.minute();
+        Map<String, List<Object[]>> statements = new LinkedHashMap<>();
+        List<Object[]> minuteRows = new ArrayList<>(1);
+        minuteRows.add(row(Resolution.MINUTE, batch.minuteStart(), minute, null));
+        statements.put(ADD_MINUTE, minuteRows);
+
+        List<Object[]> openRows = new ArrayList<>(batch.open().size());
+        for (Map.Entry<Resolution, Rollup> entry : batch.open().entrySet()) {
+            Rollup rollup = entry.getValue();
+            openRows.add(
+                    row(
+                            entry.getKey(),
+                            batch.openStarts().get(entry.getKey()),
+                            rollup,
+                            rollup.players.toBytes()));
+        }
+        statements.put(PUT_OPEN, openRows);
+
+        List<Object[]> totals = new ArrayList<>(4);
+        totals.add(new Object[] {TOTAL_PLAYERS, minute.newPlayers});
+        totals.add(new Object[] {TOTAL_PLAYER_MILLIS, minute.playerMillis});
+        totals.add(new Object[] {TOTAL_BLOCKS_PLACED, minute.blocksPlaced});
+        totals.add(new Object[] {TOTAL_MOBS_KILLED, minute.mobsKilled});
+        statements.put(ADD_TOTAL, totals);
+
+        database.executeBatches(statements);
+    }
+
+    private static Object[] row(Resolution resolution, long start, Rollup rollup, byte[] hll) {
+        return new Object[] {
+            resolution.key(),
+            start,
+            rollup.blocksPlaced,
+            rollup.mobsKilled,
+            rollup.joins,
+            rollup.newPlayers,
+            rollup.players.estimate(),
+            rollup.onlineMax,
+            rollup.onlineSum,
+            rollup.samples,
+            rollup.playerMillis,
+            rollup.tpsSum,
+            rollup.msptSum,
+            rollup.msptMax,
+            hll
+        };
+    }
+
+    private void prune(Resolution resolution, int retentionDays, long now) {
+        if (retentionDays <= 0) {
+            return;
+        }
+        try {
+            database.executeUpdate(
+                    "DELETE FROM server_stats_rollups WHERE resolution = ? AND bucket_start < ?",
+                    resolution.key(),
+                    now - retentionDays * DAY_MS);
+        } catch (SQLException e) {
+            logger.warning("Failed to prune " + resolution.key() + " stats: " + e.getMessage());
+        }
+    }
+
+    /** Buckets starting in [from, to), oldest first. */
+    List<Point> history(Resolution resolution, long from, long to, int limit) {
+        return database.query(
+                "SELECT "
+                        + COLUMNS
+                        + " FROM server_stats_rollups"
+                        + " WHERE resolution = ? AND bucket_start >= ? AND bucket_start < ?"
+                        + " ORDER BY bucket_start LIMIT ?",
+                rs -> {
+                    List<Point> points = new ArrayList<>();
+                    while (rs.next()) {
+                        long samples = rs.getLong("samples");
+                        points.add(
+                                new Point(
+                                        rs.getLong("bucket_start"),
+                                        rs.getLong("blocks_placed"),
+                                        rs.getLong("mobs_killed"),
+                                        rs.getLong("joins"),
+                                        rs.getLong("new_players"),
+                                        rs.getLong("unique_players"),
+                                        rs.getInt("online_max"),
+                                        average(rs.getLong("online_sum"), samples),
+                                        rs.getLong("player_millis"),
+                                        average(rs.getDouble("tps_sum"), samples),
+                                        average(rs.getDouble("mspt_sum"), samples),
+                                        rs.getDouble("mspt_max")));
+                    }
+                    return points;
+                },
+                resolution.key(),
+                from,
+                to,
+                limit);
+    }
+
+    private static double average(double sum, long samples) {
+        return samples == 0 ? 0 : sum / samples;
+    }
+}
@@ -1,24 +1,24 @@
 package net.serverplugins.stats;
 
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.time.temporal.ChronoUnit;
+import java.time.ZoneId;
+import net.serverplugins.api.ServerAPI;
+import net.serverplugins.api.database.Database;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.java.JavaPlugin;
 
 /**
  * ServerStats plugin - provides HTTP API for server statistics.
  *
- * <p>Features: - Real-time stats tracking (blocks placed, mobs killed, unique players, peak online)
- * - HTTP API server on configurable port - Daily stats reset at midnight - CORS-enabled JSON
- * endpoint
+ * <p>Features: - Real-time stats tracking (blocks placed, mobs killed, unique players, peak online,
+ * TPS and tick time) - Minute, hour, day and week rollups persisted to the database - HTTP API
+ * server on configurable port - CORS-enabled JSON endpoint
  */
 public class ServerStats extends JavaPlugin {
 
     private static ServerStats instance;
     private StatsConfig statsConfig;
     private StatsTracker tracker;
+    private RollupStore rollupStore;
     private StatsApiServer apiServer;
 
     @Override
@@ -27,20 +27,45 @@ public class ServerStats extends JavaPlugin {
         saveDefaultConfig();
         statsConfig = new StatsConfig(this);
 
-        // Initialize tracker and register events
-        tracker = new StatsTracker();
+        // Rollups are only kept when ServerAPI has a database
+        ServerAPI api = ServerAPI.getInstance();
+        Database database = api != null ? api.getDatabase() : null;
+        if (database != null) {
+            rollupStore =
+                    new RollupStore(
+                            database,
+                            getLogger(),
+                            task -> Bukkit.getScheduler().runTaskAsynchronously(this, task),
+                            statsConfig.getMinuteRetentionDays(),
+                            statsConfig.getHourRetentionDays());
+        }
+
+        // Initialize tracker and continue from the saved rollups
+        tracker =
+                new StatsTracker(
+                        ZoneId.systemDefault(),
+                        System.currentTimeMillis(),
+                        rollupStore != null ? rollupStore::submit : batch -> {});
+        if (rollupStore != null) {
+            try {
+                rollupStore.createTables();
+                tracker.restore(rollupStore, rollupStore.loadTotals());
+            } catch (Exception e) {
+                getLogger().warning("Failed to load saved stats: " + e.getMessage());
+            }
+        }
         getServer().getPluginManager().registerEvents(tracker, this);
 
-        // Seed initial peak online count with current player count
+        // Count players already online
         tracker.seedInitialOnline();
 
+        // Sample online count, TPS and tick time every second
+        Bukkit.getScheduler().runTaskTimer(this, tracker::sample, 20L, 20L);
+
         // Start HTTP API server
-        apiServer = new StatsApiServer(this, tracker);
+        apiServer = new StatsApiServer(this, tracker, rollupStore);
         apiServer.start();
 
-        // Schedule daily reset at midnight
-        scheduleDailyReset();
-
         getLogger().info("ServerStats enabled - API on port " + statsConfig.getHttpPort());
     }
 
@@ -49,31 +74,16 @@ public class ServerStats extends JavaPlugin {
         if (apiServer != null) {
             apiServer.stop();
         }
+        // Save the partial minute along with anything still queued. The scheduler rejects tasks from
+        // a disabled plugin, so the store only queues the last batch and is drained here
+        if (tracker != null && rollupStore != null) {
+            rollupStore.close();
+            tracker.flush();
+            rollupStore.flush();
+        }
         instance = null;
     }
 
-    /**
-     * Schedule a daily reset task that runs at midnight.
-     *
-     * <p>Calculates ticks until midnight, then repeats every 24 hours.
-     */
-    private void scheduleDailyReset() {
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime midnight = LocalDate.now().plusDays(1).atTime(LocalTime.MIDNIGHT);
-        long secondsUntilMidnight = ChronoUnit.SECONDS.between(now, midnight);
-        long ticksUntilMidnight = secondsUntilMidnight * 20L;
-        long ticksPerDay = 20L * 60 * 60 * 24;
-
-        Bukkit.getScheduler()
-                .runTaskTimer(this, () -> tracker.resetDaily(), ticksUntilMidnight, ticksPerDay);
-
-        getLogger()
-                .info(
-                        "Daily stats reset scheduled for midnight ("
-                                + secondsUntilMidnight
-                                + " seconds)");
-    }
-
     public static ServerStats getInstance() {
         return instance;
     }
@@ -6,48 +6,66 @@ import com.sun.net.httpserver.HttpServer;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.net.InetSocketAddress;
+import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
-import java.sql.ResultSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import net.serverplugins.api.ServerAPI;
-import net.serverplugins.api.database.Database;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import net.serverplugins.stats.Rollup.Resolution;
 
 /**
  * HTTP server for ServerStats API.
  *
- * <p>Serves a single endpoint at /api/stats that returns JSON with server statistics:
+ * <p>{@code GET /api/stats} returns JSON with server statistics:
  *
  * <ul>
  *   <li>totalPlayers - total unique players who have joined the server
  *   <li>totalPlaytime - total hours played across all players
  *   <li>blocksPlaced - blocks placed today
  *   <li>mobsKilled - mobs killed today
- *   <li>uniquePlayersToday - unique players who joined today
+ *   <li>uniquePlayersToday - unique players who joined today (estimated)
  *   <li>peakOnlineToday - peak concurrent players today
+ *   <li>onlinePlayers, tps, mspt - the latest sample
+ *   <li>lifetimeBlocksPlaced, lifetimeMobsKilled - totals since tracking started
  * </ul>
  *
+ * <p>{@code GET /api/stats?resolution=minute|hour|day|week&from=&to=} returns the rollups whose
+ * buckets start in [from, to), given in epoch milliseconds. Both bounds are optional and default to
+ * a span suited to the resolution, ending now. The summary comes from memory and history from the
+ * rollup table, so no request reads player data.
+ *
  * <p>CORS is configurable per origin. Rate limiting is enforced per IP.
  */
 public class StatsApiServer {
 
+    private static final int MAX_POINTS = 1500;
+    private static final int MAX_CACHED = 256;
+
     private final ServerStats plugin;
     private final StatsTracker tracker;
+    private final RollupStore store;
     private HttpServer server;
+    private ExecutorService executor;
+
+    // Cache, keyed by the query string as sent
+    private record CachedResponse(String json, long timestamp) {}
 
-    // Cache
-    private volatile String cachedResponse;
-    private volatile long cacheTimestamp;
+    private final Map<String, CachedResponse> cache = new ConcurrentHashMap<>();
 
     // Rate limiting
     private final Map<String, long[]> rateLimits = new ConcurrentHashMap<>();
     private static final int MAX_REQUESTS = 30;
     private static final long WINDOW_MS = 60_000;
 
-    public StatsApiServer(ServerStats plugin, StatsTracker tracker) {
+    /** The store may be null when there is no database; history requests then get a 503. */
+    public StatsApiServer(ServerStats plugin, StatsTracker tracker, RollupStore store) {
         this.plugin = plugin;
         this.tracker = tracker;
+        this.store = store;
     }
 
     /**
@@ -60,7 +78,9 @@ public class StatsApiServer {
         try {
             server = HttpServer.create(new InetSocketAddress(port), 0);
             server.createContext("/api/stats", new StatsHandler());
-            server.setExecutor(null);
+            // One virtual thread per request, so a slow history query only blocks its own
+            executor = Executors.newVirtualThreadPerTaskExecutor();
+            server.setExecutor(executor);
             server.start();
             plugin.getLogger().info("Stats API started on port " + port);
         } catch (IOException e) {
@@ -74,6 +94,10 @@ public class StatsApiServer {
             server.stop(0);
             plugin.getLogger().info("Stats API stopped");
         }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
     }
 
     /** Handler for /api/stats endpoint. */
@@ -94,63 +118,49 @@ public class StatsApiServer {
             }
 
             // Check cache
+            String query = exchange.getRequestURI().getRawQuery();
+            String cacheKey = query == null ? "" : query;
             int cacheTtl = plugin.getStatsConfig().getCacheTtl();
-            if (cachedResponse != null
-                    && (System.currentTimeMillis() - cacheTimestamp) < cacheTtl * 1000L) {
-                sendJson(exchange, 200, cachedResponse);
+            CachedResponse cached = cache.get(cacheKey);
+            if (cached != null
+                    && (System.currentTimeMillis() - cached.timestamp()) < cacheTtl * 1000L) {
+                sendJson(exchange, 200, cached.json());
                 return;
             }
 
             // Build fresh response
             try {
-                long totalPlayers = 0;
-                long totalPlaytime = 0;
-
-                Database database = ServerAPI.getInstance().getDatabase();
-                if (database != null) {
-                    try (ResultSet rs =
-                            database.executeQuery(
-                                    "SELECT COUNT(DISTINCT player_uuid) AS cnt FROM"
-                                            + " server_player_data")) {
-                        if (rs.next()) {
-                            totalPlayers = rs.getLong("cnt");
-                        }
+                Map<String, String> params = parseQuery(query);
+                String json;
+                if (params.containsKey("resolution")) {
+                    Resolution resolution = Resolution.fromKey(params.get("resolution"));
+                    if (resolution == null) {
+                        sendJson(exchange, 400, "{\"error\":\"Unknown resolution\"}");
+                        return;
+                    }
+                    if (store == null) {
+                        sendJson(exchange, 503, "{\"error\":\"History unavailable\"}");
+                        return;
                     }
-                    try (ResultSet rs =
-                            database.executeQuery(
-                                    "SELECT COALESCE(SUM(playtime_minutes), 0) / 60 AS hours FROM"
-                                            + " server_playtime")) {
-                        if (rs.next()) {
-                            totalPlaytime = rs.getLong("hours");
-                        }
+                    long to = parseLong(params.get("to"), System.currentTimeMillis());
+                    long from = parseLong(params.get("from"), to - defaultSpan(resolution));
+                    if (from < 0 || to < 0 || from >= to) {
+                        sendJson(exchange, 400, "{\"error\":\"Invalid range\"}");
+                        return;
                     }
+                    json = buildHistory(resolution, from, to);
+                } else {
+                    json = buildSummary(tracker.getSummary());
                 }
 
-                String json =
-                        "{"
-                                + "\"totalPlayers\":"
-                                + totalPlayers
-                                + ","
-                                + "\"totalPlaytime\":"
-                                + totalPlaytime
-                                + ","
-                                + "\"blocksPlaced\":"
-                                + tracker.getBlocksPlaced()
-                                + ","
-                                + "\"mobsKilled\":"
-                                + tracker.getMobsKilled()
-                                + ","
-                                + "\"uniquePlayersToday\":"
-                                + tracker.getUniquePlayersToday()
-                                + ","
-                                + "\"peakOnlineToday\":"
-                                + tracker.getPeakOnlineToday()
-                                + "}";
-
-                cachedResponse = json;
-                cacheTimestamp = System.currentTimeMillis();
+                if (cache.size() >= MAX_CACHED) {
+                    cache.clear();
+                }
+                cache.put(cacheKey, new CachedResponse(json, System.currentTimeMillis()));
 
                 sendJson(exchange, 200, json);
+            } catch (NumberFormatException e) {
+                sendJson(exchange, 400, "{\"error\":\"Invalid range\"}");
             } catch (Exception e) {
                 plugin.getLogger().warning("Stats API error: " + e.getMessage());
                 sendJson(exchange, 500, "{\"error\":\"Internal server error\"}");
@@ -158,6 +168,107 @@ public class StatsApiServer {
         }
     }
 
+    private static String buildSummary(StatsTracker.Summary summary) {
+        return "{"
+                + "\"totalPlayers\":"
+                + summary.totalPlayers()
+                + ","
+                + "\"totalPlaytime\":"
+                + summary.totalPlaytimeHours()
+                + ","
+                + "\"blocksPlaced\":"
+                + summary.blocksPlacedToday()
+                + ","
+                + "\"mobsKilled\":"
+                + summary.mobsKilledToday()
+                + ","
+                + "\"uniquePlayersToday\":"
+                + summary.uniquePlayersToday()
+                + ","
+                + "\"peakOnlineToday\":"
+                + summary.peakOnlineToday()
+                + ","
+                + "\"onlinePlayers\":"
+                + summary.online()
+                + ","
+                + "\"tps\":"
+                + decimal(summary.tps())
+                + ","
+                + "\"mspt\":"
+                + decimal(summary.mspt())
+                + ","
+                + "\"lifetimeBlocksPlaced\":"
+                + summary.totalBlocksPlaced()
+                + ","
+                + "\"lifetimeMobsKilled\":"
+                + summary.totalMobsKilled()
+                + "}";
+    }
+
+    private String buildHistory(Resolution resolution, long from, long to) {
+        List<RollupStore.Point> points = store.history(resolution, from, to, MAX_POINTS);
+        StringBuilder json = new StringBuilder(128 + points.size() * 256);
+        json.append("{\"resolution\":\"").append(resolution.key()).append('"');
+        json.append(",\"from\":").append(from);
+        json.append(",\"to\":").append(to);
+        json.append(",\"points\":[");
+        for (int i = 0; i < points.size(); i++) {
+            RollupStore.Point point = points.get(i);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"start\":").append(point.start());
+            json.append(",\"blocksPlaced\":").append(point.blocksPlaced());
+            json.append(",\"mobsKilled\":").append(point.mobsKilled());
+            json.append(",\"joins\":").append(point.joins());
+            json.append(",\"newPlayers\":").append(point.newPlayers());
+            json.append(",\"uniquePlayers\":").append(point.uniquePlayers());
+            json.append(",\"peakOnline\":").append(point.onlineMax());
+            json.append(",\"averageOnline\":").append(decimal(point.averageOnline()));
+            json.append(",\"playtimeHours\":")
+                    .append(decimal(point.playerMillis() / 3_600_000.0));
+            json.append(",\"tps\":").append(decimal(point.averageTps()));
+            json.append(",\"mspt\":").append(decimal(point.averageMspt()));
+            json.append(",\"msptMax\":").append(decimal(point.msptMax()));
+            json.append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    private static String decimal(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    /** How far back a history request reaches when it gives no start. */
+    private static long defaultSpan(Resolution resolution) {
+        return switch (resolution) {
+            case MINUTE -> 60 * 60 * 1000L;
+            case HOUR -> 24 * 60 * 60 * 1000L;
+            case DAY -> 30 * 24 * 60 * 60 * 1000L;
+            case WEEK -> 52 * 7 * 24 * 60 * 60 * 1000L;
+        };
+    }
+
+    private static long parseLong(String value, long fallback) {
+        return value == null || value.isEmpty() ? fallback : Long.parseLong(value);
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> params = new HashMap<>();
+        if (query == null || query.isEmpty()) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(
+                    URLDecoder.decode(key, StandardCharsets.UTF_8),
+                    URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
     /**
      * Send JSON response with CORS headers.
      *
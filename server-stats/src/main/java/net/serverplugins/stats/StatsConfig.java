@@ -18,6 +18,10 @@ public class StatsConfig {
     private List<String> allowedOrigins;
     private int cacheTtl;
 
+    // Rollup retention
+    private int minuteRetentionDays;
+    private int hourRetentionDays;
+
     public StatsConfig(ServerStats plugin) {
         this.plugin = plugin;
         reload();
@@ -31,6 +35,10 @@ public class StatsConfig {
         allowedOrigins = config.getStringList("http.allowed-origins");
         cacheTtl = config.getInt("cache-ttl", 30);
 
+        // Rollup settings
+        minuteRetentionDays = config.getInt("rollups.minute-retention-days", 7);
+        hourRetentionDays = config.getInt("rollups.hour-retention-days", 90);
+
         // Initialize PluginMessenger with stats-themed prefix
         messenger =
                 new PluginMessenger(
@@ -64,6 +72,24 @@ public class StatsConfig {
         return cacheTtl;
     }
 
+    /**
+     * Gets the number of days per-minute rollups are kept, or 0 to keep them forever.
+     *
+     * @return The minute retention in days
+     */
+    public int getMinuteRetentionDays() {
+        return minuteRetentionDays;
+    }
+
+    /**
+     * Gets the number of days hourly rollups are kept, or 0 to keep them forever.
+     *
+     * @return The hour retention in days
+     */
+    public int getHourRetentionDays() {
+        return hourRetentionDays;
+    }
+
     /**
      * Gets the PluginMessenger instance for sending messages.
      *
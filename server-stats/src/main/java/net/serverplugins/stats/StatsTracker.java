@@ -1,12 +1,15 @@
 package net.serverplugins.stats;
 
-import java.util.Set;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import net.serverplugins.stats.Rollup.Resolution;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Monster;
+import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
@@ -15,94 +18,221 @@ import org.bukkit.event.entity.EntityDeathEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 
 /**
- * Tracks live server statistics for the stats API.
+ * Tracks live server statistics and rolls them up by minute, hour, day and week.
  *
- * <p>Monitors: - Blocks placed today - Mobs killed today - Unique players today - Peak concurrent
- * players today
- *
- * <p>Resets daily at midnight via scheduled task in ServerStats.
+ * <p>Events only bump striped counters for the current minute. A once-a-second task on the main
+ * thread samples online count, TPS and tick time; when the wall-clock minute changes it closes the
+ * minute, merges it into the open hour, day and week rollups and hands copies to the sink to be
+ * saved. "Today" figures come from the day rollup, so they survive restarts and roll over at
+ * midnight on their own.
  */
 public class StatsTracker implements Listener {
 
-    private final AtomicLong blocksPlaced = new AtomicLong();
-    private final AtomicLong mobsKilled = new AtomicLong();
-    private final Set<UUID> uniquePlayersToday = ConcurrentHashMap.newKeySet();
-    private final AtomicInteger peakOnlineToday = new AtomicInteger();
+    private static final Resolution[] OPEN = {Resolution.HOUR, Resolution.DAY, Resolution.WEEK};
+
+    /** Figures served by the summary endpoint, published by the main thread. */
+    public record Summary(
+            long totalPlayers,
+            long totalPlaytimeHours,
+            long totalBlocksPlaced,
+            long totalMobsKilled,
+            long blocksPlacedToday,
+            long mobsKilledToday,
+            long uniquePlayersToday,
+            int peakOnlineToday,
+            int online,
+            double tps,
+            double mspt) {}
+
+    private final ZoneId zone;
+    private final Consumer<RollupStore.Batch> sink;
+
+    // Current minute; the counters are read and reset on the main thread at rollover
+    private final LongAdder blocksPlaced = new LongAdder();
+    private final LongAdder mobsKilled = new LongAdder();
+    private final LongAdder joins = new LongAdder();
+    private final LongAdder newPlayers = new LongAdder();
+    private long minuteStart;
+    private Rollup minute = new Rollup();
+    private long lastSample;
+
+    private final Map<Resolution, Long> openStarts = new EnumMap<>(Resolution.class);
+    private final Map<Resolution, Rollup> open = new EnumMap<>(Resolution.class);
+
+    // Lifetime totals, not counting the current minute
+    private long totalPlayers;
+    private long totalPlayerMillis;
+    private long totalBlocksPlaced;
+    private long totalMobsKilled;
+
+    private long uniquePlayersToday;
+    private volatile Summary summary;
+
+    public StatsTracker(ZoneId zone, long now, Consumer<RollupStore.Batch> sink) {
+        this.zone = zone;
+        this.sink = sink;
+        this.minuteStart = Resolution.MINUTE.bucketStart(now, zone);
+        this.lastSample = now;
+        for (Resolution resolution : OPEN) {
+            openStarts.put(resolution, resolution.bucketStart(now, zone));
+            open.put(resolution, new Rollup());
+        }
+        publish(0, 0, 0);
+    }
+
+    /** Continue from the saved totals and open buckets. Call before any events are handled. */
+    void restore(RollupStore store, RollupStore.Totals totals) {
+        totalPlayers = totals.players();
+        totalPlayerMillis = totals.playerMillis();
+        totalBlocksPlaced = totals.blocksPlaced();
+        totalMobsKilled = totals.mobsKilled();
+        for (Resolution resolution : OPEN) {
+            Rollup saved = store.loadOpen(resolution, openStarts.get(resolution));
+            if (saved != null) {
+                open.put(resolution, saved);
+            }
+        }
+        uniquePlayersToday = open.get(Resolution.DAY).players.estimate();
+        publish(0, 0, 0);
+    }
 
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onBlockPlace(BlockPlaceEvent event) {
-        blocksPlaced.incrementAndGet();
+        blocksPlaced.increment();
     }
 
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onEntityDeath(EntityDeathEvent event) {
         if (event.getEntity() instanceof Monster && event.getEntity().getKiller() != null) {
-            mobsKilled.incrementAndGet();
+            mobsKilled.increment();
         }
     }
 
     @EventHandler(priority = EventPriority.MONITOR)
     public void onPlayerJoin(PlayerJoinEvent event) {
-        uniquePlayersToday.add(event.getPlayer().getUniqueId());
-        int online = Bukkit.getOnlinePlayers().size();
-        peakOnlineToday.updateAndGet(current -> Math.max(current, online));
+        Player player = event.getPlayer();
+        joins.increment();
+        if (!player.hasPlayedBefore()) {
+            newPlayers.increment();
+        }
+        playerSeen(player.getUniqueId());
     }
 
-    /**
-     * Seed initial online count when plugin loads.
-     *
-     * <p>Sets peak online to current player count to avoid showing 0 when server has players.
-     */
+    /** Count the players already online, e.g. after a reload. */
     public void seedInitialOnline() {
-        int currentOnline = Bukkit.getOnlinePlayers().size();
-        peakOnlineToday.set(currentOnline);
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            playerSeen(player.getUniqueId());
+        }
     }
 
-    /**
-     * Reset daily statistics. Called at midnight by scheduled task.
-     *
-     * <p>Resets: - Unique players today - Peak online today - Blocks placed - Mobs killed
-     */
-    public void resetDaily() {
-        uniquePlayersToday.clear();
-        peakOnlineToday.set(Bukkit.getOnlinePlayers().size());
-        blocksPlaced.set(0);
-        mobsKilled.set(0);
+    /** Take the once-a-second sample. Main thread only. */
+    public void sample() {
+        boolean rolledOver =
+                sample(
+                        System.currentTimeMillis(),
+                        Bukkit.getOnlinePlayers().size(),
+                        Bukkit.getTPS()[0],
+                        Bukkit.getAverageTickTime());
+        if (rolledOver) {
+            // Players online across the boundary were also seen in the new minute
+            seedInitialOnline();
+        }
     }
 
     /**
-     * Gets the total blocks placed today.
+     * Record one sample, closing the current minute first if the clock has moved past it.
      *
-     * @return The block placement count
+     * @return true if a minute was closed
      */
-    public long getBlocksPlaced() {
-        return blocksPlaced.get();
+    boolean sample(long now, int online, double tps, double mspt) {
+        boolean rolledOver = false;
+        if (now >= minuteStart + 60_000L) {
+            closeMinute();
+            minuteStart = Resolution.MINUTE.bucketStart(now, zone);
+            advanceOpen();
+            rolledOver = true;
+        }
+        minute.recordSample(online, tps, mspt, Math.max(0, now - lastSample));
+        lastSample = now;
+        publish(online, tps, mspt);
+        return rolledOver;
     }
 
-    /**
-     * Gets the total mobs killed today.
-     *
-     * @return The mob kill count
-     */
-    public long getMobsKilled() {
-        return mobsKilled.get();
+    /** Close the current minute early so it is saved on shutdown. */
+    public void flush() {
+        closeMinute();
     }
 
-    /**
-     * Gets the number of unique players who joined today.
-     *
-     * @return The unique player count
-     */
-    public int getUniquePlayersToday() {
-        return uniquePlayersToday.size();
+    void playerSeen(UUID playerId) {
+        minute.players.add(playerId);
+        // Adding to a sketch twice is harmless, so the open buckets can count the player now
+        for (Rollup rollup : open.values()) {
+            rollup.players.add(playerId);
+        }
+        uniquePlayersToday = open.get(Resolution.DAY).players.estimate();
+    }
+
+    /** Start fresh hour, day and week rollups for those the new minute is past. */
+    private void advanceOpen() {
+        for (Resolution resolution : OPEN) {
+            long start = resolution.bucketStart(minuteStart, zone);
+            if (openStarts.get(resolution) != start) {
+                openStarts.put(resolution, start);
+                open.put(resolution, new Rollup());
+            }
+        }
+        uniquePlayersToday = open.get(Resolution.DAY).players.estimate();
+    }
+
+    private void closeMinute() {
+        Rollup closed = minute;
+        closed.blocksPlaced = blocksPlaced.sumThenReset();
+        closed.mobsKilled = mobsKilled.sumThenReset();
+        closed.joins = joins.sumThenReset();
+        closed.newPlayers = newPlayers.sumThenReset();
+        minute = new Rollup();
+
+        Map<Resolution, Long> starts = new EnumMap<>(Resolution.class);
+        Map<Resolution, Rollup> copies = new EnumMap<>(Resolution.class);
+        for (Resolution resolution : OPEN) {
+            Rollup rollup = open.get(resolution);
+            rollup.merge(closed);
+            starts.put(resolution, openStarts.get(resolution));
+            copies.put(resolution, rollup.copy());
+        }
+
+        totalPlayers += closed.newPlayers;
+        totalPlayerMillis += closed.playerMillis;
+        totalBlocksPlaced += closed.blocksPlaced;
+        totalMobsKilled += closed.mobsKilled;
+
+        sink.accept(new RollupStore.Batch(minuteStart, closed, starts, copies));
+    }
+
+    private void publish(int online, double tps, double mspt) {
+        Rollup today = open.get(Resolution.DAY);
+        long playerMillis = totalPlayerMillis + minute.playerMillis;
+        summary =
+                new Summary(
+                        totalPlayers + newPlayers.sum(),
+                        playerMillis / 3_600_000L,
+                        totalBlocksPlaced + blocksPlaced.sum(),
+                        totalMobsKilled + mobsKilled.sum(),
+                        today.blocksPlaced + blocksPlaced.sum(),
+                        today.mobsKilled + mobsKilled.sum(),
+                        uniquePlayersToday,
+                        Math.max(today.onlineMax, minute.onlineMax),
+                        online,
+                        tps,
+                        mspt);
     }
 
     /**
-     * Gets the peak concurrent players today.
+     * Gets the latest published figures. Safe from any thread.
      *
-     * @return The peak player count
+     * @return The summary, at most a second old
      */
-    public int getPeakOnlineToday() {
-        return peakOnlineToday.get();
+    public Summary getSummary() {
+        return summary;
     }
 }
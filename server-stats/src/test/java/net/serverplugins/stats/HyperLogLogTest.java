@@ -0,0 +1,71 @@
+package net.serverplugins.stats;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class HyperLogLogTest {
+
+    @Test
+    void testEmptyIsZero() {
+        assertEquals(0, new HyperLogLog().estimate());
+    }
+
+    @Test
+    void testSmallCountsAreNearlyExact() {
+        HyperLogLog hll = new HyperLogLog();
+        Random random = new Random(1);
+        for (int i = 0; i < 50; i++) {
+            UUID id = new UUID(random.nextLong(), random.nextLong());
+            hll.add(id);
+            hll.add(id);
+        }
+        assertEquals(50, hll.estimate(), 1);
+    }
+
+    @Test
+    void testLargeCountsWithinFivePercent() {
+        HyperLogLog hll = new HyperLogLog();
+        Random random = new Random(2);
+        for (int i = 0; i < 100_000; i++) {
+            hll.add(new UUID(random.nextLong(), random.nextLong()));
+        }
+        assertEquals(100_000, hll.estimate(), 5_000);
+    }
+
+    @Test
+    void testMergeCountsOverlapOnce() {
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        Random random = new Random(3);
+        for (int i = 0; i < 3_000; i++) {
+            UUID id = new UUID(random.nextLong(), random.nextLong());
+            // The middle thousand are in both
+            if (i < 2_000) {
+                first.add(id);
+            }
+            if (i >= 1_000) {
+                second.add(id);
+            }
+        }
+
+        first.merge(second);
+        assertEquals(3_000, first.estimate(), 150);
+    }
+
+    @Test
+    void testBytesRoundTrip() {
+        HyperLogLog hll = new HyperLogLog();
+        Random random = new Random(4);
+        for (int i = 0; i < 500; i++) {
+            hll.add(new UUID(random.nextLong(), random.nextLong()));
+        }
+
+        HyperLogLog restored = HyperLogLog.fromBytes(hll.toBytes());
+        assertEquals(hll.estimate(), restored.estimate());
+        assertEquals(0, HyperLogLog.fromBytes(new byte[3]).estimate());
+        assertEquals(0, HyperLogLog.fromBytes(null).estimate());
+    }
+}
@@ -0,0 +1,101 @@
+package net.serverplugins.stats;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import net.serverplugins.stats.Rollup.Resolution;
+import org.junit.jupiter.api.Test;
+
+class StatsTrackerTest {
+
+    private static final ZoneId ZONE = ZoneOffset.UTC;
+
+    @Test
+    void testBucketStartsAlignToZone() {
+        // Wednesday 2026-10-14 13:45:30.500
+        long time = millis(LocalDateTime.of(2026, 10, 14, 13, 45, 30, 500_000_000));
+
+        assertEquals(
+                millis(LocalDateTime.of(2026, 10, 14, 13, 45)),
+                Resolution.MINUTE.bucketStart(time, ZONE));
+        assertEquals(
+                millis(LocalDateTime.of(2026, 10, 14, 13, 0)),
+                Resolution.HOUR.bucketStart(time, ZONE));
+        assertEquals(
+                millis(LocalDateTime.of(2026, 10, 14, 0, 0)),
+                Resolution.DAY.bucketStart(time, ZONE));
+        assertEquals(
+                millis(LocalDateTime.of(2026, 10, 12, 0, 0)),
+                Resolution.WEEK.bucketStart(time, ZONE));
+        assertEquals(Resolution.HOUR, Resolution.fromKey("hour"));
+        assertNull(Resolution.fromKey("year"));
+    }
+
+    @Test
+    void testMinuteRollsIntoOpenBuckets() {
+        List<RollupStore.Batch> batches = new ArrayList<>();
+        long start = millis(LocalDateTime.of(2026, 10, 14, 13, 45));
+        StatsTracker tracker = new StatsTracker(ZONE, start, batches::add);
+
+        UUID player = UUID.randomUUID();
+        tracker.playerSeen(player);
+        for (int second = 1; second < 60; second++) {
+            assertFalse(tracker.sample(start + second * 1000L, 4, 20.0, 10.0));
+        }
+        assertTrue(batches.isEmpty());
+
+        assertTrue(tracker.sample(start + 60_000L, 2, 19.0, 30.0));
+        assertEquals(1, batches.size());
+
+        RollupStore.Batch batch = batches.get(0);
+        assertEquals(start, batch.minuteStart());
+        assertEquals(59, batch.minute().samples);
+        assertEquals(4, batch.minute().onlineMax);
+        assertEquals(4 * 59_000L, batch.minute().playerMillis);
+        assertEquals(1, batch.minute().players.estimate());
+        assertEquals(
+                millis(LocalDateTime.of(2026, 10, 14, 0, 0)),
+                batch.openStarts().get(Resolution.DAY));
+        assertEquals(59, batch.open().get(Resolution.DAY).samples);
+
+        StatsTracker.Summary summary = tracker.getSummary();
+        assertEquals(1, summary.uniquePlayersToday());
+        assertEquals(4, summary.peakOnlineToday());
+        assertEquals(2, summary.online());
+    }
+
+    @Test
+    void testNewDayStartsFreshDayBucket() {
+        List<RollupStore.Batch> batches = new ArrayList<>();
+        long lastMinute = millis(LocalDateTime.of(2026, 10, 14, 23, 59));
+        StatsTracker tracker = new StatsTracker(ZONE, lastMinute, batches::add);
+
+        tracker.playerSeen(UUID.randomUUID());
+        tracker.sample(lastMinute + 1000L, 8, 20.0, 5.0);
+        tracker.sample(lastMinute + 60_000L, 1, 20.0, 5.0);
+
+        // The closed minute belongs to the old day; today has only the new sample
+        assertEquals(
+                millis(LocalDateTime.of(2026, 10, 14, 0, 0)),
+                batches.get(0).openStarts().get(Resolution.DAY));
+        StatsTracker.Summary summary = tracker.getSummary();
+        assertEquals(0, summary.uniquePlayersToday());
+        assertEquals(1, summary.peakOnlineToday());
+
+        tracker.playerSeen(UUID.randomUUID());
+        tracker.sample(lastMinute + 120_000L, 1, 20.0, 5.0);
+        assertEquals(
+                millis(LocalDateTime.of(2026, 10, 15, 0, 0)),
+                batches.get(1).openStarts().get(Resolution.DAY));
+        assertEquals(1, batches.get(1).open().get(Resolution.DAY).players.estimate());
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}